@@ -0,0 +1,79 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon;
+
+import java.io.IOException;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+
+/**
+ * Benchmarks run on the in-memory DAOs, so that they measure the simulation
+ * and not a database.
+ */
+public abstract class CompEconBenchmarkSupport {
+
+	protected final String configurationPropertiesFilename = "minimal.configuration.properties";
+
+	protected void setUpApplicationContext() throws IOException {
+		ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
+	}
+
+	/**
+	 * synthetic population with the given number of households per currency
+	 * zone, which is independent of the numbers of agents in the configuration
+	 */
+	protected void setUpPopulation(final int numberOfHouseholds) {
+		// division by 2, so that households have time left until retirement
+		final int householdAgeLimit = ApplicationContext.getInstance().getConfiguration().householdConfig
+				.getLifespanInDays() / 2;
+
+		for (final Currency currency : Currency.values()) {
+			ApplicationContext.getInstance().getAgentService().findState(currency);
+			ApplicationContext.getInstance().getAgentService().findCentralBank(currency);
+
+			ApplicationContext.getInstance().getCreditBankFactory().newInstanceCreditBank(currency);
+			ApplicationContext.getInstance().getCreditBankFactory().newInstanceCreditBank(currency);
+
+			ApplicationContext.getInstance().getFactoryFactory().newInstanceFactory(GoodType.WHEAT, currency);
+			ApplicationContext.getInstance().getFactoryFactory().newInstanceFactory(GoodType.WHEAT, currency);
+			ApplicationContext.getInstance().getFactoryFactory().newInstanceFactory(GoodType.COAL, currency);
+			ApplicationContext.getInstance().getFactoryFactory().newInstanceFactory(GoodType.COAL, currency);
+
+			for (int i = 0; i < numberOfHouseholds; i++) {
+				final int ageInDays = ApplicationContext.getInstance().getRandomNumberGenerator()
+						.nextInt(householdAgeLimit);
+				ApplicationContext.getInstance().getHouseholdFactory().newInstanceHousehold(currency, ageInDays);
+			}
+		}
+
+		// traders need credit banks in all currency zones
+		for (final Currency currency : Currency.values()) {
+			ApplicationContext.getInstance().getTraderFactory().newInstanceTrader(currency);
+		}
+	}
+
+	protected void tearDown() {
+		ApplicationContext.getInstance().getAgentFactory().deconstructAgents();
+		ApplicationContext.getInstance().reset();
+	}
+}
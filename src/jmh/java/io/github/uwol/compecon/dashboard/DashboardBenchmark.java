@@ -0,0 +1,159 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.dashboard;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.dashboard.panel.AgentsPanel;
+import io.github.uwol.compecon.dashboard.panel.BanksPanel;
+import io.github.uwol.compecon.dashboard.panel.ControlPanel;
+import io.github.uwol.compecon.dashboard.panel.HouseholdsPanel;
+import io.github.uwol.compecon.dashboard.panel.IndustriesPanel;
+import io.github.uwol.compecon.dashboard.panel.LogPanel;
+import io.github.uwol.compecon.dashboard.panel.MoneyPanel;
+import io.github.uwol.compecon.dashboard.panel.NationalAccountsPanel;
+import io.github.uwol.compecon.dashboard.panel.StatesPanel;
+import io.github.uwol.compecon.dashboard.panel.TradersPanel;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshotModel;
+
+/**
+ * One simulated day of a synthetic population with the panels of the dashboard
+ * created headless, with the dashboard detached, or attached and rendered on
+ * the event dispatch thread at the capped frame rate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Measurement(iterations = 10, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+public class DashboardBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class AttachedState extends DetachedState {
+
+		protected Timer renderTimer;
+
+		@Override
+		protected void setUpDashboard() {
+			final ModelSnapshotModel modelSnapshotModel = ApplicationContext.getInstance().getModelRegistry()
+					.getModelSnapshotModel();
+			modelSnapshotModel.attach();
+
+			// the renderer of the dashboard, which runs on the event dispatch thread
+			renderTimer = new Timer(1000 / Dashboard.MAX_FRAMES_PER_SECOND, new ActionListener() {
+				@Override
+				public void actionPerformed(final ActionEvent e) {
+					modelSnapshotModel.render();
+				}
+			});
+			renderTimer.setCoalesce(true);
+			renderTimer.start();
+		}
+
+		@Override
+		protected void tearDownDashboard() {
+			renderTimer.stop();
+			ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().detach();
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class DetachedState extends CompEconBenchmarkSupport {
+
+		@Param({ "100" })
+		protected int numberOfHouseholds;
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException, InterruptedException, InvocationTargetException {
+			super.setUpApplicationContext();
+			super.setUpPopulation(numberOfHouseholds);
+
+			SwingUtilities.invokeAndWait(new Runnable() {
+				@Override
+				public void run() {
+					new AgentsPanel();
+					new BanksPanel();
+					new ControlPanel();
+					new HouseholdsPanel();
+					new IndustriesPanel();
+					new LogPanel();
+					new MoneyPanel();
+					new NationalAccountsPanel();
+					new StatesPanel();
+					new TradersPanel();
+				}
+			});
+
+			setUpDashboard();
+		}
+
+		protected void setUpDashboard() {
+		}
+
+		@Override
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			tearDownDashboard();
+			super.tearDown();
+		}
+
+		protected void tearDownDashboard() {
+		}
+	}
+
+	protected void nextDay() {
+		for (int i = 0; i < 24; i++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+	}
+
+	@Benchmark
+	public void nextDayAttached(final AttachedState state) {
+		nextDay();
+	}
+
+	@Benchmark
+	public void nextDayDetached(final DetachedState state) {
+		nextDay();
+	}
+}
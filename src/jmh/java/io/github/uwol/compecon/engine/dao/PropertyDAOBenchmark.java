@@ -0,0 +1,104 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.economy.sectors.financial.CreditBank;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.industry.Factory;
+import io.github.uwol.compecon.economy.security.equity.Share;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+
+/**
+ * Index maintenance of the in-memory property DAO with the given number of
+ * properties of one owner.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class PropertyDAOBenchmark extends CompEconBenchmarkSupport {
+
+	protected final Currency currency = Currency.EURO;
+
+	@Param({ "10", "1000" })
+	protected int numberOfProperties;
+
+	protected CreditBank owner1;
+
+	protected CreditBank owner2;
+
+	protected Share share;
+
+	@Benchmark
+	public void saveAndDelete() {
+		ApplicationContext.getInstance().getPropertyDAO().delete(share);
+		ApplicationContext.getInstance().getPropertyDAO().save(share);
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		super.setUpApplicationContext();
+		super.setUpPopulation(0);
+
+		owner1 = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency).get(0);
+		owner2 = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency).get(1);
+
+		final Factory issuer = ApplicationContext.getInstance().getAgentService().findFactories(currency).get(0);
+
+		for (int i = 0; i < numberOfProperties; i++) {
+			share = ApplicationContext.getInstance().getShareFactory().newInstanceShare(owner1, issuer);
+		}
+	}
+
+	@Override
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	/**
+	 * transfers the property forth and back
+	 */
+	@Benchmark
+	public void transferProperty() {
+		ApplicationContext.getInstance().getPropertyDAO().transferProperty(owner1, owner2, share);
+		ApplicationContext.getInstance().getPropertyDAO().transferProperty(owner2, owner1, share);
+	}
+}
@@ -0,0 +1,132 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.log;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.sectors.financial.CreditBank;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModel;
+
+/**
+ * One simulated day of a synthetic population without a dashboard, with the
+ * events of the log discarded, fed into the dashboard models, or fed into the
+ * dashboard models with an agent selected in the agent detail model. A credit
+ * bank is selected, as it takes part in most transfers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Measurement(iterations = 10, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+public class LogBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class DashboardModelsState extends CompEconBenchmarkSupport {
+
+		@Param({ "100" })
+		protected int numberOfHouseholds;
+
+		protected void setUpLog() {
+		}
+
+		@Setup(Level.Trial)
+		public void setup() throws IOException {
+			super.setUpApplicationContext();
+			setUpLog();
+			super.setUpPopulation(numberOfHouseholds);
+			setUpSelectedAgent();
+		}
+
+		protected void setUpSelectedAgent() {
+		}
+
+		@Override
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			super.tearDown();
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class DashboardModelsWithAgentSelectedState extends DashboardModelsState {
+
+		@Override
+		protected void setUpSelectedAgent() {
+			final AgentDetailModel agentDetailModel = ApplicationContext.getInstance().getModelRegistry()
+					.getAgentDetailModel();
+
+			for (int i = 0; i < agentDetailModel.getAgents().size(); i++) {
+				final Agent agent = agentDetailModel.getAgents().get(i);
+				if (agent instanceof CreditBank) {
+					agentDetailModel.setCurrentAgent(i);
+					break;
+				}
+			}
+		}
+	}
+
+	@State(Scope.Benchmark)
+	public static class DiscardedState extends DashboardModelsState {
+
+		@Override
+		protected void setUpLog() {
+			ApplicationContext.getInstance().setLog(new DiscardingLog());
+		}
+	}
+
+	protected void nextDay() {
+		for (int i = 0; i < 24; i++) {
+			ApplicationContext.getInstance().getTimeSystem().nextHour();
+		}
+	}
+
+	@Benchmark
+	public void nextDayDashboardModels(final DashboardModelsState state) {
+		nextDay();
+	}
+
+	@Benchmark
+	public void nextDayDashboardModelsWithAgentSelected(final DashboardModelsWithAgentSelectedState state) {
+		nextDay();
+	}
+
+	@Benchmark
+	public void nextDayDiscarded(final DiscardedState state) {
+		nextDay();
+	}
+}
@@ -0,0 +1,121 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.service;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+
+/**
+ * Prices in the depth of an order book with the given number of market orders.
+ * The market price function iterates the order book incrementally, so that each
+ * operation starts with a reset.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class MarketPriceFunctionBenchmark extends CompEconBenchmarkSupport {
+
+	protected final double amountPerMarketOrder = 10.0;
+
+	protected final Currency currency = Currency.EURO;
+
+	protected final GoodType goodType = GoodType.WHEAT;
+
+	protected MarketPriceFunction marketPriceFunction;
+
+	@Param({ "10", "100", "1000" })
+	protected int numberOfMarketOrders;
+
+	@Benchmark
+	public double getMarginalPrice() {
+		marketPriceFunction.reset();
+		return marketPriceFunction.getMarginalPrice(numberOfMarketOrders * amountPerMarketOrder / 2.0);
+	}
+
+	@Benchmark
+	public double getPrice() {
+		marketPriceFunction.reset();
+		return marketPriceFunction.getPrice(numberOfMarketOrders * amountPerMarketOrder / 2.0);
+	}
+
+	/**
+	 * prices at increasing amounts, as requested by the iterative solvers
+	 */
+	@Benchmark
+	public double getPriceAtIncreasingAmounts() {
+		marketPriceFunction.reset();
+
+		double priceSum = 0.0;
+		for (int i = 1; i <= 10; i++) {
+			priceSum += marketPriceFunction.getPrice(numberOfMarketOrders * amountPerMarketOrder * i / 10.0);
+		}
+		return priceSum;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		super.setUpApplicationContext();
+		super.setUpPopulation(10);
+
+		final List<Household> households = ApplicationContext.getInstance().getAgentService()
+				.findHouseholds(currency);
+
+		for (int i = 0; i < numberOfMarketOrders; i++) {
+			final Household household = households.get(i % households.size());
+			ApplicationContext.getInstance().getPropertyService().incrementGoodTypeAmount(household, goodType,
+					amountPerMarketOrder);
+			ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household,
+					household.getBankAccountTransactionsDelegate(), amountPerMarketOrder, 1.0 + i * 0.01);
+		}
+
+		marketPriceFunction = ApplicationContext.getInstance().getMarketService().getMarketPriceFunction(currency,
+				goodType);
+	}
+
+	@Override
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		super.tearDown();
+	}
+}
@@ -0,0 +1,95 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel.SummaryStatisticalData;
+
+/**
+ * One period of the income distribution of the given number of households, in
+ * exact mode and with the streaming sketch. The accuracy of the sketch relative
+ * to exact mode is asserted by PeriodDataDistributionModelTest for up to
+ * 1000000 households.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+public class PeriodDataDistributionModelBenchmark {
+
+	protected PeriodDataDistributionModel exactModel;
+
+	@Param({ "100000", "1000000" })
+	protected int numberOfHouseholds;
+
+	protected PeriodDataDistributionModel sketchModel;
+
+	protected double[] values;
+
+	@Benchmark
+	public SummaryStatisticalData exact() {
+		return nextPeriod(exactModel);
+	}
+
+	protected SummaryStatisticalData nextPeriod(final PeriodDataDistributionModel model) {
+		for (final double value : values) {
+			model.add(value);
+		}
+		model.nextPeriod();
+		return model.getSummaryStatisticalData();
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final Random random = new Random(42);
+		values = new double[numberOfHouseholds];
+
+		// log-normally distributed incomes with some households without income
+		for (int i = 0; i < numberOfHouseholds; i++) {
+			values[i] = random.nextInt(20) == 0 ? 0.0 : Math.exp(4.0 + random.nextGaussian());
+		}
+
+		exactModel = new PeriodDataDistributionModel(Currency.EURO, true);
+		sketchModel = new PeriodDataDistributionModel(Currency.EURO);
+	}
+
+	@Benchmark
+	public SummaryStatisticalData sketch() {
+		return nextPeriod(sketchModel);
+	}
+}
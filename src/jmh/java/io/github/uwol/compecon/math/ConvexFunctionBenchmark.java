@@ -0,0 +1,136 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.math;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.uwol.compecon.CompEconBenchmarkSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
+import io.github.uwol.compecon.math.impl.CESFunctionImpl;
+import io.github.uwol.compecon.math.impl.CobbDouglasFunctionImpl;
+import io.github.uwol.compecon.math.price.PriceFunction;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class ConvexFunctionBenchmark extends CompEconBenchmarkSupport {
+
+	protected final double budget = 100.0;
+
+	protected CESFunctionImpl<GoodType> cesFunction;
+
+	protected CobbDouglasFunctionImpl<GoodType> cobbDouglasFunction;
+
+	@Param({ "2", "4", "8" })
+	protected int numberOfInputTypes;
+
+	protected final int numberOfIterations = 100;
+
+	protected Map<GoodType, PriceFunction> priceFunctions;
+
+	protected Map<GoodType, Double> prices;
+
+	@Benchmark
+	public Map<GoodType, Double> cesAnalyticalWithFixedPrices() {
+		return cesFunction.calculateOutputMaximizingInputsAnalyticalWithFixedPrices(prices, budget);
+	}
+
+	@Benchmark
+	public Map<GoodType, Double> cesAnalyticalWithPriceFunctions() {
+		return cesFunction.calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(priceFunctions, budget);
+	}
+
+	@Benchmark
+	public Map<GoodType, Double> cesIterative() {
+		return cesFunction.calculateOutputMaximizingInputsIterative(priceFunctions, budget, numberOfIterations);
+	}
+
+	@Benchmark
+	public Map<GoodType, Double> cesKKT() {
+		return cesFunction.calculateOutputMaximizingInputsKKT(priceFunctions, budget);
+	}
+
+	@Benchmark
+	public Map<GoodType, Double> cobbDouglasAnalyticalWithFixedPrices() {
+		return cobbDouglasFunction.calculateOutputMaximizingInputsAnalyticalWithFixedPrices(prices, budget);
+	}
+
+	@Benchmark
+	public Map<GoodType, Double> cobbDouglasIterative() {
+		return cobbDouglasFunction.calculateOutputMaximizingInputsIterative(priceFunctions, budget,
+				numberOfIterations);
+	}
+
+	@Benchmark
+	public Map<GoodType, Double> cobbDouglasKKT() {
+		return cobbDouglasFunction.calculateOutputMaximizingInputsKKT(priceFunctions, budget);
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		super.setUpApplicationContext();
+
+		final Map<GoodType, Double> coefficients = new HashMap<GoodType, Double>();
+		prices = new HashMap<GoodType, Double>();
+		priceFunctions = new HashMap<GoodType, PriceFunction>();
+
+		int i = 0;
+		for (final GoodType goodType : GoodType.values()) {
+			if (i < numberOfInputTypes && !GoodType.LABOURHOUR.equals(goodType)) {
+				final double price = 1.0 + i;
+
+				coefficients.put(goodType, 1.0 / numberOfInputTypes);
+				prices.put(goodType, price);
+				priceFunctions.put(goodType, new FixedPriceFunctionImpl(price));
+				i++;
+			}
+		}
+
+		cesFunction = new CESFunctionImpl<GoodType>(1.0, coefficients, -0.5, 0.4);
+		cobbDouglasFunction = new CobbDouglasFunctionImpl<GoodType>(1.0, coefficients);
+	}
+
+	@Override
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		super.tearDown();
+	}
+}
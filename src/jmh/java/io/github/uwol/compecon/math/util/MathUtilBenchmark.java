@@ -0,0 +1,182 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.math.util;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the comparisons of {@link MathUtil} with the previous
+ * implementation, which checked for special values before each comparison.
+ * Each operation compares all neighbouring pairs of 1024 values, of which some
+ * are NaN or infinite.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+public class MathUtilBenchmark {
+
+	/**
+	 * previous implementation of the comparisons
+	 */
+	protected static class ReferenceMathUtil {
+
+		private static final double defaultEpsilon = 0.00001;
+
+		public static boolean equal(final double value1, final double value2) {
+			if (Double.isNaN(value1) && Double.isNaN(value2)) {
+				return true;
+			}
+			if (Double.isInfinite(value1) && Double.isInfinite(value2)) {
+				return true;
+			}
+			return Math.abs(value1 - value2) <= defaultEpsilon;
+		}
+
+		public static boolean greater(final double value1, final double value2) {
+			if (Double.isNaN(value1) || Double.isNaN(value2)) {
+				return false;
+			}
+			if (!Double.isInfinite(value1) && Double.isInfinite(value2)) {
+				return false;
+			}
+			if (Double.isInfinite(value1) && !Double.isInfinite(value2)) {
+				return true;
+			}
+			if (Double.isInfinite(value1) && Double.isInfinite(value2)) {
+				return false;
+			}
+			return value1 - defaultEpsilon > value2;
+		}
+
+		public static boolean greaterEqual(final double value1, final double value2) {
+			return equal(value1, value2) || greater(value1, value2);
+		}
+
+		public static boolean lesser(final double value1, final double value2) {
+			if (Double.isNaN(value1) || Double.isNaN(value2)) {
+				return false;
+			}
+			if (Double.isInfinite(value1) && !Double.isInfinite(value2)) {
+				return false;
+			}
+			if (!Double.isInfinite(value1) && Double.isInfinite(value2)) {
+				return true;
+			}
+			if (Double.isInfinite(value1) && Double.isInfinite(value2)) {
+				return false;
+			}
+			return value1 + defaultEpsilon < value2;
+		}
+
+		public static boolean lesserEqual(final double value1, final double value2) {
+			return equal(value1, value2) || lesser(value1, value2);
+		}
+	}
+
+	protected final double[] values = new double[1024];
+
+	@Benchmark
+	public int compare() {
+		int count = 0;
+		for (int i = 1; i < values.length; i++) {
+			final double value1 = values[i - 1];
+			final double value2 = values[i];
+
+			if (MathUtil.equal(value1, value2)) {
+				count++;
+			}
+			if (MathUtil.greater(value1, value2)) {
+				count++;
+			}
+			if (MathUtil.greaterEqual(value1, value2)) {
+				count++;
+			}
+			if (MathUtil.lesser(value1, value2)) {
+				count++;
+			}
+			if (MathUtil.lesserEqual(value1, value2)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int compareReference() {
+		int count = 0;
+		for (int i = 1; i < values.length; i++) {
+			final double value1 = values[i - 1];
+			final double value2 = values[i];
+
+			if (ReferenceMathUtil.equal(value1, value2)) {
+				count++;
+			}
+			if (ReferenceMathUtil.greater(value1, value2)) {
+				count++;
+			}
+			if (ReferenceMathUtil.greaterEqual(value1, value2)) {
+				count++;
+			}
+			if (ReferenceMathUtil.lesser(value1, value2)) {
+				count++;
+			}
+			if (ReferenceMathUtil.lesserEqual(value1, value2)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		final Random random = new Random(0);
+
+		for (int i = 0; i < values.length; i++) {
+			final int kind = random.nextInt(64);
+
+			if (kind == 0) {
+				values[i] = Double.NaN;
+			} else if (kind == 1) {
+				values[i] = Double.POSITIVE_INFINITY;
+			} else if (kind < 32) {
+				// values close to each other, so that the epsilon decides
+				values[i] = 1.0 + random.nextInt(5) * 0.000005;
+			} else {
+				values[i] = random.nextDouble() * 100.0;
+			}
+		}
+	}
+}
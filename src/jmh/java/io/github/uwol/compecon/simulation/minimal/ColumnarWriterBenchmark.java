@@ -0,0 +1,163 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarFormat.ColumnType;
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarReaderImpl;
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarWriterImpl;
+import io.github.uwol.compecon.simulation.minimal.csv.impl.CsvPeriodWriterImpl;
+
+/**
+ * Writing and reading 100000 period rows of a price time series
+ * as CSV file and as columnar file. That the columnar file is less than half
+ * the size of the CSV file is asserted by ColumnarWriterTest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Measurement(iterations = 10, time = 2)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5, time = 2)
+public class ColumnarWriterBenchmark {
+
+	protected static final int NUMBER_OF_ROWS = 100000;
+
+	/**
+	 * writes rows synchronously, without a row queue
+	 */
+	protected static class BenchmarkCsvWriter extends CsvPeriodWriterImpl {
+
+		public BenchmarkCsvWriter(final String csvFileName) {
+			super(csvFileName, null);
+
+			writeCsvLine("period", "price");
+		}
+
+		public void write(final long key, final double value) {
+			writeRow(key, value);
+		}
+	}
+
+	protected String columnarFileName;
+
+	protected String csvFileName;
+
+	protected long[] periods;
+
+	protected double[] prices;
+
+	protected Path tempDirectory;
+
+	@Benchmark
+	public double readColumnar() throws IOException {
+		final ColumnarReaderImpl reader = new ColumnarReaderImpl(columnarFileName);
+		final long[] readPeriods = reader.readLongColumn(0);
+		final double[] readPrices = reader.readDoubleColumn(1);
+		return readPeriods[readPeriods.length - 1] + readPrices[readPrices.length - 1];
+	}
+
+	@Benchmark
+	public double readCsv() throws IOException {
+		double sum = 0.0;
+
+		try (BufferedReader reader = new BufferedReader(new FileReader(csvFileName))) {
+			// header
+			String line = reader.readLine();
+
+			while ((line = reader.readLine()) != null) {
+				final int delimiter = line.indexOf(';');
+				sum += LocalDate.parse(line.substring(0, delimiter)).toEpochDay()
+						+ Double.parseDouble(line.substring(delimiter + 1));
+			}
+		}
+
+		return sum;
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		final Random random = new Random(42);
+		periods = new long[NUMBER_OF_ROWS];
+		prices = new double[NUMBER_OF_ROWS];
+
+		// weekly periods of a price, which follows a random walk
+		double price = 10.0;
+		for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+			periods[i] = 10957 + 7 * i;
+			price *= 1.0 + (random.nextDouble() - 0.5) * 0.01;
+			prices[i] = price;
+		}
+
+		tempDirectory = Files.createTempDirectory("compecon-benchmark");
+		columnarFileName = tempDirectory.resolve("prices.col").toString();
+		csvFileName = tempDirectory.resolve("prices.csv").toString();
+
+		writeColumnar();
+		writeCsv();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(tempDirectory.resolve("prices.csv"));
+		Files.deleteIfExists(tempDirectory.resolve("prices.col"));
+		Files.deleteIfExists(tempDirectory);
+	}
+
+	@Benchmark
+	public void writeColumnar() throws IOException {
+		final ColumnarWriterImpl writer = new ColumnarWriterImpl(columnarFileName, new String[] { "period", "price" },
+				new ColumnType[] { ColumnType.DATE, ColumnType.DOUBLE });
+		for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+			writer.writeRow(periods[i], prices[i]);
+		}
+		writer.close();
+	}
+
+	@Benchmark
+	public void writeCsv() {
+		final BenchmarkCsvWriter writer = new BenchmarkCsvWriter(csvFileName);
+		for (int i = 0; i < NUMBER_OF_ROWS; i++) {
+			writer.write(periods[i], prices[i]);
+		}
+		writer.close();
+	}
+}
@@ -20,9 +20,12 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.dashboard;
 
 import java.awt.BorderLayout;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 
 import javax.swing.JFrame;
 import javax.swing.JTabbedPane;
+import javax.swing.Timer;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
@@ -36,12 +39,25 @@ import io.github.uwol.compecon.dashboard.panel.MoneyPanel;
 import io.github.uwol.compecon.dashboard.panel.NationalAccountsPanel;
 import io.github.uwol.compecon.dashboard.panel.StatesPanel;
 import io.github.uwol.compecon.dashboard.panel.TradersPanel;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshotModel;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
 
+/**
+ * The dashboard does not read the live models of the simulation. Panels are
+ * notified on the event dispatch thread with snapshots of the models, which are
+ * rendered at a capped frame rate, so that the simulation is not slowed down by
+ * repainting each period.
+ */
 public class Dashboard extends JFrame implements ModelListener {
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * periods published between two frames are coalesced
+	 */
+	public static final int MAX_FRAMES_PER_SECOND = 10;
+
 	protected final AgentsPanel agentsPanel = new AgentsPanel();
 
 	protected final BanksPanel banksPanel = new BanksPanel();
@@ -60,6 +76,8 @@ public class Dashboard extends JFrame implements ModelListener {
 
 	protected final NationalAccountsPanel nationalAccountsPanel = new NationalAccountsPanel();
 
+	protected final Timer renderTimer;
+
 	protected final StatesPanel statesPanel = new StatesPanel();
 
 	protected final TradersPanel tradersPanel = new TradersPanel();
@@ -103,6 +121,22 @@ public class Dashboard extends JFrame implements ModelListener {
 
 		add(jTabbedPane, BorderLayout.CENTER);
 
+		/*
+		 * rendering of model snapshots on the event dispatch thread
+		 */
+		final ModelSnapshotModel modelSnapshotModel = ApplicationContext.getInstance().getModelRegistry()
+				.getModelSnapshotModel();
+		modelSnapshotModel.attach();
+
+		renderTimer = new Timer(1000 / MAX_FRAMES_PER_SECOND, new ActionListener() {
+			@Override
+			public void actionPerformed(final ActionEvent e) {
+				modelSnapshotModel.render();
+			}
+		});
+		renderTimer.setCoalesce(true);
+		renderTimer.start();
+
 		/*
 		 * Pack
 		 */
@@ -112,6 +146,13 @@ public class Dashboard extends JFrame implements ModelListener {
 		setVisible(true);
 	}
 
+	@Override
+	public void dispose() {
+		renderTimer.stop();
+		ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().detach();
+		super.dispose();
+	}
+
 	public ControlPanel getControlPanel() {
 		return controlPanel;
 	}
@@ -26,6 +26,7 @@ import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshot.NationalEconomySnapshot;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
 
 public abstract class BalanceSheetTableModel extends AbstractTableModel implements ModelListener {
@@ -36,12 +37,19 @@ public abstract class BalanceSheetTableModel extends AbstractTableModel implemen
 
 	protected final String columnNames[] = { "Active Account", "Value", "Passive Account", "Value" };
 
+	protected final Currency currency;
+
 	public BalanceSheetTableModel(final Currency currency) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).balanceSheetsModel
-				.registerListener(this);
+		this.currency = currency;
+
+		// notified on the rendering thread with a snapshot of the models
+		ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerListener(this);
 	}
 
-	protected abstract BalanceSheetDTO getBalanceSheet();
+	/**
+	 * @return balance sheet to be displayed from the rendered snapshot
+	 */
+	protected abstract BalanceSheetDTO getBalanceSheet(final NationalEconomySnapshot nationalEconomySnapshot);
 
 	@Override
 	public int getColumnCount() {
@@ -92,8 +100,8 @@ public abstract class BalanceSheetTableModel extends AbstractTableModel implemen
 				return null;
 			}
 		}
-		// active values
-		else if (columnIndex == 1) {
+		// active values; none before the first snapshot
+		else if (columnIndex == 1 && balanceSheet != null) {
 			switch (rowIndex) {
 			case 0:
 				return Currency.formatMoneySum(balanceSheet.hardCash);
@@ -148,7 +156,7 @@ public abstract class BalanceSheetTableModel extends AbstractTableModel implemen
 			}
 		}
 		// passive values
-		else if (columnIndex == 3) {
+		else if (columnIndex == 3 && balanceSheet != null) {
 			switch (rowIndex) {
 			case 1:
 				return Currency.formatMoneySum(balanceSheet.loansGiroShortTerm);
@@ -177,7 +185,12 @@ public abstract class BalanceSheetTableModel extends AbstractTableModel implemen
 
 	@Override
 	public synchronized void notifyListener() {
-		balanceSheet = getBalanceSheet();
-		fireTableDataChanged();
+		final NationalEconomySnapshot nationalEconomySnapshot = ApplicationContext.getInstance().getModelRegistry()
+				.getModelSnapshotModel().getRenderedNationalEconomySnapshot(currency);
+
+		if (nationalEconomySnapshot != null) {
+			balanceSheet = getBalanceSheet(nationalEconomySnapshot);
+			fireTableDataChanged();
+		}
 	}
 }
\ No newline at end of file
@@ -37,8 +37,15 @@ import io.github.uwol.compecon.dashboard.model.BalanceSheetTableModel;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour.PricingBehaviourNewPriceDecisionCause;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
 import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.CentralBank;
+import io.github.uwol.compecon.economy.sectors.financial.CreditBank;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.economy.sectors.industry.Factory;
+import io.github.uwol.compecon.economy.sectors.state.State;
+import io.github.uwol.compecon.economy.sectors.trading.Trader;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshot.NationalEconomySnapshot;
 
 public abstract class AbstractChartsPanel extends JPanel {
 
@@ -68,10 +75,8 @@ public abstract class AbstractChartsPanel extends JPanel {
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected BalanceSheetDTO getBalanceSheet() {
-				return ApplicationContext.getInstance().getModelRegistry()
-						.getNationalEconomyModel(currency).balanceSheetsModel
-								.getCentralBankNationalAccountsBalanceSheet();
+			protected BalanceSheetDTO getBalanceSheet(final NationalEconomySnapshot nationalEconomySnapshot) {
+				return nationalEconomySnapshot.getBalanceSheet(CentralBank.class);
 			}
 		};
 
@@ -86,10 +91,8 @@ public abstract class AbstractChartsPanel extends JPanel {
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected BalanceSheetDTO getBalanceSheet() {
-				return ApplicationContext.getInstance().getModelRegistry()
-						.getNationalEconomyModel(currency).balanceSheetsModel
-								.getCreditBankNationalAccountsBalanceSheet();
+			protected BalanceSheetDTO getBalanceSheet(final NationalEconomySnapshot nationalEconomySnapshot) {
+				return nationalEconomySnapshot.getBalanceSheet(CreditBank.class);
 			}
 		};
 
@@ -104,9 +107,8 @@ public abstract class AbstractChartsPanel extends JPanel {
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected BalanceSheetDTO getBalanceSheet() {
-				return ApplicationContext.getInstance().getModelRegistry()
-						.getNationalEconomyModel(currency).balanceSheetsModel.getFactoryNationalAccountsBalanceSheet();
+			protected BalanceSheetDTO getBalanceSheet(final NationalEconomySnapshot nationalEconomySnapshot) {
+				return nationalEconomySnapshot.getBalanceSheet(Factory.class);
 			}
 		};
 
@@ -121,10 +123,8 @@ public abstract class AbstractChartsPanel extends JPanel {
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected BalanceSheetDTO getBalanceSheet() {
-				return ApplicationContext.getInstance().getModelRegistry()
-						.getNationalEconomyModel(currency).balanceSheetsModel
-								.getFactoryNationalAccountsBalanceSheet(goodType);
+			protected BalanceSheetDTO getBalanceSheet(final NationalEconomySnapshot nationalEconomySnapshot) {
+				return nationalEconomySnapshot.getFactoryBalanceSheet(goodType);
 			}
 		};
 
@@ -139,10 +139,8 @@ public abstract class AbstractChartsPanel extends JPanel {
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected BalanceSheetDTO getBalanceSheet() {
-				return ApplicationContext.getInstance().getModelRegistry()
-						.getNationalEconomyModel(currency).balanceSheetsModel
-								.getHouseholdNationalAccountsBalanceSheet();
+			protected BalanceSheetDTO getBalanceSheet(final NationalEconomySnapshot nationalEconomySnapshot) {
+				return nationalEconomySnapshot.getBalanceSheet(Household.class);
 			}
 		};
 
@@ -177,9 +175,8 @@ public abstract class AbstractChartsPanel extends JPanel {
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected BalanceSheetDTO getBalanceSheet() {
-				return ApplicationContext.getInstance().getModelRegistry()
-						.getNationalEconomyModel(currency).balanceSheetsModel.getStateNationalAccountsBalanceSheet();
+			protected BalanceSheetDTO getBalanceSheet(final NationalEconomySnapshot nationalEconomySnapshot) {
+				return nationalEconomySnapshot.getBalanceSheet(State.class);
 			}
 		};
 
@@ -194,9 +191,8 @@ public abstract class AbstractChartsPanel extends JPanel {
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected BalanceSheetDTO getBalanceSheet() {
-				return ApplicationContext.getInstance().getModelRegistry()
-						.getNationalEconomyModel(currency).balanceSheetsModel.getTraderNationalAccountsBalanceSheet();
+			protected BalanceSheetDTO getBalanceSheet(final NationalEconomySnapshot nationalEconomySnapshot) {
+				return nationalEconomySnapshot.getBalanceSheet(Trader.class);
 			}
 		};
 
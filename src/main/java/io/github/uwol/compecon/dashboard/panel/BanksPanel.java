@@ -34,14 +34,12 @@ import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
-import org.jfree.data.xy.DefaultHighLowDataset;
 import org.jfree.data.xy.XYDataset;
 
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshot.NationalEconomySnapshot;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
-import io.github.uwol.compecon.engine.statistics.PricesModel;
-import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
 
 public class BanksPanel extends AbstractChartsPanel implements ModelListener {
 
@@ -65,17 +63,18 @@ public class BanksPanel extends AbstractChartsPanel implements ModelListener {
 			this.add(createCreditBankBalanceSheetPanel(currency));
 			this.add(createCentralBankBalanceSheetPanel(currency));
 
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).pricesModel
-					.registerListener(this);
-			// no registration with the market depth model, as they call
-			// listeners synchronously
+			// notified on the rendering thread with a snapshot of the models
+			ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerListener(this);
 
 			notifyListener();
 		}
 
 		@Override
 		public synchronized void notifyListener() {
-			if (isShowing()) {
+			final NationalEconomySnapshot nationalEconomySnapshot = ApplicationContext.getInstance()
+					.getModelRegistry().getModelSnapshotModel().getRenderedNationalEconomySnapshot(currency);
+
+			if (isShowing() && nationalEconomySnapshot != null) {
 				// remove prices panels
 				for (final Entry<Currency, JPanel> pricePanel : priceTimeSeriesPanels.entrySet()) {
 					this.remove(pricePanel.getValue());
@@ -90,10 +89,11 @@ public class BanksPanel extends AbstractChartsPanel implements ModelListener {
 				for (final Currency commodityCurrency : Currency.values()) {
 					if (!commodityCurrency.equals(currency)) {
 						priceTimeSeriesPanels.put(commodityCurrency,
-								createPriceTimeSeriesChartPanel(currency, commodityCurrency));
+								createPriceTimeSeriesChartPanel(nationalEconomySnapshot, commodityCurrency));
 						this.add(priceTimeSeriesPanels.get(commodityCurrency));
 
-						marketDepthPanel.put(commodityCurrency, createMarketDepthPanel(currency, commodityCurrency));
+						marketDepthPanel.put(commodityCurrency,
+								createMarketDepthPanel(nationalEconomySnapshot, commodityCurrency));
 						this.add(marketDepthPanel.get(commodityCurrency));
 					}
 				}
@@ -128,41 +128,27 @@ public class BanksPanel extends AbstractChartsPanel implements ModelListener {
 		add(jTabbedPaneCurrency, BorderLayout.CENTER);
 	}
 
-	protected ChartPanel createMarketDepthPanel(final Currency currency, final Currency commodityCurrency) {
-		final XYDataset dataset = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).marketDepthModel.getMarketDepthDataset(currency, commodityCurrency);
+	protected ChartPanel createMarketDepthPanel(final NationalEconomySnapshot nationalEconomySnapshot,
+			final Currency commodityCurrency) {
+		final XYDataset dataset = nationalEconomySnapshot.getMarketDepthDataset(commodityCurrency);
 		final JFreeChart chart = ChartFactory.createXYStepAreaChart(
 				commodityCurrency.getIso4217Code() + " Market Depth", "Price", "Volume", dataset,
 				PlotOrientation.VERTICAL, true, true, false);
 		return new ChartPanel(chart);
 	}
 
-	protected ChartPanel createPriceTimeSeriesChartPanel(final Currency currency, final Currency commodityCurrency) {
+	protected ChartPanel createPriceTimeSeriesChartPanel(final NationalEconomySnapshot nationalEconomySnapshot,
+			final Currency commodityCurrency) {
 		final JFreeChart priceChart = ChartFactory.createCandlestickChart(
-				commodityCurrency.getIso4217Code() + " Prices", "Time", "Price in " + currency.getIso4217Code(),
-				getDefaultHighLowDataset(currency, commodityCurrency), false);
+				commodityCurrency.getIso4217Code() + " Prices", "Time",
+				"Price in " + nationalEconomySnapshot.getCurrency().getIso4217Code(),
+				nationalEconomySnapshot.getPrices(commodityCurrency), false);
 		final ChartPanel chartPanel = new ChartPanel(priceChart);
 		chartPanel.setDomainZoomable(true);
 		chartPanel.setPreferredSize(new java.awt.Dimension(800, 400));
 		return chartPanel;
 	}
 
-	protected DefaultHighLowDataset getDefaultHighLowDataset(final Currency currency,
-			final Currency commodityCurrency) {
-		final PricesModel pricesModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).pricesModel;
-
-		final Map<Currency, PriceModel> priceModelsForCurrencies = pricesModel.getPriceModelsForCurrencies();
-		final PriceModel priceModel = priceModelsForCurrencies.get(commodityCurrency);
-
-		if (priceModel != null) {
-			return new DefaultHighLowDataset("", priceModel.getDate(), priceModel.getHigh(), priceModel.getLow(),
-					priceModel.getOpen(), priceModel.getClose(), priceModel.getVolume());
-		}
-
-		return null;
-	}
-
 	@Override
 	public void notifyListener() {
 		if (isShowing()) {
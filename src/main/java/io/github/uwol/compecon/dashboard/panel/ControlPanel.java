@@ -23,6 +23,7 @@ import java.awt.Dimension;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.text.SimpleDateFormat;
+import java.util.Date;
 
 import javax.swing.BoxLayout;
 import javax.swing.JButton;
@@ -62,7 +63,9 @@ public class ControlPanel extends JPanel implements ModelListener {
 
 		this.add(createEconomicSectorsPane());
 
-		ApplicationContext.getInstance().getModelRegistry().getTimeSystemModel().registerListener(this);
+		// notified on the rendering thread, when the rendered date changes
+		ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().getTimeSystemModel()
+				.registerListener(this);
 	}
 
 	protected JTabbedPane createEconomicSectorsPane() {
@@ -233,7 +236,11 @@ public class ControlPanel extends JPanel implements ModelListener {
 	}
 
 	private void refreshDateTime() {
-		dateTimeLabel.setText(
-				new SimpleDateFormat().format(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()));
+		final Date renderedDate = ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel()
+				.getRenderedDate();
+
+		if (renderedDate != null) {
+			dateTimeLabel.setText(new SimpleDateFormat().format(renderedDate));
+		}
 	}
 }
@@ -22,7 +22,6 @@ package io.github.uwol.compecon.dashboard.panel;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.GridLayout;
-import java.util.Map;
 
 import javax.swing.JPanel;
 import javax.swing.JTabbedPane;
@@ -36,18 +35,15 @@ import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.plot.ValueMarker;
 import org.jfree.chart.plot.XYPlot;
 import org.jfree.data.time.TimeSeriesCollection;
-import org.jfree.data.xy.DefaultHighLowDataset;
-import org.jfree.data.xy.IntervalXYDataset;
 import org.jfree.data.xy.XYDataset;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.IncomeSource;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshot.NationalEconomySnapshot;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
 import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel.SummaryStatisticalData;
-import io.github.uwol.compecon.engine.statistics.PricesModel;
-import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
 import io.github.uwol.compecon.math.ConvexFunction.ConvexFunctionTerminationCause;
 
 public class HouseholdsPanel extends AbstractChartsPanel implements ModelListener {
@@ -62,6 +58,8 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 
 		protected JFreeChart incomeDistributionChart;
 
+		protected JFreeChart lorenzCurveChart;
+
 		protected JPanel marketDepthPanel;
 
 		protected JPanel priceTimeSeriesPanel;
@@ -79,68 +77,64 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 			this.add(createIncomeSourcePanel(currency));
 			incomeDistributionChart = createIncomeDistributionPanel(currency);
 			this.add(new ChartPanel(incomeDistributionChart));
-			this.add(createLorenzCurvePanel(currency));
+			lorenzCurveChart = createLorenzCurvePanel(currency);
+			this.add(new ChartPanel(lorenzCurveChart));
 			this.add(createHouseholdBalanceSheetPanel(currency));
 			this.add(createLabourHourSupplyPanel(currency));
 			this.add(createPricingBehaviourMechanicsPanel(currency, GoodType.LABOURHOUR));
 
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).householdsModel.incomeDistributionModel.registerListener(this);
-			// no registration with the price and market depth model, as they
-			// call listeners synchronously
+			// notified on the rendering thread with a snapshot of the models
+			ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerListener(this);
 
 			notifyListener();
 		}
 
 		@Override
 		public synchronized void notifyListener() {
-			if (isShowing()) {
+			final NationalEconomySnapshot nationalEconomySnapshot = ApplicationContext.getInstance()
+					.getModelRegistry().getModelSnapshotModel().getRenderedNationalEconomySnapshot(currency);
+
+			if (isShowing() && nationalEconomySnapshot != null) {
 				/*
 				 * income distribution chart
 				 */
 
 				final XYPlot plot = ((XYPlot) incomeDistributionChart.getPlot());
-				plot.setDataset(ApplicationContext.getInstance().getModelRegistry()
-						.getNationalEconomyModel(currency).householdsModel.incomeDistributionModel
-								.getHistogramDataset());
+				plot.setDataset(nationalEconomySnapshot.getIncomeHistogramDataset());
 
 				plot.clearDomainMarkers();
-				final SummaryStatisticalData summaryStatisticalData = ApplicationContext.getInstance()
-						.getModelRegistry().getNationalEconomyModel(currency).householdsModel.incomeDistributionModel
-								.getSummaryStatisticalData();
-				if (summaryStatisticalData.originalValues != null && summaryStatisticalData.originalValues.length > 0) {
-					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith10PercentY], "10 %");
-					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith20PercentY], "20 %");
-					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith30PercentY], "30 %");
-					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith40PercentY], "40 %");
-					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith50PercentY], "50 %");
-					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith60PercentY], "60 %");
-					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith70PercentY], "70 %");
-					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith80PercentY], "80 %");
-					addValueMarker(incomeDistributionChart,
-							summaryStatisticalData.originalValues[summaryStatisticalData.xWith90PercentY], "90 %");
+				final SummaryStatisticalData summaryStatisticalData = nationalEconomySnapshot
+						.getIncomeSummaryStatisticalData();
+				if (summaryStatisticalData.numberOfValues > 0) {
+					addValueMarker(incomeDistributionChart, summaryStatisticalData.valueAtXWith10PercentY, "10 %");
+					addValueMarker(incomeDistributionChart, summaryStatisticalData.valueAtXWith20PercentY, "20 %");
+					addValueMarker(incomeDistributionChart, summaryStatisticalData.valueAtXWith30PercentY, "30 %");
+					addValueMarker(incomeDistributionChart, summaryStatisticalData.valueAtXWith40PercentY, "40 %");
+					addValueMarker(incomeDistributionChart, summaryStatisticalData.valueAtXWith50PercentY, "50 %");
+					addValueMarker(incomeDistributionChart, summaryStatisticalData.valueAtXWith60PercentY, "60 %");
+					addValueMarker(incomeDistributionChart, summaryStatisticalData.valueAtXWith70PercentY, "70 %");
+					addValueMarker(incomeDistributionChart, summaryStatisticalData.valueAtXWith80PercentY, "80 %");
+					addValueMarker(incomeDistributionChart, summaryStatisticalData.valueAtXWith90PercentY, "90 %");
 				}
 
+				/*
+				 * lorenz curve chart
+				 */
+
+				((XYPlot) lorenzCurveChart.getPlot()).setDataset(nationalEconomySnapshot.getIncomeLorenzCurveDataset());
+
 				// prices panel
 				if (priceTimeSeriesPanel != null) {
 					this.remove(priceTimeSeriesPanel);
 				}
-				priceTimeSeriesPanel = createPriceTimeSeriesChartPanel(currency);
+				priceTimeSeriesPanel = createPriceTimeSeriesChartPanel(nationalEconomySnapshot);
 				this.add(priceTimeSeriesPanel);
 
 				// market depth panel
 				if (marketDepthPanel != null) {
 					this.remove(marketDepthPanel);
 				}
-				marketDepthPanel = createMarketDepthPanel(currency);
+				marketDepthPanel = createMarketDepthPanel(nationalEconomySnapshot);
 				this.add(marketDepthPanel);
 
 				validate();
@@ -213,11 +207,12 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 		return new ChartPanel(chart);
 	}
 
+	/**
+	 * the dataset is set from the rendered snapshot
+	 */
 	protected JFreeChart createIncomeDistributionPanel(final Currency currency) {
-		final IntervalXYDataset dataset = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeDistributionModel.getHistogramDataset();
 		final JFreeChart incomeDistributionChart = ChartFactory.createHistogram("Income Distribution", "Income",
-				"% Households at Income", dataset, PlotOrientation.VERTICAL, true, false, false);
+				"% Households at Income", null, PlotOrientation.VERTICAL, true, false, false);
 		return incomeDistributionChart;
 	}
 
@@ -254,26 +249,26 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 		return new ChartPanel(chart);
 	}
 
-	protected ChartPanel createLorenzCurvePanel(final Currency currency) {
-		final XYDataset dataset = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeDistributionModel.getLorenzCurveDataset();
+	/**
+	 * the dataset is set from the rendered snapshot
+	 */
+	protected JFreeChart createLorenzCurvePanel(final Currency currency) {
 		final JFreeChart lorenzCurveChart = ChartFactory.createXYLineChart("Lorenz Curve", "% of Households",
-				"% of Income", dataset, PlotOrientation.VERTICAL, true, true, false);
-		return new ChartPanel(lorenzCurveChart);
+				"% of Income", null, PlotOrientation.VERTICAL, true, true, false);
+		return lorenzCurveChart;
 	}
 
-	protected ChartPanel createMarketDepthPanel(final Currency currency) {
-		final XYDataset dataset = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).marketDepthModel.getMarketDepthDataset(currency,
-						GoodType.LABOURHOUR);
+	protected ChartPanel createMarketDepthPanel(final NationalEconomySnapshot nationalEconomySnapshot) {
+		final XYDataset dataset = nationalEconomySnapshot.getMarketDepthDataset(GoodType.LABOURHOUR);
 		final JFreeChart chart = ChartFactory.createXYStepAreaChart(GoodType.LABOURHOUR + " Market Depth", "Price",
 				"Volume", dataset, PlotOrientation.VERTICAL, true, true, false);
 		return new ChartPanel(chart);
 	}
 
-	protected ChartPanel createPriceTimeSeriesChartPanel(final Currency currency) {
+	protected ChartPanel createPriceTimeSeriesChartPanel(final NationalEconomySnapshot nationalEconomySnapshot) {
 		final JFreeChart priceChart = ChartFactory.createCandlestickChart(GoodType.LABOURHOUR + " Prices", "Time",
-				"Price in " + currency.getIso4217Code(), getDefaultHighLowDataset(currency), false);
+				"Price in " + nationalEconomySnapshot.getCurrency().getIso4217Code(),
+				nationalEconomySnapshot.getPrices(GoodType.LABOURHOUR), false);
 		final ChartPanel chartPanel = new ChartPanel(priceChart);
 		chartPanel.setDomainZoomable(true);
 		chartPanel.setPreferredSize(new java.awt.Dimension(800, 400));
@@ -333,21 +328,6 @@ public class HouseholdsPanel extends AbstractChartsPanel implements ModelListene
 		return new ChartPanel(chart);
 	}
 
-	protected DefaultHighLowDataset getDefaultHighLowDataset(final Currency currency) {
-		final PricesModel pricesModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).pricesModel;
-
-		final Map<GoodType, PriceModel> priceModelsForGoodType = pricesModel.getPriceModelsForGoodTypes();
-		final PriceModel priceModel = priceModelsForGoodType.get(GoodType.LABOURHOUR);
-
-		if (priceModel != null) {
-			return new DefaultHighLowDataset("", priceModel.getDate(), priceModel.getHigh(), priceModel.getLow(),
-					priceModel.getOpen(), priceModel.getClose(), priceModel.getVolume());
-		}
-
-		return null;
-	}
-
 	@Override
 	public void notifyListener() {
 		if (isShowing()) {
@@ -21,7 +21,6 @@ package io.github.uwol.compecon.dashboard.panel;
 
 import java.awt.BorderLayout;
 import java.awt.GridLayout;
-import java.util.Map;
 
 import javax.swing.JPanel;
 import javax.swing.JTabbedPane;
@@ -34,15 +33,13 @@ import org.jfree.chart.JFreeChart;
 import org.jfree.chart.plot.PlotOrientation;
 import org.jfree.chart.title.TextTitle;
 import org.jfree.data.time.TimeSeriesCollection;
-import org.jfree.data.xy.DefaultHighLowDataset;
 import org.jfree.data.xy.XYDataset;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshot.NationalEconomySnapshot;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
-import io.github.uwol.compecon.engine.statistics.PricesModel;
-import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
 import io.github.uwol.compecon.math.production.ConvexProductionFunction.ConvexProductionFunctionTerminationCause;
 
 public class IndustriesPanel extends AbstractChartsPanel implements ModelListener {
@@ -82,29 +79,30 @@ public class IndustriesPanel extends AbstractChartsPanel implements ModelListene
 					this.add(createCapitalDepreciationPanel(currency, goodType));
 				}
 
-				ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).pricesModel
-						.registerListener(this);
-				// no registration with the market depth model, as they call
-				// listeners synchronously
+				// notified on the rendering thread with a snapshot of the models
+				ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerListener(this);
 
 				notifyListener();
 			}
 
 			@Override
 			public synchronized void notifyListener() {
-				if (isShowing()) {
+				final NationalEconomySnapshot nationalEconomySnapshot = ApplicationContext.getInstance()
+						.getModelRegistry().getModelSnapshotModel().getRenderedNationalEconomySnapshot(currency);
+
+				if (isShowing() && nationalEconomySnapshot != null) {
 					// prices panel
 					if (priceTimeSeriesPanel != null) {
 						this.remove(priceTimeSeriesPanel);
 					}
-					priceTimeSeriesPanel = createPriceTimeSeriesChartPanel(currency, goodType);
+					priceTimeSeriesPanel = createPriceTimeSeriesChartPanel(nationalEconomySnapshot, goodType);
 					this.add(priceTimeSeriesPanel);
 
 					// market depth panel
 					if (marketDepthPanel != null) {
 						this.remove(marketDepthPanel);
 					}
-					marketDepthPanel = createMarketDepthPanel(currency, goodType);
+					marketDepthPanel = createMarketDepthPanel(nationalEconomySnapshot, goodType);
 					this.add(marketDepthPanel);
 
 					validate();
@@ -213,17 +211,19 @@ public class IndustriesPanel extends AbstractChartsPanel implements ModelListene
 		return new ChartPanel(chart);
 	}
 
-	protected ChartPanel createMarketDepthPanel(final Currency currency, final GoodType goodType) {
-		final XYDataset dataset = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).marketDepthModel.getMarketDepthDataset(currency, goodType);
+	protected ChartPanel createMarketDepthPanel(final NationalEconomySnapshot nationalEconomySnapshot,
+			final GoodType goodType) {
+		final XYDataset dataset = nationalEconomySnapshot.getMarketDepthDataset(goodType);
 		final JFreeChart chart = ChartFactory.createXYStepAreaChart(goodType + " Market Depth", "Price", "Volume",
 				dataset, PlotOrientation.VERTICAL, true, true, false);
 		return new ChartPanel(chart);
 	}
 
-	protected ChartPanel createPriceTimeSeriesChartPanel(final Currency currency, final GoodType goodType) {
+	protected ChartPanel createPriceTimeSeriesChartPanel(final NationalEconomySnapshot nationalEconomySnapshot,
+			final GoodType goodType) {
 		final JFreeChart priceChart = ChartFactory.createCandlestickChart(goodType + " Prices", "Time",
-				"Price in " + currency.getIso4217Code(), getDefaultHighLowDataset(currency, goodType), false);
+				"Price in " + nationalEconomySnapshot.getCurrency().getIso4217Code(),
+				nationalEconomySnapshot.getPrices(goodType), false);
 		final ChartPanel chartPanel = new ChartPanel(priceChart);
 		chartPanel.setDomainZoomable(true);
 		chartPanel.setPreferredSize(new java.awt.Dimension(800, 400));
@@ -273,21 +273,6 @@ public class IndustriesPanel extends AbstractChartsPanel implements ModelListene
 		return new ChartPanel(chart);
 	}
 
-	protected DefaultHighLowDataset getDefaultHighLowDataset(final Currency currency, final GoodType goodType) {
-		final PricesModel pricesModel = ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).pricesModel;
-
-		final Map<GoodType, PriceModel> priceModelsForGoodType = pricesModel.getPriceModelsForGoodTypes();
-		final PriceModel priceModel = priceModelsForGoodType.get(goodType);
-
-		if (priceModel != null) {
-			return new DefaultHighLowDataset("", priceModel.getDate(), priceModel.getHigh(), priceModel.getLow(),
-					priceModel.getOpen(), priceModel.getClose(), priceModel.getVolume());
-		}
-
-		return null;
-	}
-
 	@Override
 	public void notifyListener() {
 		if (isShowing()) {
@@ -60,7 +60,7 @@ public class LogPanel extends JPanel implements ModelListener {
 		protected final String columnNames[] = { "Name", "Balance", "Currency" };
 
 		public AgentBankAccountsTableModel() {
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().registerListener(this);
+			ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerListener(this);
 		}
 
 		@Override
@@ -111,7 +111,7 @@ public class LogPanel extends JPanel implements ModelListener {
 		protected final String columnNames[] = { "Name", "Balance" };
 
 		public AgentGoodsTableModel() {
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().registerListener(this);
+			ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerListener(this);
 		}
 
 		@Override
@@ -159,7 +159,7 @@ public class LogPanel extends JPanel implements ModelListener {
 		private static final long serialVersionUID = 1L;
 
 		public AgentListModel() {
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().registerListener(this);
+			ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerListener(this);
 		}
 
 		@Override
@@ -206,7 +206,7 @@ public class LogPanel extends JPanel implements ModelListener {
 		protected final String columnNames[] = { "Message" };
 
 		public AgentLogsTableModel() {
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().registerListener(this);
+			ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerListener(this);
 		}
 
 		@Override
@@ -221,14 +221,13 @@ public class LogPanel extends JPanel implements ModelListener {
 
 		@Override
 		public int getRowCount() {
-			// -5, so that concurrent changes in the messages queue do not
-			// produce exceptions
-			return Math.max(agentDetailModel.getCurrentLog().getRows().size() - 5, 0);
+			return agentDetailModel.getCurrentLog().getNumberOfRows();
 		}
 
 		@Override
 		public Object getValueAt(final int rowIndex, final int colIndex) {
-			return agentDetailModel.getCurrentLog().getRows().get(rowIndex);
+			// rows are formatted only when rendered
+			return agentDetailModel.getCurrentLog().getRow(rowIndex);
 		}
 
 		@Override
@@ -248,7 +247,7 @@ public class LogPanel extends JPanel implements ModelListener {
 		protected final String columnNames[] = { "Name" };
 
 		public AgentPropertyTableModel() {
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().registerListener(this);
+			ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerListener(this);
 		}
 
 		@Override
@@ -317,6 +316,7 @@ public class LogPanel extends JPanel implements ModelListener {
 			public void actionPerformed(final ActionEvent e) {
 				ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel()
 						.setCurrentLog((AgentLog) logSelection.getSelectedItem());
+				notifyListener();
 			}
 		});
 		controlPanel.add(logSelection);
@@ -334,6 +334,7 @@ public class LogPanel extends JPanel implements ModelListener {
 			public void valueChanged(final ListSelectionEvent e) {
 				if (e.getValueIsAdjusting() == false) {
 					agentDetailModel.setCurrentAgent(agentsList.getSelectedIndex());
+					notifyListener();
 				}
 			}
 		});
@@ -376,8 +377,17 @@ public class LogPanel extends JPanel implements ModelListener {
 		setVisible(true);
 	}
 
+	/**
+	 * refreshes the table models after a selection, as they are notified only
+	 * per rendered snapshot
+	 */
 	@Override
 	public void notifyListener() {
+		agentBankAccountsTableModel.notifyListener();
+		agentGoodsTableModel.notifyListener();
+		agentLogsListModel.notifyListener();
+		agentLogsTableModel.notifyListener();
+		agentPropertyTableModel.notifyListener();
 	}
 
 }
@@ -23,7 +23,6 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.GridLayout;
-import java.util.Map;
 
 import javax.swing.BorderFactory;
 import javax.swing.JPanel;
@@ -40,8 +39,8 @@ import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshot.NationalEconomySnapshot;
 import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
-import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
 public class NationalAccountsPanel extends AbstractChartsPanel implements ModelListener {
 
@@ -64,8 +63,8 @@ public class NationalAccountsPanel extends AbstractChartsPanel implements ModelL
 			public MonetaryTransactionsTableModel(final Currency referenceCurrency) {
 				this.referenceCurrency = referenceCurrency;
 
-				ApplicationContext.getInstance().getModelRegistry()
-						.getNationalEconomyModel(referenceCurrency).monetaryTransactionsModel.registerListener(this);
+				// notified on the rendering thread with a snapshot of the models
+				ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerListener(this);
 			}
 
 			@Override
@@ -95,18 +94,20 @@ public class NationalAccountsPanel extends AbstractChartsPanel implements ModelL
 
 			@Override
 			public void notifyListener() {
-				// source data model
-				final Map<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>> adjacencyMatrixForCurrency = ApplicationContext
-						.getInstance().getModelRegistry()
-						.getNationalEconomyModel(referenceCurrency).monetaryTransactionsModel.getAdjacencyMatrix();
+				// source data, which is captured before the model is reset
+				final NationalEconomySnapshot nationalEconomySnapshot = ApplicationContext.getInstance()
+						.getModelRegistry().getModelSnapshotModel()
+						.getRenderedNationalEconomySnapshot(referenceCurrency);
+
+				if (nationalEconomySnapshot == null) {
+					return;
+				}
 
 				// for all agent types as sources of monetary transactions
 				// -> rows
 				for (int i = 0; i < ApplicationContext.getInstance().getAgentFactory().getAgentTypes().size(); i++) {
 					final Class<? extends Agent> agentTypeFrom = ApplicationContext.getInstance().getAgentFactory()
 							.getAgentTypes().get(i);
-					final Map<Class<? extends Agent>, PeriodDataAccumulator> adjacencyMatrixForCurrencyAndFromAgentType = adjacencyMatrixForCurrency
-							.get(agentTypeFrom);
 
 					// row name
 					transientTableData[i][0] = agentTypeFrom.getSimpleName();
@@ -117,12 +118,8 @@ public class NationalAccountsPanel extends AbstractChartsPanel implements ModelL
 					// columns
 					for (int j = 0; j < ApplicationContext.getInstance().getAgentFactory().getAgentTypes()
 							.size(); j++) {
-						final Class<? extends Agent> agentTypeTo = ApplicationContext.getInstance().getAgentFactory()
-								.getAgentTypes().get(j);
-						final PeriodDataAccumulator periodTransactionVolume = adjacencyMatrixForCurrencyAndFromAgentType
-								.get(agentTypeTo);
-						transientTableData[i][j + 1] = Currency.formatMoneySum(periodTransactionVolume.getAmount());
-						periodTransactionVolume.reset();
+						transientTableData[i][j + 1] = Currency
+								.formatMoneySum(nationalEconomySnapshot.getMonetaryTransaction(i, j));
 					}
 				}
 
@@ -203,9 +200,8 @@ public class NationalAccountsPanel extends AbstractChartsPanel implements ModelL
 			private static final long serialVersionUID = 1L;
 
 			@Override
-			protected BalanceSheetDTO getBalanceSheet() {
-				return ApplicationContext.getInstance().getModelRegistry()
-						.getNationalEconomyModel(currency).balanceSheetsModel.getNationalAccountsBalanceSheet();
+			protected BalanceSheetDTO getBalanceSheet(final NationalEconomySnapshot nationalEconomySnapshot) {
+				return nationalEconomySnapshot.getNationalAccountsBalanceSheet();
 			}
 		};
 
@@ -57,6 +57,7 @@ import io.github.uwol.compecon.economy.sectors.financial.impl.BankAccountImpl;
 import io.github.uwol.compecon.economy.security.debt.Bond;
 import io.github.uwol.compecon.economy.security.equity.Share;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ConfigurationSnapshot;
 import io.github.uwol.compecon.engine.log.Log;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.timesystem.impl.DayType;
@@ -108,6 +109,13 @@ public abstract class AgentImpl implements Agent {
 		}
 	};
 
+	/**
+	 * configuration captured on construction of the agent
+	 */
+	@Transient
+	protected final ConfigurationSnapshot configurationSnapshot = ApplicationContext.getInstance()
+			.getConfigurationSnapshot();
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.TABLE)
 	protected int id;
@@ -237,7 +245,7 @@ public abstract class AgentImpl implements Agent {
 		timeSystemEvents.add(balanceSheetPublicationEvent);
 		ApplicationContext.getInstance().getTimeSystem().addEvent(balanceSheetPublicationEvent, -1, MonthType.EVERY,
 				DayType.EVERY,
-				ApplicationContext.getInstance().getConfiguration().agentConfig.getBalanceSheetPublicationHourType());
+				configurationSnapshot.agentConfig.balanceSheetPublicationHourType);
 
 		getLog().agent_onConstruct(this);
 
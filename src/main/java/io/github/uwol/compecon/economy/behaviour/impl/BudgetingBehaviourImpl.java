@@ -23,6 +23,7 @@ import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.behaviour.BudgetingBehaviour;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ConfigurationSnapshot;
 import io.github.uwol.compecon.engine.log.Log;
 
 /**
@@ -35,10 +36,13 @@ public class BudgetingBehaviourImpl implements BudgetingBehaviour {
 
 	protected final Agent agent;
 
+	protected final ConfigurationSnapshot.BudgetingBehaviourConfig budgetingBehaviourConfig;
+
 	protected double lastMaxCreditRate = Double.NaN;
 
 	public BudgetingBehaviourImpl(final Agent agent) {
 		this.agent = agent;
+		budgetingBehaviourConfig = ApplicationContext.getInstance().getConfigurationSnapshot().budgetingBehaviourConfig;
 	}
 
 	/*
@@ -62,10 +66,8 @@ public class BudgetingBehaviourImpl implements BudgetingBehaviour {
 
 		assert (!Double.isNaN(keyInterestRate));
 
-		final double internalRateOfReturn = ApplicationContext.getInstance().getConfiguration().budgetingBehaviourConfig
-				.getInternalRateOfReturn();
-		final double keyInterestRateTransmissionDamper = ApplicationContext.getInstance()
-				.getConfiguration().budgetingBehaviourConfig.getKeyInterestRateTransmissionDamper();
+		final double internalRateOfReturn = budgetingBehaviourConfig.internalRateOfReturn;
+		final double keyInterestRateTransmissionDamper = budgetingBehaviourConfig.keyInterestRateTransmissionDamper;
 		lastMaxCreditRate = lastMaxCreditRate
 				* (1.0 + ((internalRateOfReturn - keyInterestRate) / keyInterestRateTransmissionDamper));
 
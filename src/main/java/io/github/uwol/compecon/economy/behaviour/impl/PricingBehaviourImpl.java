@@ -23,6 +23,7 @@ import io.github.uwol.compecon.economy.agent.impl.AgentImpl;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ConfigurationSnapshot;
 import io.github.uwol.compecon.engine.log.Log;
 import io.github.uwol.compecon.math.util.MathUtil;
 
@@ -51,6 +52,8 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 
 	protected double priceChangeIncrement;
 
+	protected final ConfigurationSnapshot.PricingBehaviourConfig pricingBehaviourConfig;
+
 	// and the results of this decision
 
 	double[] prices_InPeriods = new double[10]; // x, x-1, x-2, x-3, ...
@@ -62,8 +65,8 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 	public PricingBehaviourImpl(final AgentImpl agent, final Object offeredObject, final Currency denominatedInCurrency,
 			final double initialPrice) {
 		this(agent, offeredObject, denominatedInCurrency, initialPrice,
-				ApplicationContext.getInstance().getConfiguration().pricingBehaviourConfig
-						.getDefaultPriceChangeIncrementExplicit());
+				ApplicationContext.getInstance()
+						.getConfigurationSnapshot().pricingBehaviourConfig.defaultPriceChangeIncrementExplicit);
 	}
 
 	public PricingBehaviourImpl(final AgentImpl agent, final Object offeredObject, final Currency denominatedInCurrency,
@@ -73,6 +76,7 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 		this.denominatedInCurrency = denominatedInCurrency;
 		this.offeredObject = offeredObject;
 		initialPriceChangeIncrement = priceChangeIncrement;
+		pricingBehaviourConfig = ApplicationContext.getInstance().getConfigurationSnapshot().pricingBehaviourConfig;
 	}
 
 	public void assurePeriodDataInitialized() {
@@ -80,8 +84,7 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 			if (!Double.isNaN(initialPrice) && !Double.isInfinite(initialPrice)) {
 				prices_InPeriods[0] = initialPrice;
 			} else {
-				prices_InPeriods[0] = ApplicationContext.getInstance().getConfiguration().pricingBehaviourConfig
-						.getDefaultInitialPrice();
+				prices_InPeriods[0] = pricingBehaviourConfig.defaultInitialPrice;
 			}
 
 			periodDataInitialized = true;
@@ -98,8 +101,7 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 	}
 
 	protected double calculateHigherPriceImplicit(final double price) {
-		return price * (1.0 + ApplicationContext.getInstance().getConfiguration().pricingBehaviourConfig
-				.getDefaultPriceChangeIncrementImplicit());
+		return price * (1.0 + pricingBehaviourConfig.defaultPriceChangeIncrementImplicit);
 	}
 
 	/*
@@ -203,8 +205,7 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 					denominatedInCurrency);
 		}
 		getLog().pricingBehaviour_onCalculateNewPrice(agent, PricingBehaviourNewPriceDecisionCause.IMPLICIT_RAISE,
-				ApplicationContext.getInstance().getConfiguration().pricingBehaviourConfig
-						.getDefaultPriceChangeIncrementImplicit());
+				pricingBehaviourConfig.defaultPriceChangeIncrementImplicit);
 		// implicit pricing pressure -> inducing 100% credit utilization
 		return calculateHigherPriceImplicit(oldPrice);
 	}
@@ -219,8 +220,7 @@ public class PricingBehaviourImpl implements PricingBehaviour {
 	 */
 	@Override
 	public double[] getCurrentPriceArray() {
-		final int numberOfPrices = ApplicationContext.getInstance().getConfiguration().pricingBehaviourConfig
-				.getDefaultNumberOfPrices();
+		final int numberOfPrices = pricingBehaviourConfig.defaultNumberOfPrices;
 		assert (numberOfPrices > 0);
 		final double[] prices = new double[numberOfPrices];
 
@@ -19,7 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.economy.bookkeeping.impl;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -75,7 +75,7 @@ public class BalanceSheetDTO {
 	public double hardCash;
 
 	// owned good types by number of pieces
-	public final Map<GoodType, Double> inventoryQuantitative = new HashMap<GoodType, Double>();
+	public final Map<GoodType, Double> inventoryQuantitative = new EnumMap<GoodType, Double>(GoodType.class);
 
 	// owned good types by value in referenceCurrency
 	public double inventoryValue;
@@ -38,6 +38,8 @@ import io.github.uwol.compecon.economy.sectors.financial.Bank;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
 import io.github.uwol.compecon.economy.sectors.financial.BankCustomer;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.util.WriteBehindUtil;
 
 @Entity
 @Table(name = "BankAccount")
@@ -52,7 +54,7 @@ public class BankAccountImpl implements BankAccount {
 	protected Currency currency;
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.AUTO)
+	@GeneratedValue(strategy = GenerationType.TABLE)
 	protected int id;
 
 	@ManyToOne(targetEntity = BankImpl.class)
@@ -83,6 +85,10 @@ public class BankAccountImpl implements BankAccount {
 		assert (!Double.isNaN(amount) && !Double.isInfinite(amount) && amount >= 0.0);
 
 		balance = balance + amount;
+
+		if (WriteBehindUtil.isTrackingChanges()) {
+			ApplicationContext.getInstance().getBankAccountDAO().merge(this);
+		}
 	}
 
 	@Override
@@ -179,6 +185,10 @@ public class BankAccountImpl implements BankAccount {
 		assert (amount <= balance || overdraftPossible);
 
 		balance = balance - amount;
+
+		if (WriteBehindUtil.isTrackingChanges()) {
+			ApplicationContext.getInstance().getBankAccountDAO().merge(this);
+		}
 	}
 
 }
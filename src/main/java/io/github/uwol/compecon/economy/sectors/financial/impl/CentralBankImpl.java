@@ -111,12 +111,12 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 			final double targetPriceIndexForCurrentPeriod = calculateTargetPriceIndexForPeriod();
 			final double currentPriceIndex = statisticalOffice.getPriceIndex();
 
-			final double defaultEffectiveKeyInterestRate = ApplicationContext.getInstance()
-					.getConfiguration().centralBankConfig.getDefaultEffectiveKeyInterestRate();
-			final double maxEffectiveKeyInterestRate = ApplicationContext.getInstance()
-					.getConfiguration().centralBankConfig.getMaxEffectiveKeyInterestRate();
-			final double minEffectiveKeyInterestRate = ApplicationContext.getInstance()
-					.getConfiguration().centralBankConfig.getMinEffectiveKeyInterestRate();
+			final double defaultEffectiveKeyInterestRate =
+					configurationSnapshot.centralBankConfig.defaultEffectiveKeyInterestRate;
+			final double maxEffectiveKeyInterestRate =
+					configurationSnapshot.centralBankConfig.maxEffectiveKeyInterestRate;
+			final double minEffectiveKeyInterestRate =
+					configurationSnapshot.centralBankConfig.minEffectiveKeyInterestRate;
 
 			final double newEffectiveKeyInterestRate = defaultEffectiveKeyInterestRate
 					+ (((currentPriceIndex - targetPriceIndexForCurrentPeriod) / currentPriceIndex) / 10.0);
@@ -134,11 +134,11 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 			final int yearNumber = ApplicationContext.getInstance().getTimeSystem().getCurrentYear()
 					- ApplicationContext.getInstance().getTimeSystem().getStartYear();
 			final double targetPriceLevelForYear = Math.pow(
-					(1.0 + ApplicationContext.getInstance().getConfiguration().centralBankConfig.getInflationTarget()),
+					(1.0 + configurationSnapshot.centralBankConfig.inflationTarget),
 					yearNumber);
 
 			final double monthlyNominalInflationTarget = MathUtil.calculateMonthlyNominalInterestRate(
-					ApplicationContext.getInstance().getConfiguration().centralBankConfig.getInflationTarget());
+					configurationSnapshot.centralBankConfig.inflationTarget);
 
 			final double targetPriceLevelForMonth = Math.pow(1.0 + monthlyNominalInflationTarget,
 					ApplicationContext.getInstance().getTimeSystem().getCurrentMonthNumberInYear() - 1.0) - 1.0;
@@ -147,8 +147,7 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 
 			final double combinedTargetPriceLevel = (targetPriceLevelForYear + targetPriceLevelForMonth
 					+ targetPriceLevelForDay);
-			return ApplicationContext.getInstance().getConfiguration().centralBankConfig.getTargetPriceIndex()
-					* combinedTargetPriceLevel;
+			return configurationSnapshot.centralBankConfig.targetPriceIndex * combinedTargetPriceLevel;
 		}
 
 		@Override
@@ -207,8 +206,8 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 			double priceIndexWeightSum = 0.0;
 
 			for (final GoodType goodType : GoodType.values()) {
-				final double priceIndexWeight = ApplicationContext.getInstance()
-						.getConfiguration().centralBankConfig.statisticalOfficeConfig.getPriceIndexWeight(goodType);
+				final double priceIndexWeight = configurationSnapshot.centralBankConfig.statisticalOfficeConfig
+						.getPriceIndexWeight(goodType);
 
 				priceIndexWeights.put(goodType, priceIndexWeight);
 				priceIndexWeightSum += priceIndexWeight;
@@ -462,7 +461,7 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 	@Override
 	@Transient
 	public double getReserveRatio() {
-		return ApplicationContext.getInstance().getConfiguration().centralBankConfig.getReserveRatio();
+		return configurationSnapshot.centralBankConfig.reserveRatio;
 	}
 
 	@Override
@@ -510,8 +509,7 @@ public class CentralBankImpl extends BankImpl implements CentralBank {
 		// NUMBER_OF_SNAPSHOTS_PER_DAY
 		statisticalOffice = new StatisticalOffice();
 
-		effectiveKeyInterestRate = ApplicationContext.getInstance().getConfiguration().centralBankConfig
-				.getDefaultEffectiveKeyInterestRate();
+		effectiveKeyInterestRate = configurationSnapshot.centralBankConfig.defaultEffectiveKeyInterestRate;
 	}
 
 	@Override
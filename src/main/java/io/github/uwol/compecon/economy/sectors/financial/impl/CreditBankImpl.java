@@ -87,7 +87,7 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 			}
 
 			assert (balanceSumOfPassiveBankAccounts == 0.0
-					|| ApplicationContext.getInstance().getConfiguration().householdConfig.getRetirementSaving());
+					|| configurationSnapshot.householdConfig.retirementSaving);
 
 			return balanceSumOfPassiveBankAccounts;
 		}
@@ -114,7 +114,7 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 			}
 
 			assert (faceValueSumOfBonds == 0.0
-					|| ApplicationContext.getInstance().getConfiguration().householdConfig.getRetirementSaving());
+					|| configurationSnapshot.householdConfig.retirementSaving);
 
 			return faceValueSumOfBonds;
 		}
@@ -254,12 +254,13 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 										MathUtil.round(budgetForCurrencyTradingPerCurrency_InPrimaryCurrency));
 							}
 						} else if (Double.isNaN(correctPriceOfForeignCurrencyInLocalCurrency)) {
-							getLog().log(CreditBankImpl.this, CurrencyTradeEvent.class,
-									"-> no arbitrage with %s, since correct price of foreign currency is %s",
-									foreignCurrency, correctPriceOfForeignCurrencyInLocalCurrency);
+							if (getLog().isAgentSelectedByClient(CreditBankImpl.this)) {
+								getLog().log(CreditBankImpl.this, CurrencyTradeEvent.class,
+										"-> no arbitrage with %s, since correct price of foreign currency is %s",
+										foreignCurrency, correctPriceOfForeignCurrencyInLocalCurrency);
+							}
 						} else if (MathUtil.lesser(correctPriceOfForeignCurrencyInLocalCurrency
-								/ (1.0 + ApplicationContext.getInstance().getConfiguration().creditBankConfig
-										.getMinArbitrageMargin()),
+								/ (1.0 + configurationSnapshot.creditBankConfig.minArbitrageMargin),
 								realPriceOfForeignCurrencyInLocalCurrency)) {
 							if (getLog().isAgentSelectedByClient(CreditBankImpl.this)) {
 								getLog().log(CreditBankImpl.this, CurrencyTradeEvent.class,
@@ -276,8 +277,7 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 							ApplicationContext.getInstance().getMarketService().buy(foreignCurrency, Double.NaN,
 									budgetForCurrencyTradingPerCurrency_InPrimaryCurrency,
 									correctPriceOfForeignCurrencyInLocalCurrency / (1.0
-											+ ApplicationContext.getInstance().getConfiguration().creditBankConfig
-													.getMinArbitrageMargin()),
+											+ configurationSnapshot.creditBankConfig.minArbitrageMargin),
 									CreditBankImpl.this,
 									getBankAccountCurrencyTradeDelegate(CreditBankImpl.this.primaryCurrency),
 									getBankAccountCurrencyTradeDelegate(foreignCurrency));
@@ -329,8 +329,7 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 			// division by 2 so that the period-wise the budget converges to max
 			// credit. This ensures, that in each period there is budget left to
 			// quote on the currency markets
-			return (ApplicationContext.getInstance().getConfiguration().creditBankConfig
-					.getMaxCreditForCurrencyTrading()
+			return (configurationSnapshot.creditBankConfig.maxCreditForCurrencyTrading
 					+ bankAccountsCurrencyTrade.get(CreditBankImpl.this.primaryCurrency).getBalance()) / 2.0;
 		}
 
@@ -828,8 +827,7 @@ public class CreditBankImpl extends BankImpl implements CreditBank, CentralBankC
 					initialPriceOfLocalCurrencyInForeignCurrency = 1.0;
 				}
 
-				final double priceChangeIncrement = ApplicationContext.getInstance().getConfiguration().creditBankConfig
-						.getPriceChangeIncrement();
+				final double priceChangeIncrement = configurationSnapshot.creditBankConfig.priceChangeIncrement;
 				final PricingBehaviour pricingBehaviour = ApplicationContext.getInstance().getPricingBehaviourFactory()
 						.newInstancePricingBehaviour(this, primaryCurrency, foreignCurrency,
 								initialPriceOfLocalCurrencyInForeignCurrency, priceChangeIncrement);
@@ -78,8 +78,8 @@ public class HouseholdImpl extends AgentImpl implements Household {
 
 				if (MathUtil.greater(amountToBuy, 0.0)) {
 					final double marginalPrice = priceFunctions.get(goodTypeToBuy).getMarginalPrice(0.0);
-					final double maxPricePerUnitMultiplier = ApplicationContext.getInstance()
-							.getConfiguration().householdConfig.getMaxPricePerUnitMultiplier();
+					final double maxPricePerUnitMultiplier =
+							configurationSnapshot.householdConfig.maxPricePerUnitMultiplier;
 
 					/*
 					 * maxPricePerUnit is significantly important for price equilibrium; also
@@ -146,13 +146,11 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			/*
 			 * potentially, derive new household
 			 */
-			final int NEW_HOUSEHOLD_FROM_X_DAYS = ApplicationContext.getInstance().getConfiguration().householdConfig
-					.getNewHouseholdFromAgeInDays();
+			final int NEW_HOUSEHOLD_FROM_X_DAYS = configurationSnapshot.householdConfig.newHouseholdFromAgeInDays;
 
 			if (ageInDays >= NEW_HOUSEHOLD_FROM_X_DAYS) {
 				if ((ageInDays - NEW_HOUSEHOLD_FROM_X_DAYS)
-						% ApplicationContext.getInstance().getConfiguration().householdConfig
-								.getNewHouseholdEveryXDays() == 0) {
+						% configurationSnapshot.householdConfig.newHouseholdEveryXDays == 0) {
 					ApplicationContext.getInstance().getHouseholdFactory()
 							.newInstanceHousehold(HouseholdImpl.this.primaryCurrency, 0);
 				}
@@ -163,14 +161,12 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			/*
 			 * check for required utility
 			 */
-			if (utility < ApplicationContext.getInstance().getConfiguration().householdConfig
-					.getRequiredUtilityPerDay()) {
+			if (utility < configurationSnapshot.householdConfig.requiredUtilityPerDay) {
 				daysWithoutUtility++;
 				continuousDaysWithUtility = 0;
 				if (getLog().isAgentSelectedByClient(HouseholdImpl.this)) {
 					getLog().log(HouseholdImpl.this, DailyLifeEvent.class, "does not have required utility of %s",
-							ApplicationContext.getInstance().getConfiguration().householdConfig
-									.getRequiredUtilityPerDay());
+							configurationSnapshot.householdConfig.requiredUtilityPerDay);
 				}
 			} else {
 				if (daysWithoutUtility > 0) {
@@ -225,8 +221,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 					HouseholdImpl.this.bankAccountTransactions.getCurrency(), GoodType.LABOURHOUR);
 
 			// if not retired
-			if (ageInDays < ApplicationContext.getInstance().getConfiguration().householdConfig
-					.getRetirementAgeInDays()) {
+			if (ageInDays < configurationSnapshot.householdConfig.retirementAgeInDays) {
 				/*
 				 * offer labour hours
 				 */
@@ -244,8 +239,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 
 				getLog().household_onOfferResult(HouseholdImpl.this.primaryCurrency,
 						pricingBehaviour.getLastOfferedAmount(),
-						ApplicationContext.getInstance().getConfiguration().householdConfig
-								.getNumberOfLabourHoursPerDay());
+						configurationSnapshot.householdConfig.numberOfLabourHoursPerDay);
 			}
 		}
 
@@ -256,7 +250,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			/*
 			 * potentially call destructor
 			 */
-			if (ageInDays > ApplicationContext.getInstance().getConfiguration().householdConfig.getLifespanInDays()) {
+			if (ageInDays > configurationSnapshot.householdConfig.lifespanInDays) {
 				deconstruct();
 				return;
 			}
@@ -309,13 +303,12 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			final double budget;
 
 			// do households save for retirement?
-			if (ApplicationContext.getInstance().getConfiguration().householdConfig.getRetirementSaving()) {
+			if (configurationSnapshot.householdConfig.retirementSaving) {
 				final Map<Period, Double> intertemporalConsumptionPlan = intertemporalConsumptionFunction
 						.calculateUtilityMaximizingConsumptionPlan(income, bankAccountSavings.getBalance(),
 								keyInterestRate, ageInDays,
-								ApplicationContext.getInstance().getConfiguration().householdConfig.getLifespanInDays(),
-								ApplicationContext.getInstance().getConfiguration().householdConfig
-										.getRetirementAgeInDays());
+								configurationSnapshot.householdConfig.lifespanInDays,
+								configurationSnapshot.householdConfig.retirementAgeInDays);
 				budget = intertemporalConsumptionPlan.get(Period.CURRENT);
 			} else {
 				budget = income;
@@ -397,7 +390,7 @@ public class HouseholdImpl extends AgentImpl implements Household {
 			exhaust();
 			ApplicationContext.getInstance().getPropertyService().incrementGoodTypeAmount(HouseholdImpl.this,
 					GoodType.LABOURHOUR,
-					ApplicationContext.getInstance().getConfiguration().householdConfig.getNumberOfLabourHoursPerDay());
+					configurationSnapshot.householdConfig.numberOfLabourHoursPerDay);
 		}
 	}
 
@@ -537,11 +530,9 @@ public class HouseholdImpl extends AgentImpl implements Household {
 	public void initialize() {
 		super.initialize();
 
-		DAYS_WITHOUT_UTILITY_UNTIL_DESTRUCTOR = (ApplicationContext.getInstance().getConfiguration().householdConfig
-				.getDaysWithoutUtilityUntilDestructor()
+		DAYS_WITHOUT_UTILITY_UNTIL_DESTRUCTOR = (configurationSnapshot.householdConfig.daysWithoutUtilityUntilDestructor
 				+ ApplicationContext.getInstance().getRandomNumberGenerator().nextInt())
-				% ApplicationContext.getInstance().getConfiguration().householdConfig
-						.getDaysWithoutUtilityUntilDestructor();
+				% configurationSnapshot.householdConfig.daysWithoutUtilityUntilDestructor;
 
 		// daily life at random HourType
 		final TimeSystemEvent dailyLifeEvent = new DailyLifeEvent();
@@ -72,7 +72,7 @@ public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 				final Map<GoodType, Double> profitMaximizingProductionFactors = productionFunction
 						.calculateProfitMaximizingProductionFactors(priceOfProducedGoodType,
 								priceFunctionsOfProductionFactors, capital, budget, Double.NaN,
-								ApplicationContext.getInstance().getConfiguration().factoryConfig.getMargin());
+								configurationSnapshot.factoryConfig.margin);
 
 				final Map<GoodType, Double> profitMaximizingProductionFactorsToBuy = new HashMap<GoodType, Double>(
 						profitMaximizingProductionFactors);
@@ -132,8 +132,7 @@ public class FactoryImpl extends JointStockCompanyImpl implements Factory {
 		protected void capitalDepreciation() {
 			final Map<GoodType, Double> capital = ApplicationContext.getInstance().getPropertyService()
 					.getCapitalBalances(FactoryImpl.this);
-			final double depreciationRatio = ApplicationContext.getInstance().getConfiguration().factoryConfig
-					.getCapitalDepreciationRatioPerPeriod();
+			final double depreciationRatio = configurationSnapshot.factoryConfig.capitalDepreciationRatioPerPeriod;
 
 			for (final Entry<GoodType, Double> entry : capital.entrySet()) {
 				final GoodType capitalGoodType = entry.getKey();
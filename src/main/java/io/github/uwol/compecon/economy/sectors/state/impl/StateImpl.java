@@ -211,7 +211,7 @@ public class StateImpl extends AgentImpl implements State {
 		final CentralBank centralBank = ApplicationContext.getInstance().getAgentService()
 				.findCentralBank(primaryCurrency);
 		final double coupon = centralBank.getEffectiveKeyInterestRate()
-				+ ApplicationContext.getInstance().getConfiguration().stateConfig.getBondMargin();
+				+ configurationSnapshot.stateConfig.bondMargin;
 
 		// coupons have to be payed from a separate bank account, so that bonds
 		// can be re-bought with same face value after bond deconstruction
@@ -124,8 +124,7 @@ public class TraderImpl extends JointStockCompanyImpl implements Trader {
 
 									if (MathUtil.greater(
 											priceOfGoodTypeInLocalCurrency / (1.0
-													+ ApplicationContext.getInstance().getConfiguration().traderConfig
-															.getArbitrageMargin()),
+													+ configurationSnapshot.traderConfig.arbitrageMargin),
 											importPriceOfGoodTypeInLocalCurrency)) {
 
 										if (getLog().isAgentSelectedByClient(TraderImpl.this)) {
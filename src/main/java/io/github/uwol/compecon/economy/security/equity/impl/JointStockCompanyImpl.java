@@ -179,8 +179,7 @@ public abstract class JointStockCompanyImpl extends AgentImpl implements JointSt
 	@Transient
 	public void issueShares() {
 		// issue initial shares
-		for (int i = 0; i < ApplicationContext.getInstance().getConfiguration().jointStockCompanyConfig
-				.getInitialNumberOfShares(); i++) {
+		for (int i = 0; i < configurationSnapshot.jointStockCompanyConfig.initialNumberOfShares; i++) {
 			final Share initialShare = ApplicationContext.getInstance().getShareFactory()
 					.newInstanceShare(JointStockCompanyImpl.this, JointStockCompanyImpl.this);
 			ApplicationContext.getInstance().getMarketService().placeSellingOffer(initialShare,
@@ -19,6 +19,8 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.applicationcontext;
 
+import java.io.IOException;
+
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
 import io.github.uwol.compecon.engine.dao.BankAccountDAO;
 import io.github.uwol.compecon.engine.dao.CentralBankDAO;
@@ -31,6 +33,7 @@ import io.github.uwol.compecon.engine.dao.PropertyDAO;
 import io.github.uwol.compecon.engine.dao.StateDAO;
 import io.github.uwol.compecon.engine.dao.TraderDAO;
 import io.github.uwol.compecon.engine.dao.inmemory.impl.SequenceNumberGeneratorImpl;
+import io.github.uwol.compecon.engine.dao.writebehind.WriteBehindPersister;
 import io.github.uwol.compecon.engine.factory.AgentFactory;
 import io.github.uwol.compecon.engine.factory.BankAccountFactory;
 import io.github.uwol.compecon.engine.factory.BudgetingBehaviourFactory;
@@ -52,8 +55,11 @@ import io.github.uwol.compecon.engine.service.AgentService;
 import io.github.uwol.compecon.engine.service.HardCashService;
 import io.github.uwol.compecon.engine.service.PropertyService;
 import io.github.uwol.compecon.engine.service.SettlementMarketService;
+import io.github.uwol.compecon.engine.snapshot.SnapshotExporter;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry;
 import io.github.uwol.compecon.engine.timesystem.TimeSystem;
+import io.github.uwol.compecon.engine.util.WriteBehindUtil;
+import io.github.uwol.compecon.math.production.impl.ProfitMaximizationCache;
 
 public class ApplicationContext {
 
@@ -88,6 +94,8 @@ public class ApplicationContext {
 
 	protected Configuration configuration;
 
+	protected ConfigurationSnapshot configurationSnapshot;
+
 	protected CreditBankDAO creditBankDAO;
 
 	protected CreditBankFactory creditBankFactory;
@@ -122,6 +130,8 @@ public class ApplicationContext {
 
 	protected PricingBehaviourFactory pricingBehaviourFactory;
 
+	protected ProfitMaximizationCache profitMaximizationCache;
+
 	protected PropertyDAO propertyDAO;
 
 	protected PropertyService propertyService;
@@ -134,6 +144,8 @@ public class ApplicationContext {
 
 	protected SimulationRunner simulationRunner;
 
+	protected SnapshotExporter snapshotExporter;
+
 	protected StateDAO stateDAO;
 
 	protected StateFactory stateFactory;
@@ -144,6 +156,8 @@ public class ApplicationContext {
 
 	protected TraderFactory traderFactory;
 
+	protected WriteBehindPersister writeBehindPersister;
+
 	private ApplicationContext() {
 		super();
 	}
@@ -180,6 +194,10 @@ public class ApplicationContext {
 		return configuration;
 	}
 
+	public ConfigurationSnapshot getConfigurationSnapshot() {
+		return configurationSnapshot;
+	}
+
 	public CreditBankDAO getCreditBankDAO() {
 		return creditBankDAO;
 	}
@@ -248,6 +266,10 @@ public class ApplicationContext {
 		return pricingBehaviourFactory;
 	}
 
+	public ProfitMaximizationCache getProfitMaximizationCache() {
+		return profitMaximizationCache;
+	}
+
 	public PropertyDAO getPropertyDAO() {
 		return propertyDAO;
 	}
@@ -272,6 +294,10 @@ public class ApplicationContext {
 		return simulationRunner;
 	}
 
+	public SnapshotExporter getSnapshotExporter() {
+		return snapshotExporter;
+	}
+
 	public StateDAO getStateDAO() {
 		return stateDAO;
 	}
@@ -292,8 +318,31 @@ public class ApplicationContext {
 		return traderFactory;
 	}
 
+	public WriteBehindPersister getWriteBehindPersister() {
+		return writeBehindPersister;
+	}
+
 	public void reset() {
-		instance = null;
+		try {
+			// write pending changes before the DAOs are released
+			if (writeBehindPersister != null) {
+				writeBehindPersister.close();
+			}
+
+			if (snapshotExporter != null) {
+				try {
+					snapshotExporter.close();
+				} catch (final IOException e) {
+					e.printStackTrace();
+				}
+			}
+		} finally {
+			profitMaximizationCache = null;
+			snapshotExporter = null;
+			writeBehindPersister = null;
+			WriteBehindUtil.setTrackingChanges(false);
+			instance = null;
+		}
 
 		System.gc();
 	}
@@ -330,6 +379,10 @@ public class ApplicationContext {
 		this.configuration = configuration;
 	}
 
+	public void setConfigurationSnapshot(final ConfigurationSnapshot configurationSnapshot) {
+		this.configurationSnapshot = configurationSnapshot;
+	}
+
 	public void setCreditBankDAO(final CreditBankDAO creditBankDAO) {
 		this.creditBankDAO = creditBankDAO;
 	}
@@ -398,6 +451,10 @@ public class ApplicationContext {
 		this.pricingBehaviourFactory = pricingBehaviourFactory;
 	}
 
+	public void setProfitMaximizationCache(final ProfitMaximizationCache profitMaximizationCache) {
+		this.profitMaximizationCache = profitMaximizationCache;
+	}
+
 	public void setPropertyDAO(final PropertyDAO propertyDAO) {
 		this.propertyDAO = propertyDAO;
 	}
@@ -422,6 +479,10 @@ public class ApplicationContext {
 		this.simulationRunner = simulationRunner;
 	}
 
+	public void setSnapshotExporter(final SnapshotExporter snapshotExporter) {
+		this.snapshotExporter = snapshotExporter;
+	}
+
 	public void setStateDAO(final StateDAO stateDAO) {
 		this.stateDAO = stateDAO;
 	}
@@ -441,4 +502,9 @@ public class ApplicationContext {
 	public void setTraderFactory(final TraderFactory traderFactory) {
 		this.traderFactory = traderFactory;
 	}
+
+	public void setWriteBehindPersister(final WriteBehindPersister writeBehindPersister) {
+		this.writeBehindPersister = writeBehindPersister;
+		WriteBehindUtil.setTrackingChanges(writeBehindPersister != null);
+	}
 }
@@ -20,6 +20,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.engine.applicationcontext;
 
 import java.io.IOException;
+import java.sql.SQLException;
 
 import io.github.uwol.compecon.economy.materia.InputOutputModel;
 import io.github.uwol.compecon.economy.materia.impl.InputOutputModelInterdependenciesImpl;
@@ -27,6 +28,7 @@ import io.github.uwol.compecon.economy.materia.impl.InputOutputModelMinimalImpl;
 import io.github.uwol.compecon.economy.materia.impl.InputOutputModelNoDependenciesImpl;
 import io.github.uwol.compecon.economy.materia.impl.InputOutputModelTestingImpl;
 import io.github.uwol.compecon.engine.dao.inmemory.impl.SequenceNumberGeneratorImpl;
+import io.github.uwol.compecon.engine.dao.writebehind.impl.WriteBehindPersisterImpl;
 import io.github.uwol.compecon.engine.factory.impl.AgentImplFactoryImpl;
 import io.github.uwol.compecon.engine.factory.impl.BankAccountImplFactoryImpl;
 import io.github.uwol.compecon.engine.factory.impl.BudgetingBehaviourFactoryImpl;
@@ -48,8 +50,12 @@ import io.github.uwol.compecon.engine.service.impl.AgentServiceImpl;
 import io.github.uwol.compecon.engine.service.impl.HardCashServiceImpl;
 import io.github.uwol.compecon.engine.service.impl.PropertyServiceImpl;
 import io.github.uwol.compecon.engine.service.impl.SettlementMarketServiceImpl;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotExporterImpl;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry;
 import io.github.uwol.compecon.engine.timesystem.impl.TimeSystemImpl;
+import io.github.uwol.compecon.engine.util.SnapshotUtil;
+import io.github.uwol.compecon.engine.util.WriteBehindUtil;
+import io.github.uwol.compecon.math.production.impl.ProfitMaximizationCache;
 
 public class ApplicationContextFactory {
 
@@ -115,6 +121,34 @@ public class ApplicationContextFactory {
 				.setStateDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.StateDAOImpl());
 		ApplicationContext.getInstance()
 				.setTraderDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.TraderDAOImpl());
+
+		// end-of-day snapshots
+
+		if (SnapshotUtil.isActive()) {
+			ApplicationContext.getInstance().setSnapshotExporter(new SnapshotExporterImpl(SnapshotUtil.getDirectory()));
+		}
+	}
+
+	/**
+	 * Configures the application context with in-memory DAOs, the state of which
+	 * is written to the database once per simulated day by a background thread.
+	 */
+	public static void configureWriteBehindApplicationContext(final String configurationPropertiesFilename)
+			throws IOException {
+
+		configureInMemoryApplicationContext(configurationPropertiesFilename);
+
+		final Configuration.WriteBehindConfig writeBehindConfig = ApplicationContext.getInstance()
+				.getConfiguration().writeBehindConfig;
+
+		try {
+			ApplicationContext.getInstance()
+					.setWriteBehindPersister(new WriteBehindPersisterImpl(WriteBehindUtil.getUrl(),
+							WriteBehindUtil.getUsername(), WriteBehindUtil.getPassword(),
+							writeBehindConfig.getBatchSize(), writeBehindConfig.getMaxPendingDays()));
+		} catch (final SQLException e) {
+			throw new IOException(e);
+		}
 	}
 
 	protected static void configureMinimalApplicationContext(final String configurationPropertiesFilename)
@@ -151,13 +185,21 @@ public class ApplicationContextFactory {
 		ApplicationContext.getInstance().setPropertyService(new PropertyServiceImpl());
 		ApplicationContext.getInstance().setMarketService(new SettlementMarketServiceImpl());
 
-		ApplicationContext.getInstance().setTimeSystem(new TimeSystemImpl(2001));
-
 		/*
-		 * configuration
+		 * configuration, which is resolved into a snapshot before any of the
+		 * components capturing it is constructed
 		 */
 		final Configuration configuration = new Configuration(configurationPropertiesFilename);
 		ApplicationContext.getInstance().setConfiguration(configuration);
+		ApplicationContext.getInstance().setConfigurationSnapshot(new ConfigurationSnapshot(configuration));
+
+		ApplicationContext.getInstance().setTimeSystem(new TimeSystemImpl(2001));
+
+		if (configuration.mathConfig.getProfitMaximizationCacheActive()) {
+			ApplicationContext.getInstance().setProfitMaximizationCache(
+					new ProfitMaximizationCache(configuration.mathConfig.getProfitMaximizationCacheSize(),
+							configuration.mathConfig.getProfitMaximizationCachePrecision()));
+		}
 
 		/*
 		 * input-output model
@@ -186,8 +228,9 @@ public class ApplicationContextFactory {
 		/*
 		 * model registry
 		 */
-		ApplicationContext.getInstance().setModelRegistry(new ModelRegistry(inputOutputModel));
-		ApplicationContext.getInstance().setLog(new LogImpl());
+		final ModelRegistry modelRegistry = new ModelRegistry(inputOutputModel);
+		ApplicationContext.getInstance().setModelRegistry(modelRegistry);
+		ApplicationContext.getInstance().setLog(new LogImpl(modelRegistry));
 
 		/*
 		 * simulation runner
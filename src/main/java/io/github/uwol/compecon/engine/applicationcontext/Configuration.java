@@ -32,12 +32,12 @@ public class Configuration {
 
 	public class AgentConfig {
 
-		public HourType balanceSheetPublicationHourType;
+		protected HourType balanceSheetPublicationHourType;
 
 		public HourType getBalanceSheetPublicationHourType() {
 			if (balanceSheetPublicationHourType == null) {
 				balanceSheetPublicationHourType = HourType
-						.valueOf(configFile.getProperty("agent.balanceSheetPublicationHourType"));
+						.valueOf(getRequiredProperty("agent.balanceSheetPublicationHourType"));
 			}
 			return balanceSheetPublicationHourType;
 		}
@@ -45,14 +45,14 @@ public class Configuration {
 
 	public class BudgetingBehaviourConfig {
 
-		public Double internalRateOfReturn;
+		protected Double internalRateOfReturn;
 
-		public Double keyInterestRateTransmissionDamper;
+		protected Double keyInterestRateTransmissionDamper;
 
 		public double getInternalRateOfReturn() {
 			if (internalRateOfReturn == null) {
 				internalRateOfReturn = Double
-						.parseDouble(configFile.getProperty("budgetingBehaviour.internalRateOfReturn"));
+						.parseDouble(getRequiredProperty("budgetingBehaviour.internalRateOfReturn"));
 			}
 			return internalRateOfReturn;
 		}
@@ -60,7 +60,7 @@ public class Configuration {
 		public double getKeyInterestRateTransmissionDamper() {
 			if (keyInterestRateTransmissionDamper == null) {
 				keyInterestRateTransmissionDamper = Double
-						.parseDouble(configFile.getProperty("budgetingBehaviour.keyInterestRateTransmissionDamper"));
+						.parseDouble(getRequiredProperty("budgetingBehaviour.keyInterestRateTransmissionDamper"));
 			}
 			return keyInterestRateTransmissionDamper;
 		}
@@ -72,7 +72,7 @@ public class Configuration {
 			/**
 			 * constraint: sum of weights has to be 1.0
 			 */
-			public Map<GoodType, Double> priceIndexWeights = new HashMap<GoodType, Double>();
+			protected Map<GoodType, Double> priceIndexWeights = new HashMap<GoodType, Double>();
 
 			public double getPriceIndexWeight(final GoodType goodType) {
 				if (!priceIndexWeights.containsKey(goodType)) {
@@ -88,33 +88,33 @@ public class Configuration {
 			}
 		}
 
-		public Double defaultEffectiveKeyInterestRate;
+		protected Double defaultEffectiveKeyInterestRate;
 
-		public Double inflationTarget;
+		protected Double inflationTarget;
 
-		public Double maxEffectiveKeyInterestRate;
+		protected Double maxEffectiveKeyInterestRate;
 
-		public Double minEffectiveKeyInterestRate;
+		protected Double minEffectiveKeyInterestRate;
 
-		public Map<Currency, Integer> number = new HashMap<Currency, Integer>();
+		protected Map<Currency, Integer> number = new HashMap<Currency, Integer>();
 
-		public Double reserveRatio;
+		protected Double reserveRatio;
 
 		public final StatisticalOfficeConfig statisticalOfficeConfig = new StatisticalOfficeConfig();
 
-		public Double targetPriceIndex;
+		protected Double targetPriceIndex;
 
 		public double getDefaultEffectiveKeyInterestRate() {
 			if (defaultEffectiveKeyInterestRate == null) {
 				defaultEffectiveKeyInterestRate = Double
-						.parseDouble(configFile.getProperty("centralBank.defaultEffectiveKeyInterestRate"));
+						.parseDouble(getRequiredProperty("centralBank.defaultEffectiveKeyInterestRate"));
 			}
 			return defaultEffectiveKeyInterestRate;
 		}
 
 		public double getInflationTarget() {
 			if (inflationTarget == null) {
-				inflationTarget = Double.parseDouble(configFile.getProperty("centralBank.inflationTarget"));
+				inflationTarget = Double.parseDouble(getRequiredProperty("centralBank.inflationTarget"));
 			}
 			return inflationTarget;
 		}
@@ -122,7 +122,7 @@ public class Configuration {
 		public double getMaxEffectiveKeyInterestRate() {
 			if (maxEffectiveKeyInterestRate == null) {
 				maxEffectiveKeyInterestRate = Double
-						.parseDouble(configFile.getProperty("centralBank.maxEffectiveKeyInterestRate"));
+						.parseDouble(getRequiredProperty("centralBank.maxEffectiveKeyInterestRate"));
 			}
 			return maxEffectiveKeyInterestRate;
 		}
@@ -130,7 +130,7 @@ public class Configuration {
 		public double getMinEffectiveKeyInterestRate() {
 			if (minEffectiveKeyInterestRate == null) {
 				minEffectiveKeyInterestRate = Double
-						.parseDouble(configFile.getProperty("centralBank.minEffectiveKeyInterestRate"));
+						.parseDouble(getRequiredProperty("centralBank.minEffectiveKeyInterestRate"));
 			}
 			return minEffectiveKeyInterestRate;
 		}
@@ -138,7 +138,7 @@ public class Configuration {
 		public int getNumber(final Currency currency) {
 			if (!number.containsKey(currency)) {
 				number.put(currency,
-						Integer.parseInt(configFile.getProperty("centralBank." + currency.name() + ".number")));
+						Integer.parseInt(getRequiredProperty("centralBank." + currency.name() + ".number")));
 			}
 			assert (number.get(currency) == 0 || number.get(currency) == 1);
 			return number.get(currency);
@@ -146,14 +146,14 @@ public class Configuration {
 
 		public double getReserveRatio() {
 			if (reserveRatio == null) {
-				reserveRatio = Double.parseDouble(configFile.getProperty("centralBank.reserveRatio"));
+				reserveRatio = Double.parseDouble(getRequiredProperty("centralBank.reserveRatio"));
 			}
 			return reserveRatio;
 		}
 
 		public double getTargetPriceIndex() {
 			if (targetPriceIndex == null) {
-				targetPriceIndex = Double.parseDouble(configFile.getProperty("centralBank.targetPriceIndex"));
+				targetPriceIndex = Double.parseDouble(getRequiredProperty("centralBank.targetPriceIndex"));
 			}
 			return targetPriceIndex;
 		}
@@ -162,25 +162,25 @@ public class Configuration {
 
 	public class CreditBankConfig {
 
-		public Double maxCreditForCurrencyTrading;
+		protected Double maxCreditForCurrencyTrading;
 
-		public Double minArbitrageMargin;
+		protected Double minArbitrageMargin;
 
-		public Map<Currency, Integer> number = new HashMap<Currency, Integer>();
+		protected Map<Currency, Integer> number = new HashMap<Currency, Integer>();
 
-		public Double priceChangeIncrement;
+		protected Double priceChangeIncrement;
 
 		public double getMaxCreditForCurrencyTrading() {
 			if (maxCreditForCurrencyTrading == null) {
 				maxCreditForCurrencyTrading = Double
-						.parseDouble(configFile.getProperty("creditBank.maxCreditForCurrencyTrading"));
+						.parseDouble(getRequiredProperty("creditBank.maxCreditForCurrencyTrading"));
 			}
 			return maxCreditForCurrencyTrading;
 		}
 
 		public double getMinArbitrageMargin() {
 			if (minArbitrageMargin == null) {
-				minArbitrageMargin = Double.parseDouble(configFile.getProperty("creditBank.minArbitrageMargin"));
+				minArbitrageMargin = Double.parseDouble(getRequiredProperty("creditBank.minArbitrageMargin"));
 			}
 			return minArbitrageMargin;
 		}
@@ -188,26 +188,26 @@ public class Configuration {
 		public int getNumber(final Currency currency) {
 			if (!number.containsKey(currency)) {
 				number.put(currency,
-						Integer.parseInt(configFile.getProperty("creditBank." + currency.name() + ".number")));
+						Integer.parseInt(getRequiredProperty("creditBank." + currency.name() + ".number")));
 			}
 			return number.get(currency);
 		}
 
 		public double getPriceChangeIncrement() {
 			if (priceChangeIncrement == null) {
-				priceChangeIncrement = Double.parseDouble(configFile.getProperty("creditBank.priceChangeIncrement"));
+				priceChangeIncrement = Double.parseDouble(getRequiredProperty("creditBank.priceChangeIncrement"));
 			}
 			return priceChangeIncrement;
 		}
 	}
 
 	public class DashboardConfig {
-		public Integer logNumberOfAgentsLogSize;
+		protected Integer logNumberOfAgentsLogSize;
 
 		public int getLogNumberOfAgentsLogSize() {
 			if (logNumberOfAgentsLogSize == null) {
 				logNumberOfAgentsLogSize = Integer
-						.parseInt(configFile.getProperty("dashboard.log.numberOfAgentsLogSize"));
+						.parseInt(getRequiredProperty("dashboard.log.numberOfAgentsLogSize"));
 			}
 			return logNumberOfAgentsLogSize;
 		}
@@ -215,13 +215,13 @@ public class Configuration {
 
 	public class FactoryConfig {
 
-		public Double capitalDepreciationRatioPerPeriod;
+		protected Double capitalDepreciationRatioPerPeriod;
 
-		public Double margin;
+		protected Double margin;
 
-		public Map<Currency, Map<GoodType, Integer>> number = new HashMap<Currency, Map<GoodType, Integer>>();
+		protected Map<Currency, Map<GoodType, Integer>> number = new HashMap<Currency, Map<GoodType, Integer>>();
 
-		public Double referenceCredit;
+		protected Double referenceCredit;
 
 		{
 			for (final Currency currency : Currency.values()) {
@@ -232,14 +232,14 @@ public class Configuration {
 		public double getCapitalDepreciationRatioPerPeriod() {
 			if (capitalDepreciationRatioPerPeriod == null) {
 				capitalDepreciationRatioPerPeriod = Double
-						.parseDouble(configFile.getProperty("factory.capitalDepreciationRatioPerPeriod"));
+						.parseDouble(getRequiredProperty("factory.capitalDepreciationRatioPerPeriod"));
 			}
 			return capitalDepreciationRatioPerPeriod;
 		}
 
 		public double getMargin() {
 			if (margin == null) {
-				margin = Double.parseDouble(configFile.getProperty("factory.margin"));
+				margin = Double.parseDouble(getRequiredProperty("factory.margin"));
 			}
 			return margin;
 		}
@@ -247,52 +247,62 @@ public class Configuration {
 		public int getNumber(final Currency currency, final GoodType goodType) {
 			if (!number.get(currency).containsKey(goodType)) {
 				number.get(currency).put(goodType, Integer
-						.parseInt(configFile.getProperty("factory." + currency.name() + "." + goodType + ".number")));
+						.parseInt(getRequiredProperty("factory." + currency.name() + "." + goodType + ".number")));
 			}
 			return number.get(currency).get(goodType);
 		}
 
 		public double getReferenceCredit() {
 			if (referenceCredit == null) {
-				referenceCredit = Double.parseDouble(configFile.getProperty("factory.referenceCredit"));
+				referenceCredit = Double.parseDouble(getRequiredProperty("factory.referenceCredit"));
 			}
 			return referenceCredit;
 		}
+
+		public void setCapitalDepreciationRatioPerPeriod(final double capitalDepreciationRatioPerPeriod) {
+			this.capitalDepreciationRatioPerPeriod = capitalDepreciationRatioPerPeriod;
+			refreshConfigurationSnapshot();
+		}
+
+		public void setNumber(final Currency currency, final GoodType goodType, final int number) {
+			this.number.get(currency).put(goodType, number);
+			refreshConfigurationSnapshot();
+		}
 	}
 
 	public class HouseholdConfig {
 
-		public Integer daysWithoutUtilityUntilDestructor;
+		protected Integer daysWithoutUtilityUntilDestructor;
 
-		public Integer lifespanInDays;
+		protected Integer lifespanInDays;
 
-		public Double maxPricePerUnitMultiplier;
+		protected Double maxPricePerUnitMultiplier;
 
-		public Integer newHouseholdEveryXDays;
+		protected Integer newHouseholdEveryXDays;
 
-		public Integer newHouseholdFromAgeInDays;
+		protected Integer newHouseholdFromAgeInDays;
 
-		public Map<Currency, Integer> number = new HashMap<Currency, Integer>();
+		protected Map<Currency, Integer> number = new HashMap<Currency, Integer>();
 
-		public Integer numberOfLabourHoursPerDay;
+		protected Integer numberOfLabourHoursPerDay;
 
-		public Double requiredUtilityPerDay;
+		protected Double requiredUtilityPerDay;
 
-		public Integer retirementAgeInDays;
+		protected Integer retirementAgeInDays;
 
-		public Boolean retirementSaving;
+		protected Boolean retirementSaving;
 
 		public int getDaysWithoutUtilityUntilDestructor() {
 			if (daysWithoutUtilityUntilDestructor == null) {
 				daysWithoutUtilityUntilDestructor = Integer
-						.parseInt(configFile.getProperty("household.daysWithoutUtilityUntilDestructor"));
+						.parseInt(getRequiredProperty("household.daysWithoutUtilityUntilDestructor"));
 			}
 			return daysWithoutUtilityUntilDestructor;
 		}
 
 		public int getLifespanInDays() {
 			if (lifespanInDays == null) {
-				lifespanInDays = Integer.parseInt(configFile.getProperty("household.lifespanInDays"));
+				lifespanInDays = Integer.parseInt(getRequiredProperty("household.lifespanInDays"));
 			}
 			return lifespanInDays;
 		}
@@ -300,14 +310,14 @@ public class Configuration {
 		public double getMaxPricePerUnitMultiplier() {
 			if (maxPricePerUnitMultiplier == null) {
 				maxPricePerUnitMultiplier = Double
-						.parseDouble(configFile.getProperty("household.maxPricePerUnitMultiplier"));
+						.parseDouble(getRequiredProperty("household.maxPricePerUnitMultiplier"));
 			}
 			return maxPricePerUnitMultiplier;
 		}
 
 		public int getNewHouseholdEveryXDays() {
 			if (newHouseholdEveryXDays == null) {
-				newHouseholdEveryXDays = Integer.parseInt(configFile.getProperty("household.newHouseholdEveryXDays"));
+				newHouseholdEveryXDays = Integer.parseInt(getRequiredProperty("household.newHouseholdEveryXDays"));
 			}
 			return newHouseholdEveryXDays;
 		}
@@ -315,7 +325,7 @@ public class Configuration {
 		public int getNewHouseholdFromAgeInDays() {
 			if (newHouseholdFromAgeInDays == null) {
 				newHouseholdFromAgeInDays = Integer
-						.parseInt(configFile.getProperty("household.newHouseholdFromAgeInDays"));
+						.parseInt(getRequiredProperty("household.newHouseholdFromAgeInDays"));
 			}
 			return newHouseholdFromAgeInDays;
 		}
@@ -323,7 +333,7 @@ public class Configuration {
 		public int getNumber(final Currency currency) {
 			if (!number.containsKey(currency)) {
 				number.put(currency,
-						Integer.parseInt(configFile.getProperty("household." + currency.name() + ".number")));
+						Integer.parseInt(getRequiredProperty("household." + currency.name() + ".number")));
 			}
 			return number.get(currency);
 		}
@@ -331,41 +341,51 @@ public class Configuration {
 		public int getNumberOfLabourHoursPerDay() {
 			if (numberOfLabourHoursPerDay == null) {
 				numberOfLabourHoursPerDay = Integer
-						.parseInt(configFile.getProperty("household.numberOfLabourHoursPerDay"));
+						.parseInt(getRequiredProperty("household.numberOfLabourHoursPerDay"));
 			}
 			return numberOfLabourHoursPerDay;
 		}
 
 		public double getRequiredUtilityPerDay() {
 			if (requiredUtilityPerDay == null) {
-				requiredUtilityPerDay = Double.parseDouble(configFile.getProperty("household.requiredUtilityPerDay"));
+				requiredUtilityPerDay = Double.parseDouble(getRequiredProperty("household.requiredUtilityPerDay"));
 			}
 			return requiredUtilityPerDay;
 		}
 
 		public int getRetirementAgeInDays() {
 			if (retirementAgeInDays == null) {
-				retirementAgeInDays = Integer.parseInt(configFile.getProperty("household.retirementAgeInDays"));
+				retirementAgeInDays = Integer.parseInt(getRequiredProperty("household.retirementAgeInDays"));
 			}
 			return retirementAgeInDays;
 		}
 
 		public boolean getRetirementSaving() {
 			if (retirementSaving == null) {
-				retirementSaving = Boolean.parseBoolean(configFile.getProperty("household.retirementSaving"));
+				retirementSaving = Boolean.parseBoolean(getRequiredProperty("household.retirementSaving"));
 			}
 			return retirementSaving;
 		}
+
+		public void setNumber(final Currency currency, final int number) {
+			this.number.put(currency, number);
+			refreshConfigurationSnapshot();
+		}
+
+		public void setRetirementSaving(final boolean retirementSaving) {
+			this.retirementSaving = retirementSaving;
+			refreshConfigurationSnapshot();
+		}
 	}
 
 	public class InputOutputModelConfig {
 
-		public InputOutputModelConfigSetting inputOutputModelSetting;
+		protected InputOutputModelConfigSetting inputOutputModelSetting;
 
 		public InputOutputModelConfigSetting getInputOutputModelSetting() {
 			if (inputOutputModelSetting == null) {
 				inputOutputModelSetting = InputOutputModelConfigSetting
-						.valueOf(configFile.getProperty("inputOutputModel"));
+						.valueOf(getRequiredProperty("inputOutputModel"));
 			}
 			assert (inputOutputModelSetting != null);
 			return inputOutputModelSetting;
@@ -377,14 +397,31 @@ public class Configuration {
 		InputOutputModelTesting
 	}
 
+	public class JmxConfig {
+
+		protected Double throughputFloorInDaysPerSecond;
+
+		/**
+		 * @return simulated days per wall clock second, below which the JMX
+		 *         throughput model sends notifications; 0.0 disables them
+		 */
+		public double getThroughputFloorInDaysPerSecond() {
+			if (throughputFloorInDaysPerSecond == null) {
+				throughputFloorInDaysPerSecond = Double
+						.parseDouble(getRequiredProperty("jmx.throughputFloorInDaysPerSecond"));
+			}
+			return throughputFloorInDaysPerSecond;
+		}
+	}
+
 	public class JointStockCompanyConfig {
 
-		public Integer initialNumberOfShares;
+		protected Integer initialNumberOfShares;
 
 		public int getInitialNumberOfShares() {
 			if (initialNumberOfShares == null) {
 				initialNumberOfShares = Integer
-						.parseInt(configFile.getProperty("jointStockCompany.initialNumberOfShares"));
+						.parseInt(getRequiredProperty("jointStockCompany.initialNumberOfShares"));
 			}
 			return initialNumberOfShares;
 		}
@@ -392,40 +429,79 @@ public class Configuration {
 
 	public class MathConfig {
 
-		public Double initializationValueForInputFactorsNonZero;
+		protected Double initializationValueForInputFactorsNonZero;
+
+		protected Integer numberOfIterations;
+
+		protected Boolean profitMaximizationCacheActive;
+
+		protected Double profitMaximizationCachePrecision;
 
-		public Integer numberOfIterations;
+		protected Integer profitMaximizationCacheSize;
+
+		protected Double rangeScanPrecision;
 
 		public double getInitializationValue() {
 			if (initializationValueForInputFactorsNonZero == null) {
 				initializationValueForInputFactorsNonZero = Double
-						.parseDouble(configFile.getProperty("math.initializationValue"));
+						.parseDouble(getRequiredProperty("math.initializationValue"));
 			}
 			return initializationValueForInputFactorsNonZero;
 		}
 
 		public int getNumberOfIterations() {
 			if (numberOfIterations == null) {
-				numberOfIterations = Integer.parseInt(configFile.getProperty("math.numberOfIterations"));
+				numberOfIterations = Integer.parseInt(getRequiredProperty("math.numberOfIterations"));
 			}
 			return numberOfIterations;
 		}
+
+		public boolean getProfitMaximizationCacheActive() {
+			if (profitMaximizationCacheActive == null) {
+				profitMaximizationCacheActive = Boolean
+						.parseBoolean(getRequiredProperty("math.profitMaximizationCache.active"));
+			}
+			return profitMaximizationCacheActive;
+		}
+
+		public double getProfitMaximizationCachePrecision() {
+			if (profitMaximizationCachePrecision == null) {
+				profitMaximizationCachePrecision = Double
+						.parseDouble(getRequiredProperty("math.profitMaximizationCache.precision"));
+			}
+			return profitMaximizationCachePrecision;
+		}
+
+		public int getProfitMaximizationCacheSize() {
+			if (profitMaximizationCacheSize == null) {
+				profitMaximizationCacheSize = Integer
+						.parseInt(getRequiredProperty("math.profitMaximizationCache.size"));
+			}
+			return profitMaximizationCacheSize;
+		}
+
+		public double getRangeScanPrecision() {
+			if (rangeScanPrecision == null) {
+				rangeScanPrecision = Double.parseDouble(getRequiredProperty("math.rangeScanPrecision"));
+			}
+			return rangeScanPrecision;
+		}
 	}
 
 	public class PricingBehaviourConfig {
 
-		public Double defaultInitialPrice;
+		protected Double defaultInitialPrice;
 
-		public Integer defaultNumberOfPrices;
+		protected Integer defaultNumberOfPrices;
 
-		public Double defaultPriceChangeIncrementExplicit;
+		protected Double defaultPriceChangeIncrementExplicit;
 
-		public Double defaultPriceChangeIncrementImplicit;
+		protected Double defaultPriceChangeIncrementImplicit;
 
 		public double getDefaultInitialPrice() {
 			if (defaultInitialPrice == null) {
 				defaultInitialPrice = Double
-						.parseDouble(configFile.getProperty("pricingBehaviour.defaultInitialPrice"));
+						.parseDouble(getRequiredProperty("pricingBehaviour.defaultInitialPrice"));
 			}
 			return defaultInitialPrice;
 		}
@@ -433,7 +509,7 @@ public class Configuration {
 		public int getDefaultNumberOfPrices() {
 			if (defaultNumberOfPrices == null) {
 				defaultNumberOfPrices = Integer
-						.parseInt(configFile.getProperty("pricingBehaviour.defaultNumberOfPrices"));
+						.parseInt(getRequiredProperty("pricingBehaviour.defaultNumberOfPrices"));
 			}
 			return defaultNumberOfPrices;
 		}
@@ -441,7 +517,7 @@ public class Configuration {
 		public double getDefaultPriceChangeIncrementExplicit() {
 			if (defaultPriceChangeIncrementExplicit == null) {
 				defaultPriceChangeIncrementExplicit = Double
-						.parseDouble(configFile.getProperty("pricingBehaviour.defaultPriceChangeIncrementExplicit"));
+						.parseDouble(getRequiredProperty("pricingBehaviour.defaultPriceChangeIncrementExplicit"));
 			}
 			return defaultPriceChangeIncrementExplicit;
 		}
@@ -449,28 +525,33 @@ public class Configuration {
 		public double getDefaultPriceChangeIncrementImplicit() {
 			if (defaultPriceChangeIncrementImplicit == null) {
 				defaultPriceChangeIncrementImplicit = Double
-						.parseDouble(configFile.getProperty("pricingBehaviour.defaultPriceChangeIncrementImplicit"));
+						.parseDouble(getRequiredProperty("pricingBehaviour.defaultPriceChangeIncrementImplicit"));
 			}
 			return defaultPriceChangeIncrementImplicit;
 		}
+
+		public void setDefaultPriceChangeIncrementExplicit(final double defaultPriceChangeIncrementExplicit) {
+			this.defaultPriceChangeIncrementExplicit = defaultPriceChangeIncrementExplicit;
+			refreshConfigurationSnapshot();
+		}
 	}
 
 	public class StateConfig {
 
-		public Double bondMargin;
+		protected Double bondMargin;
 
-		public Map<Currency, Integer> number = new HashMap<Currency, Integer>();
+		protected Map<Currency, Integer> number = new HashMap<Currency, Integer>();
 
 		public double getBondMargin() {
 			if (bondMargin == null) {
-				bondMargin = Double.parseDouble(configFile.getProperty("state.bondMargin"));
+				bondMargin = Double.parseDouble(getRequiredProperty("state.bondMargin"));
 			}
 			return bondMargin;
 		}
 
 		public int getNumber(final Currency currency) {
 			if (!number.containsKey(currency)) {
-				number.put(currency, Integer.parseInt(configFile.getProperty("state." + currency.name() + ".number")));
+				number.put(currency, Integer.parseInt(getRequiredProperty("state." + currency.name() + ".number")));
 			}
 			assert (number.get(currency) == 0 || number.get(currency) == 1);
 			return number.get(currency);
@@ -479,12 +560,12 @@ public class Configuration {
 
 	public class TimeSystemConfig {
 
-		public Integer initializationPhaseInDays;
+		protected Integer initializationPhaseInDays;
 
 		public int getInitializationPhaseInDays() {
 			if (initializationPhaseInDays == null) {
 				initializationPhaseInDays = Integer
-						.parseInt(configFile.getProperty("timeSystem.initializationPhaseInDays"));
+						.parseInt(getRequiredProperty("timeSystem.initializationPhaseInDays"));
 			}
 			return initializationPhaseInDays;
 		}
@@ -492,32 +573,65 @@ public class Configuration {
 
 	public class TraderConfig {
 
-		public Double arbitrageMargin;
+		protected Double arbitrageMargin;
 
-		public Map<Currency, Integer> number = new HashMap<Currency, Integer>();
+		protected Map<Currency, Integer> number = new HashMap<Currency, Integer>();
 
-		public Double referenceCredit;
+		protected Double referenceCredit;
 
 		public double getArbitrageMargin() {
 			if (arbitrageMargin == null) {
-				arbitrageMargin = Double.parseDouble(configFile.getProperty("trader.arbitrageMargin"));
+				arbitrageMargin = Double.parseDouble(getRequiredProperty("trader.arbitrageMargin"));
 			}
 			return arbitrageMargin;
 		}
 
 		public int getNumber(final Currency currency) {
 			if (!number.containsKey(currency)) {
-				number.put(currency, Integer.parseInt(configFile.getProperty("trader." + currency.name() + ".number")));
+				number.put(currency, Integer.parseInt(getRequiredProperty("trader." + currency.name() + ".number")));
 			}
 			return number.get(currency);
 		}
 
 		public double getReferenceCredit() {
 			if (referenceCredit == null) {
-				referenceCredit = Double.parseDouble(configFile.getProperty("trader.referenceCredit"));
+				referenceCredit = Double.parseDouble(getRequiredProperty("trader.referenceCredit"));
 			}
 			return referenceCredit;
 		}
+
+		public void setNumber(final Currency currency, final int number) {
+			this.number.put(currency, number);
+			refreshConfigurationSnapshot();
+		}
+	}
+
+	public class WriteBehindConfig {
+
+		protected Integer batchSize;
+
+		protected Integer maxPendingDays;
+
+		/**
+		 * @return number of rows per JDBC batch
+		 */
+		public int getBatchSize() {
+			if (batchSize == null) {
+				batchSize = Integer.parseInt(getRequiredProperty("writeBehind.batchSize"));
+			}
+			return batchSize;
+		}
+
+		/**
+		 * @return number of simulated days queued for writing, before the
+		 *         simulation waits for the writer
+		 */
+		public int getMaxPendingDays() {
+			if (maxPendingDays == null) {
+				maxPendingDays = Integer.parseInt(getRequiredProperty("writeBehind.maxPendingDays"));
+			}
+			return maxPendingDays;
+		}
 	}
 
 	public final AgentConfig agentConfig = new AgentConfig();
@@ -538,6 +652,8 @@ public class Configuration {
 
 	public final InputOutputModelConfig inputOutputModelConfig = new InputOutputModelConfig();
 
+	public final JmxConfig jmxConfig = new JmxConfig();
+
 	public final JointStockCompanyConfig jointStockCompanyConfig = new JointStockCompanyConfig();
 
 	public final MathConfig mathConfig = new MathConfig();
@@ -550,8 +666,35 @@ public class Configuration {
 
 	public final TraderConfig traderConfig = new TraderConfig();
 
+	public final WriteBehindConfig writeBehindConfig = new WriteBehindConfig();
+
 	public Configuration(final String configFilename) throws IOException {
 		System.out.println("loading configuration file " + configFilename);
 		configFile.load(Configuration.class.getClassLoader().getResourceAsStream(configFilename));
 	}
+
+	/**
+	 * @throws IllegalStateException if the key is missing in the configuration
+	 *                               file, so that incomplete configuration files
+	 *                               are rejected when the configuration snapshot
+	 *                               is resolved on startup.
+	 */
+	protected String getRequiredProperty(final String key) {
+		final String value = configFile.getProperty(key);
+		if (value == null) {
+			throw new IllegalStateException("configuration key " + key + " missing");
+		}
+		return value;
+	}
+
+	/**
+	 * Resolves the configuration snapshot anew, if this configuration is the one
+	 * of the application context, so that values overwritten via the setters are
+	 * observed by all components constructed afterwards.
+	 */
+	protected void refreshConfigurationSnapshot() {
+		if (ApplicationContext.getInstance().getConfiguration() == this) {
+			ApplicationContext.getInstance().setConfigurationSnapshot(new ConfigurationSnapshot(this));
+		}
+	}
 }
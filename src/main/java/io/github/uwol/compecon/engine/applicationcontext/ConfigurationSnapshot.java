@@ -0,0 +1,283 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.applicationcontext;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.engine.timesystem.impl.HourType;
+
+/**
+ * Immutable copy of the configuration values, which are read by agents,
+ * behaviours and math functions during the simulation. All values are resolved
+ * eagerly on construction, so that missing configuration keys are detected on
+ * startup, and are held in final primitive fields, which are captured by the
+ * consumers on their construction.<br />
+ * <br />
+ * The setters of the {@link Configuration} of the application context set a
+ * new snapshot in the application context, so that overwritten values are
+ * observed by consumers constructed afterwards. Consumers constructed before
+ * keep the values of the previous snapshot.
+ */
+public class ConfigurationSnapshot {
+
+	public static class AgentConfig {
+
+		public final HourType balanceSheetPublicationHourType;
+
+		protected AgentConfig(final Configuration.AgentConfig agentConfig) {
+			balanceSheetPublicationHourType = agentConfig.getBalanceSheetPublicationHourType();
+		}
+	}
+
+	public static class BudgetingBehaviourConfig {
+
+		public final double internalRateOfReturn;
+
+		public final double keyInterestRateTransmissionDamper;
+
+		protected BudgetingBehaviourConfig(final Configuration.BudgetingBehaviourConfig budgetingBehaviourConfig) {
+			internalRateOfReturn = budgetingBehaviourConfig.getInternalRateOfReturn();
+			keyInterestRateTransmissionDamper = budgetingBehaviourConfig.getKeyInterestRateTransmissionDamper();
+		}
+	}
+
+	public static class CentralBankConfig {
+
+		public static class StatisticalOfficeConfig {
+
+			/**
+			 * indexed by the ordinal of the good type; constraint: sum of weights has to
+			 * be 1.0
+			 */
+			protected final double[] priceIndexWeights = new double[GoodType.values().length];
+
+			protected StatisticalOfficeConfig(
+					final Configuration.CentralBankConfig.StatisticalOfficeConfig statisticalOfficeConfig) {
+				for (final GoodType goodType : GoodType.values()) {
+					priceIndexWeights[goodType.ordinal()] = statisticalOfficeConfig.getPriceIndexWeight(goodType);
+				}
+			}
+
+			public double getPriceIndexWeight(final GoodType goodType) {
+				return priceIndexWeights[goodType.ordinal()];
+			}
+		}
+
+		public final double defaultEffectiveKeyInterestRate;
+
+		public final double inflationTarget;
+
+		public final double maxEffectiveKeyInterestRate;
+
+		public final double minEffectiveKeyInterestRate;
+
+		public final double reserveRatio;
+
+		public final StatisticalOfficeConfig statisticalOfficeConfig;
+
+		public final double targetPriceIndex;
+
+		protected CentralBankConfig(final Configuration.CentralBankConfig centralBankConfig) {
+			defaultEffectiveKeyInterestRate = centralBankConfig.getDefaultEffectiveKeyInterestRate();
+			inflationTarget = centralBankConfig.getInflationTarget();
+			maxEffectiveKeyInterestRate = centralBankConfig.getMaxEffectiveKeyInterestRate();
+			minEffectiveKeyInterestRate = centralBankConfig.getMinEffectiveKeyInterestRate();
+			reserveRatio = centralBankConfig.getReserveRatio();
+			statisticalOfficeConfig = new StatisticalOfficeConfig(centralBankConfig.statisticalOfficeConfig);
+			targetPriceIndex = centralBankConfig.getTargetPriceIndex();
+		}
+	}
+
+	public static class CreditBankConfig {
+
+		public final double maxCreditForCurrencyTrading;
+
+		public final double minArbitrageMargin;
+
+		public final double priceChangeIncrement;
+
+		protected CreditBankConfig(final Configuration.CreditBankConfig creditBankConfig) {
+			maxCreditForCurrencyTrading = creditBankConfig.getMaxCreditForCurrencyTrading();
+			minArbitrageMargin = creditBankConfig.getMinArbitrageMargin();
+			priceChangeIncrement = creditBankConfig.getPriceChangeIncrement();
+		}
+	}
+
+	public static class FactoryConfig {
+
+		public final double capitalDepreciationRatioPerPeriod;
+
+		public final double margin;
+
+		public final double referenceCredit;
+
+		protected FactoryConfig(final Configuration.FactoryConfig factoryConfig) {
+			capitalDepreciationRatioPerPeriod = factoryConfig.getCapitalDepreciationRatioPerPeriod();
+			margin = factoryConfig.getMargin();
+			referenceCredit = factoryConfig.getReferenceCredit();
+		}
+	}
+
+	public static class HouseholdConfig {
+
+		public final int daysWithoutUtilityUntilDestructor;
+
+		public final int lifespanInDays;
+
+		public final double maxPricePerUnitMultiplier;
+
+		public final int newHouseholdEveryXDays;
+
+		public final int newHouseholdFromAgeInDays;
+
+		public final int numberOfLabourHoursPerDay;
+
+		public final double requiredUtilityPerDay;
+
+		public final int retirementAgeInDays;
+
+		public final boolean retirementSaving;
+
+		protected HouseholdConfig(final Configuration.HouseholdConfig householdConfig) {
+			daysWithoutUtilityUntilDestructor = householdConfig.getDaysWithoutUtilityUntilDestructor();
+			lifespanInDays = householdConfig.getLifespanInDays();
+			maxPricePerUnitMultiplier = householdConfig.getMaxPricePerUnitMultiplier();
+			newHouseholdEveryXDays = householdConfig.getNewHouseholdEveryXDays();
+			newHouseholdFromAgeInDays = householdConfig.getNewHouseholdFromAgeInDays();
+			numberOfLabourHoursPerDay = householdConfig.getNumberOfLabourHoursPerDay();
+			requiredUtilityPerDay = householdConfig.getRequiredUtilityPerDay();
+			retirementAgeInDays = householdConfig.getRetirementAgeInDays();
+			retirementSaving = householdConfig.getRetirementSaving();
+		}
+	}
+
+	public static class JointStockCompanyConfig {
+
+		public final int initialNumberOfShares;
+
+		protected JointStockCompanyConfig(final Configuration.JointStockCompanyConfig jointStockCompanyConfig) {
+			initialNumberOfShares = jointStockCompanyConfig.getInitialNumberOfShares();
+		}
+	}
+
+	public static class MathConfig {
+
+		public final double initializationValue;
+
+		public final int numberOfIterations;
+
+		public final double rangeScanPrecision;
+
+		protected MathConfig(final Configuration.MathConfig mathConfig) {
+			initializationValue = mathConfig.getInitializationValue();
+			numberOfIterations = mathConfig.getNumberOfIterations();
+			rangeScanPrecision = mathConfig.getRangeScanPrecision();
+		}
+	}
+
+	public static class PricingBehaviourConfig {
+
+		public final double defaultInitialPrice;
+
+		public final int defaultNumberOfPrices;
+
+		public final double defaultPriceChangeIncrementExplicit;
+
+		public final double defaultPriceChangeIncrementImplicit;
+
+		protected PricingBehaviourConfig(final Configuration.PricingBehaviourConfig pricingBehaviourConfig) {
+			defaultInitialPrice = pricingBehaviourConfig.getDefaultInitialPrice();
+			defaultNumberOfPrices = pricingBehaviourConfig.getDefaultNumberOfPrices();
+			defaultPriceChangeIncrementExplicit = pricingBehaviourConfig.getDefaultPriceChangeIncrementExplicit();
+			defaultPriceChangeIncrementImplicit = pricingBehaviourConfig.getDefaultPriceChangeIncrementImplicit();
+		}
+	}
+
+	public static class StateConfig {
+
+		public final double bondMargin;
+
+		protected StateConfig(final Configuration.StateConfig stateConfig) {
+			bondMargin = stateConfig.getBondMargin();
+		}
+	}
+
+	public static class TimeSystemConfig {
+
+		public final int initializationPhaseInDays;
+
+		protected TimeSystemConfig(final Configuration.TimeSystemConfig timeSystemConfig) {
+			initializationPhaseInDays = timeSystemConfig.getInitializationPhaseInDays();
+		}
+	}
+
+	public static class TraderConfig {
+
+		public final double arbitrageMargin;
+
+		public final double referenceCredit;
+
+		protected TraderConfig(final Configuration.TraderConfig traderConfig) {
+			arbitrageMargin = traderConfig.getArbitrageMargin();
+			referenceCredit = traderConfig.getReferenceCredit();
+		}
+	}
+
+	public final AgentConfig agentConfig;
+
+	public final BudgetingBehaviourConfig budgetingBehaviourConfig;
+
+	public final CentralBankConfig centralBankConfig;
+
+	public final CreditBankConfig creditBankConfig;
+
+	public final FactoryConfig factoryConfig;
+
+	public final HouseholdConfig householdConfig;
+
+	public final JointStockCompanyConfig jointStockCompanyConfig;
+
+	public final MathConfig mathConfig;
+
+	public final PricingBehaviourConfig pricingBehaviourConfig;
+
+	public final StateConfig stateConfig;
+
+	public final TimeSystemConfig timeSystemConfig;
+
+	public final TraderConfig traderConfig;
+
+	/**
+	 * @throws IllegalStateException if a configuration key is missing.
+	 */
+	public ConfigurationSnapshot(final Configuration configuration) {
+		agentConfig = new AgentConfig(configuration.agentConfig);
+		budgetingBehaviourConfig = new BudgetingBehaviourConfig(configuration.budgetingBehaviourConfig);
+		centralBankConfig = new CentralBankConfig(configuration.centralBankConfig);
+		creditBankConfig = new CreditBankConfig(configuration.creditBankConfig);
+		factoryConfig = new FactoryConfig(configuration.factoryConfig);
+		householdConfig = new HouseholdConfig(configuration.householdConfig);
+		jointStockCompanyConfig = new JointStockCompanyConfig(configuration.jointStockCompanyConfig);
+		mathConfig = new MathConfig(configuration.mathConfig);
+		pricingBehaviourConfig = new PricingBehaviourConfig(configuration.pricingBehaviourConfig);
+		stateConfig = new StateConfig(configuration.stateConfig);
+		timeSystemConfig = new TimeSystemConfig(configuration.timeSystemConfig);
+		traderConfig = new TraderConfig(configuration.traderConfig);
+	}
+}
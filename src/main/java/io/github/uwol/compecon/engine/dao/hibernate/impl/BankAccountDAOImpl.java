@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.dao.hibernate.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import io.github.uwol.compecon.economy.sectors.financial.Bank;
@@ -48,29 +49,59 @@ public class BankAccountDAOImpl extends HibernateDAOImpl<BankAccount> implements
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<BankAccount> findAll(final Bank managingBank, final BankCustomer owner) {
-		final String hql = "FROM BankAccountImpl ba WHERE ba.managingBank = :managingBank AND ba.owner = :owner";
-		return getSession().createQuery(hql).setEntity("managingBank", managingBank).setEntity("owner", owner).list();
+		List<BankAccount> bankAccounts = (List<BankAccount>) queryCache.get("findAll", managingBank, owner);
+
+		if (bankAccounts == null) {
+			final String hql = "FROM BankAccountImpl ba WHERE ba.managingBank = :managingBank AND ba.owner = :owner";
+			bankAccounts = getSession().createQuery(hql).setEntity("managingBank", managingBank)
+					.setEntity("owner", owner).list();
+			queryCache.put(bankAccounts, "findAll", managingBank, owner);
+		}
+
+		return new ArrayList<BankAccount>(bankAccounts);
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<BankAccount> findAll(final Bank managingBank, final BankCustomer owner, final Currency currency) {
-		final String hql = "FROM BankAccountImpl ba WHERE ba.managingBank = :managingBank AND ba.owner = :owner AND ba.currency = :currency";
-		return getSession().createQuery(hql).setEntity("managingBank", managingBank).setEntity("owner", owner)
-				.setParameter("currency", currency).list();
+		List<BankAccount> bankAccounts = (List<BankAccount>) queryCache.get("findAll", managingBank, owner, currency);
+
+		if (bankAccounts == null) {
+			final String hql = "FROM BankAccountImpl ba WHERE ba.managingBank = :managingBank AND ba.owner = :owner AND ba.currency = :currency";
+			bankAccounts = getSession().createQuery(hql).setEntity("managingBank", managingBank)
+					.setEntity("owner", owner).setParameter("currency", currency).list();
+			queryCache.put(bankAccounts, "findAll", managingBank, owner, currency);
+		}
+
+		return new ArrayList<BankAccount>(bankAccounts);
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<BankAccount> findAllBankAccountsManagedByBank(final Bank managingBank) {
-		final String hql = "FROM BankAccountImpl ba WHERE ba.managingBank = :managingBank";
-		return getSession().createQuery(hql).setEntity("managingBank", managingBank).list();
+		List<BankAccount> bankAccounts = (List<BankAccount>) queryCache.get("findAllBankAccountsManagedByBank",
+				managingBank);
+
+		if (bankAccounts == null) {
+			final String hql = "FROM BankAccountImpl ba WHERE ba.managingBank = :managingBank";
+			bankAccounts = getSession().createQuery(hql).setEntity("managingBank", managingBank).list();
+			queryCache.put(bankAccounts, "findAllBankAccountsManagedByBank", managingBank);
+		}
+
+		return new ArrayList<BankAccount>(bankAccounts);
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<BankAccount> findAllBankAccountsOfAgent(final BankCustomer owner) {
-		final String hql = "FROM BankAccountImpl ba WHERE ba.owner = :owner";
-		return getSession().createQuery(hql).setEntity("owner", owner).list();
+		List<BankAccount> bankAccounts = (List<BankAccount>) queryCache.get("findAllBankAccountsOfAgent", owner);
+
+		if (bankAccounts == null) {
+			final String hql = "FROM BankAccountImpl ba WHERE ba.owner = :owner";
+			bankAccounts = getSession().createQuery(hql).setEntity("owner", owner).list();
+			queryCache.put(bankAccounts, "findAllBankAccountsOfAgent", owner);
+		}
+
+		return new ArrayList<BankAccount>(bankAccounts);
 	}
 }
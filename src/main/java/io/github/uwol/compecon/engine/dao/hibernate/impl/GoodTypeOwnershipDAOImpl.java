@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.dao.hibernate.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hibernate.criterion.Restrictions;
@@ -33,17 +34,31 @@ public class GoodTypeOwnershipDAOImpl extends HibernateDAOImpl<GoodTypeOwnership
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<GoodTypeOwnership> findAllByPropertyOwner(final PropertyOwner propertyOwner) {
-		return getSession().createCriteria(GoodTypeOwnershipImpl.class)
-				.add(Restrictions.eq("propertyOwner", propertyOwner)).list();
+		List<GoodTypeOwnership> goodTypeOwnerships = (List<GoodTypeOwnership>) queryCache
+				.get("findAllByPropertyOwner", propertyOwner);
+
+		if (goodTypeOwnerships == null) {
+			goodTypeOwnerships = getSession().createCriteria(GoodTypeOwnershipImpl.class)
+					.add(Restrictions.eq("propertyOwner", propertyOwner)).list();
+			queryCache.put(goodTypeOwnerships, "findAllByPropertyOwner", propertyOwner);
+		}
+
+		return new ArrayList<GoodTypeOwnership>(goodTypeOwnerships);
 	}
 
 	@Override
 	public GoodTypeOwnership findFirstByPropertyOwner(final PropertyOwner propertyOwner) {
-		final Object object = getSession().createCriteria(GoodTypeOwnershipImpl.class)
-				.add(Restrictions.eq("propertyOwner", propertyOwner)).setMaxResults(1).uniqueResult();
+		Object object = queryCache.get("findFirstByPropertyOwner", propertyOwner);
 
 		if (object == null) {
-			return null;
+			object = getSession().createCriteria(GoodTypeOwnershipImpl.class)
+					.add(Restrictions.eq("propertyOwner", propertyOwner)).setMaxResults(1).uniqueResult();
+
+			if (object == null) {
+				return null;
+			}
+
+			queryCache.put(object, "findFirstByPropertyOwner", propertyOwner);
 		}
 
 		return (GoodTypeOwnershipImpl) object;
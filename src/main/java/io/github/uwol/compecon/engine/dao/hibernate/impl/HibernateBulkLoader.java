@@ -0,0 +1,160 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.hibernate.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.Transaction;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.BankAccountDAO;
+import io.github.uwol.compecon.engine.dao.CentralBankDAO;
+import io.github.uwol.compecon.engine.dao.CreditBankDAO;
+import io.github.uwol.compecon.engine.dao.FactoryDAO;
+import io.github.uwol.compecon.engine.dao.GoodTypeOwnershipDAO;
+import io.github.uwol.compecon.engine.dao.HouseholdDAO;
+import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
+import io.github.uwol.compecon.engine.dao.PropertyDAO;
+import io.github.uwol.compecon.engine.dao.StateDAO;
+import io.github.uwol.compecon.engine.dao.TraderDAO;
+import io.github.uwol.compecon.engine.util.HibernateUtil;
+
+/**
+ * Constructs entities with in-memory DAOs and saves them afterwards in JDBC
+ * batches within one transaction. Flushing each entity on construction is
+ * expensive, as every flush checks all entities of the session for changes.
+ */
+public class HibernateBulkLoader {
+
+	protected BankAccountDAO bankAccountDAO;
+
+	protected CentralBankDAO centralBankDAO;
+
+	protected CreditBankDAO creditBankDAO;
+
+	protected FactoryDAO factoryDAO;
+
+	protected GoodTypeOwnershipDAO goodTypeOwnershipDAO;
+
+	protected HouseholdDAO householdDAO;
+
+	protected MarketOrderDAO marketOrderDAO;
+
+	protected PropertyDAO propertyDAO;
+
+	protected StateDAO stateDAO;
+
+	protected TraderDAO traderDAO;
+
+	/**
+	 * Replaces the Hibernate DAOs by in-memory DAOs.
+	 */
+	public void begin() {
+		if (HibernateUtil.isActive()) {
+			final ApplicationContext applicationContext = ApplicationContext.getInstance();
+
+			bankAccountDAO = applicationContext.getBankAccountDAO();
+			centralBankDAO = applicationContext.getCentralBankDAO();
+			creditBankDAO = applicationContext.getCreditBankDAO();
+			factoryDAO = applicationContext.getFactoryDAO();
+			goodTypeOwnershipDAO = applicationContext.getGoodTypeOwnershipDAO();
+			householdDAO = applicationContext.getHouseholdDAO();
+			marketOrderDAO = applicationContext.getMarketOrderDAO();
+			propertyDAO = applicationContext.getPropertyDAO();
+			stateDAO = applicationContext.getStateDAO();
+			traderDAO = applicationContext.getTraderDAO();
+
+			applicationContext
+					.setBankAccountDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.BankAccountDAOImpl());
+			applicationContext
+					.setCentralBankDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.CentralBankDAOImpl());
+			applicationContext
+					.setCreditBankDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.CreditBankDAOImpl());
+			applicationContext.setFactoryDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.FactoryDAOImpl());
+			applicationContext.setGoodTypeOwnershipDAO(
+					new io.github.uwol.compecon.engine.dao.inmemory.impl.GoodTypeOwnershipDAOImpl());
+			applicationContext
+					.setHouseholdDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.HouseholdDAOImpl());
+			applicationContext
+					.setMarketOrderDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.MarketOrderDAOImpl());
+			applicationContext
+					.setPropertyDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.PropertyDAOImpl());
+			applicationContext.setStateDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.StateDAOImpl());
+			applicationContext.setTraderDAO(new io.github.uwol.compecon.engine.dao.inmemory.impl.TraderDAOImpl());
+
+			HibernateUtil.beginBulkOperation();
+		}
+	}
+
+	/**
+	 * Saves the entities of the in-memory DAOs and restores the Hibernate DAOs.
+	 */
+	public void commit() {
+		if (HibernateUtil.isActive()) {
+			HibernateUtil.endBulkOperation();
+
+			final ApplicationContext applicationContext = ApplicationContext.getInstance();
+
+			// entities are saved after the entities they reference, where possible
+			final List<Object> entities = new ArrayList<Object>();
+			entities.addAll(applicationContext.getStateDAO().findAll());
+			entities.addAll(applicationContext.getCentralBankDAO().findAll());
+			entities.addAll(applicationContext.getCreditBankDAO().findAll());
+			entities.addAll(applicationContext.getFactoryDAO().findAll());
+			entities.addAll(applicationContext.getTraderDAO().findAll());
+			entities.addAll(applicationContext.getHouseholdDAO().findAll());
+			entities.addAll(applicationContext.getBankAccountDAO().findAll());
+			entities.addAll(applicationContext.getPropertyDAO().findAll());
+			entities.addAll(applicationContext.getGoodTypeOwnershipDAO().findAll());
+			entities.addAll(applicationContext.getMarketOrderDAO().findAll());
+
+			applicationContext.setBankAccountDAO(bankAccountDAO);
+			applicationContext.setCentralBankDAO(centralBankDAO);
+			applicationContext.setCreditBankDAO(creditBankDAO);
+			applicationContext.setFactoryDAO(factoryDAO);
+			applicationContext.setGoodTypeOwnershipDAO(goodTypeOwnershipDAO);
+			applicationContext.setHouseholdDAO(householdDAO);
+			applicationContext.setMarketOrderDAO(marketOrderDAO);
+			applicationContext.setPropertyDAO(propertyDAO);
+			applicationContext.setStateDAO(stateDAO);
+			applicationContext.setTraderDAO(traderDAO);
+
+			final Session session = HibernateUtil.getSession();
+			final Transaction transaction = session.beginTransaction();
+
+			try {
+				// save instead of saveOrUpdate, as the ids of the sequence number
+				// generator have to be replaced by generated ids
+				for (final Object entity : entities) {
+					session.save(entity);
+				}
+
+				// the commit flushes the session, an additional flush before would
+				// check all entities for changes again
+				transaction.commit();
+			} catch (final RuntimeException e) {
+				transaction.rollback();
+				throw e;
+			}
+		}
+	}
+}
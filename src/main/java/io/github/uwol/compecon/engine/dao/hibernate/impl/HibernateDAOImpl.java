@@ -26,6 +26,7 @@ import org.hibernate.Criteria;
 import org.hibernate.Session;
 import org.hibernate.criterion.Projections;
 
+import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.dao.GenericDAO;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
@@ -34,6 +35,8 @@ public class HibernateDAOImpl<T> implements GenericDAO<T> {
 
 	private final Class<T> persistentClass;
 
+	protected final HibernateQueryCache queryCache = new HibernateQueryCache();
+
 	@SuppressWarnings("unchecked")
 	public HibernateDAOImpl() {
 		this.persistentClass = (Class<T>) ((ParameterizedType) getClass().getGenericSuperclass())
@@ -42,6 +45,12 @@ public class HibernateDAOImpl<T> implements GenericDAO<T> {
 
 	@Override
 	public void delete(final T entity) {
+		if (entity instanceof Agent) {
+			HibernateQueryCache.invalidateAll();
+		} else {
+			queryCache.invalidate();
+		}
+
 		getSession().delete(entity);
 		// getSession().evict(entity);
 	}
@@ -80,17 +89,23 @@ public class HibernateDAOImpl<T> implements GenericDAO<T> {
 		return persistentClass;
 	}
 
+	public HibernateQueryCache getQueryCache() {
+		return queryCache;
+	}
+
 	protected Session getSession() {
 		return HibernateUtil.getSession();
 	}
 
 	@Override
 	public void merge(final T entity) {
+		queryCache.invalidate();
 		getSession().merge(entity);
 	}
 
 	@Override
 	public void save(final T entity) {
+		queryCache.invalidate();
 		getSession().saveOrUpdate(entity);
 	}
 }
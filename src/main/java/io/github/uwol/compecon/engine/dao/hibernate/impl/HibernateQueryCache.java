@@ -0,0 +1,104 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.hibernate.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-process cache for the query results of a Hibernate DAO. The results are
+ * valid until an entity is saved, merged or deleted through the DAO; deletions
+ * of agents invalidate the caches of all DAOs, as they cascade.
+ */
+public class HibernateQueryCache {
+
+	protected static long globalVersion = 0;
+
+	public static void invalidateAll() {
+		globalVersion++;
+	}
+
+	protected final Map<List<Object>, Object> entries = new HashMap<List<Object>, Object>();
+
+	protected long entriesGlobalVersion = globalVersion;
+
+	protected long hits = 0;
+
+	protected long misses = 0;
+
+	/**
+	 * @param key
+	 *            name of the query followed by its parameters
+	 * @return the cached result, or null
+	 */
+	public Object get(final Object... key) {
+		if (entriesGlobalVersion != globalVersion) {
+			invalidate();
+		}
+
+		final Object value = entries.get(Arrays.asList(key));
+
+		if (value == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+
+		return value;
+	}
+
+	public double getHitRate() {
+		if (hits + misses == 0) {
+			return Double.NaN;
+		}
+
+		return hits / (double) (hits + misses);
+	}
+
+	public long getHits() {
+		return hits;
+	}
+
+	public long getMisses() {
+		return misses;
+	}
+
+	public void invalidate() {
+		entries.clear();
+		entriesGlobalVersion = globalVersion;
+	}
+
+	/**
+	 * @param value
+	 *            null values are not cached
+	 */
+	public void put(final Object value, final Object... key) {
+		if (value != null) {
+			entries.put(Arrays.asList(key), value);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "hits: " + hits + ", misses: " + misses + ", hit rate: " + getHitRate();
+	}
+}
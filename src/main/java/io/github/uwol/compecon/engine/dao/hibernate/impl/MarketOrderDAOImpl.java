@@ -30,10 +30,17 @@ import io.github.uwol.compecon.economy.markets.MarketParticipant;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
 
 public class MarketOrderDAOImpl extends HibernateDAOImpl<MarketOrder> implements MarketOrderDAO {
 
+	@Override
+	public void delete(final MarketOrder marketOrder) {
+		super.delete(marketOrder);
+		ApplicationContext.getInstance().getLog().marketOrder_onDelete(marketOrder);
+	}
+
 	@SuppressWarnings("unchecked")
 	@Override
 	public void deleteAllSellingOrders(final MarketParticipant offeror) {
@@ -86,44 +93,56 @@ public class MarketOrderDAOImpl extends HibernateDAOImpl<MarketOrder> implements
 
 	@Override
 	public double findMarginalPrice(final Currency currency, final Class<? extends Property> propertyClass) {
+		final Double cachedMarginalPrice = (Double) queryCache.get("findMarginalPrice", currency, propertyClass);
+
+		if (cachedMarginalPrice != null) {
+			return cachedMarginalPrice;
+		}
+
 		final String hql = "SELECT m.pricePerUnit FROM MarketOrderImpl m "
 				+ " WHERE m.currency = :currency AND m.property.class = :propertyClass ORDER BY pricePerUnit ASC";
 		final Object marginalPrice = getSession().createQuery(hql).setMaxResults(1).setParameter("currency", currency)
 				.setParameter("propertyClass", propertyClass.getSimpleName()).uniqueResult();
 
-		if (marginalPrice == null) {
-			return Double.NaN;
-		}
-
-		return (double) marginalPrice;
+		final double result = marginalPrice == null ? Double.NaN : (double) marginalPrice;
+		queryCache.put(result, "findMarginalPrice", currency, propertyClass);
+		return result;
 	}
 
 	@Override
 	public double findMarginalPrice(final Currency currency, final Currency commodityCurrency) {
+		final Double cachedMarginalPrice = (Double) queryCache.get("findMarginalPrice", currency, commodityCurrency);
+
+		if (cachedMarginalPrice != null) {
+			return cachedMarginalPrice;
+		}
+
 		final String hql = "SELECT m.pricePerUnit FROM MarketOrderImpl m "
 				+ "WHERE m.currency = :currency AND m.commodityCurrency = :commodityCurrency ORDER BY pricePerUnit ASC";
 		final Object marginalPrice = getSession().createQuery(hql).setMaxResults(1).setParameter("currency", currency)
 				.setParameter("commodityCurrency", commodityCurrency).uniqueResult();
 
-		if (marginalPrice == null) {
-			return Double.NaN;
-		}
-
-		return (double) marginalPrice;
+		final double result = marginalPrice == null ? Double.NaN : (double) marginalPrice;
+		queryCache.put(result, "findMarginalPrice", currency, commodityCurrency);
+		return result;
 	}
 
 	@Override
 	public double findMarginalPrice(final Currency currency, final GoodType goodType) {
+		final Double cachedMarginalPrice = (Double) queryCache.get("findMarginalPrice", currency, goodType);
+
+		if (cachedMarginalPrice != null) {
+			return cachedMarginalPrice;
+		}
+
 		final String hql = "SELECT m.pricePerUnit FROM MarketOrderImpl m "
 				+ "WHERE m.currency = :currency AND m.goodType = :goodType ORDER BY pricePerUnit ASC";
 		final Object marginalPrice = getSession().createQuery(hql).setMaxResults(1).setParameter("currency", currency)
 				.setParameter("goodType", goodType).uniqueResult();
 
-		if (marginalPrice == null) {
-			return Double.NaN;
-		}
-
-		return (double) marginalPrice;
+		final double result = marginalPrice == null ? Double.NaN : (double) marginalPrice;
+		queryCache.put(result, "findMarginalPrice", currency, goodType);
+		return result;
 	}
 
 	@Override
@@ -191,4 +210,10 @@ public class MarketOrderDAOImpl extends HibernateDAOImpl<MarketOrder> implements
 	public Iterator<MarketOrder> getIteratorThreadsafe(final Currency currency, final GoodType goodType) {
 		return this.getIterator(currency, goodType);
 	}
+
+	@Override
+	public void save(final MarketOrder marketOrder) {
+		super.save(marketOrder);
+		ApplicationContext.getInstance().getLog().marketOrder_onSave(marketOrder);
+	}
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.dao.hibernate.impl;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import org.hibernate.criterion.Restrictions;
@@ -36,31 +37,66 @@ public class PropertyDAOImpl extends HibernateDAOImpl<Property> implements Prope
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<Property> findAllPropertiesIssuedByAgent(final Agent issuer) {
-		return getSession().createCriteria(PropertyIssuedImpl.class).add(Restrictions.eq("issuer", issuer)).list();
+		List<Property> properties = (List<Property>) queryCache.get("findAllPropertiesIssuedByAgent", issuer);
+
+		if (properties == null) {
+			properties = getSession().createCriteria(PropertyIssuedImpl.class).add(Restrictions.eq("issuer", issuer))
+					.list();
+			queryCache.put(properties, "findAllPropertiesIssuedByAgent", issuer);
+		}
+
+		return new ArrayList<Property>(properties);
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<Property> findAllPropertiesIssuedByAgent(final Agent issuer,
 			final Class<? extends PropertyIssued> propertyClass) {
-		return getSession().createCriteria(propertyClass).add(Restrictions.eq("issuer", issuer)).list();
+		List<Property> properties = (List<Property>) queryCache.get("findAllPropertiesIssuedByAgent", issuer,
+				propertyClass);
+
+		if (properties == null) {
+			properties = getSession().createCriteria(propertyClass).add(Restrictions.eq("issuer", issuer)).list();
+			queryCache.put(properties, "findAllPropertiesIssuedByAgent", issuer, propertyClass);
+		}
+
+		return new ArrayList<Property>(properties);
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<Property> findAllPropertiesOfPropertyOwner(final PropertyOwner propertyOwner) {
-		return getSession().createCriteria(PropertyImpl.class).add(Restrictions.eq("owner", propertyOwner)).list();
+		List<Property> properties = (List<Property>) queryCache.get("findAllPropertiesOfPropertyOwner",
+				propertyOwner);
+
+		if (properties == null) {
+			properties = getSession().createCriteria(PropertyImpl.class).add(Restrictions.eq("owner", propertyOwner))
+					.list();
+			queryCache.put(properties, "findAllPropertiesOfPropertyOwner", propertyOwner);
+		}
+
+		return new ArrayList<Property>(properties);
 	}
 
 	@SuppressWarnings("unchecked")
 	@Override
 	public List<Property> findAllPropertiesOfPropertyOwner(final PropertyOwner propertyOwner,
 			final Class<? extends Property> propertyClass) {
-		return getSession().createCriteria(propertyClass).add(Restrictions.eq("owner", propertyOwner)).list();
+		List<Property> properties = (List<Property>) queryCache.get("findAllPropertiesOfPropertyOwner",
+				propertyOwner, propertyClass);
+
+		if (properties == null) {
+			properties = getSession().createCriteria(propertyClass).add(Restrictions.eq("owner", propertyOwner))
+					.list();
+			queryCache.put(properties, "findAllPropertiesOfPropertyOwner", propertyOwner, propertyClass);
+		}
+
+		return new ArrayList<Property>(properties);
 	}
 
 	@Override
 	public void transferProperty(final PropertyOwner oldOwner, final PropertyOwner newOwner, final Property property) {
+		queryCache.invalidate();
 		property.setOwner(newOwner);
 	}
 }
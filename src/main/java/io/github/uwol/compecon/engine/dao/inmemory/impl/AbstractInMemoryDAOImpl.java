@@ -20,15 +20,31 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.engine.dao.inmemory.impl;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import com.google.common.collect.BiMap;
 import com.google.common.collect.HashBiMap;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.dao.GenericDAO;
+import io.github.uwol.compecon.engine.dao.writebehind.DirtyTrackingDAO;
 
-public abstract class AbstractInMemoryDAOImpl<T> implements GenericDAO<T> {
+public abstract class AbstractInMemoryDAOImpl<T> implements GenericDAO<T>, DirtyTrackingDAO<T> {
+
+	/**
+	 * entities deleted since the last drain; null, until dirty entities are
+	 * drained for the first time
+	 */
+	protected Set<T> deletedEntities;
+
+	/**
+	 * entities saved or merged since the last drain; null, until dirty entities
+	 * are drained for the first time
+	 */
+	protected Set<T> dirtyEntities;
 
 	protected BiMap<Integer, T> instancesByIds = HashBiMap.create();
 
@@ -37,6 +53,26 @@ public abstract class AbstractInMemoryDAOImpl<T> implements GenericDAO<T> {
 	@Override
 	public synchronized void delete(final T entity) {
 		this.instancesByIds.inverse().remove(entity);
+
+		if (this.dirtyEntities != null) {
+			this.dirtyEntities.remove(entity);
+			this.deletedEntities.add(entity);
+		}
+	}
+
+	@Override
+	public synchronized void drainDirtyEntities(final Collection<? super T> dirtyEntities,
+			final Collection<? super T> deletedEntities) {
+		if (this.dirtyEntities == null) {
+			dirtyEntities.addAll(this.instancesByIds.values());
+			this.dirtyEntities = new HashSet<T>();
+			this.deletedEntities = new HashSet<T>();
+		} else {
+			dirtyEntities.addAll(this.dirtyEntities);
+			deletedEntities.addAll(this.deletedEntities);
+			this.dirtyEntities.clear();
+			this.deletedEntities.clear();
+		}
 	}
 
 	@Override
@@ -59,12 +95,21 @@ public abstract class AbstractInMemoryDAOImpl<T> implements GenericDAO<T> {
 
 	@Override
 	public synchronized void merge(final T entity) {
-		// in-memory entities are never dirty -> no merge necessary
+		// in-memory entities need no merge, but their changes are tracked for
+		// write-behind persistence
+		if (this.dirtyEntities != null && this.instancesByIds.inverse().containsKey(entity)) {
+			this.dirtyEntities.add(entity);
+		}
 	}
 
 	@Override
 	public synchronized void save(final T entity) {
 		this.instancesByIds.put(this.lastId, entity);
 		this.lastId++;
+
+		if (this.dirtyEntities != null) {
+			this.deletedEntities.remove(entity);
+			this.dirtyEntities.add(entity);
+		}
 	}
 }
@@ -32,6 +32,7 @@ import io.github.uwol.compecon.economy.markets.MarketParticipant;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
 
 public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketParticipant, MarketOrder>
@@ -119,6 +120,7 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		}
 
 		super.delete(marketOrder);
+		ApplicationContext.getInstance().getLog().marketOrder_onDelete(marketOrder);
 	}
 
 	@Override
@@ -335,5 +337,6 @@ public class MarketOrderDAOImpl extends AbstractIndexedInMemoryDAOImpl<MarketPar
 		}
 
 		super.save(marketOrder.getOfferor(), marketOrder);
+		ApplicationContext.getInstance().getLog().marketOrder_onSave(marketOrder);
 	}
 }
@@ -0,0 +1,37 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.writebehind;
+
+import java.util.Collection;
+
+/**
+ * DAO, which tracks the entities saved, merged or deleted, so that the
+ * write-behind persister writes only those instead of comparing all entities.
+ */
+public interface DirtyTrackingDAO<T> {
+
+	/**
+	 * Moves the entities saved or merged and the entities deleted since the last
+	 * call into the given collections. Tracking starts with the first call, which
+	 * returns all entities as dirty.
+	 */
+	public void drainDirtyEntities(final Collection<? super T> dirtyEntities,
+			final Collection<? super T> deletedEntities);
+}
@@ -0,0 +1,53 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.writebehind;
+
+/**
+ * Persists the state of the in-memory DAOs asynchronously. The simulation runs
+ * against the in-memory DAOs, while the changes of each simulated day are
+ * written to the database in batched transactions by a background thread.
+ */
+public interface WriteBehindPersister {
+
+	/**
+	 * Waits until the changes of all pending days have been written and releases
+	 * the database connection.
+	 *
+	 * @throws IllegalStateException if writing a day failed
+	 */
+	public void close();
+
+	/**
+	 * Waits until the changes of all pending days have been written.
+	 *
+	 * @throws IllegalStateException if writing a day failed
+	 */
+	public void flush();
+
+	public long getNumberOfDaysWritten();
+
+	public long getNumberOfRowsWritten();
+
+	/**
+	 * Determines the changes since the last call and hands them over to the
+	 * background thread. Has to be called from the simulation thread.
+	 */
+	public void nextDay();
+}
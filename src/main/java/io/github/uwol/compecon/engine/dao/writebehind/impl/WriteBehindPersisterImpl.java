@@ -0,0 +1,441 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.writebehind.impl;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.property.GoodTypeOwnership;
+import io.github.uwol.compecon.economy.property.Property;
+import io.github.uwol.compecon.economy.property.PropertyIssued;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.GenericDAO;
+import io.github.uwol.compecon.engine.dao.writebehind.DirtyTrackingDAO;
+import io.github.uwol.compecon.engine.dao.writebehind.WriteBehindPersister;
+import io.github.uwol.compecon.engine.dao.writebehind.impl.WriteBehindTable.ChangeSet;
+
+/**
+ * Drains the changes of the in-memory DAOs into a JDBC database. The DAOs track
+ * the entities saved, merged or deleted, so that once per simulated day only
+ * those are converted into rows on the simulation thread. The rows are written
+ * by a single background thread in one batched transaction per day, so that
+ * the simulation never waits for SQL round trips unless more than
+ * maxPendingDays days are queued.
+ */
+public class WriteBehindPersisterImpl implements WriteBehindPersister {
+
+	@SuppressWarnings("unchecked")
+	protected static <T> DirtyTrackingDAO<T> dirtyTrackingDAOOf(final GenericDAO<T> dao) {
+		if (!(dao instanceof DirtyTrackingDAO)) {
+			throw new IllegalStateException(
+					"write-behind persistence requires dirty tracking DAOs, but found " + dao.getClass().getName());
+		}
+		return (DirtyTrackingDAO<T>) dao;
+	}
+
+	protected static Integer idOf(final Object entity) {
+		if (entity instanceof Agent) {
+			return ((Agent) entity).getId();
+		}
+		return null;
+	}
+
+	protected static String nameOf(final Enum<?> value) {
+		if (value == null) {
+			return null;
+		}
+		return value.name();
+	}
+
+	protected final int batchSize;
+
+	protected final Connection connection;
+
+	protected final ThreadPoolExecutor executor;
+
+	protected volatile Exception failure;
+
+	protected final AtomicLong numberOfDaysWritten = new AtomicLong();
+
+	protected final AtomicLong numberOfRowsWritten = new AtomicLong();
+
+	protected final List<WriteBehindTable<?>> tables = new ArrayList<WriteBehindTable<?>>();
+
+	public WriteBehindPersisterImpl(final String url, final String username, final String password,
+			final int batchSize, final int maxPendingDays) throws SQLException {
+		this.batchSize = batchSize;
+
+		tables.add(createAgentTable());
+		tables.add(createBankAccountTable());
+		tables.add(createGoodTypeOwnershipTable());
+		tables.add(createMarketOrderTable());
+		tables.add(createPropertyTable());
+
+		connection = DriverManager.getConnection(url, username, password);
+		connection.setAutoCommit(false);
+		createSchema();
+
+		executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(maxPendingDays), new ThreadFactory() {
+					@Override
+					public Thread newThread(final Runnable runnable) {
+						return new Thread(runnable, "compecon-writebehind");
+					}
+				}, new RejectedExecutionHandler() {
+					/**
+					 * backpressure: the simulation thread blocks until the background thread has
+					 * caught up
+					 */
+					@Override
+					public void rejectedExecution(final Runnable runnable, final ThreadPoolExecutor executor) {
+						try {
+							executor.getQueue().put(runnable);
+						} catch (final InterruptedException e) {
+							Thread.currentThread().interrupt();
+							throw new RejectedExecutionException(e);
+						}
+					}
+				});
+	}
+
+	protected void assertNoFailure() {
+		if (failure != null) {
+			throw new IllegalStateException("write-behind persistence failed", failure);
+		}
+	}
+
+	@Override
+	public void close() {
+		// pending days are written before the executor terminates
+		executor.shutdown();
+
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			connection.close();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (final SQLException e) {
+			throw new IllegalStateException("closing the write-behind connection failed", e);
+		}
+
+		assertNoFailure();
+	}
+
+	protected WriteBehindTable<Agent> createAgentTable() {
+		return new WriteBehindTable<Agent>("Agent", new String[] { "id", "DTYPE", "primaryCurrency" },
+				new int[] { Types.INTEGER, Types.VARCHAR, Types.VARCHAR }) {
+			@Override
+			protected void drainDirtyEntities(final List<Agent> dirtyEntities, final List<Agent> deletedEntities) {
+				dirtyTrackingDAOOf(ApplicationContext.getInstance().getCentralBankDAO())
+						.drainDirtyEntities(dirtyEntities, deletedEntities);
+				dirtyTrackingDAOOf(ApplicationContext.getInstance().getCreditBankDAO())
+						.drainDirtyEntities(dirtyEntities, deletedEntities);
+				dirtyTrackingDAOOf(ApplicationContext.getInstance().getFactoryDAO())
+						.drainDirtyEntities(dirtyEntities, deletedEntities);
+				dirtyTrackingDAOOf(ApplicationContext.getInstance().getHouseholdDAO())
+						.drainDirtyEntities(dirtyEntities, deletedEntities);
+				dirtyTrackingDAOOf(ApplicationContext.getInstance().getStateDAO())
+						.drainDirtyEntities(dirtyEntities, deletedEntities);
+				dirtyTrackingDAOOf(ApplicationContext.getInstance().getTraderDAO())
+						.drainDirtyEntities(dirtyEntities, deletedEntities);
+			}
+
+			@Override
+			protected Object[] toRow(final Agent agent) {
+				return new Object[] { agent.getId(), agent.getClass().getSimpleName(),
+						nameOf(agent.getPrimaryCurrency()) };
+			}
+		};
+	}
+
+	protected WriteBehindTable<BankAccount> createBankAccountTable() {
+		return new WriteBehindTable<BankAccount>("BankAccount",
+				new String[] { "id", "agent_id", "managingBank_id", "currency", "moneyType", "termType", "name",
+						"overdraftPossible", "balance" },
+				new int[] { Types.INTEGER, Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR,
+						Types.VARCHAR, Types.BOOLEAN, Types.DOUBLE }) {
+			@Override
+			protected void drainDirtyEntities(final List<BankAccount> dirtyEntities,
+					final List<BankAccount> deletedEntities) {
+				dirtyTrackingDAOOf(ApplicationContext.getInstance().getBankAccountDAO())
+						.drainDirtyEntities(dirtyEntities, deletedEntities);
+			}
+
+			@Override
+			protected Object[] toRow(final BankAccount bankAccount) {
+				return new Object[] { bankAccount.getId(), idOf(bankAccount.getOwner()),
+						idOf(bankAccount.getManagingBank()), nameOf(bankAccount.getCurrency()),
+						nameOf(bankAccount.getMoneyType()), nameOf(bankAccount.getTermType()), bankAccount.getName(),
+						bankAccount.getOverdraftPossible(), bankAccount.getBalance() };
+			}
+		};
+	}
+
+	/**
+	 * one column per good type instead of a collection table, so that an
+	 * ownership is written as a single row
+	 */
+	protected WriteBehindTable<GoodTypeOwnership> createGoodTypeOwnershipTable() {
+		final String[] columnNames = new String[GoodType.values().length + 2];
+		final int[] columnTypes = new int[GoodType.values().length + 2];
+		columnNames[0] = "id";
+		columnTypes[0] = Types.INTEGER;
+		columnNames[1] = "propertyOwner_id";
+		columnTypes[1] = Types.INTEGER;
+
+		for (final GoodType goodType : GoodType.values()) {
+			columnNames[goodType.ordinal() + 2] = goodType.name();
+			columnTypes[goodType.ordinal() + 2] = Types.DOUBLE;
+		}
+
+		return new WriteBehindTable<GoodTypeOwnership>("GoodTypeOwnership", columnNames, columnTypes) {
+			@Override
+			protected void drainDirtyEntities(final List<GoodTypeOwnership> dirtyEntities,
+					final List<GoodTypeOwnership> deletedEntities) {
+				dirtyTrackingDAOOf(ApplicationContext.getInstance().getGoodTypeOwnershipDAO())
+						.drainDirtyEntities(dirtyEntities, deletedEntities);
+			}
+
+			@Override
+			protected Object[] toRow(final GoodTypeOwnership goodTypeOwnership) {
+				final Object[] row = new Object[GoodType.values().length + 2];
+				row[0] = goodTypeOwnership.getId();
+				row[1] = idOf(goodTypeOwnership.getPropertyOwner());
+
+				for (final GoodType goodType : GoodType.values()) {
+					final Double amount = goodTypeOwnership.getOwnedGoodTypes().get(goodType);
+					row[goodType.ordinal() + 2] = amount == null ? 0.0 : amount;
+				}
+				return row;
+			}
+		};
+	}
+
+	protected WriteBehindTable<MarketOrder> createMarketOrderTable() {
+		return new WriteBehindTable<MarketOrder>("MarketOrder",
+				new String[] { "id", "offeror_id", "currency", "goodType", "commodityCurrency", "property_id",
+						"validityPeriod", "amount", "pricePerUnit" },
+				new int[] { Types.INTEGER, Types.INTEGER, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.INTEGER,
+						Types.VARCHAR, Types.DOUBLE, Types.DOUBLE }) {
+			@Override
+			protected void drainDirtyEntities(final List<MarketOrder> dirtyEntities,
+					final List<MarketOrder> deletedEntities) {
+				dirtyTrackingDAOOf(ApplicationContext.getInstance().getMarketOrderDAO())
+						.drainDirtyEntities(dirtyEntities, deletedEntities);
+			}
+
+			@Override
+			protected Object[] toRow(final MarketOrder marketOrder) {
+				final Integer propertyId = marketOrder.getProperty() == null ? null
+						: marketOrder.getProperty().getId();
+				return new Object[] { marketOrder.getId(), idOf(marketOrder.getOfferor()),
+						nameOf(marketOrder.getCurrency()), nameOf(marketOrder.getGoodType()),
+						nameOf(marketOrder.getCommodityCurrency()), propertyId,
+						nameOf(marketOrder.getValidityPeriod()), marketOrder.getAmount(),
+						marketOrder.getPricePerUnit() };
+			}
+		};
+	}
+
+	protected WriteBehindTable<Property> createPropertyTable() {
+		return new WriteBehindTable<Property>("Property", new String[] { "id", "DTYPE", "owner_id", "issuer_id" },
+				new int[] { Types.INTEGER, Types.VARCHAR, Types.INTEGER, Types.INTEGER }) {
+			@Override
+			protected void drainDirtyEntities(final List<Property> dirtyEntities,
+					final List<Property> deletedEntities) {
+				dirtyTrackingDAOOf(ApplicationContext.getInstance().getPropertyDAO())
+						.drainDirtyEntities(dirtyEntities, deletedEntities);
+			}
+
+			@Override
+			protected Object[] toRow(final Property property) {
+				final Integer issuerId = property instanceof PropertyIssued
+						? idOf(((PropertyIssued) property).getIssuer())
+						: null;
+				return new Object[] { property.getId(), property.getClass().getSimpleName(),
+						idOf(property.getOwner()), issuerId };
+			}
+		};
+	}
+
+	protected void createSchema() throws SQLException {
+		final Statement statement = connection.createStatement();
+		try {
+			for (final WriteBehindTable<?> table : tables) {
+				statement.execute(table.getDropStatement());
+				statement.execute(table.getCreateStatement());
+			}
+			connection.commit();
+		} finally {
+			statement.close();
+		}
+	}
+
+	@Override
+	public void flush() {
+		try {
+			executor.submit(new Runnable() {
+				@Override
+				public void run() {
+				}
+			}).get();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (final ExecutionException e) {
+			throw new IllegalStateException(e);
+		}
+
+		assertNoFailure();
+	}
+
+	@Override
+	public long getNumberOfDaysWritten() {
+		return numberOfDaysWritten.get();
+	}
+
+	@Override
+	public long getNumberOfRowsWritten() {
+		return numberOfRowsWritten.get();
+	}
+
+	@Override
+	public void nextDay() {
+		assertNoFailure();
+
+		final List<ChangeSet> changeSets = new ArrayList<ChangeSet>();
+		for (final WriteBehindTable<?> table : tables) {
+			final ChangeSet changeSet = table.determineChanges();
+			if (!changeSet.isEmpty()) {
+				changeSets.add(changeSet);
+			}
+		}
+
+		executor.execute(new Runnable() {
+			@Override
+			public void run() {
+				write(changeSets);
+			}
+		});
+	}
+
+	protected void setParameters(final PreparedStatement preparedStatement, final Object[] row,
+			final int[] columnTypes) throws SQLException {
+		for (int i = 0; i < row.length; i++) {
+			if (row[i] == null) {
+				preparedStatement.setNull(i + 1, columnTypes[i]);
+			} else {
+				preparedStatement.setObject(i + 1, row[i], columnTypes[i]);
+			}
+		}
+	}
+
+	/**
+	 * Writes the changes of one simulated day in one transaction. Updates are
+	 * written as delete and insert, so that no vendor-specific upsert statement is
+	 * required. Runs on the background thread.
+	 */
+	protected void write(final List<ChangeSet> changeSets) {
+		if (failure != null) {
+			return;
+		}
+
+		try {
+			long numberOfRows = 0;
+
+			for (final ChangeSet changeSet : changeSets) {
+				final PreparedStatement deleteStatement = connection
+						.prepareStatement(changeSet.table.getDeleteStatement());
+				try {
+					int numberOfStatementsInBatch = 0;
+					for (final Integer deletedId : changeSet.deletedIds) {
+						deleteStatement.setInt(1, deletedId);
+						deleteStatement.addBatch();
+						if (++numberOfStatementsInBatch % batchSize == 0) {
+							deleteStatement.executeBatch();
+						}
+					}
+					for (final Object[] upsertedRow : changeSet.upsertedRows) {
+						deleteStatement.setInt(1, (Integer) upsertedRow[0]);
+						deleteStatement.addBatch();
+						if (++numberOfStatementsInBatch % batchSize == 0) {
+							deleteStatement.executeBatch();
+						}
+					}
+					if (numberOfStatementsInBatch % batchSize != 0) {
+						deleteStatement.executeBatch();
+					}
+				} finally {
+					deleteStatement.close();
+				}
+
+				final PreparedStatement insertStatement = connection
+						.prepareStatement(changeSet.table.getInsertStatement());
+				try {
+					int numberOfStatementsInBatch = 0;
+					for (final Object[] upsertedRow : changeSet.upsertedRows) {
+						setParameters(insertStatement, upsertedRow, changeSet.table.getColumnTypes());
+						insertStatement.addBatch();
+						if (++numberOfStatementsInBatch % batchSize == 0) {
+							insertStatement.executeBatch();
+						}
+					}
+					if (numberOfStatementsInBatch % batchSize != 0) {
+						insertStatement.executeBatch();
+					}
+				} finally {
+					insertStatement.close();
+				}
+
+				numberOfRows += changeSet.deletedIds.size() + changeSet.upsertedRows.size();
+			}
+
+			connection.commit();
+			numberOfRowsWritten.addAndGet(numberOfRows);
+			numberOfDaysWritten.incrementAndGet();
+		} catch (final SQLException e) {
+			failure = e;
+
+			try {
+				connection.rollback();
+			} catch (final SQLException rollbackException) {
+				// reported with the failure, when the next day or flush fails
+				e.addSuppressed(rollbackException);
+			}
+		}
+	}
+}
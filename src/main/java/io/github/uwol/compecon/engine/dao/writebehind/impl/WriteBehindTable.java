@@ -0,0 +1,157 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao.writebehind.impl;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps entities of the in-memory DAOs to rows of a database table. The first
+ * column is the id column. Rows are extracted on the simulation thread, so that
+ * the background thread never reads live entities.
+ */
+public abstract class WriteBehindTable<T> {
+
+	/**
+	 * Rows to be written for one table and one simulated day.
+	 */
+	public static class ChangeSet {
+
+		public final List<Integer> deletedIds = new ArrayList<Integer>();
+
+		public final WriteBehindTable<?> table;
+
+		public final List<Object[]> upsertedRows = new ArrayList<Object[]>();
+
+		public ChangeSet(final WriteBehindTable<?> table) {
+			this.table = table;
+		}
+
+		public boolean isEmpty() {
+			return deletedIds.isEmpty() && upsertedRows.isEmpty();
+		}
+	}
+
+	protected final String[] columnNames;
+
+	protected final int[] columnTypes;
+
+	protected final String name;
+
+	public WriteBehindTable(final String name, final String[] columnNames, final int[] columnTypes) {
+		assert (columnNames.length == columnTypes.length);
+
+		this.name = name;
+		this.columnNames = columnNames;
+		this.columnTypes = columnTypes;
+	}
+
+	/**
+	 * Converts the entities, which the DAOs tracked as dirty or deleted since the
+	 * last call, into rows. Has to be called from the simulation thread.
+	 */
+	public ChangeSet determineChanges() {
+		final ChangeSet changeSet = new ChangeSet(this);
+		final List<T> dirtyEntities = new ArrayList<T>();
+		final List<T> deletedEntities = new ArrayList<T>();
+
+		drainDirtyEntities(dirtyEntities, deletedEntities);
+
+		for (final T entity : dirtyEntities) {
+			changeSet.upsertedRows.add(toRow(entity));
+		}
+
+		for (final T entity : deletedEntities) {
+			changeSet.deletedIds.add((Integer) toRow(entity)[0]);
+		}
+
+		return changeSet;
+	}
+
+	/**
+	 * drains the entities tracked by the DAOs of this table
+	 */
+	protected abstract void drainDirtyEntities(final List<T> dirtyEntities, final List<T> deletedEntities);
+
+	public int[] getColumnTypes() {
+		return columnTypes;
+	}
+
+	public String getCreateStatement() {
+		final StringBuilder statement = new StringBuilder("CREATE TABLE " + name + " (");
+		for (int i = 0; i < columnNames.length; i++) {
+			statement.append(columnNames[i] + " " + getSqlTypeName(columnTypes[i]));
+			if (i == 0) {
+				statement.append(" PRIMARY KEY");
+			}
+			if (i < columnNames.length - 1) {
+				statement.append(", ");
+			}
+		}
+		return statement.append(")").toString();
+	}
+
+	public String getDeleteStatement() {
+		return "DELETE FROM " + name + " WHERE " + columnNames[0] + " = ?";
+	}
+
+	public String getDropStatement() {
+		return "DROP TABLE " + name + " IF EXISTS";
+	}
+
+	public String getInsertStatement() {
+		final StringBuilder statement = new StringBuilder("INSERT INTO " + name + " (");
+		final StringBuilder parameters = new StringBuilder();
+		for (int i = 0; i < columnNames.length; i++) {
+			statement.append(columnNames[i]);
+			parameters.append("?");
+			if (i < columnNames.length - 1) {
+				statement.append(", ");
+				parameters.append(", ");
+			}
+		}
+		return statement.append(") VALUES (").append(parameters).append(")").toString();
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	protected String getSqlTypeName(final int columnType) {
+		switch (columnType) {
+		case Types.INTEGER:
+			return "INTEGER";
+		case Types.DOUBLE:
+			return "DOUBLE";
+		case Types.BOOLEAN:
+			return "BOOLEAN";
+		case Types.VARCHAR:
+			return "VARCHAR(255)";
+		default:
+			throw new IllegalArgumentException("unsupported column type " + columnType);
+		}
+	}
+
+	/**
+	 * @return row values in column order, the first value being the id
+	 */
+	protected abstract Object[] toRow(final T entity);
+}
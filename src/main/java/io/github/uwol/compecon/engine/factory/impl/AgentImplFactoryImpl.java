@@ -40,8 +40,8 @@ import io.github.uwol.compecon.economy.sectors.state.impl.StateImpl;
 import io.github.uwol.compecon.economy.sectors.trading.Trader;
 import io.github.uwol.compecon.economy.sectors.trading.impl.TraderImpl;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.hibernate.impl.HibernateBulkLoader;
 import io.github.uwol.compecon.engine.factory.AgentFactory;
-import io.github.uwol.compecon.engine.util.HibernateUtil;
 
 public class AgentImplFactoryImpl implements AgentFactory {
 
@@ -58,6 +58,12 @@ public class AgentImplFactoryImpl implements AgentFactory {
 
 	@Override
 	public void constructAgentsFromConfiguration() {
+		final long constructionStart = System.nanoTime();
+
+		// the initial population is saved in JDBC batches within one transaction
+		final HibernateBulkLoader hibernateBulkLoader = new HibernateBulkLoader();
+		hibernateBulkLoader.begin();
+
 		for (final Currency currency : Currency.values()) {
 			if (ApplicationContext.getInstance().getConfiguration().stateConfig
 					.getNumber(currency) == 1) {
@@ -128,7 +134,10 @@ public class AgentImplFactoryImpl implements AgentFactory {
 			}
 		}
 
-		HibernateUtil.flushSession();
+		hibernateBulkLoader.commit();
+
+		ApplicationContext.getInstance().getModelRegistry().getPerformanceModel()
+				.agentFactory_onConstructAgents(System.nanoTime() - constructionStart);
 	}
 
 	@Override
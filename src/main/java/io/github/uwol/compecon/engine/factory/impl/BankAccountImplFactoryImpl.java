@@ -67,7 +67,7 @@ public class BankAccountImplFactoryImpl implements BankAccountFactory {
 
 		final BankAccountImpl bankAccount = new BankAccountImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			bankAccount.setId(ApplicationContext.getInstance()
 					.getSequenceNumberGenerator().getNextId());
 		}
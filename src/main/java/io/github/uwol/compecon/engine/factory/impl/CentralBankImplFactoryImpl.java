@@ -40,7 +40,7 @@ public class CentralBankImplFactoryImpl implements CentralBankFactory {
 
 		final CentralBankImpl centralBank = new CentralBankImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			centralBank.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
@@ -51,7 +51,7 @@ public class CreditBankImplFactoryImpl implements CreditBankFactory {
 
 		final CreditBankImpl creditBank = new CreditBankImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			creditBank.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
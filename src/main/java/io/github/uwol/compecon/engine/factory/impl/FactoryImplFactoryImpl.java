@@ -43,14 +43,14 @@ public class FactoryImplFactoryImpl implements FactoryFactory {
 
 		final FactoryImpl factory = new FactoryImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			factory.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
 		factory.setProducedGoodType(goodType);
 		factory.setPrimaryCurrency(primaryCurrency);
 		factory.setReferenceCredit(
-				ApplicationContext.getInstance().getConfiguration().factoryConfig.getReferenceCredit());
+				ApplicationContext.getInstance().getConfigurationSnapshot().factoryConfig.referenceCredit);
 
 		final ProductionFunction productionFunction = ApplicationContext.getInstance().getInputOutputModel()
 				.getProductionFunction(goodType);
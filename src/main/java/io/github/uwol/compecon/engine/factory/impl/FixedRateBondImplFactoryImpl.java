@@ -43,7 +43,7 @@ public class FixedRateBondImplFactoryImpl implements FixedRateBondFactory {
 
 		final FixedRateBondImpl fixedRateBond = new FixedRateBondImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			fixedRateBond.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
@@ -40,7 +40,7 @@ public class GoodTypeOwnershipImplFactoryImpl implements GoodTypeOwnershipFactor
 
 		final GoodTypeOwnershipImpl goodTypeOwnership = new GoodTypeOwnershipImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			goodTypeOwnership.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
@@ -19,6 +19,9 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.factory.impl;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.household.impl.HouseholdImpl;
@@ -26,30 +29,47 @@ import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.factory.HouseholdFactory;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
 import io.github.uwol.compecon.math.intertemporal.impl.ModiglianiIntertemporalConsumptionFunction;
+import io.github.uwol.compecon.math.utility.UtilityFunction;
 
 public class HouseholdImplFactoryImpl implements HouseholdFactory {
 
+	/**
+	 * households of a currency share their utility function, so that the utility
+	 * maximizing inputs per budget are calculated once per market state
+	 */
+	protected final Map<Currency, UtilityFunction> utilityFunctions = new HashMap<Currency, UtilityFunction>();
+
 	@Override
 	public void deleteHousehold(final Household agent) {
 		ApplicationContext.getInstance().getHouseholdDAO().delete(agent);
 		HibernateUtil.flushSession();
 	}
 
+	protected UtilityFunction getUtilityFunctionOfHousehold(final Currency primaryCurrency) {
+		UtilityFunction utilityFunction = utilityFunctions.get(primaryCurrency);
+
+		if (utilityFunction == null) {
+			utilityFunction = ApplicationContext.getInstance().getInputOutputModel().getUtilityFunctionOfHousehold();
+			utilityFunctions.put(primaryCurrency, utilityFunction);
+		}
+
+		return utilityFunction;
+	}
+
 	@Override
 	public Household newInstanceHousehold(final Currency primaryCurrency, final int ageInDays) {
 		assert (primaryCurrency != null);
 
 		final HouseholdImpl household = new HouseholdImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			household.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
 		household.setAgeInDays(ageInDays);
 		household.setPrimaryCurrency(primaryCurrency);
 
-		household.setUtilityFunction(
-				ApplicationContext.getInstance().getInputOutputModel().getUtilityFunctionOfHousehold());
+		household.setUtilityFunction(getUtilityFunctionOfHousehold(primaryCurrency));
 
 		// intertemporal preferences
 		/*
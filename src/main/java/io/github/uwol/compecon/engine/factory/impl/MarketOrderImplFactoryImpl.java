@@ -79,7 +79,7 @@ public class MarketOrderImplFactoryImpl implements MarketOrderFactory {
 
 		final MarketOrderImpl marketOrder = new MarketOrderImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			marketOrder.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
@@ -105,7 +105,7 @@ public class MarketOrderImplFactoryImpl implements MarketOrderFactory {
 
 		final MarketOrderImpl marketOrder = new MarketOrderImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			marketOrder.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
@@ -130,7 +130,7 @@ public class MarketOrderImplFactoryImpl implements MarketOrderFactory {
 
 		final MarketOrderImpl marketOrder = new MarketOrderImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			marketOrder.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
@@ -36,7 +36,7 @@ public class ShareImplFactoryImpl implements ShareFactory {
 
 		final ShareImpl share = new ShareImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			share.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
@@ -40,7 +40,7 @@ public class StateImplFactoryImpl implements StateFactory {
 
 		final StateImpl state = new StateImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			state.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
@@ -41,13 +41,13 @@ public class TraderImplFactoryImpl implements TraderFactory {
 
 		final TraderImpl trader = new TraderImpl();
 
-		if (!HibernateUtil.isActive()) {
+		if (!HibernateUtil.isAssigningIds()) {
 			trader.setId(ApplicationContext.getInstance().getSequenceNumberGenerator().getNextId());
 		}
 
 		trader.setPrimaryCurrency(primaryCurrency);
 		trader.setReferenceCredit(
-				ApplicationContext.getInstance().getConfiguration().traderConfig.getReferenceCredit());
+				ApplicationContext.getInstance().getConfigurationSnapshot().traderConfig.referenceCredit);
 
 		// excluded good types
 		trader.getExcludedGoodTypes().add(GoodType.LABOURHOUR);
@@ -25,6 +25,7 @@ import java.util.Map;
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour.PricingBehaviourNewPriceDecisionCause;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
+import io.github.uwol.compecon.economy.markets.MarketOrder;
 import io.github.uwol.compecon.economy.markets.MarketParticipant;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
@@ -88,6 +89,13 @@ public interface Log {
 	public void household_onUtility(final Household household, final Currency currency,
 			final Map<GoodType, Double> bundleOfGoodsToConsume, final double utility);
 
+	/**
+	 * @return true, if log messages without an agent are logged for the agent
+	 *         selected by the client, so that callers can skip preparing
+	 *         parameters of log messages.
+	 */
+	public boolean isAgentCurrentlyActiveSelectedByClient();
+
 	public boolean isAgentSelectedByClient(final Agent agent);
 
 	public boolean isAgentSelectedByClient(final BankCustomer bankCustomer);
@@ -108,6 +116,10 @@ public interface Log {
 	public void market_onTick(final double pricePerUnit, final Currency commodityCurrency, final Currency currency,
 			final double amount);
 
+	public void marketOrder_onDelete(final MarketOrder marketOrder);
+
+	public void marketOrder_onSave(final MarketOrder marketOrder);
+
 	public void market_onTick(final double pricePerUnit, final GoodType goodType, final Currency currency,
 			final double amount);
 
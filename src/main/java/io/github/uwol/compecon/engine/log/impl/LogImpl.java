@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.log.impl;
 
+import java.io.IOException;
 import java.util.Date;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -26,6 +27,7 @@ import java.util.Map.Entry;
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.behaviour.PricingBehaviour.PricingBehaviourNewPriceDecisionCause;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
+import io.github.uwol.compecon.economy.markets.MarketOrder;
 import io.github.uwol.compecon.economy.markets.MarketParticipant;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
@@ -36,26 +38,53 @@ import io.github.uwol.compecon.economy.sectors.industry.Factory;
 import io.github.uwol.compecon.economy.sectors.state.State;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.log.Log;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModel;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModel.AgentLogRecordType;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.IncomeSource;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
+import io.github.uwol.compecon.engine.statistics.PerformanceModel;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.math.ConvexFunction.ConvexFunctionTerminationCause;
 import io.github.uwol.compecon.math.production.ConvexProductionFunction.ConvexProductionFunctionTerminationCause;
 import io.github.uwol.compecon.math.util.MathUtil;
 
+/**
+ * Feeds the statistical models and the log of the agent selected by the client.
+ * Model references are resolved once at construction. Log rows are recorded
+ * only for the agent selected by the client, as structured records, which are
+ * formatted when the dashboard renders them.
+ */
 public class LogImpl implements Log {
 
 	private Agent agentCurrentlyActive;
 
+	protected final AgentDetailModel agentDetailModel;
+
 	private Agent agentSelectedByClient;
 
+	// indexed by currency ordinal
+	protected final NationalEconomyModel[] nationalEconomyModels;
+
+	protected final PerformanceModel performanceModel;
+
+	public LogImpl(final ModelRegistry modelRegistry) {
+		agentDetailModel = modelRegistry.getAgentDetailModel();
+		performanceModel = modelRegistry.getPerformanceModel();
+		nationalEconomyModels = new NationalEconomyModel[Currency.values().length];
+
+		for (final Currency currency : Currency.values()) {
+			nationalEconomyModels[currency.ordinal()] = modelRegistry.getNationalEconomyModel(currency);
+		}
+	}
+
 	// --------
 
 	@Override
 	public void agent_CreditUtilization(final Agent agent, final double creditUtilization,
 			final double creditCapacity) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(agent.getPrimaryCurrency()).creditUtilizationRateModel.add(creditUtilization,
-						creditCapacity);
+		getNationalEconomyModel(agent.getPrimaryCurrency()).creditUtilizationRateModel.add(creditUtilization,
+				creditCapacity);
 	}
 
 	@Override
@@ -72,28 +101,27 @@ public class LogImpl implements Log {
 				weightForCause = budget - budgetSpent;
 			}
 
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(
-					agentCurrentlyActive.getPrimaryCurrency()).householdsModel.convexFunctionTerminationCauseModels
-							.get(terminationCause).add(weightForCause);
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(agentCurrentlyActive.getPrimaryCurrency()).householdsModel.budgetModel
-							.add(budget);
+			final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(
+					agentCurrentlyActive.getPrimaryCurrency());
+			nationalEconomyModel.householdsModel.convexFunctionTerminationCauseModels.get(terminationCause)
+					.add(weightForCause);
+			nationalEconomyModel.householdsModel.budgetModel.add(budget);
 		}
 	}
 
 	@Override
 	public void agent_onConstruct(final Agent agent) {
-		ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().agent_onConstruct(agent);
+		agentDetailModel.agent_onConstruct(agent);
 		if (isAgentSelectedByClient(agent)) {
-			log(agent, agent + " constructed");
+			log(agent, "%s constructed", agent);
 		}
 	}
 
 	@Override
 	public void agent_onDeconstruct(final Agent agent) {
-		ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().agent_onDeconstruct(agent);
+		agentDetailModel.agent_onDeconstruct(agent);
 		if (isAgentSelectedByClient(agent)) {
-			log(agent, agent + " deconstructed");
+			log(agent, "%s deconstructed", agent);
 		}
 
 		if (agentCurrentlyActive == agent) {
@@ -109,26 +137,25 @@ public class LogImpl implements Log {
 	public void agent_onLifesign(final Agent agent) {
 		final Class<? extends Agent> agentType = agent.getClass();
 
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(agent.getPrimaryCurrency()).numberOfAgentsModels.get(agentType).add(1);
+		getNationalEconomyModel(agent.getPrimaryCurrency()).numberOfAgentsModels.get(agentType).add(1);
 	}
 
 	@Override
 	public void agent_onPublishBalanceSheet(final Agent agent, final BalanceSheetDTO balanceSheet) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).balanceSheetsModel
-						.agent_onPublishBalanceSheet(agent, balanceSheet);
+		final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(balanceSheet.referenceCurrency);
+
+		nationalEconomyModel.balanceSheetsModel.agent_onPublishBalanceSheet(agent, balanceSheet);
 
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).moneySupplyM0Model.add(balanceSheet.hardCash);
+		nationalEconomyModel.moneySupplyM0Model.add(balanceSheet.hardCash);
 		// TODO: what about money in the private banking system? -> M1
 		// definition
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).moneySupplyM1Model
-						.add(balanceSheet.hardCash + balanceSheet.cashGiroShortTerm);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(balanceSheet.referenceCurrency).moneySupplyM2Model
-						.add(balanceSheet.hardCash + balanceSheet.cashGiroShortTerm + balanceSheet.cashGiroLongTerm);
+		nationalEconomyModel.moneySupplyM1Model.add(balanceSheet.hardCash + balanceSheet.cashGiroShortTerm);
+		nationalEconomyModel.moneySupplyM2Model
+				.add(balanceSheet.hardCash + balanceSheet.cashGiroShortTerm + balanceSheet.cashGiroLongTerm);
+
+		if (ApplicationContext.getInstance().getSnapshotExporter() != null) {
+			ApplicationContext.getInstance().getSnapshotExporter().agent_onPublishBalanceSheet(agent, balanceSheet);
+		}
 	}
 
 	// --------
@@ -136,50 +163,52 @@ public class LogImpl implements Log {
 	private void agent_onUtility(final Agent agent, final Currency currency,
 			final Map<GoodType, Double> bundleOfGoodsToConsume, final double utility) {
 		if (this.isAgentSelectedByClient(agent)) {
-			String log = "consumed ";
+			final StringBuilder log = new StringBuilder("consumed ");
 			int i = 0;
 			for (final Entry<GoodType, Double> entry : bundleOfGoodsToConsume.entrySet()) {
-				log += MathUtil.round(entry.getValue()) + " " + entry.getKey();
+				log.append(MathUtil.round(entry.getValue())).append(" ").append(entry.getKey());
 				if (i < bundleOfGoodsToConsume.size() - 1) {
-					log += ", ";
+					log.append(", ");
 				}
 				i++;
 			}
-			log += " -> " + MathUtil.round(utility) + " utility";
+			log.append(" -> ").append(MathUtil.round(utility)).append(" utility");
 
-			this.log(agent, log);
+			this.log(agent, "%s", log.toString());
 		}
 
 		if (!ApplicationContext.getInstance().getTimeSystem().isInitializationPhase()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).totalUtilityOutputModel.add(utility);
+			getNationalEconomyModel(currency).totalUtilityOutputModel.add(utility);
 		}
 	}
 
 	@Override
 	public void bank_onTransfer(final BankAccount from, final BankAccount to, final Currency currency,
 			final double value, final String subject) {
+		final BankCustomer fromOwner = from.getOwner();
+		final BankCustomer toOwner = to.getOwner();
+
 		// only if this is a transfer between agents; alternatively it could be
 		// a transfer between bank accounts of this agent
-		if (from.getOwner() != to.getOwner()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).monetaryTransactionsModel
-							.bank_onTransfer(from.getOwner().getClass(), to.getOwner().getClass(), currency, value);
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).moneyCirculationModel
-					.add(value);
+		if (fromOwner != toOwner) {
+			final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(currency);
+			nationalEconomyModel.monetaryTransactionsModel.bank_onTransfer(fromOwner.getClass(), toOwner.getClass(),
+					currency, value);
+			nationalEconomyModel.moneyCirculationModel.add(value);
+		}
+
+		// fast path for the usual case, in which no agent is selected
+		if (agentSelectedByClient == null) {
+			return;
 		}
 
-		if (isAgentSelectedByClient(from.getOwner())) {
-			final String message = " --- " + Currency.formatMoneySum(value) + " " + currency.getIso4217Code() + " ---> "
-					+ to + ": " + subject;
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().logBankAccountEvent(
-					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), from, message);
+		if (isAgentSelectedByClient(fromOwner)) {
+			agentDetailModel.logBankAccountEvent(getCurrentTimestamp(), from, AgentLogRecordType.TRANSFER_TO, value,
+					currency, to, subject);
 		}
-		if (isAgentSelectedByClient(to.getOwner())) {
-			final String message = " <--- " + Currency.formatMoneySum(value) + " " + currency.getIso4217Code() + " --- "
-					+ from + ": " + subject;
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().logBankAccountEvent(
-					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), to, message);
+		if (isAgentSelectedByClient(toOwner)) {
+			agentDetailModel.logBankAccountEvent(getCurrentTimestamp(), to, AgentLogRecordType.TRANSFER_FROM, value,
+					currency, from, subject);
 		}
 	}
 
@@ -187,20 +216,17 @@ public class LogImpl implements Log {
 
 	@Override
 	public void centralBank_KeyInterestRate(final Currency currency, final double keyInterestRate) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).keyInterestRateModel
-				.add(keyInterestRate);
+		getNationalEconomyModel(currency).keyInterestRateModel.add(keyInterestRate);
 	}
 
 	@Override
 	public void centralBank_PriceIndex(final Currency currency, final double priceIndex) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).priceIndexModel
-				.add(priceIndex);
+		getNationalEconomyModel(currency).priceIndexModel.add(priceIndex);
 	}
 
 	@Override
 	public void factory_AmountSold(final Currency currency, final GoodType outputGoodType, final double amountSold) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(outputGoodType).soldModel.add(amountSold);
+		getNationalEconomyModel(currency).getPricingBehaviourModel(outputGoodType).soldModel.add(amountSold);
 	}
 
 	@Override
@@ -216,42 +242,41 @@ public class LogImpl implements Log {
 				weightForCause = budget - budgetSpent;
 			}
 
-			final Currency currency = agentCurrentlyActive.getPrimaryCurrency();
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-					.getIndustryModel(((Factory) agentCurrentlyActive)
-							.getProducedGoodType()).convexProductionFunctionTerminationCauseModels.get(terminationCause)
-									.add(weightForCause);
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-					.getIndustryModel(((Factory) agentCurrentlyActive).getProducedGoodType()).budgetModel.add(budget);
+			final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(
+					agentCurrentlyActive.getPrimaryCurrency());
+			final GoodType producedGoodType = ((Factory) agentCurrentlyActive).getProducedGoodType();
+			nationalEconomyModel.getIndustryModel(producedGoodType).convexProductionFunctionTerminationCauseModels
+					.get(terminationCause).add(weightForCause);
+			nationalEconomyModel.getIndustryModel(producedGoodType).budgetModel.add(budget);
 		}
 	}
 
 	@Override
 	public void factory_onCapitalDepreciation(final Factory factory, final GoodType capitalGoodType,
 			final double depreciation) {
-		this.log(factory, "depreciation of " + depreciation + " units on capital good " + capitalGoodType);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(factory.getPrimaryCurrency()).industryModels
-						.get(capitalGoodType).capitalDepreciationModel.add(depreciation);
+		if (isAgentSelectedByClient(factory)) {
+			this.log(factory, "depreciation of %s units on capital good %s", depreciation, capitalGoodType);
+		}
+		getNationalEconomyModel(factory.getPrimaryCurrency()).industryModels
+				.get(capitalGoodType).capitalDepreciationModel.add(depreciation);
 	}
 
 	@Override
 	public void factory_onOfferGoodType(final Currency currency, final GoodType outputGoodType,
 			final double amountOffered, final double inventory) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(outputGoodType).offerModel.add(amountOffered);
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getIndustryModel(outputGoodType).inventoryModel.add(inventory);
+		final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(currency);
+		nationalEconomyModel.getPricingBehaviourModel(outputGoodType).offerModel.add(amountOffered);
+		nationalEconomyModel.getIndustryModel(outputGoodType).inventoryModel.add(inventory);
 	}
 
 	@Override
 	public void factory_onProduction(final Factory factory, final Currency currency, final GoodType outputGoodType,
 			final double output, final Map<GoodType, Double> inputs) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getIndustryModel(outputGoodType).outputModel.add(output);
+		final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(currency);
+		nationalEconomyModel.getIndustryModel(outputGoodType).outputModel.add(output);
 		for (final Entry<GoodType, Double> input : inputs.entrySet()) {
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-					.getIndustryModel(outputGoodType).inputModels.get(input.getKey()).add(input.getValue());
+			nationalEconomyModel.getIndustryModel(outputGoodType).inputModels.get(input.getKey())
+					.add(input.getValue());
 		}
 	}
 
@@ -260,78 +285,73 @@ public class LogImpl implements Log {
 		return agentSelectedByClient;
 	}
 
+	private long getCurrentTimestamp() {
+		return ApplicationContext.getInstance().getTimeSystem().getCurrentDate().getTime();
+	}
+
+	private NationalEconomyModel getNationalEconomyModel(final Currency currency) {
+		return nationalEconomyModels[currency.ordinal()];
+	}
+
 	@Override
 	public void household_AmountSold(final Currency currency, final double labourHoursSold) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(GoodType.LABOURHOUR).soldModel.add(labourHoursSold);
+		getNationalEconomyModel(currency).getPricingBehaviourModel(GoodType.LABOURHOUR).soldModel.add(labourHoursSold);
 	}
 
 	@Override
 	public void household_onIncomeWageDividendTransfersConsumptionSaving(final Currency currency, final double income,
 			final double consumptionAmount, final double savingAmount, final double wage, final double dividend,
 			final double governmentTransfers) {
+		final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(currency);
 
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionModel.add(consumptionAmount);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeModel.add(income);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionRateModel.add(consumptionAmount, income);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.consumptionIncomeRatioModel.add(consumptionAmount,
-						income);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.savingModel.add(savingAmount);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.savingRateModel.add(savingAmount, income);
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).householdsModel.wageModel
-				.add(wage);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.dividendModel.add(dividend);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.governmentTransfersModel.add(governmentTransfers);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeSourceModel.add(IncomeSource.WAGE, wage);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeSourceModel.add(IncomeSource.DIVIDEND,
-						dividend);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeSourceModel.add(IncomeSource.TRANSFERS,
-						governmentTransfers);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.incomeDistributionModel.add(income);
+		nationalEconomyModel.householdsModel.consumptionModel.add(consumptionAmount);
+		nationalEconomyModel.householdsModel.incomeModel.add(income);
+		nationalEconomyModel.householdsModel.consumptionRateModel.add(consumptionAmount, income);
+		nationalEconomyModel.householdsModel.consumptionIncomeRatioModel.add(consumptionAmount, income);
+		nationalEconomyModel.householdsModel.savingModel.add(savingAmount);
+		nationalEconomyModel.householdsModel.savingRateModel.add(savingAmount, income);
+		nationalEconomyModel.householdsModel.wageModel.add(wage);
+		nationalEconomyModel.householdsModel.dividendModel.add(dividend);
+		nationalEconomyModel.householdsModel.governmentTransfersModel.add(governmentTransfers);
+		nationalEconomyModel.householdsModel.incomeSourceModel.add(IncomeSource.WAGE, wage);
+		nationalEconomyModel.householdsModel.incomeSourceModel.add(IncomeSource.DIVIDEND, dividend);
+		nationalEconomyModel.householdsModel.incomeSourceModel.add(IncomeSource.TRANSFERS, governmentTransfers);
+		nationalEconomyModel.householdsModel.incomeDistributionModel.add(income);
 	}
 
 	@Override
 	public void household_onOfferResult(final Currency currency, final double labourHoursOffered,
 			final double labourHourCapacity) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-				.getPricingBehaviourModel(GoodType.LABOURHOUR).offerModel.add(labourHoursOffered);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.labourHourCapacityModel.add(labourHourCapacity);
+		final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(currency);
+		nationalEconomyModel.getPricingBehaviourModel(GoodType.LABOURHOUR).offerModel.add(labourHoursOffered);
+		nationalEconomyModel.householdsModel.labourHourCapacityModel.add(labourHourCapacity);
 	}
 
 	// --------
 
 	@Override
 	public void household_onRetired(final Household household) {
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(household.getPrimaryCurrency()).householdsModel.retiredModel.add(1);
+		getNationalEconomyModel(household.getPrimaryCurrency()).householdsModel.retiredModel.add(1);
 	}
 
 	@Override
 	public void household_onUtility(final Household household, final Currency currency,
 			final Map<GoodType, Double> bundleOfGoodsToConsume, final double utility) {
 		agent_onUtility(household, currency, bundleOfGoodsToConsume, utility);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityOutputModel.add(utility);
+
+		final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(currency);
+		nationalEconomyModel.householdsModel.utilityModel.utilityOutputModel.add(utility);
 		for (final Entry<GoodType, Double> entry : bundleOfGoodsToConsume.entrySet()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).householdsModel.utilityModel.utilityInputModels
-							.get(entry.getKey()).add(entry.getValue());
+			nationalEconomyModel.householdsModel.utilityModel.utilityInputModels.get(entry.getKey())
+					.add(entry.getValue());
 		}
 	}
 
+	@Override
+	public boolean isAgentCurrentlyActiveSelectedByClient() {
+		return agentCurrentlyActive != null && agentSelectedByClient == agentCurrentlyActive;
+	}
+
 	@Override
 	public boolean isAgentSelectedByClient(final Agent agent) {
 		return agent != null && agentSelectedByClient == agent;
@@ -351,7 +371,9 @@ public class LogImpl implements Log {
 	public synchronized void log(final Agent agent, final Class<? extends TimeSystemEvent> eventClass,
 			final String message, final Object... parameters) {
 		setAgentCurrentlyActive(agent);
-		log(eventClass.getSimpleName() + ": " + String.format(message, parameters));
+		if (isAgentCurrentlyActiveSelectedByClient()) {
+			agentDetailModel.logAgentEvent(getCurrentTimestamp(), eventClass, message, parameters);
+		}
 	}
 
 	// --------
@@ -379,18 +401,17 @@ public class LogImpl implements Log {
 
 	@Override
 	public void log(final String message, final Object... parameters) {
-		if (agentCurrentlyActive != null && agentSelectedByClient == agentCurrentlyActive) {
-			ApplicationContext.getInstance().getModelRegistry().getAgentDetailModel().logAgentEvent(
-					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(),
-					String.format(message, parameters));
+		if (isAgentCurrentlyActiveSelectedByClient()) {
+			agentDetailModel.logAgentEvent(getCurrentTimestamp(), null, message, parameters);
 		}
 	}
 
 	@Override
 	public void market_onTick(final double pricePerUnit, final Currency commodityCurrency, final Currency currency,
 			final double amount) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).pricesModel
-				.market_onTick(pricePerUnit, commodityCurrency, amount);
+		getNationalEconomyModel(currency).pricesModel.market_onTick(pricePerUnit, commodityCurrency, amount);
+		getNationalEconomyModel(currency).marketDepthModel.market_onTick(pricePerUnit, commodityCurrency, amount);
+		performanceModel.market_onTick(commodityCurrency, currency, amount);
 	}
 
 	// --------
@@ -398,13 +419,32 @@ public class LogImpl implements Log {
 	@Override
 	public void market_onTick(final double pricePerUnit, final GoodType goodType, final Currency currency,
 			final double amount) {
-		ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency).pricesModel
-				.market_onTick(pricePerUnit, goodType, amount);
+		getNationalEconomyModel(currency).pricesModel.market_onTick(pricePerUnit, goodType, amount);
+		getNationalEconomyModel(currency).marketDepthModel.market_onTick(pricePerUnit, goodType, amount);
+		performanceModel.market_onTick(goodType, currency, amount);
+	}
+
+	@Override
+	public void marketOrder_onDelete(final MarketOrder marketOrder) {
+		getNationalEconomyModel(marketOrder.getCurrency()).marketDepthModel.marketOrder_onDelete(marketOrder);
+	}
+
+	@Override
+	public void marketOrder_onSave(final MarketOrder marketOrder) {
+		getNationalEconomyModel(marketOrder.getCurrency()).marketDepthModel.marketOrder_onSave(marketOrder);
 	}
 
 	@Override
 	public void notifyTimeSystem_nextDay(final Date date) {
 		ApplicationContext.getInstance().getModelRegistry().nextPeriod();
+
+		if (ApplicationContext.getInstance().getSnapshotExporter() != null) {
+			try {
+				ApplicationContext.getInstance().getSnapshotExporter().notifyTimeSystem_nextDay(date);
+			} catch (final IOException e) {
+				e.printStackTrace();
+			}
+		}
 	}
 
 	// --------
@@ -427,12 +467,11 @@ public class LogImpl implements Log {
 		}
 
 		if (goodType != null) {
-			final Currency currency = agent.getPrimaryCurrency();
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-					.getPricingBehaviourModel(goodType).pricingBehaviourPriceDecisionCauseModels.get(decisionCause)
-							.add(weight);
-			ApplicationContext.getInstance().getModelRegistry().getNationalEconomyModel(currency)
-					.getPricingBehaviourModel(goodType).pricingBehaviourAveragePriceDecisionCauseModel.add(weight);
+			final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(agent.getPrimaryCurrency());
+			nationalEconomyModel.getPricingBehaviourModel(goodType).pricingBehaviourPriceDecisionCauseModels
+					.get(decisionCause).add(weight);
+			nationalEconomyModel.getPricingBehaviourModel(goodType).pricingBehaviourAveragePriceDecisionCauseModel
+					.add(weight);
 		}
 	}
 
@@ -455,12 +494,11 @@ public class LogImpl implements Log {
 	public void state_onUtility(final State state, final Currency currency,
 			final Map<GoodType, Double> bundleOfGoodsToConsume, final double utility) {
 		agent_onUtility(state, currency, bundleOfGoodsToConsume, utility);
-		ApplicationContext.getInstance().getModelRegistry()
-				.getNationalEconomyModel(currency).stateModel.utilityModel.utilityOutputModel.add(utility);
+
+		final NationalEconomyModel nationalEconomyModel = getNationalEconomyModel(currency);
+		nationalEconomyModel.stateModel.utilityModel.utilityOutputModel.add(utility);
 		for (final Entry<GoodType, Double> entry : bundleOfGoodsToConsume.entrySet()) {
-			ApplicationContext.getInstance().getModelRegistry()
-					.getNationalEconomyModel(currency).stateModel.utilityModel.utilityInputModels.get(entry.getKey())
-							.add(entry.getValue());
+			nationalEconomyModel.stateModel.utilityModel.utilityInputModels.get(entry.getKey()).add(entry.getValue());
 		}
 	}
 }
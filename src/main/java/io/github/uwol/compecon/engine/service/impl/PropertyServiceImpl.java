@@ -34,6 +34,7 @@ import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.PropertyService;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
+import io.github.uwol.compecon.engine.util.WriteBehindUtil;
 import io.github.uwol.compecon.math.util.MathUtil;
 
 /**
@@ -72,6 +73,7 @@ public class PropertyServiceImpl implements PropertyService {
 
 		final double newBalance = Math.max(oldBalance - amount, 0);
 		goodTypeOwnership.getOwnedGoodTypes().put(goodType, newBalance);
+		WriteBehindUtil.merge(ApplicationContext.getInstance().getGoodTypeOwnershipDAO(), goodTypeOwnership);
 
 		HibernateUtil.flushSession();
 
@@ -143,6 +145,7 @@ public class PropertyServiceImpl implements PropertyService {
 		final GoodTypeOwnership goodTypeOwnership = assureGoodTypeOwnership(propertyOwner);
 		final double newBalance = goodTypeOwnership.getOwnedGoodTypes().get(goodType) + amount;
 		goodTypeOwnership.getOwnedGoodTypes().put(goodType, newBalance);
+		WriteBehindUtil.merge(ApplicationContext.getInstance().getGoodTypeOwnershipDAO(), goodTypeOwnership);
 
 		HibernateUtil.flushSession();
 
@@ -153,6 +156,7 @@ public class PropertyServiceImpl implements PropertyService {
 	public void resetGoodTypeAmount(final PropertyOwner propertyOwner, final GoodType goodType) {
 		final GoodTypeOwnership goodTypeOwnership = assureGoodTypeOwnership(propertyOwner);
 		goodTypeOwnership.getOwnedGoodTypes().put(goodType, 0.0);
+		WriteBehindUtil.merge(ApplicationContext.getInstance().getGoodTypeOwnershipDAO(), goodTypeOwnership);
 
 		HibernateUtil.flushSession();
 	}
@@ -31,6 +31,7 @@ import io.github.uwol.compecon.economy.sectors.financial.BankAccountDelegate;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.SettlementMarketService;
+import io.github.uwol.compecon.engine.util.WriteBehindUtil;
 import io.github.uwol.compecon.math.util.MathUtil;
 
 /**
@@ -113,6 +114,7 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 
 				// decrement amount in market order
 				marketOrder.decrementAmount(amount);
+				WriteBehindUtil.merge(ApplicationContext.getInstance().getMarketOrderDAO(), marketOrder);
 
 				// inform event listener
 				marketOrder.getOfferor().onMarketSettlement(marketOrder.getGoodType(), amount,
@@ -140,6 +142,7 @@ public class SettlementMarketServiceImpl extends MarketServiceImpl implements Se
 
 				// decrement amount in market order
 				marketOrder.decrementAmount(amount);
+				WriteBehindUtil.merge(ApplicationContext.getInstance().getMarketOrderDAO(), marketOrder);
 
 				// inform event listener
 				marketOrder.getOfferor().onMarketSettlement(marketOrder.getCommodityCurrency(), amount,
@@ -0,0 +1,54 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot;
+
+import java.io.IOException;
+import java.util.Date;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
+
+/**
+ * Exports end-of-day snapshots of balance sheets, bank account balances and
+ * marginal market prices to one append-only file per simulated year. The
+ * snapshot exporter is a lightweight alternative to the Hibernate DAOs for
+ * analyses that only need the state at the end of each day.
+ */
+public interface SnapshotExporter {
+
+	public void agent_onPublishBalanceSheet(final Agent agent, final BalanceSheetDTO balanceSheet);
+
+	/**
+	 * Writes the pending block and closes the current file.
+	 */
+	public void close() throws IOException;
+
+	public long getNumberOfBytesWritten();
+
+	public int getNumberOfDaysWritten();
+
+	/**
+	 * Appends a block with the balance sheets published since the last call, the
+	 * current bank account balances and the current marginal market prices. The
+	 * snapshot is tagged with the given date, and written to the file of the year
+	 * of that date.
+	 */
+	public void notifyTimeSystem_nextDay(final Date date) throws IOException;
+}
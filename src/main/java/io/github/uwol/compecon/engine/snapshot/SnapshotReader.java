@@ -0,0 +1,37 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot;
+
+import java.io.IOException;
+
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotDTO;
+
+/**
+ * Reads the blocks of a snapshot file in the order they have been written.
+ */
+public interface SnapshotReader {
+
+	public void close() throws IOException;
+
+	/**
+	 * @return the next snapshot, or null if the end of the file has been reached.
+	 */
+	public SnapshotDTO read() throws IOException;
+}
@@ -0,0 +1,161 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot.impl;
+
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.Map;
+
+import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+
+/**
+ * Columnar end-of-day snapshot; row i of a section is spread over the i-th
+ * elements of the arrays of that section.
+ */
+public class SnapshotDTO {
+
+	public enum BalanceSheetColumn {
+		BANK_BORROWINGS {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.bankBorrowings;
+			}
+		},
+		BANK_LOANS {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.bankLoans;
+			}
+		},
+		BONDS {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.bonds;
+			}
+		},
+		CASH_CENTRALBANK_LONG_TERM {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.cashCentralBankLongTerm;
+			}
+		},
+		CASH_CENTRALBANK_SHORT_TERM {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.cashCentralBankShortTerm;
+			}
+		},
+		CASH_FOREIGN_CURRENCY {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.cashForeignCurrency;
+			}
+		},
+		CASH_GIRO_LONG_TERM {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.cashGiroLongTerm;
+			}
+		},
+		CASH_GIRO_SHORT_TERM {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.cashGiroShortTerm;
+			}
+		},
+		FINANCIAL_LIABILITIES {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.financialLiabilities;
+			}
+		},
+		HARD_CASH {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.hardCash;
+			}
+		},
+		INVENTORY_VALUE {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.inventoryValue;
+			}
+		},
+		LOANS_CENTRALBANK_LONG_TERM {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.loansCentralBankLongTerm;
+			}
+		},
+		LOANS_CENTRALBANK_SHORT_TERM {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.loansCentralBankShortTerm;
+			}
+		},
+		LOANS_GIRO_LONG_TERM {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.loansGiroLongTerm;
+			}
+		},
+		LOANS_GIRO_SHORT_TERM {
+			@Override
+			public double getValue(final BalanceSheetDTO balanceSheet) {
+				return balanceSheet.loansGiroShortTerm;
+			}
+		};
+
+		public abstract double getValue(final BalanceSheetDTO balanceSheet);
+	}
+
+	public int[] balanceSheetAgentIds;
+
+	public String[] balanceSheetAgentTypes;
+
+	public final Map<BalanceSheetColumn, double[]> balanceSheetColumns = new EnumMap<BalanceSheetColumn, double[]>(
+			BalanceSheetColumn.class);
+
+	public Currency[] balanceSheetCurrencies;
+
+	public double[] bankAccountBalances;
+
+	public Currency[] bankAccountCurrencies;
+
+	public int[] bankAccountIds;
+
+	// -1, if the owner is not an agent
+	public int[] bankAccountOwnerIds;
+
+	public final Date date;
+
+	public Currency[] priceCurrencies;
+
+	public GoodType[] priceGoodTypes;
+
+	// NaN, if there is no offer for the good type
+	public double[] prices;
+
+	public SnapshotDTO(final Date date) {
+		this.date = date;
+	}
+}
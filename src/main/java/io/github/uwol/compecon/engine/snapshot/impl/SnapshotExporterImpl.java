@@ -0,0 +1,225 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.zip.Deflater;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.snapshot.SnapshotExporter;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotDTO.BalanceSheetColumn;
+
+public class SnapshotExporterImpl implements SnapshotExporter {
+
+	public static File getFile(final File directory, final int year) {
+		return new File(directory, "snapshot_" + year + ".ccs");
+	}
+
+	/**
+	 * balance sheets published since the last snapshot; an agent publishing
+	 * several balance sheets per day is represented by the latest one.
+	 */
+	protected final Map<Agent, BalanceSheetDTO> balanceSheets = new LinkedHashMap<Agent, BalanceSheetDTO>();
+
+	protected final ByteArrayOutputStream blockBuffer = new ByteArrayOutputStream();
+
+	protected byte[] compressedBuffer = new byte[4096];
+
+	protected int currentYear = -1;
+
+	protected final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+	protected final File directory;
+
+	protected long numberOfBytesWritten = 0;
+
+	protected int numberOfDaysWritten = 0;
+
+	protected DataOutputStream out;
+
+	public SnapshotExporterImpl(final File directory) {
+		this.directory = directory;
+	}
+
+	@Override
+	public void agent_onPublishBalanceSheet(final Agent agent, final BalanceSheetDTO balanceSheet) {
+		balanceSheets.put(agent, balanceSheet);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (out != null) {
+			out.close();
+			out = null;
+		}
+		deflater.end();
+	}
+
+	protected SnapshotDTO createSnapshot(final Date date) {
+		final SnapshotDTO snapshot = new SnapshotDTO(date);
+
+		// balance sheets
+		final int numberOfBalanceSheets = balanceSheets.size();
+		snapshot.balanceSheetAgentIds = new int[numberOfBalanceSheets];
+		snapshot.balanceSheetAgentTypes = new String[numberOfBalanceSheets];
+		snapshot.balanceSheetCurrencies = new Currency[numberOfBalanceSheets];
+		for (final BalanceSheetColumn balanceSheetColumn : BalanceSheetColumn.values()) {
+			snapshot.balanceSheetColumns.put(balanceSheetColumn, new double[numberOfBalanceSheets]);
+		}
+
+		int i = 0;
+		for (final Entry<Agent, BalanceSheetDTO> entry : balanceSheets.entrySet()) {
+			snapshot.balanceSheetAgentIds[i] = entry.getKey().getId();
+			snapshot.balanceSheetAgentTypes[i] = entry.getKey().getClass().getSimpleName();
+			snapshot.balanceSheetCurrencies[i] = entry.getValue().referenceCurrency;
+			for (final Entry<BalanceSheetColumn, double[]> column : snapshot.balanceSheetColumns.entrySet()) {
+				column.getValue()[i] = column.getKey().getValue(entry.getValue());
+			}
+			i++;
+		}
+
+		// bank accounts
+		final List<BankAccount> bankAccounts = ApplicationContext.getInstance().getBankAccountDAO().findAll();
+		final int numberOfBankAccounts = bankAccounts.size();
+		snapshot.bankAccountIds = new int[numberOfBankAccounts];
+		snapshot.bankAccountOwnerIds = new int[numberOfBankAccounts];
+		snapshot.bankAccountCurrencies = new Currency[numberOfBankAccounts];
+		snapshot.bankAccountBalances = new double[numberOfBankAccounts];
+
+		for (int j = 0; j < numberOfBankAccounts; j++) {
+			final BankAccount bankAccount = bankAccounts.get(j);
+			snapshot.bankAccountIds[j] = bankAccount.getId();
+			snapshot.bankAccountOwnerIds[j] = bankAccount.getOwner() instanceof Agent
+					? ((Agent) bankAccount.getOwner()).getId()
+					: -1;
+			snapshot.bankAccountCurrencies[j] = bankAccount.getCurrency();
+			snapshot.bankAccountBalances[j] = bankAccount.getBalance();
+		}
+
+		// prices
+		final List<Currency> priceCurrencies = new ArrayList<Currency>();
+		final List<GoodType> priceGoodTypes = new ArrayList<GoodType>();
+		final List<Double> prices = new ArrayList<Double>();
+
+		for (final Currency currency : Currency.values()) {
+			for (final GoodType goodType : GoodType.values()) {
+				priceCurrencies.add(currency);
+				priceGoodTypes.add(goodType);
+				prices.add(ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(currency,
+						goodType));
+			}
+		}
+
+		snapshot.priceCurrencies = priceCurrencies.toArray(new Currency[0]);
+		snapshot.priceGoodTypes = priceGoodTypes.toArray(new GoodType[0]);
+		snapshot.prices = new double[prices.size()];
+		for (int j = 0; j < prices.size(); j++) {
+			snapshot.prices[j] = prices.get(j);
+		}
+
+		return snapshot;
+	}
+
+	@Override
+	public long getNumberOfBytesWritten() {
+		return numberOfBytesWritten;
+	}
+
+	@Override
+	public int getNumberOfDaysWritten() {
+		return numberOfDaysWritten;
+	}
+
+	@Override
+	public void notifyTimeSystem_nextDay(final Date date) throws IOException {
+		final SnapshotDTO snapshot = createSnapshot(date);
+		balanceSheets.clear();
+
+		final GregorianCalendar calendar = new GregorianCalendar();
+		calendar.setTime(date);
+		openFile(calendar.get(GregorianCalendar.YEAR));
+
+		// encode the block in memory, so that its length can precede it
+		blockBuffer.reset();
+		final DataOutputStream blockOut = new DataOutputStream(blockBuffer);
+		SnapshotFormat.writeBlock(blockOut, snapshot);
+		blockOut.flush();
+
+		final byte[] block = blockBuffer.toByteArray();
+
+		deflater.reset();
+		deflater.setInput(block);
+		deflater.finish();
+
+		// incompressible blocks can grow beyond the size of the buffer
+		int compressedLength = 0;
+		while (!deflater.finished()) {
+			if (compressedLength == compressedBuffer.length) {
+				compressedBuffer = Arrays.copyOf(compressedBuffer, compressedBuffer.length * 2);
+			}
+			compressedLength += deflater.deflate(compressedBuffer, compressedLength,
+					compressedBuffer.length - compressedLength);
+		}
+
+		out.writeInt(block.length);
+		out.writeInt(compressedLength);
+		out.write(compressedBuffer, 0, compressedLength);
+		out.flush();
+
+		numberOfBytesWritten += 8 + compressedLength;
+		numberOfDaysWritten++;
+	}
+
+	/**
+	 * Switches to the file of the given year; files are written from scratch
+	 * per simulation run and appended to block by block.
+	 */
+	protected void openFile(final int year) throws IOException {
+		if (year != currentYear) {
+			if (out != null) {
+				out.close();
+			}
+
+			directory.mkdirs();
+			out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(getFile(directory, year), false)));
+			SnapshotFormat.writeHeader(out);
+			currentYear = year;
+		}
+	}
+}
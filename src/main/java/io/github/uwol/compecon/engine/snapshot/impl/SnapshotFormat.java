@@ -0,0 +1,216 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot.impl;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Date;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotDTO.BalanceSheetColumn;
+
+/**
+ * Block format of snapshot files:<br />
+ * <br />
+ * header: magic, version, names of currencies, good types and balance sheet
+ * columns, so that ordinals can be resolved independently of the enums the
+ * file has been written with<br />
+ * block: uncompressed length, compressed length, deflated payload<br />
+ * payload: date, then the sections balance sheets, bank accounts and prices,
+ * each with its number of rows followed by its columns
+ */
+public class SnapshotFormat {
+
+	public static class Header {
+
+		protected BalanceSheetColumn[] balanceSheetColumns;
+
+		protected Currency[] currencies;
+
+		protected GoodType[] goodTypes;
+	}
+
+	public static final int MAGIC = 0x43435331;
+
+	public static final int VERSION = 1;
+
+	public static SnapshotDTO readBlock(final DataInput in, final Header header) throws IOException {
+		final SnapshotDTO snapshot = new SnapshotDTO(new Date(in.readLong()));
+
+		// balance sheets
+		final int numberOfBalanceSheets = in.readInt();
+		snapshot.balanceSheetAgentIds = readInts(in, numberOfBalanceSheets);
+		snapshot.balanceSheetAgentTypes = new String[numberOfBalanceSheets];
+		for (int i = 0; i < numberOfBalanceSheets; i++) {
+			snapshot.balanceSheetAgentTypes[i] = in.readUTF();
+		}
+		snapshot.balanceSheetCurrencies = readCurrencies(in, header, numberOfBalanceSheets);
+		for (final BalanceSheetColumn balanceSheetColumn : header.balanceSheetColumns) {
+			snapshot.balanceSheetColumns.put(balanceSheetColumn, readDoubles(in, numberOfBalanceSheets));
+		}
+
+		// bank accounts
+		final int numberOfBankAccounts = in.readInt();
+		snapshot.bankAccountIds = readInts(in, numberOfBankAccounts);
+		snapshot.bankAccountOwnerIds = readInts(in, numberOfBankAccounts);
+		snapshot.bankAccountCurrencies = readCurrencies(in, header, numberOfBankAccounts);
+		snapshot.bankAccountBalances = readDoubles(in, numberOfBankAccounts);
+
+		// prices
+		final int numberOfPrices = in.readInt();
+		snapshot.priceCurrencies = readCurrencies(in, header, numberOfPrices);
+		snapshot.priceGoodTypes = new GoodType[numberOfPrices];
+		for (int i = 0; i < numberOfPrices; i++) {
+			snapshot.priceGoodTypes[i] = header.goodTypes[in.readShort()];
+		}
+		snapshot.prices = readDoubles(in, numberOfPrices);
+
+		return snapshot;
+	}
+
+	protected static Currency[] readCurrencies(final DataInput in, final Header header, final int length)
+			throws IOException {
+		final Currency[] currencies = new Currency[length];
+		for (int i = 0; i < length; i++) {
+			currencies[i] = header.currencies[in.readShort()];
+		}
+		return currencies;
+	}
+
+	protected static double[] readDoubles(final DataInput in, final int length) throws IOException {
+		final double[] values = new double[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = in.readDouble();
+		}
+		return values;
+	}
+
+	public static Header readHeader(final DataInput in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("not a snapshot file");
+		}
+
+		final int version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException("unsupported snapshot file version " + version);
+		}
+
+		final Header header = new Header();
+
+		try {
+			header.currencies = new Currency[in.readShort()];
+			for (int i = 0; i < header.currencies.length; i++) {
+				header.currencies[i] = Currency.valueOf(in.readUTF());
+			}
+
+			header.goodTypes = new GoodType[in.readShort()];
+			for (int i = 0; i < header.goodTypes.length; i++) {
+				header.goodTypes[i] = GoodType.valueOf(in.readUTF());
+			}
+
+			header.balanceSheetColumns = new BalanceSheetColumn[in.readShort()];
+			for (int i = 0; i < header.balanceSheetColumns.length; i++) {
+				header.balanceSheetColumns[i] = BalanceSheetColumn.valueOf(in.readUTF());
+			}
+		} catch (final IllegalArgumentException e) {
+			throw new IOException("snapshot file references unknown constant", e);
+		}
+
+		return header;
+	}
+
+	protected static int[] readInts(final DataInput in, final int length) throws IOException {
+		final int[] values = new int[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+
+	public static void writeBlock(final DataOutput out, final SnapshotDTO snapshot) throws IOException {
+		out.writeLong(snapshot.date.getTime());
+
+		// balance sheets
+		out.writeInt(snapshot.balanceSheetAgentIds.length);
+		writeInts(out, snapshot.balanceSheetAgentIds);
+		for (final String agentType : snapshot.balanceSheetAgentTypes) {
+			out.writeUTF(agentType);
+		}
+		writeCurrencies(out, snapshot.balanceSheetCurrencies);
+		for (final BalanceSheetColumn balanceSheetColumn : BalanceSheetColumn.values()) {
+			writeDoubles(out, snapshot.balanceSheetColumns.get(balanceSheetColumn));
+		}
+
+		// bank accounts
+		out.writeInt(snapshot.bankAccountIds.length);
+		writeInts(out, snapshot.bankAccountIds);
+		writeInts(out, snapshot.bankAccountOwnerIds);
+		writeCurrencies(out, snapshot.bankAccountCurrencies);
+		writeDoubles(out, snapshot.bankAccountBalances);
+
+		// prices
+		out.writeInt(snapshot.prices.length);
+		writeCurrencies(out, snapshot.priceCurrencies);
+		for (final GoodType goodType : snapshot.priceGoodTypes) {
+			out.writeShort(goodType.ordinal());
+		}
+		writeDoubles(out, snapshot.prices);
+	}
+
+	protected static void writeCurrencies(final DataOutput out, final Currency[] currencies) throws IOException {
+		for (final Currency currency : currencies) {
+			out.writeShort(currency.ordinal());
+		}
+	}
+
+	protected static void writeDoubles(final DataOutput out, final double[] values) throws IOException {
+		for (final double value : values) {
+			out.writeDouble(value);
+		}
+	}
+
+	public static void writeHeader(final DataOutput out) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+
+		out.writeShort(Currency.values().length);
+		for (final Currency currency : Currency.values()) {
+			out.writeUTF(currency.name());
+		}
+
+		out.writeShort(GoodType.values().length);
+		for (final GoodType goodType : GoodType.values()) {
+			out.writeUTF(goodType.name());
+		}
+
+		out.writeShort(BalanceSheetColumn.values().length);
+		for (final BalanceSheetColumn balanceSheetColumn : BalanceSheetColumn.values()) {
+			out.writeUTF(balanceSheetColumn.name());
+		}
+	}
+
+	protected static void writeInts(final DataOutput out, final int[] values) throws IOException {
+		for (final int value : values) {
+			out.writeInt(value);
+		}
+	}
+}
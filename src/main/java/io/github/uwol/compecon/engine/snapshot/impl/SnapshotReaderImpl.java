@@ -0,0 +1,99 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot.impl;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import io.github.uwol.compecon.engine.snapshot.SnapshotReader;
+
+public class SnapshotReaderImpl implements SnapshotReader {
+
+	protected byte[] compressedBuffer = new byte[0];
+
+	protected final SnapshotFormat.Header header;
+
+	protected final DataInputStream in;
+
+	protected final Inflater inflater = new Inflater();
+
+	public SnapshotReaderImpl(final File file) throws IOException {
+		in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+
+		try {
+			header = SnapshotFormat.readHeader(in);
+		} catch (final IOException e) {
+			in.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+		inflater.end();
+	}
+
+	@Override
+	public SnapshotDTO read() throws IOException {
+		final int length;
+		try {
+			length = in.readInt();
+		} catch (final EOFException e) {
+			return null;
+		}
+
+		final int compressedLength = in.readInt();
+		if (compressedBuffer.length < compressedLength) {
+			compressedBuffer = new byte[compressedLength];
+		}
+		in.readFully(compressedBuffer, 0, compressedLength);
+
+		final byte[] block = new byte[length];
+		inflater.reset();
+		inflater.setInput(compressedBuffer, 0, compressedLength);
+
+		try {
+			int inflatedLength = 0;
+			while (!inflater.finished()) {
+				final int numberOfBytesInflated = inflater.inflate(block, inflatedLength, length - inflatedLength);
+				if (numberOfBytesInflated == 0 && (inflater.needsInput() || inflatedLength == length)) {
+					throw new IOException("truncated snapshot block");
+				}
+				inflatedLength += numberOfBytesInflated;
+			}
+
+			if (inflatedLength != length) {
+				throw new IOException("truncated snapshot block");
+			}
+		} catch (final DataFormatException e) {
+			throw new IOException(e);
+		}
+
+		return SnapshotFormat.readBlock(new DataInputStream(new ByteArrayInputStream(block)), header);
+	}
+}
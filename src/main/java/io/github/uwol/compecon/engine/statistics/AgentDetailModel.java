@@ -24,7 +24,6 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
@@ -32,8 +31,10 @@ import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.property.Property;
 import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.log.Log;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 
 public class AgentDetailModel extends NotificationListenerModel {
 
@@ -41,28 +42,80 @@ public class AgentDetailModel extends NotificationListenerModel {
 
 		private final String logTitle;
 
-		private final LinkedList<String> rows = new LinkedList<String>();
+		/**
+		 * preallocated ring of records, which are formatted when rendered
+		 */
+		private final AgentLogRecord[] records = new AgentLogRecord[ROWS_TO_STORE];
 
-		protected final int ROWS_TO_STORE = 200;
+		private int firstRecord = 0;
+
+		private int numberOfRecords = 0;
 
 		public AgentLog(final String logTitle) {
 			this.logTitle = logTitle;
+
+			for (int i = 0; i < records.length; i++) {
+				records[i] = new AgentLogRecord();
+			}
 		}
 
 		public String getLogTitle() {
 			return logTitle;
 		}
 
-		public LinkedList<String> getRows() {
-			return rows;
+		public synchronized int getNumberOfRows() {
+			return numberOfRecords;
+		}
+
+		/**
+		 * @return the formatted row with the given index, starting with the oldest
+		 *         row; null, if there is no such row.
+		 */
+		public synchronized String getRow(final int index) {
+			if (index < 0 || index >= numberOfRecords) {
+				return null;
+			}
+			return records[(firstRecord + index) % records.length].format(iso8601DateFormat);
 		}
 
-		public void log(final String row) {
-			rows.add(row);
+		public synchronized void logMessage(final long timestamp, final Class<? extends TimeSystemEvent> eventClass,
+				final String message, final Object[] parameters) {
+			final AgentLogRecord record = nextRecord();
+			record.timestamp = timestamp;
+			record.type = AgentLogRecordType.MESSAGE;
+			record.eventClass = eventClass;
+			record.message = message;
+			record.parameters = parameters;
+			record.value = Double.NaN;
+			record.currency = null;
+			record.counterparty = null;
+		}
 
-			if (rows.size() > ROWS_TO_STORE) {
-				rows.poll();
+		public synchronized void logTransfer(final long timestamp, final AgentLogRecordType type, final double value,
+				final Currency currency, final Object counterparty, final String subject) {
+			final AgentLogRecord record = nextRecord();
+			record.timestamp = timestamp;
+			record.type = type;
+			record.eventClass = null;
+			record.message = subject;
+			record.parameters = null;
+			record.value = value;
+			record.currency = currency;
+			record.counterparty = counterparty;
+		}
+
+		/**
+		 * @return the record to be overwritten, which is the oldest one if the ring
+		 *         is full
+		 */
+		private AgentLogRecord nextRecord() {
+			if (numberOfRecords < records.length) {
+				return records[(firstRecord + numberOfRecords++) % records.length];
 			}
+
+			final AgentLogRecord record = records[firstRecord];
+			firstRecord = (firstRecord + 1) % records.length;
+			return record;
 		}
 
 		@Override
@@ -71,6 +124,51 @@ public class AgentDetailModel extends NotificationListenerModel {
 		}
 	}
 
+	/**
+	 * structured log row, which is only formatted when rendered
+	 */
+	public static class AgentLogRecord {
+
+		protected Object counterparty;
+
+		protected Currency currency;
+
+		protected Class<? extends TimeSystemEvent> eventClass;
+
+		protected String message;
+
+		protected Object[] parameters;
+
+		protected long timestamp;
+
+		protected AgentLogRecordType type;
+
+		protected double value;
+
+		public String format(final DateFormat dateFormat) {
+			final String prefix = dateFormat.format(new Date(timestamp)) + "     ";
+
+			switch (type) {
+			case TRANSFER_FROM:
+				return prefix + " <--- " + Currency.formatMoneySum(value) + " " + currency.getIso4217Code() + " --- "
+						+ counterparty + ": " + message;
+			case TRANSFER_TO:
+				return prefix + " --- " + Currency.formatMoneySum(value) + " " + currency.getIso4217Code() + " ---> "
+						+ counterparty + ": " + message;
+			default:
+				final String formattedMessage = String.format(message, parameters);
+				if (eventClass != null) {
+					return prefix + eventClass.getSimpleName() + ": " + formattedMessage;
+				}
+				return prefix + formattedMessage;
+			}
+		}
+	}
+
+	public enum AgentLogRecordType {
+		MESSAGE, TRANSFER_FROM, TRANSFER_TO
+	}
+
 	protected AgentLog agentLog = new AgentLog("Agent");
 
 	protected ArrayList<Agent> agents = new ArrayList<Agent>();
@@ -81,6 +179,8 @@ public class AgentDetailModel extends NotificationListenerModel {
 
 	protected DateFormat iso8601DateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
 
+	protected static final int ROWS_TO_STORE = 200;
+
 	public void agent_onConstruct(final Agent agent) {
 		agents.add(agent);
 		notifyListeners();
@@ -144,14 +244,26 @@ public class AgentDetailModel extends NotificationListenerModel {
 		return new ArrayList<Property>();
 	}
 
-	public void logAgentEvent(final Date date, final String message) {
-		agentLog.log(iso8601DateFormat.format(date) + "     " + message);
+	public void logAgentEvent(final long timestamp, final Class<? extends TimeSystemEvent> eventClass,
+			final String message, final Object[] parameters) {
+		agentLog.logMessage(timestamp, eventClass, message, parameters);
 		notifyListeners();
 	}
 
-	public void logBankAccountEvent(final Date date, final BankAccount bankAccount, final String message) {
-		bankAccountLogs.get(bankAccount).log(iso8601DateFormat.format(date) + "     " + message);
-		notifyListeners();
+	/**
+	 * @param counterparty Bank account, from which or to which the value is
+	 *                     transferred, as given by type.
+	 */
+	public void logBankAccountEvent(final long timestamp, final BankAccount bankAccount,
+			final AgentLogRecordType type, final double value, final Currency currency, final Object counterparty,
+			final String subject) {
+		final AgentLog bankAccountLog = bankAccountLogs.get(bankAccount);
+
+		// bank accounts opened after the agent has been selected have no log
+		if (bankAccountLog != null) {
+			bankAccountLog.logTransfer(timestamp, type, value, currency, counterparty, subject);
+			notifyListeners();
+		}
 	}
 
 	public void setCurrentAgent(final Integer agentId) {
@@ -19,9 +19,12 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
 
 import io.github.uwol.compecon.economy.agent.Agent;
 import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
@@ -33,25 +36,215 @@ import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.economy.sectors.industry.Factory;
 import io.github.uwol.compecon.economy.sectors.state.State;
 import io.github.uwol.compecon.economy.sectors.trading.Trader;
+import io.github.uwol.compecon.economy.security.equity.Share;
 
+/**
+ * Aggregates the balance sheets published by the agents in a period to
+ * national accounts. The aggregates are running sums, which are updated with
+ * the difference between the new and the previous balance sheet of the
+ * publishing agent, so that reading them does not iterate over the agents.
+ */
 public class BalanceSheetsModel extends NotificationListenerModel {
 
+	/**
+	 * running sums of the balance sheets of a sector
+	 */
+	protected static class BalanceSheetAccumulator {
+
+		protected double bankBorrowings;
+
+		protected double bankLoans;
+
+		protected double bonds;
+
+		protected double cashCentralBankLongTerm;
+
+		protected double cashCentralBankShortTerm;
+
+		protected double cashForeignCurrency;
+
+		protected double cashGiroLongTerm;
+
+		protected double cashGiroShortTerm;
+
+		protected double financialLiabilities;
+
+		protected double hardCash;
+
+		// indexed by good type ordinal
+		protected final double[] inventoryQuantitative = new double[GoodType.values().length];
+
+		/**
+		 * number of balance sheets, which contain the good type in their quantitative
+		 * inventory, so that the aggregate contains the same good types as the sum of
+		 * the balance sheets
+		 */
+		protected final int[] inventoryQuantitativeEntries = new int[GoodType.values().length];
+
+		protected double inventoryValue;
+
+		// issued shares of different agents are disjoint
+		protected final Set<Share> issuedCapital = new HashSet<Share>();
+
+		protected double loansCentralBankLongTerm;
+
+		protected double loansCentralBankShortTerm;
+
+		protected double loansGiroLongTerm;
+
+		protected double loansGiroShortTerm;
+
+		/**
+		 * @param sign 1.0 for adding, -1.0 for subtracting the balance sheet
+		 */
+		protected void add(final BalanceSheetDTO balanceSheet, final double sign) {
+			// assets
+			hardCash += sign * balanceSheet.hardCash;
+			cashGiroShortTerm += sign * balanceSheet.cashGiroShortTerm;
+			cashGiroLongTerm += sign * balanceSheet.cashGiroLongTerm;
+			cashCentralBankShortTerm += sign * balanceSheet.cashCentralBankShortTerm;
+			cashCentralBankLongTerm += sign * balanceSheet.cashCentralBankLongTerm;
+			cashForeignCurrency += sign * balanceSheet.cashForeignCurrency;
+			bonds += sign * balanceSheet.bonds;
+			bankLoans += sign * balanceSheet.bankLoans;
+			inventoryValue += sign * balanceSheet.inventoryValue;
+
+			for (final Entry<GoodType, Double> entry : balanceSheet.inventoryQuantitative.entrySet()) {
+				final int goodTypeOrdinal = entry.getKey().ordinal();
+				inventoryQuantitative[goodTypeOrdinal] += sign * entry.getValue();
+				inventoryQuantitativeEntries[goodTypeOrdinal] += sign > 0.0 ? 1 : -1;
+			}
+
+			// liabilities
+			loansGiroShortTerm += sign * balanceSheet.loansGiroShortTerm;
+			loansGiroLongTerm += sign * balanceSheet.loansGiroLongTerm;
+			loansCentralBankShortTerm += sign * balanceSheet.loansCentralBankShortTerm;
+			loansCentralBankLongTerm += sign * balanceSheet.loansCentralBankLongTerm;
+			financialLiabilities += sign * balanceSheet.financialLiabilities;
+			bankBorrowings += sign * balanceSheet.bankBorrowings;
+
+			// equity
+			for (final Share share : balanceSheet.issuedCapital) {
+				if (sign > 0.0) {
+					issuedCapital.add(share);
+				} else {
+					issuedCapital.remove(share);
+				}
+			}
+		}
+
+		protected BalanceSheetDTO createBalanceSheet(final Currency referenceCurrency) {
+			final BalanceSheetDTO balanceSheet = new BalanceSheetDTO(referenceCurrency);
+
+			// assets
+			balanceSheet.hardCash = hardCash;
+			balanceSheet.cashGiroShortTerm = cashGiroShortTerm;
+			balanceSheet.cashGiroLongTerm = cashGiroLongTerm;
+			balanceSheet.cashCentralBankShortTerm = cashCentralBankShortTerm;
+			balanceSheet.cashCentralBankLongTerm = cashCentralBankLongTerm;
+			balanceSheet.cashForeignCurrency = cashForeignCurrency;
+			balanceSheet.bonds = bonds;
+			balanceSheet.bankLoans = bankLoans;
+			balanceSheet.inventoryValue = inventoryValue;
+
+			for (final GoodType goodType : GoodType.values()) {
+				if (inventoryQuantitativeEntries[goodType.ordinal()] > 0) {
+					balanceSheet.inventoryQuantitative.put(goodType, inventoryQuantitative[goodType.ordinal()]);
+				}
+			}
+
+			// liabilities
+			balanceSheet.loansGiroShortTerm = loansGiroShortTerm;
+			balanceSheet.loansGiroLongTerm = loansGiroLongTerm;
+			balanceSheet.loansCentralBankShortTerm = loansCentralBankShortTerm;
+			balanceSheet.loansCentralBankLongTerm = loansCentralBankLongTerm;
+			balanceSheet.financialLiabilities = financialLiabilities;
+			balanceSheet.bankBorrowings = bankBorrowings;
+
+			// equity
+			balanceSheet.issuedCapital.addAll(issuedCapital);
+
+			return balanceSheet;
+		}
+
+		/**
+		 * replaces the previous balance sheet of an agent by its new balance sheet
+		 */
+		protected void replace(final BalanceSheetDTO previousBalanceSheet, final BalanceSheetDTO balanceSheet) {
+			if (previousBalanceSheet != null) {
+				add(previousBalanceSheet, -1.0);
+			}
+
+			add(balanceSheet, 1.0);
+		}
+
+		protected void reset() {
+			hardCash = 0.0;
+			cashGiroShortTerm = 0.0;
+			cashGiroLongTerm = 0.0;
+			cashCentralBankShortTerm = 0.0;
+			cashCentralBankLongTerm = 0.0;
+			cashForeignCurrency = 0.0;
+			bonds = 0.0;
+			bankLoans = 0.0;
+			inventoryValue = 0.0;
+
+			for (int i = 0; i < inventoryQuantitative.length; i++) {
+				inventoryQuantitative[i] = 0.0;
+				inventoryQuantitativeEntries[i] = 0;
+			}
+
+			loansGiroShortTerm = 0.0;
+			loansGiroLongTerm = 0.0;
+			loansCentralBankShortTerm = 0.0;
+			loansCentralBankLongTerm = 0.0;
+			financialLiabilities = 0.0;
+			bankBorrowings = 0.0;
+
+			issuedCapital.clear();
+		}
+	}
+
 	protected BalanceSheetDTO centralBankBalanceSheet;
 
+	protected final BalanceSheetAccumulator centralBankNationalAccounts = new BalanceSheetAccumulator();
+
 	protected final Map<CreditBank, BalanceSheetDTO> creditBankBalanceSheets = new HashMap<CreditBank, BalanceSheetDTO>();
 
-	protected final Map<GoodType, Map<Factory, BalanceSheetDTO>> factoryBalanceSheets = new HashMap<GoodType, Map<Factory, BalanceSheetDTO>>();
+	protected final BalanceSheetAccumulator creditBankNationalAccounts = new BalanceSheetAccumulator();
+
+	protected final Map<GoodType, Map<Factory, BalanceSheetDTO>> factoryBalanceSheets = new EnumMap<GoodType, Map<Factory, BalanceSheetDTO>>(
+			GoodType.class);
+
+	protected final BalanceSheetAccumulator factoryNationalAccounts = new BalanceSheetAccumulator();
+
+	// indexed by good type ordinal
+	protected final BalanceSheetAccumulator[] factoryNationalAccountsPerGoodType = new BalanceSheetAccumulator[GoodType
+			.values().length];
 
 	protected final Map<Household, BalanceSheetDTO> householdBalanceSheets = new HashMap<Household, BalanceSheetDTO>();
 
+	protected final BalanceSheetAccumulator householdNationalAccounts = new BalanceSheetAccumulator();
+
+	protected final BalanceSheetAccumulator nationalAccounts = new BalanceSheetAccumulator();
+
 	protected final Currency referenceCurrency;
 
 	protected BalanceSheetDTO stateBalanceSheet;
 
+	protected final BalanceSheetAccumulator stateNationalAccounts = new BalanceSheetAccumulator();
+
 	protected final Map<Trader, BalanceSheetDTO> traderBalanceSheets = new HashMap<Trader, BalanceSheetDTO>();
 
+	protected final BalanceSheetAccumulator traderNationalAccounts = new BalanceSheetAccumulator();
+
 	public BalanceSheetsModel(final Currency referenceCurrency) {
 		this.referenceCurrency = referenceCurrency;
+
+		for (final GoodType goodType : GoodType.values()) {
+			factoryNationalAccountsPerGoodType[goodType.ordinal()] = new BalanceSheetAccumulator();
+		}
+
 		resetBalanceSheets();
 	}
 
@@ -60,136 +253,77 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 		assert (referenceCurrency.equals(agent.getPrimaryCurrency())
 				&& referenceCurrency.equals(balanceSheet.referenceCurrency));
 
+		final BalanceSheetDTO previousBalanceSheet;
+
 		if (agent instanceof Household) {
-			householdBalanceSheets.put((Household) agent, balanceSheet);
+			previousBalanceSheet = householdBalanceSheets.put((Household) agent, balanceSheet);
+			householdNationalAccounts.replace(previousBalanceSheet, balanceSheet);
 		} else if (agent instanceof Factory) {
-			factoryBalanceSheets.get(((Factory) agent).getProducedGoodType()).put((Factory) agent, balanceSheet);
+			final GoodType producedGoodType = ((Factory) agent).getProducedGoodType();
+			previousBalanceSheet = factoryBalanceSheets.get(producedGoodType).put((Factory) agent, balanceSheet);
+			factoryNationalAccountsPerGoodType[producedGoodType.ordinal()].replace(previousBalanceSheet,
+					balanceSheet);
+			factoryNationalAccounts.replace(previousBalanceSheet, balanceSheet);
 		} else if (agent instanceof Trader) {
-			traderBalanceSheets.put((Trader) agent, balanceSheet);
+			previousBalanceSheet = traderBalanceSheets.put((Trader) agent, balanceSheet);
+			traderNationalAccounts.replace(previousBalanceSheet, balanceSheet);
 		} else if (agent instanceof CreditBank) {
-			creditBankBalanceSheets.put((CreditBank) agent, balanceSheet);
+			previousBalanceSheet = creditBankBalanceSheets.put((CreditBank) agent, balanceSheet);
+			creditBankNationalAccounts.replace(previousBalanceSheet, balanceSheet);
 		} else if (agent instanceof CentralBank) {
 			assert (centralBankBalanceSheet == null);
+			previousBalanceSheet = centralBankBalanceSheet;
 			centralBankBalanceSheet = balanceSheet;
+			centralBankNationalAccounts.replace(previousBalanceSheet, balanceSheet);
 		} else if (agent instanceof State) {
 			assert (stateBalanceSheet == null);
+			previousBalanceSheet = stateBalanceSheet;
 			stateBalanceSheet = balanceSheet;
+			stateNationalAccounts.replace(previousBalanceSheet, balanceSheet);
 		} else {
 			throw new RuntimeException("unexpected agent type");
 		}
-	}
-
-	private void copyBalanceSheetValues(final BalanceSheetDTO from, final BalanceSheetDTO to) {
-		if (from == null) {
-			return;
-		}
-
-		// assets
-		to.hardCash += from.hardCash;
-		to.cashGiroShortTerm += from.cashGiroShortTerm;
-		to.cashGiroLongTerm += from.cashGiroLongTerm;
-		to.cashCentralBankShortTerm += from.cashCentralBankShortTerm;
-		to.cashCentralBankLongTerm += from.cashCentralBankLongTerm;
-		to.cashForeignCurrency += from.cashForeignCurrency;
-		to.bonds += from.bonds;
-		to.bankLoans += from.bankLoans;
-		to.inventoryValue += from.inventoryValue;
-
-		// add quantitative amount of inventory to national accounts balance
-		// sheet
-		for (final Entry<GoodType, Double> entry : from.inventoryQuantitative.entrySet()) {
-			final GoodType goodType = entry.getKey();
-			final double amount = entry.getValue();
-			if (!to.inventoryQuantitative.containsKey(goodType)) {
-				to.inventoryQuantitative.put(goodType, 0.0);
-			}
-			final double newAmount = to.inventoryQuantitative.get(goodType) + amount;
-			to.inventoryQuantitative.put(goodType, newAmount);
-		}
-
-		// liabilities
-		to.loansGiroShortTerm += from.loansGiroShortTerm;
-		to.loansGiroLongTerm += from.loansGiroLongTerm;
-		to.loansCentralBankShortTerm += from.loansCentralBankShortTerm;
-		to.loansCentralBankLongTerm += from.loansCentralBankLongTerm;
-		to.financialLiabilities += from.financialLiabilities;
-		to.bankBorrowings += from.bankBorrowings;
 
-		// equity
-		to.issuedCapital.addAll(from.issuedCapital);
+		nationalAccounts.replace(previousBalanceSheet, balanceSheet);
 	}
 
 	public BalanceSheetDTO getCentralBankNationalAccountsBalanceSheet() {
-		final BalanceSheetDTO centralBankNationalAccountsBalanceSheet = new BalanceSheetDTO(referenceCurrency);
-		copyBalanceSheetValues(centralBankBalanceSheet, centralBankNationalAccountsBalanceSheet);
-		return centralBankNationalAccountsBalanceSheet;
+		return centralBankNationalAccounts.createBalanceSheet(referenceCurrency);
 	}
 
 	/**
 	 * aggregates balance sheets of credit banks
 	 */
 	public BalanceSheetDTO getCreditBankNationalAccountsBalanceSheet() {
-		final BalanceSheetDTO creditBankNationalAccountsBalanceSheet = new BalanceSheetDTO(referenceCurrency);
-
-		for (final BalanceSheetDTO balanceSheet : creditBankBalanceSheets.values()) {
-			copyBalanceSheetValues(balanceSheet, creditBankNationalAccountsBalanceSheet);
-		}
-
-		return creditBankNationalAccountsBalanceSheet;
+		return creditBankNationalAccounts.createBalanceSheet(referenceCurrency);
 	}
 
 	/**
 	 * aggregates balance sheets of factories of all good types
 	 */
 	public BalanceSheetDTO getFactoryNationalAccountsBalanceSheet() {
-		final BalanceSheetDTO factoryNationalAccountsBalanceSheet = new BalanceSheetDTO(referenceCurrency);
-
-		for (final GoodType goodType : GoodType.values()) {
-			copyBalanceSheetValues(getFactoryNationalAccountsBalanceSheet(goodType),
-					factoryNationalAccountsBalanceSheet);
-		}
-
-		return factoryNationalAccountsBalanceSheet;
+		return factoryNationalAccounts.createBalanceSheet(referenceCurrency);
 	}
 
 	/**
 	 * aggregates balance sheets of factories for good type
 	 */
 	public BalanceSheetDTO getFactoryNationalAccountsBalanceSheet(final GoodType goodType) {
-		final BalanceSheetDTO factoryNationalAccountsBalanceSheet = new BalanceSheetDTO(referenceCurrency);
-
-		for (final BalanceSheetDTO balanceSheet : factoryBalanceSheets.get(goodType).values()) {
-			copyBalanceSheetValues(balanceSheet, factoryNationalAccountsBalanceSheet);
-		}
-
-		return factoryNationalAccountsBalanceSheet;
+		return factoryNationalAccountsPerGoodType[goodType.ordinal()].createBalanceSheet(referenceCurrency);
 	}
 
 	/**
 	 * aggregates balance sheets of households
 	 */
 	public BalanceSheetDTO getHouseholdNationalAccountsBalanceSheet() {
-		final BalanceSheetDTO householdNationalAccountsBalanceSheet = new BalanceSheetDTO(referenceCurrency);
-
-		for (final BalanceSheetDTO balanceSheet : householdBalanceSheets.values()) {
-			copyBalanceSheetValues(balanceSheet, householdNationalAccountsBalanceSheet);
-		}
-
-		return householdNationalAccountsBalanceSheet;
+		return householdNationalAccounts.createBalanceSheet(referenceCurrency);
 	}
 
 	/**
 	 * aggregates balance sheets of agents
 	 */
 	public BalanceSheetDTO getNationalAccountsBalanceSheet() {
-		final BalanceSheetDTO nationalAccountsBalanceSheet = new BalanceSheetDTO(referenceCurrency);
-		copyBalanceSheetValues(getHouseholdNationalAccountsBalanceSheet(), nationalAccountsBalanceSheet);
-		copyBalanceSheetValues(getFactoryNationalAccountsBalanceSheet(), nationalAccountsBalanceSheet);
-		copyBalanceSheetValues(getTraderNationalAccountsBalanceSheet(), nationalAccountsBalanceSheet);
-		copyBalanceSheetValues(getCreditBankNationalAccountsBalanceSheet(), nationalAccountsBalanceSheet);
-		copyBalanceSheetValues(centralBankBalanceSheet, nationalAccountsBalanceSheet);
-		copyBalanceSheetValues(stateBalanceSheet, nationalAccountsBalanceSheet);
-		return nationalAccountsBalanceSheet;
+		return nationalAccounts.createBalanceSheet(referenceCurrency);
 	}
 
 	public Map<Class<? extends Agent>, BalanceSheetDTO> getNationalAccountsBalanceSheets() {
@@ -204,22 +338,14 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 	}
 
 	public BalanceSheetDTO getStateNationalAccountsBalanceSheet() {
-		final BalanceSheetDTO stateNationalAccountsBalanceSheet = new BalanceSheetDTO(referenceCurrency);
-		copyBalanceSheetValues(stateBalanceSheet, stateNationalAccountsBalanceSheet);
-		return stateNationalAccountsBalanceSheet;
+		return stateNationalAccounts.createBalanceSheet(referenceCurrency);
 	}
 
 	/**
 	 * aggregates balance sheets of traders
 	 */
 	public BalanceSheetDTO getTraderNationalAccountsBalanceSheet() {
-		final BalanceSheetDTO traderNationalAccountsBalanceSheet = new BalanceSheetDTO(referenceCurrency);
-
-		for (final BalanceSheetDTO balanceSheet : traderBalanceSheets.values()) {
-			copyBalanceSheetValues(balanceSheet, traderNationalAccountsBalanceSheet);
-		}
-
-		return traderNationalAccountsBalanceSheet;
+		return traderNationalAccounts.createBalanceSheet(referenceCurrency);
 	}
 
 	public void nextPeriod() {
@@ -233,11 +359,22 @@ public class BalanceSheetsModel extends NotificationListenerModel {
 
 		for (final GoodType goodType : GoodType.values()) {
 			factoryBalanceSheets.put(goodType, new HashMap<Factory, BalanceSheetDTO>());
+			factoryNationalAccountsPerGoodType[goodType.ordinal()].reset();
 		}
 
 		traderBalanceSheets.clear();
 		creditBankBalanceSheets.clear();
 		centralBankBalanceSheet = null;
 		stateBalanceSheet = null;
+
+		// running sums start from zero in each period, so that rounding errors of
+		// the differences do not accumulate over periods
+		centralBankNationalAccounts.reset();
+		creditBankNationalAccounts.reset();
+		factoryNationalAccounts.reset();
+		householdNationalAccounts.reset();
+		nationalAccounts.reset();
+		stateNationalAccounts.reset();
+		traderNationalAccounts.reset();
 	}
 }
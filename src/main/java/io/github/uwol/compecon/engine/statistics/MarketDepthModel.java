@@ -19,7 +19,10 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
+import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.Iterator;
+import java.util.Map;
 
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
@@ -29,6 +32,7 @@ import io.github.uwol.compecon.economy.markets.MarketOrder;
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.accumulator.MarketDepthAccumulator;
 
 /**
  * Market depth model uses the compecon notification listener approach instead
@@ -37,44 +41,140 @@ import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
  */
 public class MarketDepthModel extends NotificationListenerModel {
 
-	public XYDataset getMarketDepthDataset(final Currency currency, final Currency commodityCurrency) {
-		final XYSeries series = new XYSeries(commodityCurrency.getIso4217Code() + " ask");
-
-		final Iterator<MarketOrder> iterator = ApplicationContext.getInstance().getMarketOrderDAO()
-				.getIteratorThreadsafe(currency, commodityCurrency);
-		double volume = 0.0;
-
-		while (iterator.hasNext()) {
-			final MarketOrder marketOrder = iterator.next();
-			volume += marketOrder.getAmount();
-			// volume available at that price per unit or less
-			series.add(marketOrder.getPricePerUnit(), volume);
+	/**
+	 * number of points of market depth curves for rendering and export
+	 */
+	public static final int DOWNSAMPLED_NUMBER_OF_POINTS = 256;
+
+	/**
+	 * @param curve prices and cumulated volumes as returned by
+	 *              getMarketDepthCurve; empty dataset, if null
+	 */
+	public static XYDataset createMarketDepthDataset(final String seriesKey, final double[][] curve) {
+		final XYSeries series = new XYSeries(seriesKey);
+
+		if (curve != null) {
+			for (int i = 0; i < curve[0].length; i++) {
+				series.add(curve[0][i], curve[1][i]);
+			}
 		}
 
 		final XYSeriesCollection dataset = new XYSeriesCollection();
-		dataset.removeAllSeries();
 		dataset.addSeries(series);
 		return dataset;
 	}
 
-	public XYDataset getMarketDepthDataset(final Currency currency, final GoodType goodType) {
-		final XYSeries series = new XYSeries(goodType + " ask");
+	protected final Map<Currency, MarketDepthAccumulator> currencyMarketDepthAccumulators = new EnumMap<Currency, MarketDepthAccumulator>(
+			Currency.class);
+
+	protected final Map<GoodType, MarketDepthAccumulator> goodTypeMarketDepthAccumulators = new EnumMap<GoodType, MarketDepthAccumulator>(
+			GoodType.class);
 
-		final Iterator<MarketOrder> iterator = ApplicationContext.getInstance().getMarketOrderDAO()
-				.getIteratorThreadsafe(currency, goodType);
+	public MarketDepthModel() {
+		for (final Currency commodityCurrency : Currency.values()) {
+			currencyMarketDepthAccumulators.put(commodityCurrency, new MarketDepthAccumulator());
+		}
+
+		for (final GoodType goodType : GoodType.values()) {
+			goodTypeMarketDepthAccumulators.put(goodType, new MarketDepthAccumulator());
+		}
+	}
+
+	protected double[][] createMarketDepthCurve(final Iterator<MarketOrder> iterator) {
+		double[] prices = new double[16];
+		double[] volumes = new double[16];
+		int numberOfPoints = 0;
 		double volume = 0.0;
 
 		while (iterator.hasNext()) {
 			final MarketOrder marketOrder = iterator.next();
 			volume += marketOrder.getAmount();
+
+			if (numberOfPoints == prices.length) {
+				prices = Arrays.copyOf(prices, numberOfPoints * 2);
+				volumes = Arrays.copyOf(volumes, numberOfPoints * 2);
+			}
+
 			// volume available at that price per unit or less
-			series.add(marketOrder.getPricePerUnit(), volume);
+			prices[numberOfPoints] = marketOrder.getPricePerUnit();
+			volumes[numberOfPoints] = volume;
+			numberOfPoints++;
 		}
 
-		final XYSeriesCollection dataset = new XYSeriesCollection();
-		dataset.removeAllSeries();
-		dataset.addSeries(series);
-		return dataset;
+		return new double[][] { Arrays.copyOf(prices, numberOfPoints), Arrays.copyOf(volumes, numberOfPoints) };
+	}
+
+	/**
+	 * @return market depth curve of the market orders denominated in the currency
+	 *         of this model, downsampled to at most DOWNSAMPLED_NUMBER_OF_POINTS
+	 *         price levels; maintained incrementally, so that the market orders
+	 *         are not iterated
+	 * @see MarketDepthAccumulator#getCurve(int)
+	 */
+	public double[][] getDownsampledMarketDepthCurve(final Currency commodityCurrency) {
+		return currencyMarketDepthAccumulators.get(commodityCurrency).getCurve(DOWNSAMPLED_NUMBER_OF_POINTS);
+	}
+
+	/**
+	 * @see #getDownsampledMarketDepthCurve(Currency)
+	 */
+	public double[][] getDownsampledMarketDepthCurve(final GoodType goodType) {
+		return goodTypeMarketDepthAccumulators.get(goodType).getCurve(DOWNSAMPLED_NUMBER_OF_POINTS);
+	}
+
+	/**
+	 * Has to be called on the simulation thread, as the market orders are
+	 * iterated without synchronization.
+	 *
+	 * @return prices of the market orders in ascending order and the volume
+	 *         available at that price per unit or less
+	 */
+	public double[][] getMarketDepthCurve(final Currency currency, final Currency commodityCurrency) {
+		return createMarketDepthCurve(
+				ApplicationContext.getInstance().getMarketOrderDAO().getIterator(currency, commodityCurrency));
+	}
+
+	/**
+	 * @see #getMarketDepthCurve(Currency, Currency)
+	 */
+	public double[][] getMarketDepthCurve(final Currency currency, final GoodType goodType) {
+		return createMarketDepthCurve(
+				ApplicationContext.getInstance().getMarketOrderDAO().getIterator(currency, goodType));
+	}
+
+	protected MarketDepthAccumulator getMarketDepthAccumulator(final MarketOrder marketOrder) {
+		if (marketOrder.getGoodType() != null) {
+			return goodTypeMarketDepthAccumulators.get(marketOrder.getGoodType());
+		} else if (marketOrder.getCommodityCurrency() != null) {
+			return currencyMarketDepthAccumulators.get(marketOrder.getCommodityCurrency());
+		}
+
+		// property markets have no market depth curve
+		return null;
+	}
+
+	public void market_onTick(final double pricePerUnit, final Currency commodityCurrency, final double amount) {
+		currencyMarketDepthAccumulators.get(commodityCurrency).decrement(pricePerUnit, amount);
+	}
+
+	public void market_onTick(final double pricePerUnit, final GoodType goodType, final double amount) {
+		goodTypeMarketDepthAccumulators.get(goodType).decrement(pricePerUnit, amount);
+	}
+
+	public void marketOrder_onDelete(final MarketOrder marketOrder) {
+		final MarketDepthAccumulator marketDepthAccumulator = getMarketDepthAccumulator(marketOrder);
+
+		if (marketDepthAccumulator != null) {
+			marketDepthAccumulator.remove(marketOrder.getPricePerUnit(), marketOrder.getAmount());
+		}
+	}
+
+	public void marketOrder_onSave(final MarketOrder marketOrder) {
+		final MarketDepthAccumulator marketDepthAccumulator = getMarketDepthAccumulator(marketOrder);
+
+		if (marketDepthAccumulator != null) {
+			marketDepthAccumulator.add(marketOrder.getPricePerUnit(), marketOrder.getAmount());
+		}
 	}
 
 	public void nextPeriod() {
@@ -453,8 +453,12 @@ public class ModelRegistry {
 
 	protected final AgentDetailModel agentDetailModel = new AgentDetailModel();
 
+	protected final ModelSnapshotModel modelSnapshotModel;
+
 	protected final Map<Currency, NationalEconomyModel> nationalEconomyModels = new HashMap<Currency, NationalEconomyModel>();
 
+	protected final PerformanceModel performanceModel = new PerformanceModel();
+
 	protected final TimeSystemModel timeSystemModel = new TimeSystemModel();
 
 	/**
@@ -464,30 +468,49 @@ public class ModelRegistry {
 		for (final Currency currency : Currency.values()) {
 			nationalEconomyModels.put(currency, new NationalEconomyModel(currency, inputOutputModel));
 		}
+
+		modelSnapshotModel = new ModelSnapshotModel(nationalEconomyModels);
 	}
 
 	public AgentDetailModel getAgentDetailModel() {
 		return agentDetailModel;
 	}
 
+	/**
+	 * @return model, which publishes snapshots of the models for the dashboard
+	 */
+	public ModelSnapshotModel getModelSnapshotModel() {
+		return modelSnapshotModel;
+	}
+
 	public NationalEconomyModel getNationalEconomyModel(final Currency currency) {
 		return nationalEconomyModels.get(currency);
 	}
 
+	/**
+	 * @return model, which meters the performance of the simulation
+	 */
+	public PerformanceModel getPerformanceModel() {
+		return performanceModel;
+	}
+
 	public TimeSystemModel getTimeSystemModel() {
 		return timeSystemModel;
 	}
 
 	public void nextHour() {
 		timeSystemModel.nextHour();
+		modelSnapshotModel.nextHour();
+		performanceModel.nextHour();
 	}
 
 	public void nextPeriod() {
-		agentDetailModel.notifyListeners();
-
 		for (final NationalEconomyModel nationalEconomyModel : nationalEconomyModels.values()) {
 			nationalEconomyModel.nextPeriod();
 		}
+
+		modelSnapshotModel.nextPeriod();
+		performanceModel.nextPeriod();
 	}
 
 }
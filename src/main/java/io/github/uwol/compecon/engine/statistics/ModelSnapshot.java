@@ -0,0 +1,235 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.jfree.data.xy.DefaultHighLowDataset;
+import org.jfree.data.xy.IntervalXYDataset;
+import org.jfree.data.xy.XYDataset;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel.SummaryStatisticalData;
+import io.github.uwol.compecon.engine.statistics.PricesModel.PriceModel;
+import io.github.uwol.compecon.engine.statistics.timeseries.TimeSeriesSnapshot;
+
+/**
+ * Immutable state of the models displayed by the dashboard at the end of a
+ * period. Snapshots are created on the simulation thread and read on the
+ * rendering thread, which does not access the live models. Versions are
+ * numbered consecutively, so that the renderer can count skipped periods.
+ */
+public class ModelSnapshot {
+
+	/**
+	 * Immutable state of the models of a national economy. Datasets are created
+	 * per period by the models and not modified afterwards.
+	 */
+	public static class NationalEconomySnapshot {
+
+		protected final Map<Class<? extends Agent>, BalanceSheetDTO> balanceSheets;
+
+		protected final Currency currency;
+
+		protected final Map<Currency, double[][]> currencyMarketDepthCurves = new HashMap<Currency, double[][]>();
+
+		protected final Map<Currency, DefaultHighLowDataset> currencyPrices = new HashMap<Currency, DefaultHighLowDataset>();
+
+		protected final Map<GoodType, BalanceSheetDTO> factoryBalanceSheets;
+
+		protected final Map<GoodType, double[][]> goodTypeMarketDepthCurves = new HashMap<GoodType, double[][]>();
+
+		protected final Map<GoodType, DefaultHighLowDataset> goodTypePrices = new HashMap<GoodType, DefaultHighLowDataset>();
+
+		protected final IntervalXYDataset incomeHistogramDataset;
+
+		protected final XYDataset incomeLorenzCurveDataset;
+
+		protected final SummaryStatisticalData incomeSummaryStatisticalData;
+
+		protected final double[][] monetaryTransactions;
+
+		protected final BalanceSheetDTO nationalAccountsBalanceSheet;
+
+		/**
+		 * Has to be called on the simulation thread.
+		 *
+		 * @param balanceSheets        national accounts balance sheets per agent
+		 *                             type, captured before the balance sheets
+		 *                             model is reset
+		 * @param monetaryTransactions transaction volumes between agent types in
+		 *                             the order of the agent factory, captured
+		 *                             before the monetary transactions model is
+		 *                             reset
+		 */
+		public NationalEconomySnapshot(final NationalEconomyModel nationalEconomyModel,
+				final Map<Class<? extends Agent>, BalanceSheetDTO> balanceSheets,
+				final Map<GoodType, BalanceSheetDTO> factoryBalanceSheets,
+				final BalanceSheetDTO nationalAccountsBalanceSheet, final double[][] monetaryTransactions) {
+			currency = nationalEconomyModel.currency;
+			this.balanceSheets = balanceSheets;
+			this.factoryBalanceSheets = factoryBalanceSheets;
+			this.nationalAccountsBalanceSheet = nationalAccountsBalanceSheet;
+			this.monetaryTransactions = monetaryTransactions;
+
+			final PeriodDataDistributionModel distributionModel = nationalEconomyModel.householdsModel.incomeDistributionModel;
+			incomeHistogramDataset = distributionModel.getHistogramDataset();
+			incomeLorenzCurveDataset = distributionModel.getLorenzCurveDataset();
+			incomeSummaryStatisticalData = distributionModel.getSummaryStatisticalData();
+
+			for (final GoodType goodType : GoodType.values()) {
+				goodTypeMarketDepthCurves.put(goodType,
+						nationalEconomyModel.marketDepthModel.getDownsampledMarketDepthCurve(goodType));
+
+				final PriceModel priceModel = nationalEconomyModel.pricesModel.getPriceModelsForGoodTypes()
+						.get(goodType);
+				if (priceModel != null) {
+					goodTypePrices.put(goodType, createDefaultHighLowDataset(priceModel));
+				}
+			}
+
+			for (final Currency commodityCurrency : Currency.values()) {
+				if (!commodityCurrency.equals(currency)) {
+					currencyMarketDepthCurves.put(commodityCurrency,
+							nationalEconomyModel.marketDepthModel.getDownsampledMarketDepthCurve(commodityCurrency));
+
+					final PriceModel priceModel = nationalEconomyModel.pricesModel.getPriceModelsForCurrencies()
+							.get(commodityCurrency);
+					if (priceModel != null) {
+						currencyPrices.put(commodityCurrency, createDefaultHighLowDataset(priceModel));
+					}
+				}
+			}
+		}
+
+		protected DefaultHighLowDataset createDefaultHighLowDataset(final PriceModel priceModel) {
+			return new DefaultHighLowDataset("", priceModel.getDate(), priceModel.getHigh(), priceModel.getLow(),
+					priceModel.getOpen(), priceModel.getClose(), priceModel.getVolume());
+		}
+
+		/**
+		 * @return national accounts balance sheet of the agent type; null, if not
+		 *         captured
+		 */
+		public BalanceSheetDTO getBalanceSheet(final Class<? extends Agent> agentType) {
+			return balanceSheets.get(agentType);
+		}
+
+		public Currency getCurrency() {
+			return currency;
+		}
+
+		public BalanceSheetDTO getFactoryBalanceSheet(final GoodType goodType) {
+			return factoryBalanceSheets.get(goodType);
+		}
+
+		public IntervalXYDataset getIncomeHistogramDataset() {
+			return incomeHistogramDataset;
+		}
+
+		public XYDataset getIncomeLorenzCurveDataset() {
+			return incomeLorenzCurveDataset;
+		}
+
+		public SummaryStatisticalData getIncomeSummaryStatisticalData() {
+			return incomeSummaryStatisticalData;
+		}
+
+		public XYDataset getMarketDepthDataset(final Currency commodityCurrency) {
+			return MarketDepthModel.createMarketDepthDataset(commodityCurrency.getIso4217Code() + " ask",
+					currencyMarketDepthCurves.get(commodityCurrency));
+		}
+
+		public XYDataset getMarketDepthDataset(final GoodType goodType) {
+			return MarketDepthModel.createMarketDepthDataset(goodType + " ask",
+					goodTypeMarketDepthCurves.get(goodType));
+		}
+
+		/**
+		 * @return transaction volume from the agent type with the first index to the
+		 *         agent type with the second index
+		 */
+		public double getMonetaryTransaction(final int fromAgentTypeIndex, final int toAgentTypeIndex) {
+			return monetaryTransactions[fromAgentTypeIndex][toAgentTypeIndex];
+		}
+
+		public BalanceSheetDTO getNationalAccountsBalanceSheet() {
+			return nationalAccountsBalanceSheet;
+		}
+
+		/**
+		 * @return prices of the commodity currency; null, if not traded
+		 */
+		public DefaultHighLowDataset getPrices(final Currency commodityCurrency) {
+			return currencyPrices.get(commodityCurrency);
+		}
+
+		/**
+		 * @return prices of the good type; null, if not traded
+		 */
+		public DefaultHighLowDataset getPrices(final GoodType goodType) {
+			return goodTypePrices.get(goodType);
+		}
+	}
+
+	protected final Date date;
+
+	protected final Map<Currency, NationalEconomySnapshot> nationalEconomySnapshots;
+
+	protected final List<TimeSeriesSnapshot> timeSeriesSnapshots;
+
+	protected final long version;
+
+	public ModelSnapshot(final long version, final Date date,
+			final Map<Currency, NationalEconomySnapshot> nationalEconomySnapshots,
+			final List<TimeSeriesSnapshot> timeSeriesSnapshots) {
+		this.version = version;
+		this.date = date;
+		this.nationalEconomySnapshots = Collections.unmodifiableMap(nationalEconomySnapshots);
+		this.timeSeriesSnapshots = Collections.unmodifiableList(timeSeriesSnapshots);
+	}
+
+	/**
+	 * @return end of the period
+	 */
+	public Date getDate() {
+		return date;
+	}
+
+	public NationalEconomySnapshot getNationalEconomySnapshot(final Currency currency) {
+		return nationalEconomySnapshots.get(currency);
+	}
+
+	public List<TimeSeriesSnapshot> getTimeSeriesSnapshots() {
+		return timeSeriesSnapshots;
+	}
+
+	public long getVersion() {
+		return version;
+	}
+}
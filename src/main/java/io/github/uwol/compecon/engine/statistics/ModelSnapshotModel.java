@@ -0,0 +1,314 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshot.NationalEconomySnapshot;
+import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
+import io.github.uwol.compecon.engine.statistics.timeseries.AbstractPeriodDataTimeSeriesModel;
+import io.github.uwol.compecon.engine.statistics.timeseries.TimeSeriesSnapshot;
+
+/**
+ * Hands the models displayed by the dashboard over from the simulation thread
+ * to the rendering thread. While a renderer is attached, the simulation thread
+ * publishes an immutable snapshot at the end of each period. The renderer
+ * takes the latest snapshot at its own frame rate, so that periods published
+ * between two frames are coalesced, and notifies the listeners of this model
+ * on the rendering thread. Listeners must only read the rendered snapshot.
+ */
+public class ModelSnapshotModel extends NotificationListenerModel {
+
+	protected volatile boolean attached = false;
+
+	protected final Map<Currency, Map<Class<? extends Agent>, BalanceSheetDTO>> capturedBalanceSheets = new EnumMap<Currency, Map<Class<? extends Agent>, BalanceSheetDTO>>(
+			Currency.class);
+
+	protected final Map<Currency, Map<GoodType, BalanceSheetDTO>> capturedFactoryBalanceSheets = new EnumMap<Currency, Map<GoodType, BalanceSheetDTO>>(
+			Currency.class);
+
+	protected final Map<Currency, double[][]> capturedMonetaryTransactions = new EnumMap<Currency, double[][]>(
+			Currency.class);
+
+	protected final Map<Currency, BalanceSheetDTO> capturedNationalAccountsBalanceSheets = new EnumMap<Currency, BalanceSheetDTO>(
+			Currency.class);
+
+	/**
+	 * date of the simulation, which is updated hourly while attached
+	 */
+	protected volatile Date currentDate;
+
+	protected final Map<Currency, NationalEconomyModel> nationalEconomyModels;
+
+	/**
+	 * published periods that have not been rendered, as a newer snapshot had been
+	 * published before the next frame
+	 */
+	protected long numberOfCoalescedSnapshots = 0;
+
+	protected long numberOfRenderedSnapshots = 0;
+
+	protected final AtomicReference<ModelSnapshot> publishedSnapshot = new AtomicReference<ModelSnapshot>();
+
+	protected Date renderedDate;
+
+	protected ModelSnapshot renderedSnapshot;
+
+	protected long renderedVersion = 0;
+
+	/**
+	 * notified on the rendering thread, when the rendered date changes
+	 */
+	protected final TimeSystemModel timeSystemModel = new TimeSystemModel();
+
+	/**
+	 * models with chart adapters, which are registered on the rendering thread
+	 */
+	protected final List<AbstractPeriodDataTimeSeriesModel> timeSeriesModels = new CopyOnWriteArrayList<AbstractPeriodDataTimeSeriesModel>();
+
+	protected long version = 0;
+
+	public ModelSnapshotModel(final Map<Currency, NationalEconomyModel> nationalEconomyModels) {
+		this.nationalEconomyModels = nationalEconomyModels;
+
+		for (final NationalEconomyModel nationalEconomyModel : nationalEconomyModels.values()) {
+			// balance sheets and transactions are reset right after their listeners
+			// have been notified, hence they are captured in the listeners
+			nationalEconomyModel.balanceSheetsModel.registerListener(new ModelListener() {
+				@Override
+				public void notifyListener() {
+					if (attached) {
+						captureBalanceSheets(nationalEconomyModel);
+					}
+				}
+			});
+
+			nationalEconomyModel.monetaryTransactionsModel.registerListener(new ModelListener() {
+				@Override
+				public void notifyListener() {
+					if (attached) {
+						captureMonetaryTransactions(nationalEconomyModel);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Starts publishing snapshots from the next period on.
+	 */
+	public void attach() {
+		attached = true;
+	}
+
+	protected void captureBalanceSheets(final NationalEconomyModel nationalEconomyModel) {
+		final BalanceSheetsModel balanceSheetsModel = nationalEconomyModel.balanceSheetsModel;
+		final Map<GoodType, BalanceSheetDTO> factoryBalanceSheets = new EnumMap<GoodType, BalanceSheetDTO>(
+				GoodType.class);
+
+		for (final GoodType goodType : GoodType.values()) {
+			factoryBalanceSheets.put(goodType, balanceSheetsModel.getFactoryNationalAccountsBalanceSheet(goodType));
+		}
+
+		capturedBalanceSheets.put(nationalEconomyModel.currency,
+				balanceSheetsModel.getNationalAccountsBalanceSheets());
+		capturedFactoryBalanceSheets.put(nationalEconomyModel.currency, factoryBalanceSheets);
+		capturedNationalAccountsBalanceSheets.put(nationalEconomyModel.currency,
+				balanceSheetsModel.getNationalAccountsBalanceSheet());
+	}
+
+	protected void captureMonetaryTransactions(final NationalEconomyModel nationalEconomyModel) {
+		final List<Class<? extends Agent>> agentTypes = ApplicationContext.getInstance().getAgentFactory()
+				.getAgentTypes();
+		final Map<Class<? extends Agent>, Map<Class<? extends Agent>, PeriodDataAccumulator>> adjacencyMatrix = nationalEconomyModel.monetaryTransactionsModel
+				.getAdjacencyMatrix();
+		final double[][] monetaryTransactions = new double[agentTypes.size()][agentTypes.size()];
+
+		for (int i = 0; i < agentTypes.size(); i++) {
+			final Map<Class<? extends Agent>, PeriodDataAccumulator> adjacencyMatrixForFromAgentType = adjacencyMatrix
+					.get(agentTypes.get(i));
+
+			for (int j = 0; j < agentTypes.size(); j++) {
+				monetaryTransactions[i][j] = adjacencyMatrixForFromAgentType.get(agentTypes.get(j)).getAmount();
+			}
+		}
+
+		capturedMonetaryTransactions.put(nationalEconomyModel.currency, monetaryTransactions);
+	}
+
+	/**
+	 * Stops publishing snapshots; the snapshot published last is kept.
+	 */
+	public void detach() {
+		attached = false;
+	}
+
+	public long getNumberOfCoalescedSnapshots() {
+		return numberOfCoalescedSnapshots;
+	}
+
+	public long getNumberOfRenderedSnapshots() {
+		return numberOfRenderedSnapshots;
+	}
+
+	/**
+	 * @return snapshot published last; null, if none has been published yet
+	 */
+	public ModelSnapshot getPublishedSnapshot() {
+		return publishedSnapshot.get();
+	}
+
+	/**
+	 * @return date of the simulation at the last frame; null, if none has been
+	 *         rendered yet
+	 */
+	public Date getRenderedDate() {
+		return renderedDate;
+	}
+
+	/**
+	 * @return state of the national economy at the last frame; null, if no
+	 *         snapshot has been rendered yet
+	 */
+	public NationalEconomySnapshot getRenderedNationalEconomySnapshot(final Currency currency) {
+		if (renderedSnapshot == null) {
+			return null;
+		}
+		return renderedSnapshot.getNationalEconomySnapshot(currency);
+	}
+
+	public ModelSnapshot getRenderedSnapshot() {
+		return renderedSnapshot;
+	}
+
+	public TimeSystemModel getTimeSystemModel() {
+		return timeSystemModel;
+	}
+
+	public boolean isAttached() {
+		return attached;
+	}
+
+	public void nextHour() {
+		if (attached) {
+			currentDate = ApplicationContext.getInstance().getTimeSystem().getCurrentDate();
+		}
+	}
+
+	/**
+	 * Publishes a snapshot of the period; has to be called on the simulation
+	 * thread after the models have completed the period.
+	 */
+	public void nextPeriod() {
+		if (attached) {
+			final Map<Currency, NationalEconomySnapshot> nationalEconomySnapshots = new EnumMap<Currency, NationalEconomySnapshot>(
+					Currency.class);
+
+			for (final NationalEconomyModel nationalEconomyModel : nationalEconomyModels.values()) {
+				final Currency currency = nationalEconomyModel.currency;
+				nationalEconomySnapshots.put(currency,
+						new NationalEconomySnapshot(nationalEconomyModel, getOrEmpty(capturedBalanceSheets, currency),
+								getOrEmpty(capturedFactoryBalanceSheets, currency),
+								capturedNationalAccountsBalanceSheets.get(currency),
+								capturedMonetaryTransactions.get(currency)));
+			}
+
+			final List<TimeSeriesSnapshot> timeSeriesSnapshots = new ArrayList<TimeSeriesSnapshot>();
+
+			for (final AbstractPeriodDataTimeSeriesModel timeSeriesModel : timeSeriesModels) {
+				timeSeriesModel.snapshotTimeSeries(timeSeriesSnapshots);
+			}
+
+			version++;
+			publishedSnapshot.set(new ModelSnapshot(version,
+					ApplicationContext.getInstance().getTimeSystem().getCurrentDate(), nationalEconomySnapshots,
+					timeSeriesSnapshots));
+		}
+
+		capturedBalanceSheets.clear();
+		capturedFactoryBalanceSheets.clear();
+		capturedMonetaryTransactions.clear();
+		capturedNationalAccountsBalanceSheets.clear();
+	}
+
+	private <K, V> Map<K, V> getOrEmpty(final Map<Currency, Map<K, V>> capturedMaps, final Currency currency) {
+		final Map<K, V> capturedMap = capturedMaps.get(currency);
+
+		if (capturedMap == null) {
+			return new HashMap<K, V>();
+		}
+		return capturedMap;
+	}
+
+	public void registerTimeSeriesModel(final AbstractPeriodDataTimeSeriesModel timeSeriesModel) {
+		timeSeriesModels.add(timeSeriesModel);
+	}
+
+	/**
+	 * Renders the snapshot published last, if it has not been rendered yet. Chart
+	 * adapters of time series are updated from the snapshot before the listeners
+	 * are notified. Has to be called on the rendering thread.
+	 *
+	 * @return true, if a new snapshot has been rendered
+	 */
+	public boolean render() {
+		final Date date = currentDate;
+
+		if (date != null && !date.equals(renderedDate)) {
+			renderedDate = date;
+			timeSystemModel.notifyListeners();
+		}
+
+		final ModelSnapshot snapshot = publishedSnapshot.get();
+
+		if (snapshot == null || snapshot == renderedSnapshot) {
+			return false;
+		}
+
+		// versions are consecutive, so that skipped versions are coalesced periods
+		if (snapshot.getVersion() > renderedVersion + 1) {
+			numberOfCoalescedSnapshots += snapshot.getVersion() - renderedVersion - 1;
+		}
+
+		for (final TimeSeriesSnapshot timeSeriesSnapshot : snapshot.getTimeSeriesSnapshots()) {
+			timeSeriesSnapshot.apply();
+		}
+
+		renderedSnapshot = snapshot;
+		renderedVersion = snapshot.getVersion();
+		numberOfRenderedSnapshots++;
+
+		notifyListeners();
+		return true;
+	}
+}
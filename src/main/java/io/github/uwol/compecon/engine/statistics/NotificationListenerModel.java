@@ -34,12 +34,17 @@ public abstract class NotificationListenerModel {
 	}
 
 	public void notifyListeners() {
-		for (final ModelListener listener : listeners) {
-			listener.notifyListener();
+		// indexed loop, so that notifying does not allocate an iterator
+		for (int i = 0; i < listeners.size(); i++) {
+			listeners.get(i).notifyListener();
 		}
 	}
 
 	public void registerListener(final ModelListener listener) {
 		listeners.add(listener);
 	}
+
+	public void unregisterListener(final ModelListener listener) {
+		listeners.remove(listener);
+	}
 }
@@ -0,0 +1,428 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.uwol.compecon.economy.markets.MarketOrder;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.MarketOrderDAO;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+
+/**
+ * Meters the performance of the simulation for monitoring, e. g. via JMX.
+ * Counters are incremented lock-free on the simulation thread and read from
+ * arbitrary threads. While attached, the counters of the period are sampled at
+ * the end of each period, and listeners are notified on the simulation thread.
+ */
+public class PerformanceModel extends NotificationListenerModel {
+
+	/**
+	 * counters of a market
+	 */
+	public static class MarketModel {
+
+		protected final DoubleAdder filledAmount = new DoubleAdder();
+
+		protected volatile double filledAmountPerPeriod = 0.0;
+
+		protected final LongAdder fills = new LongAdder();
+
+		protected volatile long fillsPerPeriod = 0;
+
+		protected volatile int orderBookSize = 0;
+
+		protected volatile double orderBookVolume = 0.0;
+
+		public double getFilledAmountPerPeriod() {
+			return filledAmountPerPeriod;
+		}
+
+		public long getFillsPerPeriod() {
+			return fillsPerPeriod;
+		}
+
+		/**
+		 * @return number of market orders at the end of the period
+		 */
+		public int getOrderBookSize() {
+			return orderBookSize;
+		}
+
+		/**
+		 * @return amount offered by the market orders at the end of the period
+		 */
+		public double getOrderBookVolume() {
+			return orderBookVolume;
+		}
+
+		protected void nextPeriod(final Iterator<MarketOrder> iterator) {
+			int size = 0;
+			double volume = 0.0;
+
+			while (iterator.hasNext()) {
+				volume += iterator.next().getAmount();
+				size++;
+			}
+
+			orderBookSize = size;
+			orderBookVolume = volume;
+			fillsPerPeriod = fills.sumThenReset();
+			filledAmountPerPeriod = filledAmount.sumThenReset();
+		}
+
+		protected void onFill(final double amount) {
+			fills.increment();
+			filledAmount.add(amount);
+		}
+	}
+
+	protected volatile double agentConstructionDurationInMillis = Double.NaN;
+
+	protected volatile double allocatedBytesPerPeriod = Double.NaN;
+
+	protected volatile double allocationRateInBytesPerSecond = Double.NaN;
+
+	protected volatile boolean attached = false;
+
+	// indexed by currency ordinal and commodity currency ordinal
+	protected final MarketModel[][] currencyMarketModels;
+
+	protected final LongAdder days = new LongAdder();
+
+	protected final Map<Class<? extends TimeSystemEvent>, LongAdder> eventCounts = new ConcurrentHashMap<Class<? extends TimeSystemEvent>, LongAdder>();
+
+	protected final LongAdder events = new LongAdder();
+
+	protected volatile long eventsPerPeriod = 0;
+
+	protected volatile long gcCountPerPeriod = 0;
+
+	protected volatile long gcTimeInMillisPerPeriod = 0;
+
+	// indexed by currency ordinal and good type ordinal
+	protected final MarketModel[][] goodTypeMarketModels;
+
+	protected final LongAdder hibernateFlushDurationInNanos = new LongAdder();
+
+	protected volatile double hibernateFlushDurationInMillisPerPeriod = 0.0;
+
+	protected final LongAdder hibernateFlushes = new LongAdder();
+
+	protected volatile long hibernateFlushesPerPeriod = 0;
+
+	protected final LongAdder hours = new LongAdder();
+
+	/**
+	 * values of the cumulative counters at the end of the previous period, 0 for
+	 * the wall clock, if no period has been sampled since attaching
+	 */
+	protected long lastAllocatedBytes;
+
+	protected long lastDays;
+
+	protected long lastEvents;
+
+	protected long lastGcCount;
+
+	protected long lastGcTimeInMillis;
+
+	protected long lastHibernateFlushDurationInNanos;
+
+	protected long lastHibernateFlushes;
+
+	protected long lastHours;
+
+	protected long lastWallClockNanos = 0;
+
+	protected volatile double simulatedDaysPerSecond = Double.NaN;
+
+	protected volatile double simulatedHoursPerSecond = Double.NaN;
+
+	public PerformanceModel() {
+		currencyMarketModels = new MarketModel[Currency.values().length][Currency.values().length];
+		goodTypeMarketModels = new MarketModel[Currency.values().length][GoodType.values().length];
+
+		for (final Currency currency : Currency.values()) {
+			for (final Currency commodityCurrency : Currency.values()) {
+				if (!currency.equals(commodityCurrency)) {
+					currencyMarketModels[currency.ordinal()][commodityCurrency.ordinal()] = new MarketModel();
+				}
+			}
+
+			for (final GoodType goodType : GoodType.values()) {
+				goodTypeMarketModels[currency.ordinal()][goodType.ordinal()] = new MarketModel();
+			}
+		}
+	}
+
+	public void agentFactory_onConstructAgents(final long durationInNanos) {
+		agentConstructionDurationInMillis = durationInNanos / 1000000.0;
+	}
+
+	/**
+	 * Starts sampling from the next period on.
+	 */
+	public void attach() {
+		lastWallClockNanos = 0;
+		attached = true;
+	}
+
+	public void detach() {
+		attached = false;
+	}
+
+	/**
+	 * @return wall clock duration of the construction of the agents from the
+	 *         configuration, including saving them; NaN, if the agents have not
+	 *         been constructed from the configuration
+	 */
+	public double getAgentConstructionDurationInMillis() {
+		return agentConstructionDurationInMillis;
+	}
+
+	/**
+	 * @return bytes allocated by the simulation thread in the previous period;
+	 *         NaN, if not supported by the JVM
+	 */
+	public double getAllocatedBytesPerPeriod() {
+		return allocatedBytesPerPeriod;
+	}
+
+	public double getAllocationRateInBytesPerSecond() {
+		return allocationRateInBytesPerSecond;
+	}
+
+	/**
+	 * @return model of the market, on which the commodity currency is offered
+	 *         for the currency
+	 */
+	public MarketModel getCurrencyMarketModel(final Currency currency, final Currency commodityCurrency) {
+		return currencyMarketModels[currency.ordinal()][commodityCurrency.ordinal()];
+	}
+
+	/**
+	 * @return number of events per event class, since attaching
+	 */
+	public Map<Class<? extends TimeSystemEvent>, LongAdder> getEventCounts() {
+		return eventCounts;
+	}
+
+	public long getEventsPerPeriod() {
+		return eventsPerPeriod;
+	}
+
+	public long getGcCountPerPeriod() {
+		return gcCountPerPeriod;
+	}
+
+	/**
+	 * @return accumulated collection time of the garbage collectors in the
+	 *         previous period, which equals the pause time for stop-the-world
+	 *         collectors
+	 */
+	public long getGcTimeInMillisPerPeriod() {
+		return gcTimeInMillisPerPeriod;
+	}
+
+	public MarketModel getGoodTypeMarketModel(final Currency currency, final GoodType goodType) {
+		return goodTypeMarketModels[currency.ordinal()][goodType.ordinal()];
+	}
+
+	public double getHibernateFlushDurationInMillis() {
+		return hibernateFlushDurationInNanos.sum() / 1000000.0;
+	}
+
+	public double getHibernateFlushDurationInMillisPerPeriod() {
+		return hibernateFlushDurationInMillisPerPeriod;
+	}
+
+	public long getHibernateFlushes() {
+		return hibernateFlushes.sum();
+	}
+
+	public long getHibernateFlushesPerPeriod() {
+		return hibernateFlushesPerPeriod;
+	}
+
+	public long getSimulatedDays() {
+		return days.sum();
+	}
+
+	/**
+	 * @return simulated days per wall clock second in the previous period; NaN,
+	 *         if no period has been sampled since attaching
+	 */
+	public double getSimulatedDaysPerSecond() {
+		return simulatedDaysPerSecond;
+	}
+
+	public long getSimulatedHours() {
+		return hours.sum();
+	}
+
+	public double getSimulatedHoursPerSecond() {
+		return simulatedHoursPerSecond;
+	}
+
+	public void hibernate_onFlush(final long durationInNanos) {
+		hibernateFlushes.increment();
+		hibernateFlushDurationInNanos.add(durationInNanos);
+	}
+
+	public boolean isAttached() {
+		return attached;
+	}
+
+	public void market_onTick(final Currency commodityCurrency, final Currency currency, final double amount) {
+		if (attached) {
+			currencyMarketModels[currency.ordinal()][commodityCurrency.ordinal()].onFill(amount);
+		}
+	}
+
+	public void market_onTick(final GoodType goodType, final Currency currency, final double amount) {
+		if (attached) {
+			goodTypeMarketModels[currency.ordinal()][goodType.ordinal()].onFill(amount);
+		}
+	}
+
+	public void nextHour() {
+		hours.increment();
+	}
+
+	/**
+	 * Samples the counters of the period on the simulation thread, as the order
+	 * books and the allocations of the simulation thread can only be read there.
+	 */
+	public void nextPeriod() {
+		days.increment();
+
+		if (attached) {
+			sampleThroughput();
+			sampleMarkets();
+			sampleMemory();
+			notifyListeners();
+		}
+	}
+
+	protected void sampleMarkets() {
+		final MarketOrderDAO marketOrderDAO = ApplicationContext.getInstance().getMarketOrderDAO();
+
+		for (final Currency currency : Currency.values()) {
+			for (final Currency commodityCurrency : Currency.values()) {
+				if (!currency.equals(commodityCurrency)) {
+					currencyMarketModels[currency.ordinal()][commodityCurrency.ordinal()]
+							.nextPeriod(marketOrderDAO.getIterator(currency, commodityCurrency));
+				}
+			}
+
+			for (final GoodType goodType : GoodType.values()) {
+				goodTypeMarketModels[currency.ordinal()][goodType.ordinal()]
+						.nextPeriod(marketOrderDAO.getIterator(currency, goodType));
+			}
+		}
+	}
+
+	protected void sampleMemory() {
+		final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+
+		if (threadMXBean instanceof com.sun.management.ThreadMXBean
+				&& ((com.sun.management.ThreadMXBean) threadMXBean).isThreadAllocatedMemoryEnabled()) {
+			final long allocatedBytes = ((com.sun.management.ThreadMXBean) threadMXBean)
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+
+			if (allocatedBytes >= 0 && !Double.isNaN(simulatedDaysPerSecond)) {
+				allocatedBytesPerPeriod = allocatedBytes - lastAllocatedBytes;
+				allocationRateInBytesPerSecond = allocatedBytesPerPeriod * simulatedDaysPerSecond;
+			}
+
+			lastAllocatedBytes = allocatedBytes;
+		}
+
+		long gcCount = 0;
+		long gcTimeInMillis = 0;
+
+		for (final GarbageCollectorMXBean garbageCollectorMXBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			gcCount += Math.max(garbageCollectorMXBean.getCollectionCount(), 0);
+			gcTimeInMillis += Math.max(garbageCollectorMXBean.getCollectionTime(), 0);
+		}
+
+		gcCountPerPeriod = gcCount - lastGcCount;
+		gcTimeInMillisPerPeriod = gcTimeInMillis - lastGcTimeInMillis;
+		lastGcCount = gcCount;
+		lastGcTimeInMillis = gcTimeInMillis;
+	}
+
+	protected void sampleThroughput() {
+		final long wallClockNanos = System.nanoTime();
+		final long currentDays = days.sum();
+		final long currentHours = hours.sum();
+		final long currentEvents = events.sum();
+		final long currentHibernateFlushes = hibernateFlushes.sum();
+		final long currentHibernateFlushDurationInNanos = hibernateFlushDurationInNanos.sum();
+
+		if (lastWallClockNanos != 0) {
+			final double seconds = (wallClockNanos - lastWallClockNanos) / 1000000000.0;
+			simulatedDaysPerSecond = (currentDays - lastDays) / seconds;
+			simulatedHoursPerSecond = (currentHours - lastHours) / seconds;
+		} else {
+			simulatedDaysPerSecond = Double.NaN;
+			simulatedHoursPerSecond = Double.NaN;
+		}
+
+		eventsPerPeriod = currentEvents - lastEvents;
+		hibernateFlushesPerPeriod = currentHibernateFlushes - lastHibernateFlushes;
+		hibernateFlushDurationInMillisPerPeriod = (currentHibernateFlushDurationInNanos
+				- lastHibernateFlushDurationInNanos) / 1000000.0;
+
+		lastWallClockNanos = wallClockNanos;
+		lastDays = currentDays;
+		lastHours = currentHours;
+		lastEvents = currentEvents;
+		lastHibernateFlushes = currentHibernateFlushes;
+		lastHibernateFlushDurationInNanos = currentHibernateFlushDurationInNanos;
+	}
+
+	public void timeSystem_onEvent(final TimeSystemEvent event) {
+		if (attached) {
+			LongAdder eventCount = eventCounts.get(event.getClass());
+
+			if (eventCount == null) {
+				eventCount = new LongAdder();
+				final LongAdder existingEventCount = eventCounts.putIfAbsent(event.getClass(), eventCount);
+				if (existingEventCount != null) {
+					eventCount = existingEventCount;
+				}
+			}
+
+			eventCount.increment();
+			events.increment();
+		}
+	}
+}
@@ -19,23 +19,73 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.jfree.data.statistics.HistogramDataset;
+import org.jfree.data.statistics.SimpleHistogramBin;
+import org.jfree.data.statistics.SimpleHistogramDataset;
+import org.jfree.data.xy.IntervalXYDataset;
 import org.jfree.data.xy.XYDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
-import com.google.common.primitives.Doubles;
-
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
-
+import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataDistributionSketch;
+
+/**
+ * Distribution of values per period, e. g. of household incomes. By default the
+ * values are summarized by a streaming sketch with constant memory, so that
+ * quantiles and the Lorenz curve have a bounded relative error. In exact mode
+ * the values of the period are kept and sorted. <br />
+ * <br />
+ * Agents on several threads may add values concurrently, as each thread adds
+ * to a buffer of its own. The buffers are merged at the end of the period, when
+ * no values are added.
+ */
 public class PeriodDataDistributionModel extends NotificationListenerModel {
 
+	/**
+	 * values added by a single thread during the period
+	 */
+	protected class PeriodDataBuffer {
+
+		protected int numberOfValues = 0;
+
+		protected final PeriodDataDistributionSketch sketch;
+
+		protected double[] values;
+
+		protected PeriodDataBuffer() {
+			if (exact) {
+				sketch = null;
+				values = new double[16];
+			} else {
+				sketch = new PeriodDataDistributionSketch(RELATIVE_ACCURACY);
+				values = null;
+			}
+		}
+
+		protected void add(final double value) {
+			if (exact) {
+				if (numberOfValues == values.length) {
+					values = Arrays.copyOf(values, values.length * 2);
+				}
+				values[numberOfValues++] = value;
+			} else {
+				sketch.add(value);
+			}
+		}
+	}
+
 	public class SummaryStatisticalData {
 
+		public long numberOfValues;
+
+		/**
+		 * sorted values of the period; only in exact mode
+		 */
 		public double[] originalValues;
 
 		// median, y-value
@@ -50,6 +100,25 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 		// y-value
 		public double quantil99Percent;
 
+		// y-value at xWith10PercentY
+		public double valueAtXWith10PercentY;
+
+		public double valueAtXWith20PercentY;
+
+		public double valueAtXWith30PercentY;
+
+		public double valueAtXWith40PercentY;
+
+		public double valueAtXWith50PercentY;
+
+		public double valueAtXWith60PercentY;
+
+		public double valueAtXWith70PercentY;
+
+		public double valueAtXWith80PercentY;
+
+		public double valueAtXWith90PercentY;
+
 		public int xWith10PercentY;
 
 		public int xWith20PercentY;
@@ -75,27 +144,60 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 		public double yTotalSum;
 	}
 
-	protected HistogramDataset datasetsHistogram = new HistogramDataset();
+	public static final double RELATIVE_ACCURACY = 0.01;
+
+	/**
+	 * buffers of all threads, which added values
+	 */
+	protected final List<PeriodDataBuffer> buffers = new CopyOnWriteArrayList<PeriodDataBuffer>();
+
+	protected final ThreadLocal<PeriodDataBuffer> bufferOfThread = new ThreadLocal<PeriodDataBuffer>() {
+		@Override
+		protected PeriodDataBuffer initialValue() {
+			final PeriodDataBuffer buffer = new PeriodDataBuffer();
+			buffers.add(buffer);
+			return buffer;
+		}
+	};
+
+	protected IntervalXYDataset datasetsHistogram = new HistogramDataset();
 
 	protected XYSeriesCollection datasetsLorenzCurve = new XYSeriesCollection();
 
+	protected final boolean exact;
+
 	protected final int NUMBER_OF_BINS = 30;
 
 	protected final Currency referenceCurrency;
 
-	protected SummaryStatisticalData summaryStatisticalData = new SummaryStatisticalData();
+	protected final PeriodDataDistributionSketch sketch;
 
-	protected List<Double> values = new ArrayList<Double>();
+	protected SummaryStatisticalData summaryStatisticalData = new SummaryStatisticalData();
 
 	public PeriodDataDistributionModel(final Currency referenceCurrency) {
+		this(referenceCurrency, false);
+	}
+
+	/**
+	 * @param exact If true, the values of each period are kept and sorted, e. g.
+	 *              for tests; else they are summarized by a streaming sketch.
+	 */
+	public PeriodDataDistributionModel(final Currency referenceCurrency, final boolean exact) {
 		this.referenceCurrency = referenceCurrency;
+		this.exact = exact;
+
+		if (exact) {
+			sketch = null;
+		} else {
+			sketch = new PeriodDataDistributionSketch(RELATIVE_ACCURACY);
+		}
 	}
 
 	public void add(final double value) {
-		values.add(value);
+		bufferOfThread.get().add(value);
 	}
 
-	public HistogramDataset getHistogramDataset() {
+	public IntervalXYDataset getHistogramDataset() {
 		return datasetsHistogram;
 	}
 
@@ -107,9 +209,59 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 		return summaryStatisticalData;
 	}
 
+	public boolean isExact() {
+		return exact;
+	}
+
 	public void nextPeriod() {
-		final double[] valuesAsArray = Doubles.toArray(values);
-		values.clear();
+		if (exact) {
+			nextPeriodExact();
+		} else {
+			nextPeriodSketch();
+		}
+
+		/*
+		 * create dataset for lorenz curve
+		 */
+		final XYSeries seriesLorenzCurve = new XYSeries(referenceCurrency.getIso4217Code() + " lorenz curve");
+
+		for (int i = 0; i < summaryStatisticalData.ySumAtPercentOfX.length; i++) {
+			final double x = i / (double) summaryStatisticalData.ySumAtPercentOfX.length;
+			final double y = summaryStatisticalData.ySumAtPercentOfX[i] / summaryStatisticalData.yTotalSum;
+			seriesLorenzCurve.add(x, y);
+		}
+
+		seriesLorenzCurve.add(1, 1);
+
+		final XYSeries seriesLine = new XYSeries("line of equality " + referenceCurrency.getIso4217Code());
+		seriesLine.add(0, 0);
+		seriesLine.add(1, 1);
+
+		// new dataset per period, so that datasets handed out are not modified
+		final XYSeriesCollection datasetLorenzCurve = new XYSeriesCollection();
+		datasetLorenzCurve.addSeries(seriesLorenzCurve);
+		datasetLorenzCurve.addSeries(seriesLine);
+		datasetsLorenzCurve = datasetLorenzCurve;
+
+		notifyListeners();
+	}
+
+	protected void nextPeriodExact() {
+		int numberOfValues = 0;
+
+		for (final PeriodDataBuffer buffer : buffers) {
+			numberOfValues += buffer.numberOfValues;
+		}
+
+		final double[] valuesAsArray = new double[numberOfValues];
+		int offset = 0;
+
+		for (final PeriodDataBuffer buffer : buffers) {
+			System.arraycopy(buffer.values, 0, valuesAsArray, offset, buffer.numberOfValues);
+			offset += buffer.numberOfValues;
+			buffer.numberOfValues = 0;
+		}
+
 		Arrays.sort(valuesAsArray);
 
 		/*
@@ -118,6 +270,7 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 		final SummaryStatisticalData summaryStatisticalData = new SummaryStatisticalData();
 		this.summaryStatisticalData = summaryStatisticalData;
 
+		summaryStatisticalData.numberOfValues = valuesAsArray.length;
 		summaryStatisticalData.originalValues = valuesAsArray;
 
 		if (valuesAsArray.length > 0) {
@@ -181,6 +334,18 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 			}
 		}
 
+		if (valuesAsArray.length > 0) {
+			summaryStatisticalData.valueAtXWith10PercentY = valuesAsArray[summaryStatisticalData.xWith10PercentY];
+			summaryStatisticalData.valueAtXWith20PercentY = valuesAsArray[summaryStatisticalData.xWith20PercentY];
+			summaryStatisticalData.valueAtXWith30PercentY = valuesAsArray[summaryStatisticalData.xWith30PercentY];
+			summaryStatisticalData.valueAtXWith40PercentY = valuesAsArray[summaryStatisticalData.xWith40PercentY];
+			summaryStatisticalData.valueAtXWith50PercentY = valuesAsArray[summaryStatisticalData.xWith50PercentY];
+			summaryStatisticalData.valueAtXWith60PercentY = valuesAsArray[summaryStatisticalData.xWith60PercentY];
+			summaryStatisticalData.valueAtXWith70PercentY = valuesAsArray[summaryStatisticalData.xWith70PercentY];
+			summaryStatisticalData.valueAtXWith80PercentY = valuesAsArray[summaryStatisticalData.xWith80PercentY];
+			summaryStatisticalData.valueAtXWith90PercentY = valuesAsArray[summaryStatisticalData.xWith90PercentY];
+		}
+
 		/*
 		 * create dataset for histogram
 		 */
@@ -188,29 +353,103 @@ public class PeriodDataDistributionModel extends NotificationListenerModel {
 		datasetHistogram.addSeries(referenceCurrency.getIso4217Code(), valuesAsArray, NUMBER_OF_BINS, 0,
 				summaryStatisticalData.quantil99Percent);
 		datasetsHistogram = datasetHistogram;
+	}
+
+	protected void nextPeriodSketch() {
+		for (final PeriodDataBuffer buffer : buffers) {
+			sketch.merge(buffer.sketch);
+			buffer.sketch.reset();
+		}
 
 		/*
-		 * create dataset for lorenz curve
+		 * precalculate summary statistical data
 		 */
-		final XYSeries seriesLorenzCurve = new XYSeries(referenceCurrency.getIso4217Code() + " lorenz curve");
+		final SummaryStatisticalData summaryStatisticalData = new SummaryStatisticalData();
+		this.summaryStatisticalData = summaryStatisticalData;
 
-		for (int i = 0; i < summaryStatisticalData.ySumAtPercentOfX.length; i++) {
-			final double x = i / (double) summaryStatisticalData.ySumAtPercentOfX.length;
-			final double y = summaryStatisticalData.ySumAtPercentOfX[i] / summaryStatisticalData.yTotalSum;
-			seriesLorenzCurve.add(x, y);
+		final long n = sketch.getCount();
+		summaryStatisticalData.numberOfValues = n;
+
+		if (n > 0) {
+			summaryStatisticalData.quantil5Percent = Math.max(0.0, sketch.getValueAtRank((long) (n * 0.05)));
+			summaryStatisticalData.quantil50Percent = Math.max(0.0, sketch.getValueAtRank((long) (n * 0.5)));
+			summaryStatisticalData.quantil95Percent = Math.max(0.0, sketch.getValueAtRank((long) (n * 0.95)));
+			summaryStatisticalData.quantil99Percent = Math.max(0.0, sketch.getValueAtRank((long) (n * 0.99)));
 		}
 
-		seriesLorenzCurve.add(1, 1);
+		summaryStatisticalData.yTotalSum = sketch.getSum();
 
-		final XYSeries seriesLine = new XYSeries("line of equality " + referenceCurrency.getIso4217Code());
-		seriesLine.add(0, 0);
-		seriesLine.add(1, 1);
+		final long bucketWidth = n / summaryStatisticalData.ySumAtPercentOfX.length;
 
-		final XYSeriesCollection datasetLorenzCurve = datasetsLorenzCurve;
-		datasetLorenzCurve.removeAllSeries();
-		datasetLorenzCurve.addSeries(seriesLorenzCurve);
-		datasetLorenzCurve.addSeries(seriesLine);
+		if (bucketWidth != 0) {
+			/*
+			 * xWith..PercentY
+			 */
+			final double yTotalSum = summaryStatisticalData.yTotalSum;
+			summaryStatisticalData.xWith10PercentY = (int) sketch.getRankWithSumExceeding(yTotalSum * 0.1);
+			summaryStatisticalData.xWith20PercentY = (int) sketch.getRankWithSumExceeding(yTotalSum * 0.2);
+			summaryStatisticalData.xWith30PercentY = (int) sketch.getRankWithSumExceeding(yTotalSum * 0.3);
+			summaryStatisticalData.xWith40PercentY = (int) sketch.getRankWithSumExceeding(yTotalSum * 0.4);
+			summaryStatisticalData.xWith50PercentY = (int) sketch.getRankWithSumExceeding(yTotalSum * 0.5);
+			summaryStatisticalData.xWith60PercentY = (int) sketch.getRankWithSumExceeding(yTotalSum * 0.6);
+			summaryStatisticalData.xWith70PercentY = (int) sketch.getRankWithSumExceeding(yTotalSum * 0.7);
+			summaryStatisticalData.xWith80PercentY = (int) sketch.getRankWithSumExceeding(yTotalSum * 0.8);
+			summaryStatisticalData.xWith90PercentY = (int) sketch.getRankWithSumExceeding(yTotalSum * 0.9);
+
+			/*
+			 * ySumAtPercentOfX, as sum up to and including the value at position *
+			 * bucketWidth
+			 */
+			for (int position = 0; position < summaryStatisticalData.ySumAtPercentOfX.length; position++) {
+				summaryStatisticalData.ySumAtPercentOfX[position] = sketch
+						.getSumOfLowestValues(position * bucketWidth + 1);
+			}
+		}
 
-		notifyListeners();
+		if (n > 0) {
+			summaryStatisticalData.valueAtXWith10PercentY = sketch
+					.getValueAtRank(summaryStatisticalData.xWith10PercentY);
+			summaryStatisticalData.valueAtXWith20PercentY = sketch
+					.getValueAtRank(summaryStatisticalData.xWith20PercentY);
+			summaryStatisticalData.valueAtXWith30PercentY = sketch
+					.getValueAtRank(summaryStatisticalData.xWith30PercentY);
+			summaryStatisticalData.valueAtXWith40PercentY = sketch
+					.getValueAtRank(summaryStatisticalData.xWith40PercentY);
+			summaryStatisticalData.valueAtXWith50PercentY = sketch
+					.getValueAtRank(summaryStatisticalData.xWith50PercentY);
+			summaryStatisticalData.valueAtXWith60PercentY = sketch
+					.getValueAtRank(summaryStatisticalData.xWith60PercentY);
+			summaryStatisticalData.valueAtXWith70PercentY = sketch
+					.getValueAtRank(summaryStatisticalData.xWith70PercentY);
+			summaryStatisticalData.valueAtXWith80PercentY = sketch
+					.getValueAtRank(summaryStatisticalData.xWith80PercentY);
+			summaryStatisticalData.valueAtXWith90PercentY = sketch
+					.getValueAtRank(summaryStatisticalData.xWith90PercentY);
+		}
+
+		/*
+		 * create dataset for histogram from the bucket counts of the sketch
+		 */
+		final SimpleHistogramDataset datasetHistogram = new SimpleHistogramDataset(referenceCurrency.getIso4217Code());
+		datasetHistogram.setAdjustForBinSize(false);
+
+		final double upperBound = summaryStatisticalData.quantil99Percent;
+
+		if (n > 0 && upperBound > 0.0) {
+			final long[] histogram = sketch.getHistogram(0.0, upperBound, NUMBER_OF_BINS);
+			final double binWidth = upperBound / NUMBER_OF_BINS;
+
+			for (int i = 0; i < NUMBER_OF_BINS; i++) {
+				final boolean lastBin = i == NUMBER_OF_BINS - 1;
+				final SimpleHistogramBin bin = new SimpleHistogramBin(i * binWidth,
+						lastBin ? upperBound : (i + 1) * binWidth, true, lastBin);
+				bin.setItemCount((int) histogram[i]);
+				datasetHistogram.addBin(bin);
+			}
+		}
+
+		datasetsHistogram = datasetHistogram;
+
+		sketch.reset();
 	}
 }
@@ -0,0 +1,150 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.accumulator;
+
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+/**
+ * Volume of the market orders of a market aggregated at their price levels.
+ * The price levels are updated incrementally when market orders are saved,
+ * settled partially or deleted, so that the market depth curve can be created
+ * without iterating over all market orders. The cumulated curve is O(number of
+ * price levels) and cached until the next update.
+ */
+public class MarketDepthAccumulator {
+
+	protected static class PriceLevel {
+
+		protected int numberOfMarketOrders = 0;
+
+		protected double volume = 0.0;
+	}
+
+	protected double[][] cachedCurve;
+
+	protected int cachedCurveMaxNumberOfPoints = -1;
+
+	protected final TreeMap<Double, PriceLevel> priceLevels = new TreeMap<Double, PriceLevel>();
+
+	/**
+	 * @param amount amount of a new market order
+	 */
+	public void add(final double pricePerUnit, final double amount) {
+		PriceLevel priceLevel = priceLevels.get(pricePerUnit);
+
+		if (priceLevel == null) {
+			priceLevel = new PriceLevel();
+			priceLevels.put(pricePerUnit, priceLevel);
+		}
+
+		priceLevel.numberOfMarketOrders++;
+		priceLevel.volume += amount;
+		cachedCurve = null;
+	}
+
+	/**
+	 * @param amount amount settled of a market order, which stays in the market
+	 */
+	public void decrement(final double pricePerUnit, final double amount) {
+		final PriceLevel priceLevel = priceLevels.get(pricePerUnit);
+
+		if (priceLevel != null) {
+			priceLevel.volume -= amount;
+			cachedCurve = null;
+		}
+	}
+
+	/**
+	 * @return prices of the price levels in ascending order and the volume
+	 *         available at that price per unit or less
+	 */
+	public double[][] getCurve() {
+		return getCurve(Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Downsamples the market depth curve to at most maxNumberOfPoints points by
+	 * selecting price levels evenly distributed by their rank. As the curve is
+	 * cumulated, each point is exact, and the last point contains the total
+	 * volume of the market. If there are not more price levels than
+	 * maxNumberOfPoints, the curve is not downsampled. The returned arrays must
+	 * not be modified.
+	 */
+	public double[][] getCurve(final int maxNumberOfPoints) {
+		if (maxNumberOfPoints < 1) {
+			throw new IllegalArgumentException("max number of points " + maxNumberOfPoints + " < 1");
+		}
+
+		if (cachedCurve == null || cachedCurveMaxNumberOfPoints != maxNumberOfPoints) {
+			final int numberOfPriceLevels = priceLevels.size();
+			final int numberOfPoints = Math.min(numberOfPriceLevels, maxNumberOfPoints);
+			final double[] prices = new double[numberOfPoints];
+			final double[] volumes = new double[numberOfPoints];
+
+			int priceLevelIndex = 0;
+			int pointIndex = 0;
+			double volume = 0.0;
+
+			for (final Entry<Double, PriceLevel> priceLevel : priceLevels.entrySet()) {
+				volume += priceLevel.getValue().volume;
+
+				// last price level of the rank interval of the current point
+				final long lastPriceLevelIndexOfPoint = (pointIndex + 1L) * numberOfPriceLevels / numberOfPoints - 1;
+
+				if (priceLevelIndex == lastPriceLevelIndexOfPoint) {
+					prices[pointIndex] = priceLevel.getKey();
+					volumes[pointIndex] = volume;
+					pointIndex++;
+				}
+
+				priceLevelIndex++;
+			}
+
+			cachedCurve = new double[][] { prices, volumes };
+			cachedCurveMaxNumberOfPoints = maxNumberOfPoints;
+		}
+
+		return cachedCurve;
+	}
+
+	public int getNumberOfPriceLevels() {
+		return priceLevels.size();
+	}
+
+	/**
+	 * @param amount remaining amount of a deleted market order
+	 */
+	public void remove(final double pricePerUnit, final double amount) {
+		final PriceLevel priceLevel = priceLevels.get(pricePerUnit);
+
+		if (priceLevel != null) {
+			priceLevel.numberOfMarketOrders--;
+			priceLevel.volume -= amount;
+
+			// drop rounding residues of the volume with the last market order
+			if (priceLevel.numberOfMarketOrders <= 0) {
+				priceLevels.remove(pricePerUnit);
+			}
+
+			cachedCurve = null;
+		}
+	}
+}
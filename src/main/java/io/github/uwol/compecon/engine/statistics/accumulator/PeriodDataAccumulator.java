@@ -19,22 +19,31 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.accumulator;
 
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * Sums the amounts of a period. Agents on several threads may add amounts
+ * concurrently without losing updates, as the sum is striped over the cells of
+ * a DoubleAdder under contention. Amounts added by a single thread are summed
+ * in their order, so that single-threaded results are unchanged. The sum is
+ * read and reset at the end of the period, when no amounts are added.
+ */
 public class PeriodDataAccumulator {
 
-	double sumPerPeriod = 0;
+	final DoubleAdder sumPerPeriod = new DoubleAdder();
 
 	public void add(final double amount) {
-		sumPerPeriod += amount;
+		sumPerPeriod.add(amount);
 	}
 
 	public double getAmount() {
-		return sumPerPeriod;
+		return sumPerPeriod.sum();
 	}
 
 	/**
 	 * Reset values to zero
 	 */
 	public void reset() {
-		sumPerPeriod = 0;
+		sumPerPeriod.reset();
 	}
 }
\ No newline at end of file
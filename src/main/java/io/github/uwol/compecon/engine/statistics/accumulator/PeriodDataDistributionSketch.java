@@ -0,0 +1,333 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.accumulator;
+
+/**
+ * Mergeable streaming sketch of the distribution of the values of a period. The
+ * values are counted in logarithmically sized buckets, so that quantiles have a
+ * relative error of at most the relative accuracy. Each bucket keeps the exact
+ * sum of its values, so that partial sums, e. g. of a Lorenz curve, are exact
+ * except within the bucket in which they are cut. Memory is constant and adding
+ * a value is O(1).
+ */
+public class PeriodDataDistributionSketch {
+
+	public static final double MAX_INDEXABLE_VALUE = 1e12;
+
+	/**
+	 * values below this value, including zero and negative values, are counted in
+	 * a single bucket, which is ordered before all other buckets
+	 */
+	public static final double MIN_INDEXABLE_VALUE = 1e-6;
+
+	protected final long[] bucketCounts;
+
+	protected final double[] bucketSums;
+
+	protected long count = 0;
+
+	protected final double gamma;
+
+	protected int highestBucket = -1;
+
+	protected final double inverseLogGamma;
+
+	protected int lowestBucket;
+
+	protected double max = Double.NaN;
+
+	protected double min = Double.NaN;
+
+	protected final int minKey;
+
+	protected final double relativeAccuracy;
+
+	protected double sum = 0.0;
+
+	protected long zeroBucketCount = 0;
+
+	protected double zeroBucketSum = 0.0;
+
+	public PeriodDataDistributionSketch(final double relativeAccuracy) {
+		if (relativeAccuracy <= 0.0 || relativeAccuracy >= 1.0) {
+			throw new IllegalArgumentException("relative accuracy " + relativeAccuracy + " not in (0, 1)");
+		}
+
+		this.relativeAccuracy = relativeAccuracy;
+		gamma = (1.0 + relativeAccuracy) / (1.0 - relativeAccuracy);
+		inverseLogGamma = 1.0 / Math.log(gamma);
+		minKey = (int) Math.ceil(Math.log(MIN_INDEXABLE_VALUE) * inverseLogGamma);
+
+		final int maxKey = (int) Math.ceil(Math.log(MAX_INDEXABLE_VALUE) * inverseLogGamma);
+		bucketCounts = new long[maxKey - minKey + 1];
+		bucketSums = new double[maxKey - minKey + 1];
+		lowestBucket = bucketCounts.length;
+	}
+
+	public void add(final double value) {
+		count++;
+		sum += value;
+
+		if (count == 1) {
+			min = value;
+			max = value;
+		} else if (value < min) {
+			min = value;
+		} else if (value > max) {
+			max = value;
+		}
+
+		if (value < MIN_INDEXABLE_VALUE) {
+			zeroBucketCount++;
+			zeroBucketSum += value;
+		} else {
+			final int bucket = bucket(value);
+			bucketCounts[bucket]++;
+			bucketSums[bucket] += value;
+
+			if (bucket < lowestBucket) {
+				lowestBucket = bucket;
+			}
+			if (bucket > highestBucket) {
+				highestBucket = bucket;
+			}
+		}
+	}
+
+	/**
+	 * the bucket with key k contains the values in (gamma^(k-1), gamma^k]
+	 */
+	protected int bucket(final double value) {
+		final int bucket = (int) Math.ceil(Math.log(value) * inverseLogGamma) - minKey;
+		return Math.min(Math.max(bucket, 0), bucketCounts.length - 1);
+	}
+
+	/**
+	 * value with a relative error of at most the relative accuracy to all values
+	 * of the bucket
+	 */
+	protected double bucketValue(final int bucket) {
+		final double value = 2.0 * Math.pow(gamma, bucket + minKey) / (gamma + 1.0);
+		return Math.min(Math.max(value, min), max);
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return the number of values in each of numberOfBins bins of equal width
+	 *         between lowerBound and upperBound; values outside are counted in the
+	 *         first or last bin, as in a JFreeChart histogram dataset.
+	 */
+	public long[] getHistogram(final double lowerBound, final double upperBound, final int numberOfBins) {
+		final long[] histogram = new long[numberOfBins];
+
+		if (zeroBucketCount > 0) {
+			histogram[histogramBin(zeroBucketSum / zeroBucketCount, lowerBound, upperBound,
+					numberOfBins)] += zeroBucketCount;
+		}
+
+		for (int i = lowestBucket; i <= highestBucket; i++) {
+			if (bucketCounts[i] > 0) {
+				histogram[histogramBin(bucketValue(i), lowerBound, upperBound, numberOfBins)] += bucketCounts[i];
+			}
+		}
+
+		return histogram;
+	}
+
+	public double getMax() {
+		return max;
+	}
+
+	public double getMin() {
+		return min;
+	}
+
+	/**
+	 * @return the smallest rank, at which the sum of the values up to and
+	 *         including this rank exceeds the given sum; 0 if the sum of all values
+	 *         does not exceed it.
+	 */
+	public long getRankWithSumExceeding(final double exceededSum) {
+		if (zeroBucketCount > 0) {
+			if (zeroBucketSum > exceededSum) {
+				return rankInBucket(0, zeroBucketCount, 0.0, zeroBucketSum, exceededSum);
+			}
+		}
+
+		long countBelow = zeroBucketCount;
+		double sumBelow = zeroBucketSum;
+
+		for (int i = lowestBucket; i <= highestBucket; i++) {
+			if (bucketCounts[i] > 0) {
+				if (sumBelow + bucketSums[i] > exceededSum) {
+					return rankInBucket(countBelow, bucketCounts[i], sumBelow, bucketSums[i], exceededSum);
+				}
+				countBelow += bucketCounts[i];
+				sumBelow += bucketSums[i];
+			}
+		}
+
+		return 0;
+	}
+
+	public double getRelativeAccuracy() {
+		return relativeAccuracy;
+	}
+
+	public double getSum() {
+		return sum;
+	}
+
+	/**
+	 * @return the sum of the given number of lowest values.
+	 */
+	public double getSumOfLowestValues(final long numberOfValues) {
+		if (numberOfValues <= 0) {
+			return 0.0;
+		} else if (numberOfValues <= zeroBucketCount) {
+			return numberOfValues * (zeroBucketSum / zeroBucketCount);
+		}
+
+		long countBelow = zeroBucketCount;
+		double sumBelow = zeroBucketSum;
+
+		for (int i = lowestBucket; i <= highestBucket; i++) {
+			if (bucketCounts[i] > 0) {
+				if (countBelow + bucketCounts[i] >= numberOfValues) {
+					return sumBelow + (numberOfValues - countBelow) * (bucketSums[i] / bucketCounts[i]);
+				}
+				countBelow += bucketCounts[i];
+				sumBelow += bucketSums[i];
+			}
+		}
+
+		return sumBelow;
+	}
+
+	/**
+	 * @return the value at the given rank of the sorted values, starting with
+	 *         rank 0 for the lowest value.
+	 */
+	public double getValueAtRank(final long rank) {
+		if (count == 0) {
+			return Double.NaN;
+		}
+
+		if (rank < zeroBucketCount) {
+			return zeroBucketSum / zeroBucketCount;
+		}
+
+		long countBelow = zeroBucketCount;
+
+		for (int i = lowestBucket; i <= highestBucket; i++) {
+			countBelow += bucketCounts[i];
+			if (countBelow > rank) {
+				return bucketValue(i);
+			}
+		}
+
+		return max;
+	}
+
+	protected int histogramBin(final double value, final double lowerBound, final double upperBound,
+			final int numberOfBins) {
+		if (value >= upperBound) {
+			return numberOfBins - 1;
+		}
+
+		final double fraction = Math.max(0.0, (value - lowerBound) / (upperBound - lowerBound));
+		return Math.min((int) (fraction * numberOfBins), numberOfBins - 1);
+	}
+
+	public boolean isEmpty() {
+		return count == 0;
+	}
+
+	/**
+	 * Adds the values of the given sketch to this sketch.
+	 */
+	public void merge(final PeriodDataDistributionSketch other) {
+		if (other.relativeAccuracy != relativeAccuracy) {
+			throw new IllegalArgumentException("relative accuracy " + other.relativeAccuracy + " differs from "
+					+ relativeAccuracy);
+		}
+
+		if (other.count == 0) {
+			return;
+		}
+
+		if (count == 0 || other.min < min) {
+			min = other.min;
+		}
+		if (count == 0 || other.max > max) {
+			max = other.max;
+		}
+
+		count += other.count;
+		sum += other.sum;
+		zeroBucketCount += other.zeroBucketCount;
+		zeroBucketSum += other.zeroBucketSum;
+
+		for (int i = other.lowestBucket; i <= other.highestBucket; i++) {
+			bucketCounts[i] += other.bucketCounts[i];
+			bucketSums[i] += other.bucketSums[i];
+		}
+
+		lowestBucket = Math.min(lowestBucket, other.lowestBucket);
+		highestBucket = Math.max(highestBucket, other.highestBucket);
+	}
+
+	/**
+	 * interpolates the rank within a bucket by the mean of its values
+	 */
+	protected long rankInBucket(final long countBelow, final long bucketCount, final double sumBelow,
+			final double bucketSum, final double exceededSum) {
+		final double mean = bucketSum / bucketCount;
+
+		if (mean <= 0.0) {
+			return countBelow;
+		}
+
+		final long numberOfValuesNotExceeding = (long) ((exceededSum - sumBelow) / mean);
+		return countBelow + Math.min(Math.max(numberOfValuesNotExceeding, 0), bucketCount - 1);
+	}
+
+	/**
+	 * Reset values to zero
+	 */
+	public void reset() {
+		for (int i = lowestBucket; i <= highestBucket; i++) {
+			bucketCounts[i] = 0;
+			bucketSums[i] = 0.0;
+		}
+
+		count = 0;
+		highestBucket = -1;
+		lowestBucket = bucketCounts.length;
+		max = Double.NaN;
+		min = Double.NaN;
+		sum = 0.0;
+		zeroBucketCount = 0;
+		zeroBucketSum = 0.0;
+	}
+}
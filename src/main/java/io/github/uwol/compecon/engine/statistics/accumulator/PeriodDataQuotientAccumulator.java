@@ -19,6 +19,11 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.accumulator;
 
+/**
+ * Sums dividends and divisors of a period concurrently, as two period data
+ * accumulators. The quotient is consistent at the end of the period, when no
+ * amounts are added.
+ */
 public class PeriodDataQuotientAccumulator {
 
 	final PeriodDataAccumulator dividend = new PeriodDataAccumulator();
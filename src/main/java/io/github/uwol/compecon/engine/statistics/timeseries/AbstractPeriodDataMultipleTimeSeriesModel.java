@@ -20,7 +20,9 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 
 import org.jfree.data.time.TimeSeries;
 
@@ -28,23 +30,58 @@ public abstract class AbstractPeriodDataMultipleTimeSeriesModel<I> extends Abstr
 
 	protected final I[] indexTypes;
 
+	protected final Map<I, PeriodDataRingBuffer> ringBuffers = new HashMap<I, PeriodDataRingBuffer>();
+
 	protected final Map<I, TimeSeries> timeSeries = new HashMap<I, TimeSeries>();
 
+	protected final String title;
+
 	protected String titleSuffix;
 
 	public AbstractPeriodDataMultipleTimeSeriesModel(final I[] initialIndexTypes, final String title) {
 		this.indexTypes = initialIndexTypes;
+		this.title = title;
 
 		for (final I indexType : this.indexTypes) {
-			this.timeSeries.put(indexType, createTimeSeries(indexType + " " + title));
+			this.ringBuffers.put(indexType, createRingBuffer());
 		}
 	}
 
+	protected synchronized void addOrUpdate(final I indexType, final double value) {
+		this.ringBuffers.get(indexType).addOrUpdate(getCurrentDayIndex(), value);
+	}
+
 	public I[] getIndexTypes() {
 		return this.indexTypes;
 	}
 
-	public TimeSeries getTimeSeries(final I indexType) {
-		return this.timeSeries.get(indexType);
+	public PeriodDataRingBuffer getRingBuffer(final I indexType) {
+		return this.ringBuffers.get(indexType);
+	}
+
+	/**
+	 * @return chart adapter of the ring buffer of the index type, which is
+	 *         created on first access
+	 */
+	public synchronized TimeSeries getTimeSeries(final I indexType) {
+		TimeSeries timeSeries = this.timeSeries.get(indexType);
+
+		if (timeSeries == null && this.ringBuffers.containsKey(indexType)) {
+			if (this.timeSeries.isEmpty()) {
+				registerChartedModel();
+			}
+
+			timeSeries = createTimeSeries(indexType + " " + title, this.ringBuffers.get(indexType));
+			this.timeSeries.put(indexType, timeSeries);
+		}
+		return timeSeries;
+	}
+
+	@Override
+	public synchronized void snapshotTimeSeries(final List<TimeSeriesSnapshot> timeSeriesSnapshots) {
+		for (final Entry<I, TimeSeries> entry : this.timeSeries.entrySet()) {
+			timeSeriesSnapshots.add(
+					new TimeSeriesSnapshot(this, entry.getValue(), this.ringBuffers.get(entry.getKey()).copy()));
+		}
 	}
 }
@@ -19,19 +19,48 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
+import java.util.List;
+
 import org.jfree.data.time.TimeSeries;
 
 public abstract class AbstractPeriodDataSingleTimeSeriesModel extends AbstractPeriodDataTimeSeriesModel {
 
-	protected final TimeSeries timeSeries;
+	protected final PeriodDataRingBuffer ringBuffer;
+
+	protected TimeSeries timeSeries;
+
+	protected final String title;
 
 	protected String titleSuffix;
 
 	public AbstractPeriodDataSingleTimeSeriesModel(final String title) {
-		timeSeries = createTimeSeries(title);
+		this.title = title;
+		ringBuffer = createRingBuffer();
+	}
+
+	protected synchronized void addOrUpdate(final double value) {
+		ringBuffer.addOrUpdate(getCurrentDayIndex(), value);
 	}
 
-	public TimeSeries getTimeSeries() {
+	public PeriodDataRingBuffer getRingBuffer() {
+		return ringBuffer;
+	}
+
+	/**
+	 * @return chart adapter of the ring buffer, which is created on first access
+	 */
+	public synchronized TimeSeries getTimeSeries() {
+		if (timeSeries == null) {
+			timeSeries = createTimeSeries(title, ringBuffer);
+			registerChartedModel();
+		}
 		return timeSeries;
 	}
+
+	@Override
+	public synchronized void snapshotTimeSeries(final List<TimeSeriesSnapshot> timeSeriesSnapshots) {
+		if (timeSeries != null) {
+			timeSeriesSnapshots.add(new TimeSeriesSnapshot(this, timeSeries, ringBuffer.copy()));
+		}
+	}
 }
@@ -19,21 +19,109 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
+import java.util.GregorianCalendar;
+import java.util.List;
+
 import org.jfree.data.time.Day;
 import org.jfree.data.time.TimeSeries;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel;
+import io.github.uwol.compecon.engine.timesystem.impl.DayType;
+import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 
-public abstract class AbstractPeriodDataTimeSeriesModel {
+/**
+ * Period data is stored in ring buffers keyed by the day index of the time
+ * system. JFreeChart time series are adapters of the ring buffers, which are
+ * created only on demand, e.g. by the dashboard, so that headless runs do not
+ * allocate chart items per period. Adapters are not updated by the simulation
+ * thread, but from snapshots of the ring buffers on the rendering thread.
+ */
+public abstract class AbstractPeriodDataTimeSeriesModel extends NotificationListenerModel {
 
 	protected final int NUMBER_OF_DAYS = 180;
 
-	protected TimeSeries createTimeSeries(final String title) {
+	/**
+	 * the ring buffer holds NUMBER_OF_DAYS + 1 days, as the time series keeps
+	 * items up to a maximum age of NUMBER_OF_DAYS
+	 */
+	protected PeriodDataRingBuffer createRingBuffer() {
+		final PeriodDataRingBuffer ringBuffer = new PeriodDataRingBuffer(NUMBER_OF_DAYS + 1);
+		ringBuffer.addOrUpdate(getCurrentDayIndex(), 0);
+		return ringBuffer;
+	}
+
+	protected TimeSeries createTimeSeries(final String title, final PeriodDataRingBuffer ringBuffer) {
 		final TimeSeries timeSeries = new TimeSeries(title);
 		timeSeries.setMaximumItemAge(NUMBER_OF_DAYS);
-		timeSeries.add(new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()), 0);
+
+		for (int dayIndex = ringBuffer.getFirstDayIndex(); dayIndex <= ringBuffer.getLastDayIndex(); dayIndex++) {
+			final double value = ringBuffer.getValue(dayIndex);
+
+			if (!Double.isNaN(value)) {
+				timeSeries.add(getDay(dayIndex), value, false);
+			}
+		}
+
 		return timeSeries;
 	}
 
+	protected int getCurrentDayIndex() {
+		return ApplicationContext.getInstance().getTimeSystem().getCurrentDayIndex();
+	}
+
+	protected Day getDay(final int dayIndex) {
+		final GregorianCalendar calendar = new GregorianCalendar(
+				ApplicationContext.getInstance().getTimeSystem().getStartYear(), MonthType.JANUARY.getMonthNumber(),
+				DayType.DAY_01.getDayNumber());
+		calendar.add(GregorianCalendar.DAY_OF_YEAR, dayIndex);
+		return new Day(calendar.getTime());
+	}
+
 	public abstract void nextPeriod();
+
+	/**
+	 * registers the model for snapshots, when its first chart adapter is created
+	 */
+	protected void registerChartedModel() {
+		ApplicationContext.getInstance().getModelRegistry().getModelSnapshotModel().registerTimeSeriesModel(this);
+	}
+
+	/**
+	 * Adds copies of the ring buffers behind the chart adapters of this model.
+	 */
+	public abstract void snapshotTimeSeries(final List<TimeSeriesSnapshot> timeSeriesSnapshots);
+
+	/**
+	 * Updates the chart adapter with the days of the ring buffer, starting with
+	 * the last day of the adapter, so that the adapter catches up with periods
+	 * that have not been applied. Listeners of the adapter are notified once.
+	 */
+	protected void updateTimeSeries(final TimeSeries timeSeries, final PeriodDataRingBuffer ringBuffer) {
+		if (ringBuffer.isEmpty()) {
+			return;
+		}
+
+		int fromDayIndex = ringBuffer.getFirstDayIndex();
+
+		if (timeSeries.getItemCount() > 0) {
+			final Day lastDayOfTimeSeries = (Day) timeSeries.getTimePeriod(timeSeries.getItemCount() - 1);
+			final Day lastDayOfRingBuffer = getDay(ringBuffer.getLastDayIndex());
+			final int lastDayIndexOfTimeSeries = ringBuffer.getLastDayIndex()
+					- (int) (lastDayOfRingBuffer.getSerialIndex() - lastDayOfTimeSeries.getSerialIndex());
+			fromDayIndex = Math.max(fromDayIndex, lastDayIndexOfTimeSeries);
+		}
+
+		timeSeries.setNotify(false);
+
+		for (int dayIndex = fromDayIndex; dayIndex <= ringBuffer.getLastDayIndex(); dayIndex++) {
+			final double value = ringBuffer.getValue(dayIndex);
+
+			if (!Double.isNaN(value)) {
+				timeSeries.addOrUpdate(getDay(dayIndex), value);
+			}
+		}
+
+		timeSeries.setNotify(true);
+	}
 }
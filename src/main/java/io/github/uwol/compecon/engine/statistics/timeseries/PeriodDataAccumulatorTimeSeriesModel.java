@@ -19,9 +19,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.statistics.timeseries;
 
-import org.jfree.data.time.Day;
-
-import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
 public class PeriodDataAccumulatorTimeSeriesModel extends AbstractPeriodDataSingleTimeSeriesModel {
@@ -42,8 +39,8 @@ public class PeriodDataAccumulatorTimeSeriesModel extends AbstractPeriodDataSing
 
 	@Override
 	public void nextPeriod() {
-		timeSeries.addOrUpdate(new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()),
-				periodDataAccumulator.getAmount());
+		addOrUpdate(periodDataAccumulator.getAmount());
+		notifyListeners();
 		periodDataAccumulator.reset();
 	}
 }
@@ -23,9 +23,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 
-import org.jfree.data.time.Day;
-
-import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
 
 public class PeriodDataPercentageTimeSeriesModel<I> extends AbstractPeriodDataMultipleTimeSeriesModel<I> {
@@ -57,10 +54,10 @@ public class PeriodDataPercentageTimeSeriesModel<I> extends AbstractPeriodDataMu
 
 		for (final Entry<I, PeriodDataAccumulator> entry : this.periodDataAccumulator.entrySet()) {
 			// write into time series
-			timeSeries.get(entry.getKey()).addOrUpdate(
-					new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()),
-					entry.getValue().getAmount() / sum);
+			addOrUpdate(entry.getKey(), entry.getValue().getAmount() / sum);
 			entry.getValue();
 		}
+
+		notifyListeners();
 	}
 }
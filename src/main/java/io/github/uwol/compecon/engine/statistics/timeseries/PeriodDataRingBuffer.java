@@ -0,0 +1,132 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.timeseries;
+
+/**
+ * Fixed-capacity store of period values keyed by the day index of the time
+ * system. Values of the most recent days are held in a primitive array, which
+ * is used as a ring buffer, so that adding a value does not allocate. Days
+ * without a value are Double.NaN.
+ */
+public class PeriodDataRingBuffer {
+
+	protected final int capacity;
+
+	protected int firstDayIndex;
+
+	protected int lastDayIndex;
+
+	protected int size = 0;
+
+	protected final double[] values;
+
+	public PeriodDataRingBuffer(final int capacity) {
+		assert (capacity > 0);
+
+		this.capacity = capacity;
+		values = new double[capacity];
+	}
+
+	/**
+	 * Sets the value of the given day. Days between the last day and the given
+	 * day are set to Double.NaN, and the oldest days are dropped, if the capacity
+	 * is exceeded.
+	 *
+	 * @throws IllegalArgumentException if the day has already been dropped.
+	 */
+	public void addOrUpdate(final int dayIndex, final double value) {
+		if (size == 0) {
+			firstDayIndex = dayIndex;
+			lastDayIndex = dayIndex;
+			size = 1;
+		} else if (dayIndex > lastDayIndex) {
+			// clear the slots of skipped days, which still hold dropped values
+			final int numberOfSkippedDays = Math.min(dayIndex - lastDayIndex - 1, capacity - 1);
+			for (int i = 1; i <= numberOfSkippedDays; i++) {
+				values[slot(dayIndex - i)] = Double.NaN;
+			}
+
+			lastDayIndex = dayIndex;
+			firstDayIndex = Math.max(firstDayIndex, dayIndex - capacity + 1);
+			size = lastDayIndex - firstDayIndex + 1;
+		} else if (dayIndex < firstDayIndex) {
+			throw new IllegalArgumentException("day " + dayIndex + " is not held anymore");
+		}
+
+		values[slot(dayIndex)] = value;
+	}
+
+	/**
+	 * @return independent copy, e.g. for handing the values over to another
+	 *         thread
+	 */
+	public PeriodDataRingBuffer copy() {
+		final PeriodDataRingBuffer copy = new PeriodDataRingBuffer(capacity);
+		System.arraycopy(values, 0, copy.values, 0, capacity);
+		copy.firstDayIndex = firstDayIndex;
+		copy.lastDayIndex = lastDayIndex;
+		copy.size = size;
+		return copy;
+	}
+
+	public int getFirstDayIndex() {
+		return firstDayIndex;
+	}
+
+	public int getLastDayIndex() {
+		return lastDayIndex;
+	}
+
+	/**
+	 * @return value of the most recent day; Double.NaN, if empty
+	 */
+	public double getLastValue() {
+		if (size == 0) {
+			return Double.NaN;
+		}
+		return values[slot(lastDayIndex)];
+	}
+
+	/**
+	 * @return value of the given day; Double.NaN, if the day is not held
+	 */
+	public double getValue(final int dayIndex) {
+		if (size == 0 || dayIndex < firstDayIndex || dayIndex > lastDayIndex) {
+			return Double.NaN;
+		}
+		return values[slot(dayIndex)];
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	/**
+	 * @return number of days held, including days without a value
+	 */
+	public int size() {
+		return size;
+	}
+
+	protected int slot(final int dayIndex) {
+		final int slot = dayIndex % capacity;
+		return slot < 0 ? slot + capacity : slot;
+	}
+}
@@ -0,0 +1,59 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics.timeseries;
+
+import org.jfree.data.time.TimeSeries;
+
+/**
+ * Copy of the ring buffer behind a chart adapter at the end of a period. The
+ * copy is taken on the simulation thread and applied to the adapter on the
+ * rendering thread, so that the adapter is never updated concurrently.
+ */
+public class TimeSeriesSnapshot {
+
+	protected final AbstractPeriodDataTimeSeriesModel model;
+
+	protected final PeriodDataRingBuffer ringBuffer;
+
+	protected final TimeSeries timeSeries;
+
+	public TimeSeriesSnapshot(final AbstractPeriodDataTimeSeriesModel model, final TimeSeries timeSeries,
+			final PeriodDataRingBuffer ringBuffer) {
+		this.model = model;
+		this.timeSeries = timeSeries;
+		this.ringBuffer = ringBuffer;
+	}
+
+	/**
+	 * Updates the chart adapter with the copied days; has to be called on the
+	 * rendering thread.
+	 */
+	public void apply() {
+		model.updateTimeSeries(timeSeries, ringBuffer);
+	}
+
+	public PeriodDataRingBuffer getRingBuffer() {
+		return ringBuffer;
+	}
+
+	public TimeSeries getTimeSeries() {
+		return timeSeries;
+	}
+}
@@ -46,6 +46,12 @@ public interface TimeSystem {
 
 	public Date getCurrentDate();
 
+	/**
+	 * @return number of days since the start of the time system, which is
+	 *         incremented as soon as the current date passes midnight
+	 */
+	public int getCurrentDayIndex();
+
 	public int getCurrentDayNumberInMonth();
 
 	public DayType getCurrentDayType();
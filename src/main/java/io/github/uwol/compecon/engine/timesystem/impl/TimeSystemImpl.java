@@ -31,6 +31,7 @@ import java.util.Random;
 import java.util.Set;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.PerformanceModel;
 import io.github.uwol.compecon.engine.timesystem.TimeSystem;
 import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
@@ -49,6 +50,8 @@ public class TimeSystemImpl implements TimeSystem {
 
 	private GregorianCalendar gregorianCalendar = new GregorianCalendar();
 
+	private final int initializationPhaseInDays;
+
 	private final int startYear;
 
 	private final Map<Integer, YearImpl> years = new HashMap<Integer, YearImpl>();
@@ -57,6 +60,8 @@ public class TimeSystemImpl implements TimeSystem {
 		gregorianCalendar = new GregorianCalendar(year, MonthType.JANUARY.getMonthNumber(),
 				DayType.DAY_01.getDayNumber());
 		startYear = year;
+		initializationPhaseInDays = ApplicationContext.getInstance()
+				.getConfigurationSnapshot().timeSystemConfig.initializationPhaseInDays;
 	}
 
 	/**
@@ -121,6 +126,11 @@ public class TimeSystemImpl implements TimeSystem {
 		return gregorianCalendar.getTime();
 	}
 
+	@Override
+	public int getCurrentDayIndex() {
+		return dayNumber;
+	}
+
 	@Override
 	public int getCurrentDayNumberInMonth() {
 		return gregorianCalendar.get(GregorianCalendar.DAY_OF_MONTH);
@@ -162,8 +172,7 @@ public class TimeSystemImpl implements TimeSystem {
 
 	@Override
 	public boolean isInitializationPhase() {
-		return dayNumber < ApplicationContext.getInstance().getConfiguration().timeSystemConfig
-				.getInitializationPhaseInDays();
+		return dayNumber < initializationPhaseInDays;
 	}
 
 	@Override
@@ -172,8 +181,8 @@ public class TimeSystemImpl implements TimeSystem {
 		ApplicationContext.getInstance().getLog().notifyTimeSystem_nextHour(getCurrentDate());
 
 		if (HourType.getHourType(gregorianCalendar.get(GregorianCalendar.HOUR_OF_DAY)) == HourType.HOUR_00) {
-			ApplicationContext.getInstance().getLog().notifyTimeSystem_nextDay(getCurrentDate());
 			dayNumber++;
+			ApplicationContext.getInstance().getLog().notifyTimeSystem_nextDay(getCurrentDate());
 		}
 
 		triggerEvents();
@@ -244,7 +253,12 @@ public class TimeSystemImpl implements TimeSystem {
 		final Random random = ApplicationContext.getInstance().getRandomNumberGenerator().getRandom();
 		Collections.shuffle(events, random);
 
+		final PerformanceModel performanceModel = ApplicationContext.getInstance().getModelRegistry()
+				.getPerformanceModel();
+
 		for (final TimeSystemEvent event : events) {
+			performanceModel.timeSystem_onEvent(event);
+
 			try {
 				/*
 				 * it may happen, that an event deconstructs an agent, and that agent has
@@ -272,6 +286,16 @@ public class TimeSystemImpl implements TimeSystem {
 		}
 
 		// flush state to database
-		HibernateUtil.flushSession();
+		if (HibernateUtil.isActive() && !HibernateUtil.isBulkOperation()) {
+			final long flushStart = System.nanoTime();
+			HibernateUtil.flushSession();
+			performanceModel.hibernate_onFlush(System.nanoTime() - flushStart);
+		}
+
+		// hand over the state at the end of the day to the write-behind persister
+		if (HourType.HOUR_00.equals(currentHourType)
+				&& ApplicationContext.getInstance().getWriteBehindPersister() != null) {
+			ApplicationContext.getInstance().getWriteBehindPersister().nextDay();
+		}
 	}
 }
\ No newline at end of file
@@ -28,10 +28,23 @@ public class HibernateUtil {
 
 	private static Boolean isActive;
 
+	private static boolean isBulkOperation = false;
+
 	private static Session session;
 
 	private static final SessionFactory sessionFactory = buildSessionFactory();
 
+	/**
+	 * Starts a bulk operation, during which entities get their ids from the
+	 * sequence number generator and are not flushed, so that they can be saved in
+	 * JDBC batches afterwards.
+	 */
+	public static void beginBulkOperation() {
+		if (HibernateUtil.isActive()) {
+			isBulkOperation = true;
+		}
+	}
+
 	public static Session beginTransaction() {
 		if (HibernateUtil.isActive()) {
 			final Session hibernateSession = HibernateUtil.getCurrentSession();
@@ -81,6 +94,10 @@ public class HibernateUtil {
 		}
 	}
 
+	public static void endBulkOperation() {
+		isBulkOperation = false;
+	}
+
 	public static void flushCurrentSession() {
 		if (HibernateUtil.isActive()) {
 			HibernateUtil.getCurrentSession().flush();
@@ -88,7 +105,7 @@ public class HibernateUtil {
 	}
 
 	public static void flushSession() {
-		if (HibernateUtil.isActive()) {
+		if (HibernateUtil.isActive() && !isBulkOperation) {
 			session.flush();
 		}
 	}
@@ -125,6 +142,18 @@ public class HibernateUtil {
 		return isActive;
 	}
 
+	/**
+	 * Hibernate assigns the ids of saved entities, except for entities
+	 * constructed during bulk operations.
+	 */
+	public static boolean isAssigningIds() {
+		return HibernateUtil.isActive() && !isBulkOperation;
+	}
+
+	public static boolean isBulkOperation() {
+		return isBulkOperation;
+	}
+
 	/*
 	 * Non-transactional session
 	 */
@@ -0,0 +1,48 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.util;
+
+import java.io.File;
+
+public class SnapshotUtil {
+
+	private static Boolean isActive;
+
+	public static File getDirectory() {
+		return new File(System.getProperty("snapshotDirectory", "snapshots"));
+	}
+
+	/**
+	 * The snapshot export is an alternative to the Hibernate DAOs, so that
+	 * dbActive takes precedence.
+	 */
+	public static boolean isActive() {
+		if (isActive == null) {
+			final String snapshotActive = System.getProperty("snapshotActive");
+			if (snapshotActive != null) {
+				isActive = Boolean.parseBoolean(snapshotActive) && !HibernateUtil.isActive();
+			} else {
+				isActive = false;
+			}
+		}
+
+		return isActive;
+	}
+}
@@ -0,0 +1,83 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.util;
+
+import io.github.uwol.compecon.engine.dao.GenericDAO;
+
+public class WriteBehindUtil {
+
+	private static Boolean isActive;
+
+	private static volatile boolean isTrackingChanges = false;
+
+	public static String getPassword() {
+		return System.getProperty("dbWriteBehindPassword", "");
+	}
+
+	public static String getUrl() {
+		return System.getProperty("dbWriteBehindUrl", "jdbc:hsqldb:mem:compecon");
+	}
+
+	public static String getUsername() {
+		return System.getProperty("dbWriteBehindUsername", "sa");
+	}
+
+	/**
+	 * Write-behind persistence is an alternative to the Hibernate DAOs, so that
+	 * dbActive takes precedence.
+	 */
+	public static boolean isActive() {
+		if (isActive == null) {
+			final String dbWriteBehind = System.getProperty("dbWriteBehind");
+			if (dbWriteBehind != null) {
+				isActive = Boolean.parseBoolean(dbWriteBehind) && !HibernateUtil.isActive();
+			} else {
+				isActive = false;
+			}
+		}
+
+		return isActive;
+	}
+
+	/**
+	 * @return true, if a write-behind persister is registered in the application
+	 *         context, so that entities changed in place have to be merged.
+	 *         Entities check this before looking up their DAO, as money
+	 *         movements are frequent.
+	 */
+	public static boolean isTrackingChanges() {
+		return isTrackingChanges;
+	}
+
+	/**
+	 * Merges an entity changed in place, so that the write-behind persister
+	 * writes it at the end of the day. Without write-behind persistence no merge
+	 * is necessary, as Hibernate tracks the changes of its entities itself.
+	 */
+	public static <T> void merge(final GenericDAO<T> dao, final T entity) {
+		if (isTrackingChanges) {
+			dao.merge(entity);
+		}
+	}
+
+	public static void setTrackingChanges(final boolean trackingChanges) {
+		isTrackingChanges = trackingChanges;
+	}
+}
@@ -32,6 +32,13 @@ import javax.management.MalformedObjectNameException;
 import javax.management.NotCompliantMBeanException;
 import javax.management.ObjectName;
 
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.statistics.PerformanceModel;
+import io.github.uwol.compecon.engine.util.HibernateUtil;
+
 public class JMXRegistration {
 
 	private static Map<ObjectName, Object> mBeans = new HashMap<ObjectName, Object>();
@@ -39,7 +46,15 @@ public class JMXRegistration {
 	private static MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
 
 	public static void close() {
+		final PerformanceModel performanceModel = ApplicationContext.getInstance().getModelRegistry()
+				.getPerformanceModel();
+		performanceModel.detach();
+
 		for (final Entry<ObjectName, Object> entry : mBeans.entrySet()) {
+			if (entry.getValue() instanceof ModelListener) {
+				performanceModel.unregisterListener((ModelListener) entry.getValue());
+			}
+
 			try {
 				mBeanServer.unregisterMBean(entry.getKey());
 			} catch (MBeanRegistrationException | InstanceNotFoundException e) {
@@ -55,9 +70,56 @@ public class JMXRegistration {
 			mBeans.put(new ObjectName("compecon.jmx:type=NumberOfAgentsModel"), new JmxNumberOfAgentsModel());
 			mBeans.put(new ObjectName("compecon.jmx:type=TimeSystemModel"), new JmxTimeSystemModel());
 
+			/*
+			 * performance of the simulation
+			 */
+			final PerformanceModel performanceModel = ApplicationContext.getInstance().getModelRegistry()
+					.getPerformanceModel();
+			final JmxThroughputModel throughputModel = new JmxThroughputModel(ApplicationContext.getInstance()
+					.getConfiguration().jmxConfig.getThroughputFloorInDaysPerSecond());
+			performanceModel.registerListener(throughputModel);
+
+			mBeans.put(new ObjectName("compecon.jmx:type=ThroughputModel"), throughputModel);
+			mBeans.put(new ObjectName("compecon.jmx:type=MemoryModel"), new JmxMemoryModel());
+			mBeans.put(new ObjectName("compecon.jmx:type=AgentConstructionModel"), new JmxAgentConstructionModel());
+			mBeans.put(new ObjectName("compecon.jmx:type=TimeSystemEventsModel"), new JmxTimeSystemEventsModel());
+
+			for (final Currency currency : Currency.values()) {
+				for (final GoodType goodType : GoodType.values()) {
+					mBeans.put(
+							new ObjectName("compecon.jmx:type=MarketModel,currency=" + currency.getIso4217Code()
+									+ ",market=" + goodType),
+							new JmxMarketModel(performanceModel.getGoodTypeMarketModel(currency, goodType)));
+				}
+
+				for (final Currency commodityCurrency : Currency.values()) {
+					if (!currency.equals(commodityCurrency)) {
+						mBeans.put(
+								new ObjectName("compecon.jmx:type=MarketModel,currency=" + currency.getIso4217Code()
+										+ ",market=" + commodityCurrency.getIso4217Code()),
+								new JmxMarketModel(
+										performanceModel.getCurrencyMarketModel(currency, commodityCurrency)));
+					}
+				}
+			}
+
+			if (ApplicationContext.getInstance().getProfitMaximizationCache() != null) {
+				mBeans.put(new ObjectName("compecon.jmx:type=ProfitMaximizationCacheModel"),
+						new JmxProfitMaximizationCacheModel(
+								ApplicationContext.getInstance().getProfitMaximizationCache()));
+			}
+
+			if (HibernateUtil.isActive()) {
+				mBeans.put(new ObjectName("compecon.jmx:type=HibernateQueryCacheModel"),
+						new JmxHibernateQueryCacheModel());
+				mBeans.put(new ObjectName("compecon.jmx:type=HibernateFlushModel"), new JmxHibernateFlushModel());
+			}
+
 			for (final Entry<ObjectName, Object> entry : mBeans.entrySet()) {
 				mBeanServer.registerMBean(entry.getValue(), entry.getKey());
 			}
+
+			performanceModel.attach();
 		} catch (MalformedObjectNameException | InstanceAlreadyExistsException | MBeanRegistrationException
 				| NotCompliantMBeanException e) {
 			e.printStackTrace();
@@ -0,0 +1,55 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.jmx;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.GenericDAO;
+import io.github.uwol.compecon.engine.dao.hibernate.impl.HibernateDAOImpl;
+
+public class JmxHibernateQueryCacheModel implements JmxHibernateQueryCacheModelMBean {
+
+	@Override
+	public double getBankAccountQueryCacheHitRate() {
+		return getHitRate(ApplicationContext.getInstance().getBankAccountDAO());
+	}
+
+	@Override
+	public double getGoodTypeOwnershipQueryCacheHitRate() {
+		return getHitRate(ApplicationContext.getInstance().getGoodTypeOwnershipDAO());
+	}
+
+	protected double getHitRate(final GenericDAO<?> dao) {
+		if (dao instanceof HibernateDAOImpl) {
+			return ((HibernateDAOImpl<?>) dao).getQueryCache().getHitRate();
+		}
+
+		return Double.NaN;
+	}
+
+	@Override
+	public double getMarketOrderQueryCacheHitRate() {
+		return getHitRate(ApplicationContext.getInstance().getMarketOrderDAO());
+	}
+
+	@Override
+	public double getPropertyQueryCacheHitRate() {
+		return getHitRate(ApplicationContext.getInstance().getPropertyDAO());
+	}
+}
@@ -0,0 +1,55 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.jmx;
+
+import io.github.uwol.compecon.engine.statistics.PerformanceModel.MarketModel;
+
+/**
+ * Publishes the order book and the fills of a single market, which are sampled
+ * at the end of each period.
+ */
+public class JmxMarketModel implements JmxMarketModelMBean {
+
+	protected final MarketModel marketModel;
+
+	public JmxMarketModel(final MarketModel marketModel) {
+		this.marketModel = marketModel;
+	}
+
+	@Override
+	public double getFilledAmountPerPeriod() {
+		return marketModel.getFilledAmountPerPeriod();
+	}
+
+	@Override
+	public long getFillsPerPeriod() {
+		return marketModel.getFillsPerPeriod();
+	}
+
+	@Override
+	public int getOrderBookSize() {
+		return marketModel.getOrderBookSize();
+	}
+
+	@Override
+	public double getOrderBookVolume() {
+		return marketModel.getOrderBookVolume();
+	}
+}
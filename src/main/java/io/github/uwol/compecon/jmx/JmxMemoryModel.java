@@ -0,0 +1,54 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.jmx;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.PerformanceModel;
+
+/**
+ * Publishes the allocations of the simulation thread and the garbage
+ * collections per period, as sampled from the platform MXBeans.
+ */
+public class JmxMemoryModel implements JmxMemoryModelMBean {
+
+	@Override
+	public double getAllocatedBytesPerPeriod() {
+		return getPerformanceModel().getAllocatedBytesPerPeriod();
+	}
+
+	@Override
+	public double getAllocationRateInBytesPerSecond() {
+		return getPerformanceModel().getAllocationRateInBytesPerSecond();
+	}
+
+	@Override
+	public long getGcCountPerPeriod() {
+		return getPerformanceModel().getGcCountPerPeriod();
+	}
+
+	@Override
+	public long getGcTimeInMillisPerPeriod() {
+		return getPerformanceModel().getGcTimeInMillisPerPeriod();
+	}
+
+	protected PerformanceModel getPerformanceModel() {
+		return ApplicationContext.getInstance().getModelRegistry().getPerformanceModel();
+	}
+}
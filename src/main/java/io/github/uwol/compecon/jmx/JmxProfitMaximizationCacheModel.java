@@ -0,0 +1,56 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.jmx;
+
+import io.github.uwol.compecon.math.production.impl.ProfitMaximizationCache;
+
+public class JmxProfitMaximizationCacheModel implements JmxProfitMaximizationCacheModelMBean {
+
+	protected final ProfitMaximizationCache profitMaximizationCache;
+
+	public JmxProfitMaximizationCacheModel(final ProfitMaximizationCache profitMaximizationCache) {
+		this.profitMaximizationCache = profitMaximizationCache;
+	}
+
+	@Override
+	public double getHitRate() {
+		return profitMaximizationCache.getHitRate();
+	}
+
+	@Override
+	public double getMaxRelativeError() {
+		return profitMaximizationCache.getMaxRelativeError();
+	}
+
+	@Override
+	public long getNumberOfHits() {
+		return profitMaximizationCache.getNumberOfHits();
+	}
+
+	@Override
+	public long getNumberOfMisses() {
+		return profitMaximizationCache.getNumberOfMisses();
+	}
+
+	@Override
+	public int getSize() {
+		return profitMaximizationCache.size();
+	}
+}
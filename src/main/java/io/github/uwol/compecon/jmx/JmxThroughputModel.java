@@ -0,0 +1,130 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.jmx;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.MBeanNotificationInfo;
+import javax.management.Notification;
+import javax.management.NotificationBroadcasterSupport;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.statistics.PerformanceModel;
+
+/**
+ * Publishes the throughput of the simulation. Listens to the performance model,
+ * and sends a notification, when the simulated days per wall clock second fall
+ * below the throughput floor, and when they recover.
+ */
+public class JmxThroughputModel extends NotificationBroadcasterSupport
+		implements JmxThroughputModelMBean, ModelListener {
+
+	public static final String THROUGHPUT_FLOOR_BREACHED = "compecon.throughput.floorBreached";
+
+	public static final String THROUGHPUT_FLOOR_RECOVERED = "compecon.throughput.floorRecovered";
+
+	protected final AtomicLong notificationSequenceNumber = new AtomicLong();
+
+	protected volatile boolean throughputFloorBreached = false;
+
+	protected volatile double throughputFloorInDaysPerSecond;
+
+	public JmxThroughputModel(final double throughputFloorInDaysPerSecond) {
+		super(new MBeanNotificationInfo(new String[] { THROUGHPUT_FLOOR_BREACHED, THROUGHPUT_FLOOR_RECOVERED },
+				Notification.class.getName(), "simulated days per second crossed the throughput floor"));
+		this.throughputFloorInDaysPerSecond = throughputFloorInDaysPerSecond;
+	}
+
+	protected PerformanceModel getPerformanceModel() {
+		return ApplicationContext.getInstance().getModelRegistry().getPerformanceModel();
+	}
+
+	@Override
+	public long getSimulatedDays() {
+		return getPerformanceModel().getSimulatedDays();
+	}
+
+	@Override
+	public double getSimulatedDaysPerSecond() {
+		return getPerformanceModel().getSimulatedDaysPerSecond();
+	}
+
+	@Override
+	public long getSimulatedHours() {
+		return getPerformanceModel().getSimulatedHours();
+	}
+
+	@Override
+	public double getSimulatedHoursPerSecond() {
+		return getPerformanceModel().getSimulatedHoursPerSecond();
+	}
+
+	@Override
+	public double getThroughputFloorInDaysPerSecond() {
+		return throughputFloorInDaysPerSecond;
+	}
+
+	@Override
+	public boolean isThroughputFloorBreached() {
+		return throughputFloorBreached;
+	}
+
+	/**
+	 * Called on the simulation thread at the end of each period.
+	 */
+	@Override
+	public void notifyListener() {
+		final double simulatedDaysPerSecond = getPerformanceModel().getSimulatedDaysPerSecond();
+
+		if (Double.isNaN(simulatedDaysPerSecond)) {
+			return;
+		}
+
+		final boolean breached = simulatedDaysPerSecond < throughputFloorInDaysPerSecond;
+
+		// notify only on transitions, so that a slow run does not flood the clients
+		if (breached != throughputFloorBreached) {
+			throughputFloorBreached = breached;
+
+			final Notification notification;
+
+			if (breached) {
+				notification = new Notification(THROUGHPUT_FLOOR_BREACHED, this,
+						notificationSequenceNumber.incrementAndGet(), System.currentTimeMillis(),
+						String.format("%.2f simulated days per second below throughput floor of %.2f",
+								simulatedDaysPerSecond, throughputFloorInDaysPerSecond));
+			} else {
+				notification = new Notification(THROUGHPUT_FLOOR_RECOVERED, this,
+						notificationSequenceNumber.incrementAndGet(), System.currentTimeMillis(),
+						String.format("%.2f simulated days per second above throughput floor of %.2f",
+								simulatedDaysPerSecond, throughputFloorInDaysPerSecond));
+			}
+
+			notification.setUserData(simulatedDaysPerSecond);
+			sendNotification(notification);
+		}
+	}
+
+	@Override
+	public void setThroughputFloorInDaysPerSecond(final double throughputFloorInDaysPerSecond) {
+		this.throughputFloorInDaysPerSecond = throughputFloorInDaysPerSecond;
+	}
+}
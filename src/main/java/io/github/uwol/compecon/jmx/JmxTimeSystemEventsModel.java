@@ -0,0 +1,57 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.jmx;
+
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.PerformanceModel;
+import io.github.uwol.compecon.engine.timesystem.TimeSystemEvent;
+
+public class JmxTimeSystemEventsModel implements JmxTimeSystemEventsModelMXBean {
+
+	/**
+	 * @return number of triggered events per event class, keyed by the name of
+	 *         the event class
+	 */
+	@Override
+	public Map<String, Long> getEventCounts() {
+		final Map<String, Long> eventCounts = new TreeMap<String, Long>();
+
+		for (final Entry<Class<? extends TimeSystemEvent>, LongAdder> entry : getPerformanceModel().getEventCounts()
+				.entrySet()) {
+			eventCounts.put(entry.getKey().getName(), entry.getValue().sum());
+		}
+
+		return eventCounts;
+	}
+
+	@Override
+	public long getEventsPerPeriod() {
+		return getPerformanceModel().getEventsPerPeriod();
+	}
+
+	protected PerformanceModel getPerformanceModel() {
+		return ApplicationContext.getInstance().getModelRegistry().getPerformanceModel();
+	}
+}
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -32,8 +33,31 @@ public interface Function<T> {
 	public Map<T, Double> calculateOutputMaximizingInputsByRangeScan(
 			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget);
 
+	/**
+	 * @param precision step width of the grid on which the inputs are searched.
+	 */
+	public Map<T, Double> calculateOutputMaximizingInputsByRangeScan(
+			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget, final double precision);
+
+	/**
+	 * @param inputs amounts of the input types in the order of
+	 *               {@link #getInputTypeLayout()}.
+	 */
+	public double f(final double[] inputs);
+
 	public double f(final Map<T, Double> bundleOfInputs);
 
+	/**
+	 * Primitive variant of
+	 * {@link #findHighestPartialDerivatePerPrice(Map, Map, Map)}.
+	 *
+	 * @param inventory null allowed.
+	 * @return index of the input type in {@link #getInputTypeLayout()}; -1, if
+	 *         markets are sold out.
+	 */
+	public int findHighestPartialDerivatePerPrice(final double[] inputs,
+			final PriceFunction[] priceFunctionsOfInputTypes, final double[] inventory);
+
 	/**
 	 * @param bundleOfInputs             has to contain all elements from
 	 *                                   {@link #getInputTypes()} as keys.
@@ -47,11 +71,25 @@ public interface Function<T> {
 
 	public T findLargestPartialDerivate(final Map<T, Double> forBundleOfInputs);
 
+	/**
+	 * @return fixed ordinal layout of the input types, by which the primitive
+	 *         bundles of inputs are indexed.
+	 */
+	public List<T> getInputTypeLayout();
+
 	public Set<T> getInputTypes();
 
 	public boolean getNeedsAllInputFactorsNonZeroForPartialDerivate();
 
+	public double partialDerivative(final double[] forInputs, final int withRespectToInput);
+
 	public double partialDerivative(final Map<T, Double> forBundleOfInputs, final T withRespectToInput);
 
+	/**
+	 * @param partialDerivatives is filled with the gradient in the order of
+	 *                           {@link #getInputTypeLayout()}.
+	 */
+	public void partialDerivatives(final double[] forInputs, final double[] partialDerivatives);
+
 	public Map<T, Double> partialDerivatives(final Map<T, Double> forBundleOfInputs);
 }
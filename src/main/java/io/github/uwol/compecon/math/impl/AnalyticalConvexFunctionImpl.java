@@ -20,11 +20,12 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.math.impl;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.price.PriceFunction.PriceFunctionConfig;
+import io.github.uwol.compecon.math.util.MathUtil;
 
 public abstract class AnalyticalConvexFunctionImpl<T> extends ConvexFunctionImpl<T> {
 
@@ -32,127 +33,196 @@ public abstract class AnalyticalConvexFunctionImpl<T> extends ConvexFunctionImpl
 		super(needsAllInputFactorsNonZeroForPartialDerivate);
 	}
 
-	// commented out for performance reasons: TODO find optimal number and
-	// market depth of price functions for
-	// calculateOutputMaximizingInputsAnalyticalWithPriceFunctions to be
-	// efficient
-	//
-	// @Override
-	// public Map<T, Double> calculateOutputMaximizingInputs(
-	// final Map<T, IPriceFunction> priceFunctionsOfInputs,
-	// final double budget) {
-	// Map<T, Double> validPriceFunctionConfigConstellation = this
-	// .calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(
-	// priceFunctionsOfInputs, budget);
-	// if (validPriceFunctionConfigConstellation != null) {
-	// return validPriceFunctionConfigConstellation;
-	// } else {
-	// // if no analytical solution can be found -> iterative algorithm
-	// return super.calculateOutputMaximizingInputs(
-	// priceFunctionsOfInputs, budget);
-	// }
-	// }
+	/**
+	 * Dispatches to the analytical solution on the step price functions, if the
+	 * function is separable, and to {@link ConvexFunctionImpl} otherwise. The CES
+	 * and Cobb-Douglas functions solve fixed prices analytically beforehand, so
+	 * that the KKT solution remains the default only for separable functions
+	 * without an analytical solution, i. e. the root function.
+	 */
+	@Override
+	public Map<T, Double> calculateOutputMaximizingInputs(final Map<T, PriceFunction> priceFunctionsOfInputs,
+			final double budget) {
+		final Map<T, Double> optimalBundleOfInputs = this
+				.calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(priceFunctionsOfInputs, budget);
+
+		if (optimalBundleOfInputs != null) {
+			return optimalBundleOfInputs;
+		} else {
+			// if no analytical solution can be found -> numerical algorithm
+			return super.calculateOutputMaximizingInputs(priceFunctionsOfInputs, budget);
+		}
+	}
 
 	/**
 	 * finds the optimal bundle of inputs under budget constraints and a step price
 	 * function. premise for calculation of a solution is that the marginal output
-	 * per price is equal for all input types; this requirement is not fulfilled in
-	 * cases, when the solution lies near to points of discontinuity of the price
-	 * step function, as an immediate price change causes gaps between marginal
-	 * output per marginal price. In these cases null is returned.
+	 * per price is equal for all input types, that are not at points of
+	 * discontinuity of the price step function; inputs at points of discontinuity
+	 * stay at the step boundary.
+	 *
+	 * @return null, if the function is not separable
 	 */
 	public Map<T, Double> calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(
 			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget) {
-		/*
-		 * retrieve parameters/configs of price step functions
-		 */
-		final Map<T, PriceFunctionConfig[]> priceConfigsOfInputTypes = new HashMap<T, PriceFunctionConfig[]>();
-
-		for (final Entry<T, PriceFunction> priceConfigEntry : priceFunctionsOfInputTypes.entrySet()) {
-			priceConfigsOfInputTypes.put(priceConfigEntry.getKey(),
-					priceConfigEntry.getValue().getAnalyticalPriceFunctionParameters(budget));
+		if (!isSeparable()) {
+			return null;
 		}
 
-		// select valid constellation of price function configs
-		final Map<T, PriceFunctionConfig> validPriceFunctionConfigConstellation = this
-				.searchValidPriceFunctionConfigConstellation(priceConfigsOfInputTypes, budget,
-						new HashMap<T, PriceFunctionConfig>());
-		if (validPriceFunctionConfigConstellation == null) {
-			return null;
+		final int numberOfInputTypes = getInputTypeLayout().size();
+
+		if (MathUtil.lesserEqual(budget, 0.0)) {
+			return toMap(new double[numberOfInputTypes]);
 		}
 
-		return this.calculatePossiblyValidOutputMaximizingInputsAnalyticalWithMarketPrices(
-				validPriceFunctionConfigConstellation, budget);
-	}
+		final PriceSteps[] priceSteps = toPriceSteps(priceFunctionsOfInputTypes, budget);
 
-	protected abstract Map<T, Double> calculatePossiblyValidOutputMaximizingInputsAnalyticalWithMarketPrices(
-			Map<T, PriceFunctionConfig> priceFunctionConfigs, double budget);
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			if (priceSteps[i].getNumberOfSteps() == 0 && needsAllInputFactorsNonZeroForPartialDerivate) {
+				return toMap(new double[numberOfInputTypes]);
+			}
+		}
+
+		final int[] steps = new int[numberOfInputTypes];
+		final boolean[] inputsOnSteps = new boolean[numberOfInputTypes];
+		final double[] inputs = new double[numberOfInputTypes];
+		final double scale = this.searchValidPriceStepConstellation(priceSteps, budget, steps, inputsOnSteps,
+				inputs);
+
+		boolean allInputsOnSteps = true;
+
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			allInputsOnSteps &= inputsOnSteps[i];
+		}
+
+		// the closed-form solution applies, if no input is at a point of
+		// discontinuity
+		if (allInputsOnSteps) {
+			final List<T> inputTypeLayout = getInputTypeLayout();
+			final Map<T, PriceFunctionConfig> priceFunctionConfigs = new HashMap<T, PriceFunctionConfig>();
+
+			for (int i = 0; i < numberOfInputTypes; i++) {
+				priceFunctionConfigs.put(inputTypeLayout.get(i), priceSteps[i].getPriceFunctionConfig(steps[i]));
+			}
+
+			return this.calculatePossiblyValidOutputMaximizingInputsAnalyticalWithMarketPrices(priceFunctionConfigs,
+					budget);
+		}
 
-	private T identifyNextUnsetInputType(final Map<T, PriceFunctionConfig> priceFunctionConfigs) {
-		for (final T inputType : getInputTypes()) {
-			if (!priceFunctionConfigs.containsKey(inputType)) {
-				return inputType;
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			if (inputsOnSteps[i]) {
+				inputs[i] = calculateInverseSeparableFactor(i, priceSteps[i].getPrice(steps[i])) * scale;
 			}
 		}
 
-		return null;
+		return toMap(inputs);
 	}
 
+	protected abstract Map<T, Double> calculatePossiblyValidOutputMaximizingInputsAnalyticalWithMarketPrices(
+			Map<T, PriceFunctionConfig> priceFunctionConfigs, double budget);
+
 	/**
-	 * @see #calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(Map,
-	 *      double)
-	 * @return null if no valid constellation is found
+	 * Searches the constellation of price steps, which contains the optimal bundle
+	 * of inputs. For analytical functions the inverse of the separable factor is
+	 * homogeneous in the multiplier t, i. e. x_i(t * p) = x_i(p) * s(t), so that
+	 * along the expansion path an input on step k equals x_i(p_k) * s and each
+	 * input passes its steps in the order of s: on step k for s in [L_k /
+	 * x_i(p_k), R_k / x_i(p_k)], then at the point of discontinuity R_k until s
+	 * reaches R_k / x_i(p_k+1). The steps of all inputs are swept in lockstep
+	 * along s, until the price of the inputs reaches the budget; hence, each step
+	 * is visited at most once.
+	 *
+	 * @param steps         is filled with the step of each input
+	 * @param inputsOnSteps is filled with false for inputs at a step boundary
+	 * @param inputs        is filled with the amounts of inputs at step boundaries
+	 * @return scale s of the inputs on steps
 	 */
-	protected Map<T, PriceFunctionConfig> searchValidPriceFunctionConfigConstellation(
-			final Map<T, PriceFunctionConfig[]> priceConfigsOfInputs, final double budget,
-			final Map<T, PriceFunctionConfig> currentPriceFunctionConfigConstellation) {
-		final T currentInputType = identifyNextUnsetInputType(currentPriceFunctionConfigConstellation);
-
-		// if a constellation of price function configs has been chosen
-		if (currentInputType == null) {
-			final Map<T, Double> optimalBundleOfInputs = this
-					.calculatePossiblyValidOutputMaximizingInputsAnalyticalWithMarketPrices(
-							currentPriceFunctionConfigConstellation, budget);
-			for (final Entry<T, PriceFunctionConfig> priceFunctionConfig : currentPriceFunctionConfigConstellation
-					.entrySet()) {
-				final double optimalAmountOfInputType = optimalBundleOfInputs.get(priceFunctionConfig.getKey());
-				final double intervalLeftBoundary = priceFunctionConfig.getValue().intervalLeftBoundary;
-				final double intervalRightBoundary = priceFunctionConfig.getValue().intervalRightBoundary;
-
-				// if the optimalBundleOfInputs is not valid under the
-				// restrictions of the price function
-				if (intervalLeftBoundary > optimalAmountOfInputType || (!Double.isInfinite(intervalRightBoundary)
-						&& intervalRightBoundary < optimalAmountOfInputType)) {
-					return null;
-				}
+	protected double searchValidPriceStepConstellation(final PriceSteps[] priceSteps, final double budget,
+			final int[] steps, final boolean[] inputsOnSteps, final double[] inputs) {
+		final double[] nextScales = new double[inputs.length];
+		final double[] amountsPerScale = new double[inputs.length];
+
+		// price of inputs = costPerScale * s + fixedCost
+		double costPerScale = 0.0;
+		double fixedCost = 0.0;
+
+		for (int i = 0; i < inputs.length; i++) {
+			// free steps are bought completely
+			int step = 0;
+			while (step < priceSteps[i].getNumberOfSteps() && priceSteps[i].getPrice(step) <= 0.0) {
+				step++;
+			}
+
+			steps[i] = step;
+			inputsOnSteps[i] = false;
+
+			if (step < priceSteps[i].getNumberOfSteps()) {
+				amountsPerScale[i] = calculateInverseSeparableFactor(i, priceSteps[i].getPrice(step));
+				inputs[i] = priceSteps[i].getLeftBoundary(step);
+				nextScales[i] = inputs[i] / amountsPerScale[i];
+			} else {
+				inputs[i] = priceSteps[i].getDepth();
+				nextScales[i] = Double.POSITIVE_INFINITY;
 			}
-			return currentPriceFunctionConfigConstellation;
+
+			fixedCost += priceSteps[i].getCost(inputs[i]);
 		}
-		// if at least one price function config has not been chosen
-		else {
-			// iterate over steps of price step function/configs of this input
-			// type
-			Map<T, PriceFunctionConfig> validPriceFunctionConfigConstellation = null;
-
-			for (final PriceFunctionConfig currentPriceFunctionConfig : priceConfigsOfInputs.get(currentInputType)) {
-				currentPriceFunctionConfigConstellation.put(currentInputType, currentPriceFunctionConfig);
-				final Map<T, PriceFunctionConfig> priceFunctionConfigConstellation = searchValidPriceFunctionConfigConstellation(
-						priceConfigsOfInputs, budget, currentPriceFunctionConfigConstellation);
-
-				// if the constellation of price function configs is valid
-				if (priceFunctionConfigConstellation != null) {
-					// clone the map, as the original map will be modified
-					// in next iteration
-					validPriceFunctionConfigConstellation = new HashMap<T, PriceFunctionConfig>(
-							priceFunctionConfigConstellation);
-					// there should only be one valid constellation -> break
-					break;
+
+		while (true) {
+			// the input with the next change of its price step
+			int nextInput = -1;
+
+			for (int i = 0; i < inputs.length; i++) {
+				if (nextInput < 0 || nextScales[i] < nextScales[nextInput]) {
+					nextInput = i;
 				}
 			}
 
-			// remove this input, so that it will be set in next outer iteration
-			currentPriceFunctionConfigConstellation.remove(currentInputType);
-			return validPriceFunctionConfigConstellation;
+			if (nextInput < 0 || Double.isInfinite(nextScales[nextInput])) {
+				break;
+			}
+
+			final double scale = nextScales[nextInput];
+
+			// the budget is reached before the change of the price step
+			if (costPerScale * scale + fixedCost >= budget) {
+				break;
+			}
+
+			final PriceSteps priceStepsOfInput = priceSteps[nextInput];
+			final int step = steps[nextInput];
+			final double price = priceStepsOfInput.getPrice(step);
+
+			if (!inputsOnSteps[nextInput]) {
+				// input enters the step
+				inputsOnSteps[nextInput] = true;
+				costPerScale += price * amountsPerScale[nextInput];
+				fixedCost -= price * priceStepsOfInput.getLeftBoundary(step);
+				nextScales[nextInput] = priceStepsOfInput.getRightBoundary(step) / amountsPerScale[nextInput];
+			} else {
+				// input leaves the step at its right boundary
+				inputsOnSteps[nextInput] = false;
+				costPerScale -= price * amountsPerScale[nextInput];
+				fixedCost += price * priceStepsOfInput.getRightBoundary(step);
+				inputs[nextInput] = priceStepsOfInput.getRightBoundary(step);
+
+				if (step + 1 < priceStepsOfInput.getNumberOfSteps()) {
+					steps[nextInput] = step + 1;
+					amountsPerScale[nextInput] = calculateInverseSeparableFactor(nextInput,
+							priceStepsOfInput.getPrice(step + 1));
+					nextScales[nextInput] = inputs[nextInput] / amountsPerScale[nextInput];
+				} else {
+					// market is sold out
+					nextScales[nextInput] = Double.POSITIVE_INFINITY;
+				}
+			}
 		}
+
+		// markets are sold out
+		if (costPerScale <= 0.0) {
+			return 0.0;
+		}
+
+		return (budget - fixedCost) / costPerScale;
 	}
 }
@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.impl;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -34,10 +35,20 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 
 	protected final Map<T, Double> coefficients;
 
+	private double[] coefficientsOfInputs;
+
+	/**
+	 * caches of the calling thread, as function instances are shared between
+	 * agents and hence threads
+	 */
+	private final ThreadLocal<PowerCache> differentialPowerCache = new ThreadLocal<PowerCache>();
+
 	protected final double homogenityFactor;
 
 	protected double mainCoefficient;
 
+	private final ThreadLocal<PowerCache> powerCache = new ThreadLocal<PowerCache>();
+
 	protected final double substitutionFactor;
 
 	public CESFunctionImpl(final double mainCoefficient, final Map<T, Double> coefficients,
@@ -87,6 +98,18 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		}
 	}
 
+	/**
+	 * dy/d(x_i) = [(-h/r) * a * [c_1 * (x_1)^(r) + ... + c_n * (x_n)^(r)]^(-h/r -
+	 * 1) * -r] * [c_i * (x_i)^(-r-1)] <br />
+	 * => <br />
+	 * g_i(x_i) = c_i * (x_i)^(-r-1) <br />
+	 * x_i = [g_i(x_i) / c_i]^(1/(-r-1))
+	 */
+	@Override
+	public double calculateInverseSeparableFactor(final int input, final double value) {
+		return Math.pow(value / getCoefficientsOfInputs()[input], 1.0 / ((-1.0 * this.substitutionFactor) - 1.0));
+	}
+
 	/**
 	 * This method implements the analytical solution for the lagrange function of
 	 * an optimization problem under budget constraints. It overwrites the general
@@ -270,21 +293,45 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		return bundleOfInputs;
 	}
 
+	/**
+	 * (-h/r) * a * [c_1 * (x_1)^(r) + ... + c_n * (x_n)^(r)]^(-h/r - 1)
+	 */
+	protected double exteriorDerivative(final double[] forInputs) {
+		final double exponent = (-1.0 * this.homogenityFactor / this.substitutionFactor) - 1.0;
+		return (-1.0 * this.homogenityFactor / this.substitutionFactor) * this.mainCoefficient
+				* Math.pow(sum(forInputs), exponent);
+	}
+
 	/**
 	 * y = a * [c_1 * (x_1)^(-r) + ... + c_n * (x_n)^(r)]^(-h/r)
 	 */
 	@Override
-	public double f(final Map<T, Double> bundleOfInputs) {
-		double sum = 0.0;
+	public double f(final double[] inputs) {
+		return this.mainCoefficient * Math.pow(sum(inputs), (-1.0 * this.homogenityFactor) / this.substitutionFactor);
+	}
+
+	protected double[] getCoefficientsOfInputs() {
+		if (coefficientsOfInputs == null) {
+			coefficientsOfInputs = toArray(this.coefficients);
+		}
+
+		return coefficientsOfInputs;
+	}
 
-		for (final Entry<T, Double> entry : this.coefficients.entrySet()) {
-			final T inputType = entry.getKey();
-			final double coefficient = entry.getValue();
-			final double input = bundleOfInputs.get(inputType);
-			sum += coefficient * Math.pow(input, -this.substitutionFactor);
+	/**
+	 * @return cache of (x_i)^(-r-1)
+	 */
+	protected PowerCache getDifferentialPowerCache() {
+		PowerCache cache = differentialPowerCache.get();
+
+		if (cache == null) {
+			final double[] exponents = new double[getInputTypeLayout().size()];
+			Arrays.fill(exponents, (-1.0 * this.substitutionFactor) - 1.0);
+			cache = new PowerCache(exponents);
+			differentialPowerCache.set(cache);
 		}
 
-		return this.mainCoefficient * Math.pow(sum, (-1.0 * this.homogenityFactor) / this.substitutionFactor);
+		return cache;
 	}
 
 	@Override
@@ -296,35 +343,48 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		return this.mainCoefficient;
 	}
 
+	@Override
+	public double[] getParameters() {
+		final double[] coefficientsOfInputs = getCoefficientsOfInputs();
+		final double[] parameters = Arrays.copyOf(coefficientsOfInputs, coefficientsOfInputs.length + 2);
+		parameters[coefficientsOfInputs.length] = this.substitutionFactor;
+		parameters[coefficientsOfInputs.length + 1] = this.homogenityFactor;
+		return parameters;
+	}
+
+	/**
+	 * @return cache of (x_i)^(-r)
+	 */
+	protected PowerCache getPowerCache() {
+		PowerCache cache = powerCache.get();
+
+		if (cache == null) {
+			final double[] exponents = new double[getInputTypeLayout().size()];
+			Arrays.fill(exponents, -1.0 * this.substitutionFactor);
+			cache = new PowerCache(exponents);
+			powerCache.set(cache);
+		}
+
+		return cache;
+	}
+
 	/**
 	 * dy/d(x_1) = [(-h/r) * a * [c_1 * (x_1)^(r) + ... + c_n * (x_n)^(r)]^(-h/r -
 	 * 1)] * [-r * c_1 * (x_1)^(-r-1)]
 	 */
 	@Override
-	public double partialDerivative(final Map<T, Double> forBundleOfInputs, final T withRespectToInputType) {
-		/*
-		 * exterior derivative
-		 */
-		double sum = 0.0;
-
-		for (final Entry<T, Double> entry : this.coefficients.entrySet()) {
-			final T inputType = entry.getKey();
-			final double coefficient = entry.getValue();
-			final double input = forBundleOfInputs.get(inputType);
-			sum += coefficient * Math.pow(input, -1.0 * this.substitutionFactor);
-		}
-
-		final double exponent = (-1.0 * this.homogenityFactor / this.substitutionFactor) - 1.0;
-		final double exteriorDerivative = (-1.0 * this.homogenityFactor / this.substitutionFactor)
-				* this.mainCoefficient * Math.pow(sum, exponent);
+	public double partialDerivative(final double[] forInputs, final int withRespectToInput) {
+		return partialDerivative(forInputs, withRespectToInput, exteriorDerivative(forInputs));
+	}
 
+	protected double partialDerivative(final double[] forInputs, final int withRespectToInput,
+			final double exteriorDerivative) {
 		/*
 		 * interior derivative
 		 */
-		final double coefficient = this.coefficients.get(withRespectToInputType);
-		final double differentialInput = forBundleOfInputs.get(withRespectToInputType);
+		final double coefficient = getCoefficientsOfInputs()[withRespectToInput];
 		final double interiorDerivative = -1.0 * this.substitutionFactor * coefficient
-				* Math.pow(differentialInput, (-1.0 * this.substitutionFactor) - 1.0);
+				* getDifferentialPowerCache().pow(forInputs, withRespectToInput);
 
 		// Java returns Double.NaN for 0 * Double.INFINITE -> return 0
 		if (exteriorDerivative == 0.0 && Double.isInfinite(interiorDerivative)) {
@@ -338,7 +398,35 @@ public class CESFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T> {
 		return exteriorDerivative * interiorDerivative;
 	}
 
+	/**
+	 * the exterior derivative is shared by all partial derivatives, so that the
+	 * gradient is computed in O(n)
+	 */
+	@Override
+	public void partialDerivatives(final double[] forInputs, final double[] partialDerivatives) {
+		final double exteriorDerivative = exteriorDerivative(forInputs);
+
+		for (int i = 0; i < forInputs.length; i++) {
+			partialDerivatives[i] = partialDerivative(forInputs, i, exteriorDerivative);
+		}
+	}
+
 	public void setMainCoefficient(final double mainCoefficient) {
 		this.mainCoefficient = mainCoefficient;
 	}
+
+	/**
+	 * c_1 * (x_1)^(-r) + ... + c_n * (x_n)^(-r)
+	 */
+	protected double sum(final double[] forInputs) {
+		final double[] coefficientsOfInputs = getCoefficientsOfInputs();
+		final PowerCache powerCache = getPowerCache();
+		double sum = 0.0;
+
+		for (int i = 0; i < forInputs.length; i++) {
+			sum += coefficientsOfInputs[i] * powerCache.pow(forInputs, i);
+		}
+
+		return sum;
+	}
 }
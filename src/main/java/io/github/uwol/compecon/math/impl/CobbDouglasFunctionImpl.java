@@ -19,6 +19,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.impl;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
@@ -34,8 +35,18 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 
 	protected double coefficient;
 
+	/**
+	 * caches of the calling thread, as function instances are shared between
+	 * agents and hence threads
+	 */
+	private final ThreadLocal<PowerCache> differentialPowerCache = new ThreadLocal<PowerCache>();
+
 	protected final Map<T, Double> exponents;
 
+	private double[] exponentsOfInputs;
+
+	private final ThreadLocal<PowerCache> powerCache = new ThreadLocal<PowerCache>();
+
 	public CobbDouglasFunctionImpl(final double coefficient, final Map<T, Double> exponents) {
 		super(true);
 
@@ -78,6 +89,17 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 		}
 	}
 
+	/**
+	 * dy/d(x_i) = [a * (x_1)^(e_1) * ... * (x_n)^(e_n)] * [e_i / x_i] <br />
+	 * => <br />
+	 * g_i(x_i) = e_i / x_i <br />
+	 * x_i = e_i / g_i(x_i)
+	 */
+	@Override
+	public double calculateInverseSeparableFactor(final int input, final double value) {
+		return getExponentsOfInputs()[input] / value;
+	}
+
 	/**
 	 * This method implements the analytical solution for the lagrange function of
 	 * an optimization problem under budget constraints. It overwrites the general
@@ -307,13 +329,12 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 	 * | e_1 + e_2 + ... + e_n = 1
 	 */
 	@Override
-	public double f(final Map<T, Double> bundleOfInputs) {
+	public double f(final double[] inputs) {
+		final PowerCache powerCache = getPowerCache();
 		double output = this.coefficient;
 
-		for (final T inputType : this.getInputTypes()) {
-			final double exponent = this.exponents.get(inputType);
-			final double input = bundleOfInputs.get(inputType);
-			output = output * Math.pow(input, exponent);
+		for (int i = 0; i < inputs.length; i++) {
+			output = output * powerCache.pow(inputs, i);
 		}
 
 		return output;
@@ -323,41 +344,98 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 		return this.coefficient;
 	}
 
+	/**
+	 * @return cache of (x_i)^(e_i - 1)
+	 */
+	protected PowerCache getDifferentialPowerCache() {
+		PowerCache cache = differentialPowerCache.get();
+
+		if (cache == null) {
+			final double[] exponentsOfInputs = getExponentsOfInputs();
+			final double[] differentialExponents = new double[exponentsOfInputs.length];
+
+			for (int i = 0; i < exponentsOfInputs.length; i++) {
+				differentialExponents[i] = exponentsOfInputs[i] - 1.0;
+			}
+
+			cache = new PowerCache(differentialExponents);
+			differentialPowerCache.set(cache);
+		}
+
+		return cache;
+	}
+
 	public Map<T, Double> getExponents() {
 		return this.exponents;
 	}
 
+	protected double[] getExponentsOfInputs() {
+		if (exponentsOfInputs == null) {
+			exponentsOfInputs = toArray(this.exponents);
+		}
+
+		return exponentsOfInputs;
+	}
+
 	@Override
 	public Set<T> getInputTypes() {
 		return this.exponents.keySet();
 	}
 
+	@Override
+	public double[] getParameters() {
+		return Arrays.copyOf(getExponentsOfInputs(), getExponentsOfInputs().length);
+	}
+
+	/**
+	 * @return cache of (x_i)^(e_i)
+	 */
+	protected PowerCache getPowerCache() {
+		PowerCache cache = powerCache.get();
+
+		if (cache == null) {
+			cache = new PowerCache(getExponentsOfInputs());
+			powerCache.set(cache);
+		}
+
+		return cache;
+	}
+
 	/**
 	 * dy/d(x_1) = e_1 * (x_1)^(e_1 - 1) * (x_2)^(e_2) * ... * (x_n)^(e_n) <br />
 	 * | e_1 + e_2 + ... + e_n = 1
 	 */
 	@Override
-	public double partialDerivative(final Map<T, Double> forBundleOfInputs, final T withRespectToInputType) {
+	public double partialDerivative(final double[] forInputs, final int withRespectToInput) {
+		final PowerCache powerCache = getPowerCache();
+
 		/*
-		 * constant
+		 * constant = a * (x_1)^(e_1) * ... * (x_i-1)^(e_i-1) * (x_i+1)^(e_i+1) * ...
+		 * * (x_n)^(e_n)
 		 */
-		double constant = this.coefficient;
+		double prefix = this.coefficient;
 
-		for (final T inputType : this.getInputTypes()) {
-			if (!inputType.equals(withRespectToInputType)) {
-				final double base = forBundleOfInputs.get(inputType);
-				final double exponent = this.exponents.get(inputType);
-				constant = constant * Math.pow(base, exponent);
-			}
+		for (int i = 0; i < withRespectToInput; i++) {
+			prefix = prefix * powerCache.pow(forInputs, i);
+		}
+
+		double suffix = 1.0;
+
+		for (int i = forInputs.length - 1; i > withRespectToInput; i--) {
+			suffix = powerCache.pow(forInputs, i) * suffix;
 		}
 
+		return partialDerivative(forInputs, withRespectToInput, prefix * suffix);
+	}
+
+	protected double partialDerivative(final double[] forInputs, final int withRespectToInput,
+			final double constant) {
 		/*
 		 * differential factor
 		 */
-		final double differentialInput = forBundleOfInputs.get(withRespectToInputType);
-		final double differentialExponent = this.exponents.get(withRespectToInputType) - 1.0;
-		final double differentialCoefficient = this.exponents.get(withRespectToInputType);
-		final double differentialFactor = differentialCoefficient * Math.pow(differentialInput, differentialExponent);
+		final double differentialCoefficient = getExponentsOfInputs()[withRespectToInput];
+		final double differentialFactor = differentialCoefficient
+				* getDifferentialPowerCache().pow(forInputs, withRespectToInput);
 
 		// Java returns Double.NaN for 0 * Double.INFINITE -> return 0
 		if (constant == 0.0 && Double.isInfinite(differentialFactor)) {
@@ -367,6 +445,30 @@ public class CobbDouglasFunctionImpl<T> extends AnalyticalConvexFunctionImpl<T>
 		return constant * differentialFactor;
 	}
 
+	/**
+	 * the constants of all partial derivatives are composed of prefix and suffix
+	 * products of the powers, so that the gradient is computed in O(n)
+	 */
+	@Override
+	public void partialDerivatives(final double[] forInputs, final double[] partialDerivatives) {
+		final PowerCache powerCache = getPowerCache();
+
+		// suffix products are stored temporarily in the result array
+		double suffix = 1.0;
+
+		for (int i = forInputs.length - 1; i >= 0; i--) {
+			partialDerivatives[i] = suffix;
+			suffix = powerCache.pow(forInputs, i) * suffix;
+		}
+
+		double prefix = this.coefficient;
+
+		for (int i = 0; i < forInputs.length; i++) {
+			partialDerivatives[i] = partialDerivative(forInputs, i, prefix * partialDerivatives[i]);
+			prefix = prefix * powerCache.pow(forInputs, i);
+		}
+	}
+
 	public void setCoefficient(final double coefficient) {
 		this.coefficient = coefficient;
 	}
@@ -19,7 +19,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.impl;
 
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -31,16 +30,183 @@ import io.github.uwol.compecon.math.util.MathUtil;
 
 public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements ConvexFunction<T> {
 
+	/**
+	 * Constraint on the expansion path of a separable function, on which the
+	 * multiplier decreases as more budget is spent.
+	 */
+	public abstract static class ExpansionPathConstraint {
+
+		/**
+		 * @return relative violation of the constraint; > 0, if violated
+		 */
+		public abstract double getViolation(final double[] inputs, final double cost);
+	}
+
+	/**
+	 * Result of a search on the expansion path.
+	 */
+	public static class ExpansionPathSearchResult {
+
+		/**
+		 * price of the inputs found
+		 */
+		public final double cost;
+
+		/**
+		 * number of evaluations of the expansion path, which the search needed;
+		 * diagnostic only
+		 */
+		public final int numberOfEvaluations;
+
+		public ExpansionPathSearchResult(final double cost, final int numberOfEvaluations) {
+			this.cost = cost;
+			this.numberOfEvaluations = numberOfEvaluations;
+		}
+	}
+
+	public static final int KKT_MAX_EVALUATIONS = 100;
+
+	public static final double KKT_TOLERANCE = 0.000000001;
+
+	/**
+	 * bound of the logarithmic multiplier, so that e^x does not overflow
+	 */
+	protected static final double MAX_LOG_MULTIPLIER = 700.0;
+
 	protected ConvexFunctionImpl(final boolean needsAllInputFactorsNonZeroForPartialDerivate) {
 		super(needsAllInputFactorsNonZeroForPartialDerivate);
 	}
 
+	/**
+	 * @return x_i with g_i(x_i) = value, if the partial derivatives of the
+	 *         function factorize into a term common to all inputs and a term
+	 *         g_i(x_i) strictly decreasing in x_i; Double.NaN otherwise.
+	 */
+	public double calculateInverseSeparableFactor(final int input, final double value) {
+		return Double.NaN;
+	}
+
+	/**
+	 * Calculates the inputs on the expansion path of a separable function for the
+	 * given multiplier t, i. e. g_i(x_i) = t * p_i(x_i) for each input, where p_i
+	 * is the marginal price of the step price function. At points of
+	 * discontinuity the input stays at the step boundary.
+	 *
+	 * @return price of the inputs
+	 */
+	protected double calculateInputsOnExpansionPath(final double multiplier, final PriceSteps[] priceSteps,
+			final double[] capital, final double[] inputs) {
+		double cost = 0.0;
+
+		for (int i = 0; i < inputs.length; i++) {
+			final PriceSteps priceStepsOfInput = priceSteps[i];
+			double amount = priceStepsOfInput.getDepth();
+
+			for (int k = 0; k < priceStepsOfInput.getNumberOfSteps(); k++) {
+				final double price = priceStepsOfInput.getPrice(k);
+
+				// free steps are bought completely
+				if (price > 0.0) {
+					final double amountOnStep = calculateInverseSeparableFactor(i, multiplier * price) - capital[i];
+					if (amountOnStep <= priceStepsOfInput.getRightBoundary(k)) {
+						amount = Math.max(amountOnStep, priceStepsOfInput.getLeftBoundary(k));
+						break;
+					}
+				}
+			}
+
+			inputs[i] = capital[i] + amount;
+			cost += priceStepsOfInput.getCost(amount);
+		}
+
+		return cost;
+	}
+
+	/**
+	 * Dispatches to the KKT solution for separable functions, e. g. the root
+	 * function, and to the iterative solution otherwise. Functions with an
+	 * analytical solution override this, see
+	 * {@link AnalyticalConvexFunctionImpl#calculateOutputMaximizingInputs(Map, double)}.
+	 */
 	@Override
 	public Map<T, Double> calculateOutputMaximizingInputs(final Map<T, PriceFunction> priceFunctionsOfInputGoods,
 			final double budget) {
+		if (isSeparable()) {
+			return this.calculateOutputMaximizingInputsKKT(priceFunctionsOfInputGoods, budget);
+		}
+
 		return this.calculateOutputMaximizingInputsIterative(priceFunctionsOfInputGoods, budget,
-				ApplicationContext.getInstance().getConfiguration().mathConfig.getNumberOfIterations(),
-				ApplicationContext.getInstance().getConfiguration().mathConfig.getInitializationValue());
+				mathConfig.numberOfIterations, mathConfig.initializationValue);
+	}
+
+	/**
+	 * calculates the output maximizing bundle of inputs under a budget restriction
+	 * by solving the Karush-Kuhn-Tucker conditions on the step price functions of
+	 * the inputs for the multiplier, which requires a separable function. <br />
+	 * <br />
+	 * dy/d(x_i) = l * p_i(x_i) <br />
+	 * p_1(x_1) * x_1 + ... + p_n(x_n) * x_n = b
+	 */
+	public Map<T, Double> calculateOutputMaximizingInputsKKT(final Map<T, PriceFunction> priceFunctionsOfInputTypes,
+			final double budget) {
+		assert (isSeparable());
+
+		final int numberOfInputTypes = getInputTypeLayout().size();
+		final PriceSteps[] priceSteps = toPriceSteps(priceFunctionsOfInputTypes, budget);
+
+		// check, whether inputs are unavailable
+		boolean inputsAreUnavailable = false;
+
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			if (priceSteps[i].getNumberOfSteps() == 0) {
+				inputsAreUnavailable = true;
+				break;
+			}
+		}
+
+		/*
+		 * special cases
+		 */
+
+		if (inputsAreUnavailable && needsAllInputFactorsNonZeroForPartialDerivate) {
+			getLog().log(
+					"at least one of the prices is Double.NaN, but the function needs all inputs set -> no calculation");
+			getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, 0.0,
+					ConvexFunctionTerminationCause.INPUT_FACTOR_UNAVAILABLE);
+			return toMap(new double[numberOfInputTypes]);
+		}
+
+		if (MathUtil.lesserEqual(budget, 0.0)) {
+			getLog().log("budget is %s -> no calculation", budget);
+			getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, 0.0,
+					ConvexFunctionTerminationCause.BUDGET_PLANNED);
+			return toMap(new double[numberOfInputTypes]);
+		}
+
+		/*
+		 * calculation
+		 */
+		final double[] inputs = new double[numberOfInputTypes];
+		final ExpansionPathSearchResult result = searchExpansionPath(priceSteps, new double[numberOfInputTypes],
+				new ExpansionPathConstraint() {
+					@Override
+					public double getViolation(final double[] inputs, final double cost) {
+						return (cost - budget) / budget;
+					}
+				}, inputs);
+		final double budgetSpent = result.cost;
+
+		if (MathUtil.lesser(budgetSpent, budget)) {
+			getLog().log("markets sold out after %s evaluations", result.numberOfEvaluations);
+			getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, budgetSpent,
+					ConvexFunctionTerminationCause.NO_INPUT_AVAILABLE);
+		} else {
+			getLog().log("budget planned completely after %s evaluations", result.numberOfEvaluations);
+			getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, budgetSpent,
+					ConvexFunctionTerminationCause.BUDGET_PLANNED);
+		}
+
+		return toMap(inputs);
 	}
 
 	/**
@@ -54,7 +220,7 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 	public Map<T, Double> calculateOutputMaximizingInputsIterative(
 			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget, final int numberOfIterations) {
 		return this.calculateOutputMaximizingInputsIterative(priceFunctionsOfInputTypes, budget, numberOfIterations,
-				ApplicationContext.getInstance().getConfiguration().mathConfig.getInitializationValue());
+				mathConfig.initializationValue);
 	}
 
 	protected Map<T, Double> calculateOutputMaximizingInputsIterative(
@@ -65,22 +231,20 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 
 		// ------ preparation -----------------------------------------
 
-		// initialize inventory
-		final Map<T, Double> inventoryNullSafe = new HashMap<T, Double>();
+		final int numberOfInputTypes = getInputTypeLayout().size();
+		final PriceFunction[] priceFunctions = toPriceFunctionArray(priceFunctionsOfInputTypes);
 
-		for (final T inputType : getInputTypes()) {
-			inventoryNullSafe.put(inputType, 0.0);
-		}
+		// initialize inventory
+		final double[] inventory = new double[numberOfInputTypes];
 
 		// check, whether inputs have NaN prices
 		boolean inputsAreUnavailable = false;
 
-		for (final T inputType : getInputTypes()) {
-			final double inventoryAmount = inventoryNullSafe.get(inputType);
+		for (int i = 0; i < numberOfInputTypes; i++) {
 			// if the input type is not available in the inventory
-			if (inventoryAmount <= 0.0) {
+			if (inventory[i] <= 0.0) {
 				// if the good type is not available on markets
-				if (Double.isNaN(priceFunctionsOfInputTypes.get(inputType).getPrice(0.0))) {
+				if (Double.isNaN(priceFunctions[i].getPrice(0.0))) {
 					inputsAreUnavailable = true;
 					break;
 				}
@@ -127,7 +291,7 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		/*
 		 * initialization
 		 */
-		final Map<T, Double> bundleOfInputs = new HashMap<T, Double>(inventoryNullSafe);
+		final double[] inputs = inventory.clone();
 
 		// determine initialization value
 		final double initializationValueForInputs;
@@ -139,9 +303,8 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		}
 
 		// set initialization value
-		for (final T inputType : getInputTypes()) {
-			bundleOfInputs.put(inputType,
-					MathUtil.nullSafeValue(bundleOfInputs.get(inputType)) + initializationValueForInputs);
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			inputs[i] = inputs[i] + initializationValueForInputs;
 		}
 
 		// ------ calculation -----------------------------------------
@@ -152,7 +315,7 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		double budgetSpent = 0.0;
 
 		// maximize output
-		final int NUMBER_OF_ITERATIONS = bundleOfInputs.size() * numberOfIterations;
+		final int NUMBER_OF_ITERATIONS = numberOfInputTypes * numberOfIterations;
 		final double budgetPerIteration = budget / NUMBER_OF_ITERATIONS;
 
 		while (true) {
@@ -164,20 +327,19 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 				break;
 			}
 
-			final T optimalInputType = findHighestPartialDerivatePerPrice(bundleOfInputs, priceFunctionsOfInputTypes,
-					inventoryNullSafe);
+			final int optimalInput = findHighestPartialDerivatePerPrice(inputs, priceFunctions, inventory);
 
 			// no optimal input type could be found, i. e. markets are sold out
-			if (optimalInputType == null) {
+			if (optimalInput < 0) {
 				getLog().log("no optimal input found -> terminating");
 				getLog().agent_onCalculateOutputMaximizingInputsIterative(budget, budgetSpent,
 						ConvexFunctionTerminationCause.NO_INPUT_AVAILABLE);
 				break;
 			} else {
-				final double oldAmountOfOptimalInputType = bundleOfInputs.get(optimalInputType);
+				final double oldAmountOfOptimalInputType = inputs[optimalInput];
 				final double priceRelevantAmountOfOptimalInputType = Math
-						.max(bundleOfInputs.get(optimalInputType) - inventoryNullSafe.get(optimalInputType), 0.0);
-				final double marginalPriceOfOptimalInputType = priceFunctionsOfInputTypes.get(optimalInputType)
+						.max(inputs[optimalInput] - inventory[optimalInput], 0.0);
+				final double marginalPriceOfOptimalInputType = priceFunctions[optimalInput]
 						.getMarginalPrice(priceRelevantAmountOfOptimalInputType);
 
 				// additional amounts have to grow slowly, so that the solution
@@ -185,7 +347,7 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 				final double additionalAmountOfInputType = Math.min(
 						budgetPerIteration / marginalPriceOfOptimalInputType,
 						Math.max(priceRelevantAmountOfOptimalInputType, initializationValue));
-				bundleOfInputs.put(optimalInputType, oldAmountOfOptimalInputType + additionalAmountOfInputType);
+				inputs[optimalInput] = oldAmountOfOptimalInputType + additionalAmountOfInputType;
 
 				// constraints
 
@@ -196,14 +358,159 @@ public abstract class ConvexFunctionImpl<T> extends FunctionImpl<T> implements C
 		// ------ cleanup -----------------------------------------
 
 		// reset initialization values
-		for (final T inputType : getInputTypes()) {
-			bundleOfInputs.put(inputType, bundleOfInputs.get(inputType) - initializationValueForInputs);
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			inputs[i] = inputs[i] - initializationValueForInputs;
 		}
 
-		return bundleOfInputs;
+		return toMap(inputs);
 	}
 
 	private Log getLog() {
 		return ApplicationContext.getInstance().getLog();
 	}
+
+	/**
+	 * @return parameters of the function in the order of the input type layout,
+	 *         except for the mutable main coefficient; functions of the same class
+	 *         with equal parameters and main coefficients are equal
+	 */
+	public abstract double[] getParameters();
+
+	public boolean isSeparable() {
+		return !Double.isNaN(calculateInverseSeparableFactor(0, 1.0));
+	}
+
+	/**
+	 * Searches the smallest multiplier on the expansion path, which satisfies the
+	 * constraint, by bracketing and the Illinois variant of regula falsi on the
+	 * logarithm of the multiplier.
+	 *
+	 * @param inputs is filled with the inputs for the multiplier found
+	 * @return price of the inputs and number of evaluations
+	 */
+	public ExpansionPathSearchResult searchExpansionPath(final PriceSteps[] priceSteps, final double[] capital,
+			final ExpansionPathConstraint constraint, final double[] inputs) {
+		int numberOfEvaluations = 0;
+
+		double maxCost = 0.0;
+
+		for (int i = 0; i < inputs.length; i++) {
+			maxCost += priceSteps[i].getCost(priceSteps[i].getDepth());
+		}
+
+		/*
+		 * bracketing
+		 */
+		double feasibleLogMultiplier = Double.NaN;
+		double feasibleViolation = Double.NaN;
+		double infeasibleLogMultiplier = Double.NaN;
+		double infeasibleViolation = Double.NaN;
+
+		double logMultiplier = 0.0;
+		double step = 1.0;
+		double cost = calculateInputsOnExpansionPath(Math.exp(logMultiplier), priceSteps, capital, inputs);
+		double violation = constraint.getViolation(inputs, cost);
+		numberOfEvaluations++;
+
+		if (violation <= 0.0) {
+			// more budget can be spent -> decrease multiplier
+			while (violation <= 0.0) {
+				feasibleLogMultiplier = logMultiplier;
+				feasibleViolation = violation;
+
+				// markets are sold out
+				if (cost >= maxCost || logMultiplier < -MAX_LOG_MULTIPLIER) {
+					return new ExpansionPathSearchResult(cost, numberOfEvaluations);
+				}
+
+				logMultiplier -= step;
+				step *= 2.0;
+				cost = calculateInputsOnExpansionPath(Math.exp(logMultiplier), priceSteps, capital, inputs);
+				violation = constraint.getViolation(inputs, cost);
+				numberOfEvaluations++;
+			}
+
+			infeasibleLogMultiplier = logMultiplier;
+			infeasibleViolation = violation;
+		} else {
+			// less budget has to be spent -> increase multiplier
+			while (violation > 0.0) {
+				infeasibleLogMultiplier = logMultiplier;
+				infeasibleViolation = violation;
+
+				// constraint cannot be satisfied by buying anything
+				if (logMultiplier > MAX_LOG_MULTIPLIER) {
+					for (int i = 0; i < inputs.length; i++) {
+						inputs[i] = capital[i];
+					}
+					return new ExpansionPathSearchResult(0.0, numberOfEvaluations);
+				}
+
+				logMultiplier += step;
+				step *= 2.0;
+				cost = calculateInputsOnExpansionPath(Math.exp(logMultiplier), priceSteps, capital, inputs);
+				violation = constraint.getViolation(inputs, cost);
+				numberOfEvaluations++;
+			}
+
+			feasibleLogMultiplier = logMultiplier;
+			feasibleViolation = violation;
+		}
+
+		/*
+		 * Illinois algorithm; the violation at the retained end of the bracket is
+		 * halved for the secant, if the same end is retained twice
+		 */
+		double feasibleSecantViolation = feasibleViolation;
+		double infeasibleSecantViolation = infeasibleViolation;
+		int side = 0;
+
+		while (-feasibleViolation > KKT_TOLERANCE && numberOfEvaluations < KKT_MAX_EVALUATIONS
+				&& feasibleLogMultiplier - infeasibleLogMultiplier > KKT_TOLERANCE
+						* (1.0 + Math.abs(feasibleLogMultiplier))) {
+			logMultiplier = (feasibleLogMultiplier * infeasibleSecantViolation
+					- infeasibleLogMultiplier * feasibleSecantViolation)
+					/ (infeasibleSecantViolation - feasibleSecantViolation);
+
+			// fall back to bisection, if the secant leaves the bracket
+			if (!(logMultiplier < feasibleLogMultiplier && logMultiplier > infeasibleLogMultiplier)) {
+				logMultiplier = (feasibleLogMultiplier + infeasibleLogMultiplier) / 2.0;
+			}
+
+			cost = calculateInputsOnExpansionPath(Math.exp(logMultiplier), priceSteps, capital, inputs);
+			violation = constraint.getViolation(inputs, cost);
+			numberOfEvaluations++;
+
+			if (violation <= 0.0) {
+				feasibleLogMultiplier = logMultiplier;
+				feasibleViolation = violation;
+				feasibleSecantViolation = violation;
+				if (side == -1) {
+					infeasibleSecantViolation /= 2.0;
+				}
+				side = -1;
+			} else {
+				infeasibleLogMultiplier = logMultiplier;
+				infeasibleSecantViolation = violation;
+				if (side == 1) {
+					feasibleSecantViolation /= 2.0;
+				}
+				side = 1;
+			}
+		}
+
+		cost = calculateInputsOnExpansionPath(Math.exp(feasibleLogMultiplier), priceSteps, capital, inputs);
+		return new ExpansionPathSearchResult(cost, numberOfEvaluations);
+	}
+
+	public PriceSteps[] toPriceSteps(final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget) {
+		final PriceFunction[] priceFunctions = toPriceFunctionArray(priceFunctionsOfInputTypes);
+		final PriceSteps[] priceSteps = new PriceSteps[priceFunctions.length];
+
+		for (int i = 0; i < priceFunctions.length; i++) {
+			priceSteps[i] = new PriceSteps(priceFunctions[i], budget);
+		}
+
+		return priceSteps;
+	}
 }
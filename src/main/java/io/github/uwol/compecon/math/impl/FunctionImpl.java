@@ -19,19 +19,165 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.impl;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ConfigurationSnapshot;
 import io.github.uwol.compecon.math.Function;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.util.MathUtil;
 
 public abstract class FunctionImpl<T> implements Function<T> {
 
+	/**
+	 * relative tolerance of the budget restriction in the range scan, so that
+	 * bundles of inputs on the budget line are found independent of rounding
+	 * errors
+	 */
+	protected static final double RANGE_SCAN_BUDGET_TOLERANCE = 1e-12;
+
+	/**
+	 * state of a branch-and-bound range scan on primitive buffers, which are
+	 * reused for all bundles of inputs
+	 */
+	private class RangeScan {
+
+		protected final double[] bestInputs;
+
+		protected double bestOutput = 0.0;
+
+		protected final double[] inputs;
+
+		protected final double precision;
+
+		protected final PriceFunction[] priceFunctions;
+
+		protected final double tolerance;
+
+		protected final double[] upperBoundInputs;
+
+		protected RangeScan(final PriceFunction[] priceFunctions, final double budget, final double precision) {
+			this.bestInputs = new double[priceFunctions.length];
+			this.inputs = new double[priceFunctions.length];
+			this.precision = precision;
+			this.priceFunctions = priceFunctions;
+			this.tolerance = Math.abs(budget) * RANGE_SCAN_BUDGET_TOLERANCE;
+			this.upperBoundInputs = new double[priceFunctions.length];
+		}
+
+		/**
+		 * @return the amount of the input that is affordable with the budget at its
+		 *         initial price, which is an upper bound for the price functions
+		 *         with non-decreasing average prices
+		 */
+		protected double calculateMaxInput(final int input, final double budgetLeft) {
+			final double initialPrice = priceFunctions[input].getPrice(0.0);
+
+			if (Double.isNaN(initialPrice) || budgetLeft <= 0.0) {
+				return 0.0;
+			}
+
+			return budgetLeft / initialPrice;
+		}
+
+		/**
+		 * @return the price sum of the given number of grid steps of the input, or
+		 *         Double.NaN, if the amount is not available
+		 */
+		protected double calculatePriceSum(final int input, final long steps) {
+			if (steps == 0) {
+				/*
+				 * if there is no input, the price sum is always 0.0; this makes sure that in
+				 * the case of an initial price Double.NaN the input can be set to 0.0
+				 */
+				return 0.0;
+			}
+
+			final double amount = steps * precision;
+			return priceFunctions[input].getPrice(amount) * amount;
+		}
+
+		/**
+		 * @return the output of the bundle of inputs, where the inputs from the given
+		 *         input on are set to their maximum amounts under the budget left
+		 */
+		protected double calculateUpperBound(final int fromInput, final double budgetLeft) {
+			for (int i = 0; i < inputs.length; i++) {
+				if (i < fromInput) {
+					upperBoundInputs[i] = inputs[i];
+				} else {
+					upperBoundInputs[i] = calculateMaxInput(i, budgetLeft);
+				}
+			}
+
+			return f(upperBoundInputs);
+		}
+
+		protected boolean isAffordable(final int input, final long steps, final double budgetLeft) {
+			final double priceSum = calculatePriceSum(input, steps);
+			return !Double.isNaN(priceSum) && priceSum <= budgetLeft + tolerance;
+		}
+
+		protected void scan(final int input, final double budgetLeft) {
+			final long maxSteps = (long) Math
+					.floor(calculateMaxInput(input, budgetLeft + tolerance) / precision + 1e-9);
+
+			// the last input is set to its largest affordable amount on the grid
+			if (input == inputs.length - 1) {
+				long lowerSteps = 0;
+				long upperSteps = maxSteps;
+
+				while (lowerSteps < upperSteps) {
+					final long steps = lowerSteps + (upperSteps - lowerSteps + 1) / 2;
+					if (isAffordable(input, steps, budgetLeft)) {
+						lowerSteps = steps;
+					} else {
+						upperSteps = steps - 1;
+					}
+				}
+
+				inputs[input] = lowerSteps * precision;
+
+				final double output = f(inputs);
+				if (output > bestOutput) {
+					bestOutput = output;
+					System.arraycopy(inputs, 0, bestInputs, 0, inputs.length);
+				}
+				return;
+			}
+
+			for (long steps = 0; steps <= maxSteps; steps++) {
+				if (!isAffordable(input, steps, budgetLeft)) {
+					break;
+				}
+
+				final double priceSum = calculatePriceSum(input, steps);
+				inputs[input] = steps * precision;
+
+				// bound: skip subtrees that cannot exceed the best output
+				if (calculateUpperBound(input + 1, budgetLeft - priceSum) > bestOutput) {
+					scan(input + 1, budgetLeft - priceSum);
+				}
+			}
+
+			inputs[input] = 0.0;
+		}
+	}
+
+	private Map<T, Integer> inputTypeIndices;
+
+	private List<T> inputTypeLayout;
+
+	protected final ConfigurationSnapshot.MathConfig mathConfig;
+
 	protected final boolean needsAllInputFactorsNonZeroForPartialDerivate;
 
 	public FunctionImpl(final boolean needsAllInputFactorsNonZeroForPartialDerivate) {
 		this.needsAllInputFactorsNonZeroForPartialDerivate = needsAllInputFactorsNonZeroForPartialDerivate;
+		mathConfig = ApplicationContext.getInstance().getConfigurationSnapshot().mathConfig;
 	}
 
 	@Override
@@ -40,138 +186,147 @@ public abstract class FunctionImpl<T> implements Function<T> {
 		return this.calculateOutputMaximizingInputsByRangeScan(priceFunctionsOfInputs, budget);
 	}
 
+	@Override
+	public Map<T, Double> calculateOutputMaximizingInputsByRangeScan(
+			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget) {
+		return this.calculateOutputMaximizingInputsByRangeScan(priceFunctionsOfInputTypes, budget,
+				mathConfig.rangeScanPrecision);
+	}
+
 	/**
 	 * finds the optimal bundle of inputs under the budget restriction by a discrete
-	 * brute force search on the domain of the function -> slow
+	 * search on a grid over the domain of the function. <br />
+	 * <br />
+	 * The search is a branch-and-bound on the monotonicity of the function: a
+	 * subtree of partial bundles is pruned, if the output of the partial bundle
+	 * with each unset input at its maximum affordable amount does not exceed the
+	 * best output found so far. The last input is not scanned, but set to its
+	 * maximum affordable amount by bisection.
 	 */
 	@Override
 	public Map<T, Double> calculateOutputMaximizingInputsByRangeScan(
-			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget) {
-		final Map<T, Double> optimalBundleOfInputs = this.calculateOutputMaximizingInputsByRangeScan(
-				priceFunctionsOfInputTypes, budget, 0.0, new HashMap<T, Double>());
+			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budget, final double precision) {
+		assert (precision > 0.0);
 
-		if (optimalBundleOfInputs.isEmpty()) {
-			for (final T inputType : getInputTypes()) {
-				optimalBundleOfInputs.put(inputType, 0.0);
-			}
-		}
+		final RangeScan rangeScan = new RangeScan(toPriceFunctionArray(priceFunctionsOfInputTypes), budget,
+				precision);
 
-		return optimalBundleOfInputs;
-	}
+		if (rangeScan.inputs.length > 0) {
+			rangeScan.scan(0, budget);
+		}
 
-	/**
-	 * @return the optimal bundleOfInputs under the budget restriction; empty, if
-	 *         there is no bundleOfInputs that returns an output exceeding minOutput
-	 */
-	private Map<T, Double> calculateOutputMaximizingInputsByRangeScan(
-			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final double budgetLeft, final double minOutput,
-			final Map<T, Double> currentBundleOfInputs) {
-		final T currentInputType = identifyNextUnsetInputType(currentBundleOfInputs);
-
-		// if a bundle of inputs has been chosen
-		if (currentInputType == null) {
-			if (f(currentBundleOfInputs) > minOutput) {
-				return currentBundleOfInputs;
-			} else {
-				return new HashMap<T, Double>();
-			}
+		/*
+		 * shrink the inputs below the tolerance, so that bundles of inputs on the
+		 * budget line do not violate the budget restriction; if no bundle of inputs
+		 * returns a positive output, the best inputs are 0.0
+		 */
+		for (int i = 0; i < rangeScan.bestInputs.length; i++) {
+			rangeScan.bestInputs[i] *= 1.0 - 2.0 * RANGE_SCAN_BUDGET_TOLERANCE;
 		}
-		// if at least one input good type has not been chosen
-		else {
-			// the amount of this input type is limited by the remaining budget
-			final double maxInputOfCurrentInputType;
-			final double initialPriceOfCurrentInputType = priceFunctionsOfInputTypes.get(currentInputType)
-					.getPrice(0.0);
-
-			if (Double.isNaN(initialPriceOfCurrentInputType)) {
-				maxInputOfCurrentInputType = 0.0;
-			} else {
-				maxInputOfCurrentInputType = budgetLeft / initialPriceOfCurrentInputType;
-			}
 
-			double bestOutput = minOutput;
-			Map<T, Double> bestBundleOfInputs = new HashMap<T, Double>();
+		return toMap(rangeScan.bestInputs);
+	}
 
-			for (double i = 0.0; i <= maxInputOfCurrentInputType; i += 0.01) {
-				currentBundleOfInputs.put(currentInputType, i);
+	@Override
+	public double f(final Map<T, Double> bundleOfInputs) {
+		return this.f(toArray(bundleOfInputs));
+	}
 
-				final double priceSumOfCurrentInputType;
-				if (i == 0.0) {
-					/*
-					 * if there is no input, the price sum is always 0.0; this makes sure that in
-					 * the case of currentPriceOfCurrentInputType = Double.NaN this iteration is
-					 * executed at least once
-					 */
-					priceSumOfCurrentInputType = 0.0;
-				} else {
-					final double currentPriceOfCurrentInputType = priceFunctionsOfInputTypes.get(currentInputType)
-							.getPrice(currentBundleOfInputs.get(currentInputType));
-					priceSumOfCurrentInputType = currentPriceOfCurrentInputType * i;
-				}
+	@Override
+	public int findHighestPartialDerivatePerPrice(final double[] inputs,
+			final PriceFunction[] priceFunctionsOfInputTypes, final double[] inventory) {
+		final double[] partialDerivatives = new double[inputs.length];
+		partialDerivatives(inputs, partialDerivatives);
 
-				if (Double.isNaN(priceSumOfCurrentInputType) || priceSumOfCurrentInputType > budgetLeft) {
-					break;
-				}
+		int optimalInput = -1;
+		double highestPartialDerivatePerPrice = 0.0;
 
-				final Map<T, Double> betterBundleOfInputs = calculateOutputMaximizingInputsByRangeScan(
-						priceFunctionsOfInputTypes, budgetLeft - priceSumOfCurrentInputType, bestOutput,
-						currentBundleOfInputs);
-				// if a better bundle of inputs has been found
-				if (!betterBundleOfInputs.isEmpty()) {
-					final double betterOutput = f(betterBundleOfInputs);
-					bestOutput = betterOutput;
-					// clone the map, as the original map will be modified
-					// in next iteration
-					bestBundleOfInputs = new HashMap<T, Double>(betterBundleOfInputs);
+		for (int i = 0; i < inputs.length; i++) {
+			if (priceFunctionsOfInputTypes[i] != null) {
+				final double partialDerivative = partialDerivatives[i];
+				final double inventoryAmount = inventory == null ? 0.0 : inventory[i];
+				final double amountToBuy = Math.max(inputs[i] - inventoryAmount, 0.0);
+				final double marginalPrice = priceFunctionsOfInputTypes[i].getMarginalPrice(amountToBuy);
+				if (!Double.isNaN(marginalPrice)) {
+					final double partialDerivativePerPrice = partialDerivative / marginalPrice;
+
+					assert (!Double.isNaN(partialDerivativePerPrice));
+
+					if (partialDerivativePerPrice > highestPartialDerivatePerPrice) {
+						optimalInput = i;
+						highestPartialDerivatePerPrice = partialDerivativePerPrice;
+					}
 				}
 			}
-
-			// remove this input, so that it will be set in next outer iteration
-			currentBundleOfInputs.remove(currentInputType);
-			return bestBundleOfInputs;
 		}
+
+		return optimalInput;
 	}
 
 	@Override
 	public T findHighestPartialDerivatePerPrice(final Map<T, Double> bundleOfInputs,
 			final Map<T, PriceFunction> priceFunctionsOfInputTypes, final Map<T, Double> inventory) {
-		T optimalInputType = null;
-		double highestPartialDerivatePerPrice = 0.0;
-
-		for (final T inputType : getInputTypes()) {
-			final double partialDerivative = partialDerivative(bundleOfInputs, inputType);
-			final double amountToBuy = Math.max(bundleOfInputs.get(inputType) - inventory.get(inputType), 0.0);
-			final double marginalPrice = priceFunctionsOfInputTypes.get(inputType).getMarginalPrice(amountToBuy);
-			if (!Double.isNaN(marginalPrice)) {
-				final double partialDerivativePerPrice = partialDerivative / marginalPrice;
-
-				assert (!Double.isNaN(partialDerivativePerPrice));
+		final int optimalInput = findHighestPartialDerivatePerPrice(toArray(bundleOfInputs),
+				toPriceFunctionArray(priceFunctionsOfInputTypes), toArray(inventory));
 
-				if (partialDerivativePerPrice > highestPartialDerivatePerPrice) {
-					optimalInputType = inputType;
-					highestPartialDerivatePerPrice = partialDerivativePerPrice;
-				}
-			}
+		if (optimalInput < 0) {
+			return null;
 		}
 
-		return optimalInputType;
+		return getInputTypeLayout().get(optimalInput);
 	}
 
 	@Override
 	public T findLargestPartialDerivate(final Map<T, Double> bundleOfInputs) {
-		@SuppressWarnings("unchecked")
-		T optimalInputType = (T) getInputTypes().toArray()[0];
+		final double[] inputs = toArray(bundleOfInputs);
+		final double[] partialDerivatives = new double[inputs.length];
+		partialDerivatives(inputs, partialDerivatives);
+
+		int optimalInput = 0;
 		double optimalPartialDerivate = 0;
 
-		for (final T inputType : getInputTypes()) {
-			final double partialDerivate = partialDerivative(bundleOfInputs, inputType);
-			if (optimalInputType == null || MathUtil.greater(partialDerivate, optimalPartialDerivate)) {
-				optimalInputType = inputType;
+		for (int i = 0; i < inputs.length; i++) {
+			final double partialDerivate = partialDerivatives[i];
+			if (MathUtil.greater(partialDerivate, optimalPartialDerivate)) {
+				optimalInput = i;
 				optimalPartialDerivate = partialDerivate;
 			}
 		}
 
-		return optimalInputType;
+		return getInputTypeLayout().get(optimalInput);
+	}
+
+	protected int getInputTypeIndex(final T inputType) {
+		getInputTypeLayout();
+
+		final Integer index = inputTypeIndices.get(inputType);
+
+		if (index == null) {
+			return -1;
+		}
+
+		return index;
+	}
+
+	/**
+	 * the layout is derived once from {@link #getInputTypes()}, so that the order
+	 * of iterations equals the order of the map-based API
+	 */
+	@Override
+	public List<T> getInputTypeLayout() {
+		if (inputTypeLayout == null) {
+			final List<T> layout = new ArrayList<T>(getInputTypes());
+			final Map<T, Integer> indices = new HashMap<T, Integer>();
+
+			for (int i = 0; i < layout.size(); i++) {
+				indices.put(layout.get(i), i);
+			}
+
+			inputTypeIndices = indices;
+			inputTypeLayout = layout;
+		}
+
+		return inputTypeLayout;
 	}
 
 	@Override
@@ -179,24 +334,67 @@ public abstract class FunctionImpl<T> implements Function<T> {
 		return this.needsAllInputFactorsNonZeroForPartialDerivate;
 	}
 
-	private T identifyNextUnsetInputType(final Map<T, Double> bundleOfInputs) {
-		for (final T inputType : getInputTypes()) {
-			if (!bundleOfInputs.containsKey(inputType)) {
-				return inputType;
-			}
+	@Override
+	public double partialDerivative(final Map<T, Double> forBundleOfInputs, final T withRespectToInputType) {
+		final int withRespectToInput = getInputTypeIndex(withRespectToInputType);
+
+		if (withRespectToInput < 0) {
+			return 0.0;
 		}
 
-		return null;
+		return partialDerivative(toArray(forBundleOfInputs), withRespectToInput);
+	}
+
+	@Override
+	public void partialDerivatives(final double[] forInputs, final double[] partialDerivatives) {
+		for (int i = 0; i < forInputs.length; i++) {
+			partialDerivatives[i] = partialDerivative(forInputs, i);
+		}
 	}
 
 	@Override
 	public Map<T, Double> partialDerivatives(final Map<T, Double> forBundleOfInputs) {
-		final Map<T, Double> partialDerivatives = new HashMap<T, Double>();
+		final double[] partialDerivatives = new double[getInputTypeLayout().size()];
+		partialDerivatives(toArray(forBundleOfInputs), partialDerivatives);
+		return toMap(partialDerivatives);
+	}
+
+	/**
+	 * @return amounts of the input types in the order of the input type layout;
+	 *         missing amounts are 0.0
+	 */
+	public double[] toArray(final Map<T, Double> bundleOfInputs) {
+		final List<T> layout = getInputTypeLayout();
+		final double[] inputs = new double[layout.size()];
+
+		if (bundleOfInputs != null) {
+			for (int i = 0; i < inputs.length; i++) {
+				inputs[i] = MathUtil.nullSafeValue(bundleOfInputs.get(layout.get(i)));
+			}
+		}
+
+		return inputs;
+	}
+
+	public Map<T, Double> toMap(final double[] inputs) {
+		final List<T> layout = getInputTypeLayout();
+		final Map<T, Double> bundleOfInputs = new HashMap<T, Double>();
+
+		for (int i = 0; i < inputs.length; i++) {
+			bundleOfInputs.put(layout.get(i), inputs[i]);
+		}
+
+		return bundleOfInputs;
+	}
+
+	public PriceFunction[] toPriceFunctionArray(final Map<T, PriceFunction> priceFunctionsOfInputTypes) {
+		final List<T> layout = getInputTypeLayout();
+		final PriceFunction[] priceFunctions = new PriceFunction[layout.size()];
 
-		for (final T inputType : getInputTypes()) {
-			partialDerivatives.put(inputType, partialDerivative(forBundleOfInputs, inputType));
+		for (int i = 0; i < priceFunctions.length; i++) {
+			priceFunctions[i] = priceFunctionsOfInputTypes.get(layout.get(i));
 		}
 
-		return partialDerivatives;
+		return priceFunctions;
 	}
 }
@@ -0,0 +1,57 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.math.impl;
+
+import java.util.Arrays;
+
+/**
+ * Caches x_i^e_i for a fixed vector of exponents. Powers are only recomputed
+ * for inputs that changed since the last call, which in iterative solvers is
+ * usually a single input per iteration. <br />
+ * <br />
+ * Not thread-safe; owners confine instances to a thread, e. g. by a
+ * ThreadLocal.
+ */
+public class PowerCache {
+
+	protected final double[] exponents;
+
+	protected final double[] inputs;
+
+	protected final double[] powers;
+
+	public PowerCache(final double[] exponents) {
+		this.exponents = exponents;
+		this.inputs = new double[exponents.length];
+		this.powers = new double[exponents.length];
+
+		// NaN never equals an input, so that all powers are computed initially
+		Arrays.fill(this.inputs, Double.NaN);
+	}
+
+	public double pow(final double[] forInputs, final int i) {
+		if (forInputs[i] != inputs[i]) {
+			inputs[i] = forInputs[i];
+			powers[i] = Math.pow(forInputs[i], exponents[i]);
+		}
+
+		return powers[i];
+	}
+}
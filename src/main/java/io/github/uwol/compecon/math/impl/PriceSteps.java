@@ -0,0 +1,162 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.math.impl;
+
+import io.github.uwol.compecon.math.price.PriceFunction;
+import io.github.uwol.compecon.math.price.PriceFunction.PriceFunctionConfig;
+
+/**
+ * Rising step price function as primitive arrays: step k offers the amounts in
+ * [leftBoundaries[k], rightBoundaries[k]] at prices[k] per unit; costs[k] is
+ * the cumulative price of all preceding steps.
+ */
+public class PriceSteps {
+
+	protected final double[] costs;
+
+	protected final double[] leftBoundaries;
+
+	protected final int numberOfSteps;
+
+	protected final double[] prices;
+
+	protected final double[] rightBoundaries;
+
+	public PriceSteps(final PriceFunction priceFunction, final double maxBudget) {
+		this(priceFunction.getAnalyticalPriceFunctionParameters(maxBudget));
+	}
+
+	/**
+	 * steps with NaN prices terminate the step function, i. e. the market is sold
+	 * out
+	 */
+	public PriceSteps(final PriceFunctionConfig[] priceFunctionConfigs) {
+		costs = new double[priceFunctionConfigs.length];
+		leftBoundaries = new double[priceFunctionConfigs.length];
+		prices = new double[priceFunctionConfigs.length];
+		rightBoundaries = new double[priceFunctionConfigs.length];
+
+		int numberOfSteps = 0;
+		double cost = 0.0;
+
+		for (final PriceFunctionConfig priceFunctionConfig : priceFunctionConfigs) {
+			if (Double.isNaN(priceFunctionConfig.coefficientXPower0)) {
+				break;
+			}
+
+			costs[numberOfSteps] = cost;
+			leftBoundaries[numberOfSteps] = priceFunctionConfig.intervalLeftBoundary;
+			prices[numberOfSteps] = priceFunctionConfig.coefficientXPower0;
+			rightBoundaries[numberOfSteps] = priceFunctionConfig.intervalRightBoundary;
+
+			cost += priceFunctionConfig.coefficientXPower0
+					* (priceFunctionConfig.intervalRightBoundary - priceFunctionConfig.intervalLeftBoundary);
+			numberOfSteps++;
+		}
+
+		this.numberOfSteps = numberOfSteps;
+	}
+
+	/**
+	 * @return price of the given amount; amounts exceeding the depth are capped
+	 */
+	public double getCost(final double amount) {
+		if (amount <= 0.0 || numberOfSteps == 0) {
+			return 0.0;
+		}
+
+		for (int k = 0; k < numberOfSteps; k++) {
+			if (amount <= rightBoundaries[k]) {
+				return costs[k] + prices[k] * (amount - leftBoundaries[k]);
+			}
+		}
+
+		return costs[numberOfSteps - 1]
+				+ prices[numberOfSteps - 1] * (rightBoundaries[numberOfSteps - 1] - leftBoundaries[numberOfSteps - 1]);
+	}
+
+	/**
+	 * @return amount offered by all steps; infinite for fixed prices
+	 */
+	public double getDepth() {
+		if (numberOfSteps == 0) {
+			return 0.0;
+		}
+
+		return rightBoundaries[numberOfSteps - 1];
+	}
+
+	public double getLeftBoundary(final int step) {
+		return leftBoundaries[step];
+	}
+
+	/**
+	 * @return price of the next unit after the given amount; NaN, if sold out
+	 */
+	public double getMarginalPrice(final double amount) {
+		for (int k = 0; k < numberOfSteps; k++) {
+			if (amount < rightBoundaries[k]) {
+				return prices[k];
+			}
+		}
+
+		return Double.NaN;
+	}
+
+	public int getNumberOfSteps() {
+		return numberOfSteps;
+	}
+
+	public double getPrice(final int step) {
+		return prices[step];
+	}
+
+	/**
+	 * @return step as a price function config, where coefficientXPowerMinus1 is
+	 *         the cost of the preceding steps minus the cost of their amount at
+	 *         the price of this step
+	 */
+	public PriceFunctionConfig getPriceFunctionConfig(final int step) {
+		return new PriceFunctionConfig(leftBoundaries[step], rightBoundaries[step], prices[step],
+				costs[step] - prices[step] * leftBoundaries[step]);
+	}
+
+	/**
+	 * @return price of the last unit up to the given amount; NaN, if the amount is
+	 *         zero
+	 */
+	public double getPriceOfLastUnit(final double amount) {
+		if (amount <= 0.0 || numberOfSteps == 0) {
+			return Double.NaN;
+		}
+
+		for (int k = 0; k < numberOfSteps; k++) {
+			if (amount <= rightBoundaries[k]) {
+				return prices[k];
+			}
+		}
+
+		return prices[numberOfSteps - 1];
+	}
+
+	public double getRightBoundary(final int step) {
+		return rightBoundaries[step];
+	}
+}
@@ -20,7 +20,6 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.math.impl;
 
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 
 import io.github.uwol.compecon.math.Function;
@@ -38,9 +37,18 @@ public class RootFunctionImpl<T> extends ConvexFunctionImpl<T> implements Functi
 		this.coefficient = coefficient;
 	}
 
+	/**
+	 * g(x) = x^(-0.5) <br />
+	 * x = g(x)^(-2)
+	 */
 	@Override
-	public double f(final Map<T, Double> bundleOfInputs) {
-		return this.coefficient * Math.pow(bundleOfInputs.get(this.inputType), 0.5);
+	public double calculateInverseSeparableFactor(final int input, final double value) {
+		return 1.0 / (value * value);
+	}
+
+	@Override
+	public double f(final double[] inputs) {
+		return this.coefficient * Math.pow(inputs[0], 0.5);
 	}
 
 	public double getCoefficient() {
@@ -55,11 +63,13 @@ public class RootFunctionImpl<T> extends ConvexFunctionImpl<T> implements Functi
 	}
 
 	@Override
-	public double partialDerivative(final Map<T, Double> forBundleOfInputs, final T withRespectToInputType) {
-		if (this.inputType.equals(withRespectToInputType)) {
-			return this.coefficient * 0.5 * Math.pow(forBundleOfInputs.get(this.inputType), -0.5);
-		}
-		return 0.0;
+	public double[] getParameters() {
+		return new double[0];
+	}
+
+	@Override
+	public double partialDerivative(final double[] forInputs, final int withRespectToInput) {
+		return this.coefficient * 0.5 * Math.pow(forInputs[0], -0.5);
 	}
 
 	public void setCoefficient(final double coefficient) {
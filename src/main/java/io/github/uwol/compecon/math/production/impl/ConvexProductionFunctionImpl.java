@@ -26,25 +26,104 @@ import java.util.Map.Entry;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ConfigurationSnapshot;
 import io.github.uwol.compecon.engine.log.Log;
 import io.github.uwol.compecon.math.Function;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl.ExpansionPathConstraint;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl.ExpansionPathSearchResult;
+import io.github.uwol.compecon.math.impl.PriceSteps;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.production.ConvexProductionFunction;
 import io.github.uwol.compecon.math.util.MathUtil;
 
 public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImpl implements ConvexProductionFunction {
 
+	protected double lastBudgetSpent;
+
+	protected ConvexProductionFunctionTerminationCause lastTerminationCause;
+
+	protected final ConfigurationSnapshot.MathConfig mathConfig;
+
 	protected ConvexProductionFunctionImpl(final Function<GoodType> delegate) {
 		super(delegate);
+		mathConfig = ApplicationContext.getInstance().getConfigurationSnapshot().mathConfig;
 	}
 
 	@Override
 	public Map<GoodType, Double> calculateProfitMaximizingProductionFactors(final double priceOfProducedGoodType,
 			final Map<GoodType, PriceFunction> priceFunctionsOfInputTypes, final Map<GoodType, Double> capital,
 			final double budget, final double maxOutput, final double margin) {
+		final ProfitMaximizationCache profitMaximizationCache = ApplicationContext.getInstance()
+				.getProfitMaximizationCache();
+
+		if (profitMaximizationCache != null && isSeparable()) {
+			return this.calculateProfitMaximizingProductionFactorsCached(profitMaximizationCache,
+					priceOfProducedGoodType, priceFunctionsOfInputTypes, capital, budget, maxOutput, margin);
+		}
+
+		return this.calculateProfitMaximizingProductionFactorsUncached(priceOfProducedGoodType,
+				priceFunctionsOfInputTypes, capital, budget, maxOutput, margin);
+	}
+
+	/**
+	 * looks up the profit maximizing production factors for the quantized budget
+	 * and capital in the cache; on a miss they are calculated for the quantized
+	 * budget and capital, so that the result does not depend on the order of
+	 * lookups. The price steps of the key are passed to the KKT solver, so that
+	 * the markets are iterated once per lookup.
+	 */
+	protected Map<GoodType, Double> calculateProfitMaximizingProductionFactorsCached(
+			final ProfitMaximizationCache profitMaximizationCache, final double priceOfProducedGoodType,
+			final Map<GoodType, PriceFunction> priceFunctionsOfInputTypes, final Map<GoodType, Double> capital,
+			final double budget, final double maxOutput, final double margin) {
+		final double quantizedBudget = profitMaximizationCache.quantize(budget);
+		Map<GoodType, Double> quantizedCapital = null;
+
+		if (capital != null) {
+			quantizedCapital = new HashMap<GoodType, Double>();
+
+			for (final Entry<GoodType, Double> entry : capital.entrySet()) {
+				quantizedCapital.put(entry.getKey(), profitMaximizationCache.quantize(entry.getValue()));
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		final ConvexFunctionImpl<GoodType> convexDelegate = (ConvexFunctionImpl<GoodType>) delegate;
+		final PriceSteps[] priceSteps = convexDelegate.toPriceSteps(priceFunctionsOfInputTypes, quantizedBudget);
+
+		final ProfitMaximizationCache.Key key = profitMaximizationCache.newKey(this, convexDelegate.getParameters(),
+				priceOfProducedGoodType, delegate.getInputTypeLayout(), priceSteps, quantizedCapital,
+				quantizedBudget, maxOutput, margin);
+		ProfitMaximizationCache.Entry cacheEntry = profitMaximizationCache.get(key);
+
+		if (cacheEntry == null) {
+			final Map<GoodType, Double> profitMaximizingProductionFactors = this
+					.calculateProfitMaximizingProductionFactorsKKT(priceOfProducedGoodType, priceSteps,
+							quantizedCapital, quantizedBudget, maxOutput, margin);
+			cacheEntry = new ProfitMaximizationCache.Entry(profitMaximizingProductionFactors, lastBudgetSpent,
+					lastTerminationCause);
+			profitMaximizationCache.put(key, cacheEntry);
+			return profitMaximizingProductionFactors;
+		}
+
+		getLog().log("profit maximizing production factors found in cache");
+		getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, cacheEntry.budgetSpent,
+				cacheEntry.terminationCause);
+		return new HashMap<GoodType, Double>(cacheEntry.profitMaximizingProductionFactors);
+	}
+
+	protected Map<GoodType, Double> calculateProfitMaximizingProductionFactorsUncached(
+			final double priceOfProducedGoodType, final Map<GoodType, PriceFunction> priceFunctionsOfInputTypes,
+			final Map<GoodType, Double> capital, final double budget, final double maxOutput, final double margin) {
+		if (isSeparable()) {
+			return this.calculateProfitMaximizingProductionFactorsKKT(priceOfProducedGoodType,
+					priceFunctionsOfInputTypes, capital, budget, maxOutput, margin);
+		}
+
 		return this.calculateProfitMaximizingProductionFactorsIterative(priceOfProducedGoodType,
 				priceFunctionsOfInputTypes, capital, budget, maxOutput, margin,
-				ApplicationContext.getInstance().getConfiguration().mathConfig.getNumberOfIterations());
+				mathConfig.numberOfIterations);
 	}
 
 	public Map<GoodType, Double> calculateProfitMaximizingProductionFactorsIterative(
@@ -53,7 +132,123 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 			final int numberOfIterations) {
 		return this.calculateProfitMaximizingProductionFactorsIterative(priceOfProducedGoodType,
 				priceFunctionsOfInputTypes, capital, budget, maxOutput, margin, numberOfIterations,
-				ApplicationContext.getInstance().getConfiguration().mathConfig.getInitializationValue());
+				mathConfig.initializationValue);
+	}
+
+	/**
+	 * Calculates the profit maximizing production plan by solving the
+	 * Karush-Kuhn-Tucker conditions on the step price functions of the inputs for
+	 * the multiplier, which requires a separable production function. The
+	 * smallest multiplier is searched, for which the budget, maxOutput and
+	 * marginal revenue >= marginal cost of the last units bought are satisfied.
+	 */
+	public Map<GoodType, Double> calculateProfitMaximizingProductionFactorsKKT(final double priceOfProducedGoodType,
+			final Map<GoodType, PriceFunction> priceFunctionsOfInputTypes, final Map<GoodType, Double> capital,
+			final double budget, final double maxOutput, final double margin) {
+		assert (isSeparable());
+
+		@SuppressWarnings("unchecked")
+		final ConvexFunctionImpl<GoodType> convexDelegate = (ConvexFunctionImpl<GoodType>) delegate;
+		return this.calculateProfitMaximizingProductionFactorsKKT(priceOfProducedGoodType,
+				convexDelegate.toPriceSteps(priceFunctionsOfInputTypes, budget), capital, budget, maxOutput, margin);
+	}
+
+	/**
+	 * @param priceSteps price functions of the inputs up to the budget in the
+	 *                   order of the input type layout
+	 */
+	protected Map<GoodType, Double> calculateProfitMaximizingProductionFactorsKKT(
+			final double priceOfProducedGoodType, final PriceSteps[] priceSteps, final Map<GoodType, Double> capital,
+			final double budget, final double maxOutput, final double margin) {
+		assert (isSeparable());
+
+		if (capital != null) {
+			for (final Entry<GoodType, Double> entry : capital.entrySet()) {
+				assert (entry.getKey().isDurable()) : "capital good " + entry.getKey() + " is not durable";
+				assert (entry.getValue() != null);
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		final ConvexFunctionImpl<GoodType> convexDelegate = (ConvexFunctionImpl<GoodType>) delegate;
+		final int numberOfInputTypes = convexDelegate.getInputTypeLayout().size();
+		final double[] capitalAmounts = convexDelegate.toArray(capital);
+
+		// check, whether inputs have NaN prices
+		boolean inputsAreUnavailable = false;
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			// if the good type is neither available as capital nor on markets
+			if (capitalAmounts[i] <= 0.0 && priceSteps[i].getNumberOfSteps() == 0) {
+				inputsAreUnavailable = true;
+				break;
+			}
+		}
+
+		/*
+		 * special cases
+		 */
+
+		if (inputsAreUnavailable && delegate.getNeedsAllInputFactorsNonZeroForPartialDerivate()) {
+			getLog().log(
+					"at least one of the prices is Double.NaN, but the production function needs all inputs set -> no calculation");
+			onTermination(budget, 0.0, ConvexProductionFunctionTerminationCause.INPUT_FACTOR_UNAVAILABLE);
+			return convexDelegate.toMap(new double[numberOfInputTypes]);
+		}
+
+		if (MathUtil.lesserEqual(budget, 0.0)) {
+			getLog().log("budget is %s -> no calculation", budget);
+			onTermination(budget, 0.0, ConvexProductionFunctionTerminationCause.BUDGET_PLANNED);
+			return convexDelegate.toMap(new double[numberOfInputTypes]);
+		}
+
+		if (MathUtil.lesserEqual(priceOfProducedGoodType, 0.0)) {
+			getLog().log("priceOfProducedGoodType = %s -> no production", priceOfProducedGoodType);
+			onTermination(budget, 0.0, ConvexProductionFunctionTerminationCause.ESTIMATED_REVENUE_PER_UNIT_ZERO);
+			return convexDelegate.toMap(new double[numberOfInputTypes]);
+		}
+
+		/*
+		 * calculation
+		 */
+		final double estimatedMarginalRevenueOfGoodType = priceOfProducedGoodType / (1.0 + margin);
+		final double[] partialDerivatives = new double[numberOfInputTypes];
+		final double[] violations = new double[3];
+		final double[] inputs = new double[numberOfInputTypes];
+
+		final ExpansionPathSearchResult result = convexDelegate.searchExpansionPath(priceSteps, capitalAmounts,
+				new ExpansionPathConstraint() {
+					@Override
+					public double getViolation(final double[] inputs, final double cost) {
+						calculateViolations(inputs, cost, budget, maxOutput, estimatedMarginalRevenueOfGoodType,
+								priceSteps, capitalAmounts, partialDerivatives, violations);
+						return Math.max(violations[0], Math.max(violations[1], violations[2]));
+					}
+				}, inputs);
+		final double budgetSpent = result.cost;
+
+		calculateViolations(inputs, budgetSpent, budget, maxOutput, estimatedMarginalRevenueOfGoodType, priceSteps,
+				capitalAmounts, partialDerivatives, violations);
+
+		double maxCost = 0.0;
+		for (int i = 0; i < numberOfInputTypes; i++) {
+			maxCost += priceSteps[i].getCost(priceSteps[i].getDepth());
+		}
+
+		final ConvexProductionFunctionTerminationCause terminationCause;
+		if (violations[0] > -ConvexFunctionImpl.KKT_TOLERANCE * 1000.0) {
+			terminationCause = ConvexProductionFunctionTerminationCause.BUDGET_PLANNED;
+		} else if (violations[1] > -ConvexFunctionImpl.KKT_TOLERANCE * 1000.0) {
+			terminationCause = ConvexProductionFunctionTerminationCause.MAX_OUTPUT_EXCEEDED;
+		} else if (budgetSpent >= maxCost) {
+			terminationCause = ConvexProductionFunctionTerminationCause.NO_INPUT_AVAILABLE;
+		} else {
+			terminationCause = ConvexProductionFunctionTerminationCause.MARGINAL_REVENUE_EXCEEDED;
+		}
+
+		getLog().log("%s after %s evaluations -> %s", terminationCause, result.numberOfEvaluations, budgetSpent);
+		onTermination(budget, budgetSpent, terminationCause);
+
+		return convexDelegate.toMap(inputs);
 	}
 
 	/**
@@ -113,8 +308,7 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 		if (inputsAreUnavailable && delegate.getNeedsAllInputFactorsNonZeroForPartialDerivate()) {
 			getLog().log(
 					"at least one of the prices is Double.NaN, but the production function needs all inputs set -> no calculation");
-			getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, 0.0,
-					ConvexProductionFunctionTerminationCause.INPUT_FACTOR_UNAVAILABLE);
+			onTermination(budget, 0.0, ConvexProductionFunctionTerminationCause.INPUT_FACTOR_UNAVAILABLE);
 
 			final Map<GoodType, Double> bundleOfInputs = new LinkedHashMap<GoodType, Double>();
 			for (final GoodType inputType : getInputGoodTypes()) {
@@ -126,8 +320,7 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 		// special case: check for budget
 		if (MathUtil.lesserEqual(budget, 0.0)) {
 			getLog().log("budget is %s -> no calculation", budget);
-			getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, 0.0,
-					ConvexProductionFunctionTerminationCause.BUDGET_PLANNED);
+			onTermination(budget, 0.0, ConvexProductionFunctionTerminationCause.BUDGET_PLANNED);
 
 			final Map<GoodType, Double> bundleOfInputs = new LinkedHashMap<GoodType, Double>();
 			for (final GoodType inputType : getInputGoodTypes()) {
@@ -139,8 +332,7 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 		// special case: check for estimated revenue per unit being 0.0
 		if (MathUtil.lesserEqual(priceOfProducedGoodType, 0.0)) {
 			getLog().log("priceOfProducedGoodType = %s -> no production", priceOfProducedGoodType);
-			getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, 0.0,
-					ConvexProductionFunctionTerminationCause.ESTIMATED_REVENUE_PER_UNIT_ZERO);
+			onTermination(budget, 0.0, ConvexProductionFunctionTerminationCause.ESTIMATED_REVENUE_PER_UNIT_ZERO);
 
 			final Map<GoodType, Double> bundleOfInputs = new LinkedHashMap<GoodType, Double>();
 			for (final GoodType inputType : getInputGoodTypes()) {
@@ -199,8 +391,7 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 			// would this iteration lead to overspending of the budget?
 			if (MathUtil.greater(budgetSpent + budgetPerIteration, budget)) {
 				getLog().log("budget planned completely");
-				getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, budgetSpent,
-						ConvexProductionFunctionTerminationCause.BUDGET_PLANNED);
+				onTermination(budget, budgetSpent, ConvexProductionFunctionTerminationCause.BUDGET_PLANNED);
 				break;
 			}
 
@@ -210,8 +401,7 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 			// no optimal input type could be found, i. e. markets are sold out
 			if (optimalInputType == null) {
 				getLog().log("no optimal input found -> terminating");
-				getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, budgetSpent,
-						ConvexProductionFunctionTerminationCause.NO_INPUT_AVAILABLE);
+				onTermination(budget, budgetSpent, ConvexProductionFunctionTerminationCause.NO_INPUT_AVAILABLE);
 				break;
 			} else {
 				final double oldAmountOfOptimalInputType = bundleOfInputFactors.get(optimalInputType);
@@ -248,11 +438,14 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 							// revert amount of optimal good type
 							// important (see above)
 							bundleOfInputFactors.put(optimalInputType, oldAmountOfOptimalInputType);
-							getLog().log("%s estimatedMarginalRevenue < %s currentMarginalPriceOfInputPerOutput -> %s",
-									MathUtil.round(estimatedMarginalRevenueOfGoodType),
-									MathUtil.round(marginalPriceOfOptimalInputTypePerOutput),
-									bundleOfInputFactors.entrySet().toString());
-							getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, budgetSpent,
+							if (getLog().isAgentCurrentlyActiveSelectedByClient()) {
+								getLog().log(
+										"%s estimatedMarginalRevenue < %s currentMarginalPriceOfInputPerOutput -> %s",
+										MathUtil.round(estimatedMarginalRevenueOfGoodType),
+										MathUtil.round(marginalPriceOfOptimalInputTypePerOutput),
+										bundleOfInputFactors.entrySet().toString());
+							}
+							onTermination(budget, budgetSpent,
 									ConvexProductionFunctionTerminationCause.MARGINAL_REVENUE_EXCEEDED);
 							break;
 						}
@@ -266,9 +459,11 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 						// revert amount of optimal good type
 						// important (see above)
 						bundleOfInputFactors.put(optimalInputType, oldAmountOfOptimalInputType);
-						getLog().log("output %s > maxOutput %s -> %s", newOutput, maxOutput,
-								bundleOfInputFactors.entrySet().toString());
-						getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, budgetSpent,
+						if (getLog().isAgentCurrentlyActiveSelectedByClient()) {
+							getLog().log("output %s > maxOutput %s -> %s", newOutput, maxOutput,
+									bundleOfInputFactors.entrySet().toString());
+						}
+						onTermination(budget, budgetSpent,
 								ConvexProductionFunctionTerminationCause.MAX_OUTPUT_EXCEEDED);
 						break;
 					}
@@ -288,7 +483,55 @@ public abstract class ConvexProductionFunctionImpl extends ProductionFunctionImp
 		return bundleOfInputFactors;
 	}
 
+	/**
+	 * violations of the budget, maxOutput and marginal revenue of the last units
+	 * bought, relative to the respective limit; positive, if violated
+	 */
+	protected void calculateViolations(final double[] inputs, final double cost, final double budget,
+			final double maxOutput, final double estimatedMarginalRevenueOfGoodType, final PriceSteps[] priceSteps,
+			final double[] capital, final double[] partialDerivatives, final double[] violations) {
+		violations[0] = (cost - budget) / budget;
+
+		if (Double.isNaN(maxOutput)) {
+			violations[1] = Double.NEGATIVE_INFINITY;
+		} else {
+			violations[1] = (delegate.f(inputs) - maxOutput) / Math.max(maxOutput, 1.0);
+		}
+
+		violations[2] = Double.NEGATIVE_INFINITY;
+
+		// a polypoly is assumed -> price = marginal revenue
+		if (!Double.isNaN(estimatedMarginalRevenueOfGoodType)
+				&& !Double.isInfinite(estimatedMarginalRevenueOfGoodType)) {
+			delegate.partialDerivatives(inputs, partialDerivatives);
+
+			for (int i = 0; i < inputs.length; i++) {
+				final double priceOfLastUnit = priceSteps[i].getPriceOfLastUnit(inputs[i] - capital[i]);
+
+				if (!Double.isNaN(priceOfLastUnit) && priceOfLastUnit > 0.0) {
+					violations[2] = Math.max(violations[2],
+							1.0 - estimatedMarginalRevenueOfGoodType * partialDerivatives[i] / priceOfLastUnit);
+				}
+			}
+		}
+	}
+
 	private Log getLog() {
 		return ApplicationContext.getInstance().getLog();
 	}
+
+	/**
+	 * logs the termination of the calculation and retains its result for
+	 * memoization
+	 */
+	protected void onTermination(final double budget, final double budgetSpent,
+			final ConvexProductionFunctionTerminationCause terminationCause) {
+		lastBudgetSpent = budgetSpent;
+		lastTerminationCause = terminationCause;
+		getLog().factory_onCalculateProfitMaximizingProductionFactorsIterative(budget, budgetSpent, terminationCause);
+	}
+
+	public boolean isSeparable() {
+		return delegate instanceof ConvexFunctionImpl && ((ConvexFunctionImpl<?>) delegate).isSeparable();
+	}
 }
@@ -0,0 +1,266 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.math.production.impl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleBinaryOperator;
+
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.math.impl.PriceSteps;
+import io.github.uwol.compecon.math.production.ConvexProductionFunction.ConvexProductionFunctionTerminationCause;
+import io.github.uwol.compecon.math.production.ProductionFunction;
+
+/**
+ * Bounded memoization of profit maximizing production factors. Production
+ * functions are represented by their class and parameters, so that factories
+ * with equal production functions share entries. Budget and capital are
+ * quantized downwards into buckets of relative width precision, and the state
+ * of the markets is represented by the price step functions of the inputs up to
+ * the quantized budget, so that equal keys lead to equal results. The relative
+ * error of budget and capital is below precision / (1 + precision). The cache
+ * is shared by all factories and read via JMX, so that access to the entries is
+ * synchronized and the statistics are counted lock-free.
+ */
+public class ProfitMaximizationCache {
+
+	public static class Entry {
+
+		public final double budgetSpent;
+
+		public final Map<GoodType, Double> profitMaximizingProductionFactors;
+
+		public final ConvexProductionFunctionTerminationCause terminationCause;
+
+		public Entry(final Map<GoodType, Double> profitMaximizingProductionFactors, final double budgetSpent,
+				final ConvexProductionFunctionTerminationCause terminationCause) {
+			this.profitMaximizingProductionFactors = new HashMap<GoodType, Double>(profitMaximizingProductionFactors);
+			this.budgetSpent = budgetSpent;
+			this.terminationCause = terminationCause;
+		}
+	}
+
+	public static class Key {
+
+		protected final int hashCode;
+
+		protected final List<GoodType> inputGoodTypes;
+
+		protected final Class<? extends ProductionFunction> productionFunctionClass;
+
+		protected final double[] values;
+
+		public Key(final Class<? extends ProductionFunction> productionFunctionClass,
+				final List<GoodType> inputGoodTypes, final double[] values) {
+			this.productionFunctionClass = productionFunctionClass;
+			this.inputGoodTypes = inputGoodTypes;
+			this.values = values;
+			hashCode = 31 * (31 * productionFunctionClass.hashCode() + inputGoodTypes.hashCode())
+					+ Arrays.hashCode(values);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			final Key key = (Key) obj;
+			return productionFunctionClass.equals(key.productionFunctionClass)
+					&& inputGoodTypes.equals(key.inputGoodTypes) && Arrays.equals(values, key.values);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+
+	// guarded by itself, as lookups reorder the entries
+	protected final Map<Key, Entry> entries;
+
+	protected final double logOfBucketWidth;
+
+	protected final DoubleAccumulator maxRelativeError = new DoubleAccumulator(new DoubleBinaryOperator() {
+		@Override
+		public double applyAsDouble(final double left, final double right) {
+			return Math.max(left, right);
+		}
+	}, 0.0);
+
+	protected final LongAdder numberOfHits = new LongAdder();
+
+	protected final LongAdder numberOfMisses = new LongAdder();
+
+	protected final double precision;
+
+	public ProfitMaximizationCache(final int size, final double precision) {
+		assert (size > 0);
+		assert (precision > 0.0);
+
+		this.precision = precision;
+		logOfBucketWidth = Math.log1p(precision);
+
+		// access order -> least recently used entries are removed
+		entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<Key, Entry> eldest) {
+				return size() > size;
+			}
+		};
+	}
+
+	public Entry get(final Key key) {
+		final Entry entry;
+
+		synchronized (entries) {
+			entry = entries.get(key);
+		}
+
+		if (entry == null) {
+			numberOfMisses.increment();
+		} else {
+			numberOfHits.increment();
+		}
+
+		return entry;
+	}
+
+	public double getHitRate() {
+		final long hits = numberOfHits.sum();
+		final long numberOfLookups = hits + numberOfMisses.sum();
+
+		if (numberOfLookups == 0) {
+			return 0.0;
+		}
+
+		return (double) hits / (double) numberOfLookups;
+	}
+
+	/**
+	 * @return largest relative deviation of quantized budgets and capital from the
+	 *         original values
+	 */
+	public double getMaxRelativeError() {
+		return maxRelativeError.get();
+	}
+
+	public long getNumberOfHits() {
+		return numberOfHits.sum();
+	}
+
+	public long getNumberOfMisses() {
+		return numberOfMisses.sum();
+	}
+
+	public double getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * creates a key for capital and budget quantized by
+	 * {@link #quantize(double)}
+	 *
+	 * @param parameters parameters of the production function except for its
+	 *                   productivity
+	 * @param priceSteps price functions of the inputs up to the quantized budget
+	 *                   in the order of inputGoodTypes, as they are passed to the
+	 *                   solver
+	 */
+	public Key newKey(final ProductionFunction productionFunction, final double[] parameters,
+			final double priceOfProducedGoodType, final List<GoodType> inputGoodTypes, final PriceSteps[] priceSteps,
+			final Map<GoodType, Double> quantizedCapital, final double quantizedBudget, final double maxOutput,
+			final double margin) {
+		int numberOfValues = 5 + parameters.length + 2 * inputGoodTypes.size();
+
+		for (int i = 0; i < priceSteps.length; i++) {
+			numberOfValues += 3 * priceSteps[i].getNumberOfSteps();
+		}
+
+		final double[] values = new double[numberOfValues];
+		int j = 0;
+
+		// productivity is mutable
+		values[j++] = productionFunction.getProductivity();
+		values[j++] = priceOfProducedGoodType;
+		values[j++] = quantizedBudget;
+		values[j++] = maxOutput;
+		values[j++] = margin;
+
+		for (final double parameter : parameters) {
+			values[j++] = parameter;
+		}
+
+		for (int i = 0; i < priceSteps.length; i++) {
+			final Double capitalAmount = quantizedCapital == null ? null : quantizedCapital.get(inputGoodTypes.get(i));
+			values[j++] = capitalAmount == null ? 0.0 : capitalAmount;
+			values[j++] = priceSteps[i].getNumberOfSteps();
+
+			for (int k = 0; k < priceSteps[i].getNumberOfSteps(); k++) {
+				values[j++] = priceSteps[i].getLeftBoundary(k);
+				values[j++] = priceSteps[i].getRightBoundary(k);
+				values[j++] = priceSteps[i].getPrice(k);
+			}
+		}
+
+		return new Key(productionFunction.getClass(), inputGoodTypes, values);
+	}
+
+	public void put(final Key key, final Entry entry) {
+		synchronized (entries) {
+			entries.put(key, entry);
+		}
+	}
+
+	/**
+	 * @return largest (1 + precision)^k <= value, for value > 0.0
+	 */
+	public double quantize(final double value) {
+		if (!(value > 0.0) || Double.isInfinite(value)) {
+			return value;
+		}
+
+		final double quantizedValue = Math.min(value, Math.exp(Math.floor(Math.log(value) / logOfBucketWidth)
+				* logOfBucketWidth));
+		maxRelativeError.accumulate((value - quantizedValue) / value);
+		return quantizedValue;
+	}
+
+	public int size() {
+		synchronized (entries) {
+			return entries.size();
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "profit maximization cache: " + getNumberOfHits() + " hits, " + getNumberOfMisses()
+				+ " misses, hit rate " + getHitRate() + ", max relative error " + getMaxRelativeError() + " (bound "
+				+ precision / (1.0 + precision) + ")";
+	}
+}
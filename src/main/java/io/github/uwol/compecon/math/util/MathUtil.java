@@ -36,58 +36,73 @@ public class MathUtil {
 		return effectiveInterestRate / (1 + ((11 / 24) * effectiveInterestRate)) / 12;
 	}
 
+	/**
+	 * Comparisons of finite values are decided on the fast path by a single
+	 * finiteness check, so that the special values NaN and infinity are only
+	 * handled by the slow path.
+	 */
 	public static boolean equal(final double value1, final double value2) {
-		if (Double.isNaN(value1) && Double.isNaN(value2)) {
-			return true;
+		if (Double.isFinite(value1) && Double.isFinite(value2)) {
+			// value1 - value2 are equal, if they differ minimally; has to hold
+			// under value1 = 0
+			return Math.abs(value1 - value2) <= defaultEpsilon;
 		}
-		if (Double.isInfinite(value1) && Double.isInfinite(value2)) {
-			return true;
-		}
-		// value1 - value2 are equal, if they differ minimally; has to hold
-		// under value1 = 0
-		return Math.abs(value1 - value2) <= defaultEpsilon;
+
+		return equalNonFinite(value1, value2);
+	}
+
+	/**
+	 * NaN equals NaN, and infinity equals infinity regardless of the sign
+	 */
+	private static boolean equalNonFinite(final double value1, final double value2) {
+		return (Double.isNaN(value1) && Double.isNaN(value2))
+				|| (Double.isInfinite(value1) && Double.isInfinite(value2));
 	}
 
 	public static boolean greater(final double value1, final double value2) {
-		if (Double.isNaN(value1) || Double.isNaN(value2)) {
-			return false;
-		}
-		if (!Double.isInfinite(value1) && Double.isInfinite(value2)) {
-			return false;
+		if (Double.isFinite(value1) && Double.isFinite(value2)) {
+			// value1 has to be significantly greater than value2
+			return value1 - defaultEpsilon > value2;
 		}
-		if (Double.isInfinite(value1) && !Double.isInfinite(value2)) {
-			return true;
-		}
-		if (Double.isInfinite(value1) && Double.isInfinite(value2)) {
-			return false;
-		}
-		// value1 has to be significantly greater than value2
-		return value1 - defaultEpsilon > value2;
+
+		return greaterNonFinite(value1, value2);
 	}
 
 	public static boolean greaterEqual(final double value1, final double value2) {
-		return equal(value1, value2) || greater(value1, value2);
+		if (Double.isFinite(value1) && Double.isFinite(value2)) {
+			return Math.abs(value1 - value2) <= defaultEpsilon || value1 - defaultEpsilon > value2;
+		}
+
+		return equalNonFinite(value1, value2) || greaterNonFinite(value1, value2);
 	}
 
-	public static boolean lesser(final double value1, final double value2) {
+	/**
+	 * NaN is not comparable, and infinity regardless of the sign is greater than
+	 * any finite value
+	 */
+	private static boolean greaterNonFinite(final double value1, final double value2) {
 		if (Double.isNaN(value1) || Double.isNaN(value2)) {
 			return false;
 		}
-		if (Double.isInfinite(value1) && !Double.isInfinite(value2)) {
-			return false;
-		}
-		if (!Double.isInfinite(value1) && Double.isInfinite(value2)) {
-			return true;
-		}
-		if (Double.isInfinite(value1) && Double.isInfinite(value2)) {
-			return false;
+
+		return Double.isInfinite(value1) && !Double.isInfinite(value2);
+	}
+
+	public static boolean lesser(final double value1, final double value2) {
+		if (Double.isFinite(value1) && Double.isFinite(value2)) {
+			// value1 has to be significantly lesser than value2
+			return value1 + defaultEpsilon < value2;
 		}
-		// value1 has to be significantly lesser than value2
-		return value1 + defaultEpsilon < value2;
+
+		return greaterNonFinite(value2, value1);
 	}
 
 	public static boolean lesserEqual(final double value1, final double value2) {
-		return equal(value1, value2) || lesser(value1, value2);
+		if (Double.isFinite(value1) && Double.isFinite(value2)) {
+			return Math.abs(value1 - value2) <= defaultEpsilon || value1 + defaultEpsilon < value2;
+		}
+
+		return equalNonFinite(value1, value2) || greaterNonFinite(value2, value1);
 	}
 
 	public static double log(final double num, final double base) {
@@ -99,7 +114,7 @@ public class MathUtil {
 	}
 
 	public static double round(final double value) {
-		if (Double.isNaN(value) || Double.isInfinite(value)) {
+		if (!Double.isFinite(value)) {
 			return value;
 		}
 		return Math.round(value * defaultRoundPrecision) / defaultRoundPrecision;
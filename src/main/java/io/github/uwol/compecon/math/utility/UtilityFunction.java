@@ -40,5 +40,14 @@ public interface UtilityFunction {
 	public Map<GoodType, Double> calculateUtilityMaximizingInputs(
 			Map<GoodType, PriceFunction> priceFunctionsOfInputGoods, double budget);
 
+	/**
+	 * @return utility maximizing inputs for a budget of 1.0, if the utility
+	 *         maximizing inputs scale linearly with the budget, i. e. for
+	 *         homothetic functions under fixed prices; null otherwise. The result
+	 *         is retained for the last prices.
+	 */
+	public Map<GoodType, Double> calculateUtilityMaximizingInputsPerBudget(
+			Map<GoodType, PriceFunction> priceFunctionsOfInputGoods);
+
 	public Set<GoodType> getInputGoodTypes();
 }
@@ -19,18 +19,45 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.math.utility.impl;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Set;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
 import io.github.uwol.compecon.math.Function;
+import io.github.uwol.compecon.math.impl.AnalyticalConvexFunctionImpl;
 import io.github.uwol.compecon.math.price.PriceFunction;
+import io.github.uwol.compecon.math.util.MathUtil;
 import io.github.uwol.compecon.math.utility.UtilityFunction;
 
 public abstract class UtilityFunctionImpl implements UtilityFunction {
 
+	/**
+	 * utility maximizing inputs per budget together with the prices they have
+	 * been calculated for; immutable, so that households sharing the utility
+	 * function never observe inputs paired with other prices
+	 */
+	private static class UtilityMaximizingInputsPerBudget {
+
+		private final Map<GoodType, Double> inputs;
+
+		private final double[] prices;
+
+		private UtilityMaximizingInputsPerBudget(final double[] prices, final Map<GoodType, Double> inputs) {
+			this.prices = prices;
+			this.inputs = inputs;
+		}
+	}
+
 	protected Function<GoodType> delegate;
 
+	private volatile UtilityMaximizingInputsPerBudget utilityMaximizingInputsPerBudget;
+
 	protected UtilityFunctionImpl(final Function<GoodType> delegate) {
 		this.delegate = delegate;
 	}
@@ -49,9 +76,60 @@ public abstract class UtilityFunctionImpl implements UtilityFunction {
 	@Override
 	public Map<GoodType, Double> calculateUtilityMaximizingInputs(
 			final Map<GoodType, PriceFunction> priceFunctionsOfInputGoods, final double budget) {
+		if (MathUtil.greater(budget, 0.0)) {
+			final Map<GoodType, Double> inputsPerBudget = calculateUtilityMaximizingInputsPerBudget(
+					priceFunctionsOfInputGoods);
+
+			if (inputsPerBudget != null) {
+				final Map<GoodType, Double> bundleOfInputGoods = new HashMap<GoodType, Double>();
+
+				for (final Entry<GoodType, Double> entry : inputsPerBudget.entrySet()) {
+					bundleOfInputGoods.put(entry.getKey(), entry.getValue() * budget);
+				}
+
+				return bundleOfInputGoods;
+			}
+		}
+
 		return delegate.calculateOutputMaximizingInputs(priceFunctionsOfInputGoods, budget);
 	}
 
+	/**
+	 * analytical functions are homothetic, so that under fixed prices the utility
+	 * maximizing inputs are proportional to the budget
+	 */
+	@Override
+	public Map<GoodType, Double> calculateUtilityMaximizingInputsPerBudget(
+			final Map<GoodType, PriceFunction> priceFunctionsOfInputGoods) {
+		if (!(delegate instanceof AnalyticalConvexFunctionImpl)) {
+			return null;
+		}
+
+		final List<GoodType> inputGoodTypes = delegate.getInputTypeLayout();
+		final double[] prices = new double[inputGoodTypes.size()];
+
+		for (int i = 0; i < prices.length; i++) {
+			final PriceFunction priceFunction = priceFunctionsOfInputGoods.get(inputGoodTypes.get(i));
+
+			if (!(priceFunction instanceof FixedPriceFunctionImpl)) {
+				return null;
+			}
+
+			prices[i] = priceFunction.getPrice(0.0);
+		}
+
+		UtilityMaximizingInputsPerBudget inputsPerBudget = utilityMaximizingInputsPerBudget;
+
+		// the market state has changed since the last calculation
+		if (inputsPerBudget == null || !Arrays.equals(prices, inputsPerBudget.prices)) {
+			inputsPerBudget = new UtilityMaximizingInputsPerBudget(prices, Collections
+					.unmodifiableMap(delegate.calculateOutputMaximizingInputs(priceFunctionsOfInputGoods, 1.0)));
+			utilityMaximizingInputsPerBudget = inputsPerBudget;
+		}
+
+		return inputsPerBudget.inputs;
+	}
+
 	@Override
 	public Set<GoodType> getInputGoodTypes() {
 		return delegate.getInputTypes();
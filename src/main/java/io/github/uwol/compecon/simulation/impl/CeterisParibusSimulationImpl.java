@@ -26,7 +26,9 @@ import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.applicationcontext.Configuration;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
+import io.github.uwol.compecon.engine.util.WriteBehindUtil;
 import io.github.uwol.compecon.jmx.JMXRegistration;
 
 /**
@@ -69,23 +71,22 @@ public class CeterisParibusSimulationImpl {
 		/*
 		 * overwrite default configuration.
 		 */
-		ApplicationContext.getInstance().getConfiguration().householdConfig.number.put(Currency.USDOLLAR, 0);
-		ApplicationContext.getInstance().getConfiguration().householdConfig.number.put(Currency.YEN, 0);
+		final Configuration configuration = ApplicationContext.getInstance().getConfiguration();
+		configuration.householdConfig.setNumber(Currency.USDOLLAR, 0);
+		configuration.householdConfig.setNumber(Currency.YEN, 0);
 
 		for (final GoodType goodType : GoodType.values()) {
-			ApplicationContext.getInstance().getConfiguration().factoryConfig.number.get(Currency.USDOLLAR)
-					.put(goodType, 0);
-			ApplicationContext.getInstance().getConfiguration().factoryConfig.number.get(Currency.YEN).put(goodType, 0);
+			configuration.factoryConfig.setNumber(Currency.USDOLLAR, goodType, 0);
+			configuration.factoryConfig.setNumber(Currency.YEN, goodType, 0);
 		}
 
-		ApplicationContext.getInstance().getConfiguration().traderConfig.number.put(Currency.USDOLLAR, 0);
-		ApplicationContext.getInstance().getConfiguration().traderConfig.number.put(Currency.YEN, 0);
+		configuration.traderConfig.setNumber(Currency.USDOLLAR, 0);
+		configuration.traderConfig.setNumber(Currency.YEN, 0);
 
 		/*
 		 * set values for iteration
 		 */
-		ApplicationContext.getInstance()
-				.getConfiguration().pricingBehaviourConfig.defaultPriceChangeIncrementExplicit = i;
+		configuration.pricingBehaviourConfig.setDefaultPriceChangeIncrementExplicit(i);
 	}
 
 	protected static double runSimulationIteration(final double i) throws IOException {
@@ -97,6 +98,8 @@ public class CeterisParibusSimulationImpl {
 
 		if (HibernateUtil.isActive()) {
 			ApplicationContextFactory.configureHibernateApplicationContext(configurationPropertiesFilename);
+		} else if (WriteBehindUtil.isActive()) {
+			ApplicationContextFactory.configureWriteBehindApplicationContext(configurationPropertiesFilename);
 		} else {
 			ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
 		}
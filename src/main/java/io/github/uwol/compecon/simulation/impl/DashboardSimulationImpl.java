@@ -25,6 +25,7 @@ import io.github.uwol.compecon.dashboard.Dashboard;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
+import io.github.uwol.compecon.engine.util.WriteBehindUtil;
 import io.github.uwol.compecon.jmx.JMXRegistration;
 
 /**
@@ -41,6 +42,8 @@ public class DashboardSimulationImpl {
 
 		if (HibernateUtil.isActive()) {
 			ApplicationContextFactory.configureHibernateApplicationContext(configurationPropertiesFilename);
+		} else if (WriteBehindUtil.isActive()) {
+			ApplicationContextFactory.configureWriteBehindApplicationContext(configurationPropertiesFilename);
 		} else {
 			ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
 		}
@@ -0,0 +1,98 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.columnar.impl;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDate;
+
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarFormat.ColumnType;
+import io.github.uwol.compecon.simulation.minimal.csv.impl.CsvPeriodWriterImpl;
+
+/**
+ * Converts a columnar file into the semicolon separated format of the CSV
+ * writers.
+ */
+public class ColumnarCsvConverterImpl {
+
+	protected static final int BUFFER_SIZE = 1 << 16;
+
+	protected static final String COMMA_DELIMITER = ";";
+
+	protected static final String NEW_LINE_SEPARATOR = "\n";
+
+	public static void convert(final String columnarFileName, final String csvFileName) throws IOException {
+		final ColumnarReaderImpl reader = new ColumnarReaderImpl(columnarFileName);
+		final int numberOfColumns = reader.getColumnCount();
+
+		final double[][] doubleColumns = new double[numberOfColumns][];
+		final long[][] longColumns = new long[numberOfColumns][];
+
+		for (int column = 0; column < numberOfColumns; column++) {
+			if (ColumnType.DOUBLE.equals(reader.getColumnType(column))) {
+				doubleColumns[column] = reader.readDoubleColumn(column);
+			} else {
+				longColumns[column] = reader.readLongColumn(column);
+			}
+		}
+
+		try (BufferedWriter writer = new BufferedWriter(new FileWriter(csvFileName), BUFFER_SIZE)) {
+			for (int column = 0; column < numberOfColumns; column++) {
+				if (column > 0) {
+					writer.write(COMMA_DELIMITER);
+				}
+				writer.write(reader.getColumnName(column));
+			}
+			writer.write(NEW_LINE_SEPARATOR);
+
+			for (int row = 0; row < reader.getNumberOfRows(); row++) {
+				for (int column = 0; column < numberOfColumns; column++) {
+					if (column > 0) {
+						writer.write(COMMA_DELIMITER);
+					}
+
+					switch (reader.getColumnType(column)) {
+					case DATE:
+						writer.write(CsvPeriodWriterImpl.DAY_FORMATTER
+								.format(LocalDate.ofEpochDay(longColumns[column][row])));
+						break;
+					case DOUBLE:
+						writer.write(Double.toString(doubleColumns[column][row]));
+						break;
+					default:
+						writer.write(Long.toString(longColumns[column][row]));
+						break;
+					}
+				}
+				writer.write(NEW_LINE_SEPARATOR);
+			}
+		}
+	}
+
+	public static void main(final String[] args) throws IOException {
+		if (args.length != 2) {
+			System.out.println("usage: ColumnarCsvConverterImpl <columnar file> <csv file>");
+			return;
+		}
+
+		convert(args[0], args[1]);
+	}
+}
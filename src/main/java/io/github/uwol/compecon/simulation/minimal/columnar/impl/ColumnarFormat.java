@@ -0,0 +1,208 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.columnar.impl;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Columnar format of simulation result files:<br />
+ * <br />
+ * header: magic, version, number of columns, then name and type of each
+ * column<br />
+ * block: number of rows, then for each column the length of its encoded values
+ * followed by the encoded values<br />
+ * footer: number of blocks, then offset, number of rows, first and last key of
+ * each block; the key is the value of the first column<br />
+ * trailer: offset of the footer, magic<br />
+ * <br />
+ * Within a block, long and date columns store zigzag varints of the deltas to
+ * the preceding row. Double columns store the XOR of the bits with the
+ * preceding row as a byte with the number of leading and trailing zero bytes,
+ * followed by the remaining bytes, so that slowly changing time series shrink
+ * to few bytes per row.
+ */
+public class ColumnarFormat {
+
+	public enum ColumnType {
+		/**
+		 * epoch day, written as yyyy-MM-dd when converted to CSV
+		 */
+		DATE,
+
+		DOUBLE,
+
+		LONG
+	}
+
+	public static class Header {
+
+		protected String[] columnNames;
+
+		protected ColumnType[] columnTypes;
+
+		public String[] getColumnNames() {
+			return columnNames;
+		}
+
+		public ColumnType[] getColumnTypes() {
+			return columnTypes;
+		}
+	}
+
+	public static final int MAGIC = 0x43434f31;
+
+	/**
+	 * upper bound of the length of one encoded value, which is a varint of 10
+	 * bytes
+	 */
+	public static final int MAX_ENCODED_VALUE_LENGTH = 10;
+
+	public static final int TRAILER_LENGTH = 12;
+
+	public static final int VERSION = 1;
+
+	public static void decodeDoubles(final ByteBuffer source, final int length, final double[] target,
+			final int offset) {
+		long previousBits = 0;
+
+		for (int i = 0; i < length; i++) {
+			final int zeroBytes = source.get() & 0xff;
+			final int leadingZeroBytes = zeroBytes >>> 4;
+			final int trailingZeroBytes = zeroBytes & 0xf;
+
+			long xor = 0;
+			for (int j = leadingZeroBytes + trailingZeroBytes; j < 8; j++) {
+				xor = (xor << 8) | (source.get() & 0xff);
+			}
+
+			// shifting by 64 bits would be a no-op in Java
+			if (trailingZeroBytes < 8) {
+				xor <<= trailingZeroBytes * 8;
+			}
+
+			previousBits ^= xor;
+			target[offset + i] = Double.longBitsToDouble(previousBits);
+		}
+	}
+
+	public static void decodeLongs(final ByteBuffer source, final int length, final long[] target, final int offset) {
+		long previous = 0;
+
+		for (int i = 0; i < length; i++) {
+			long zigzag = 0;
+			int shift = 0;
+			int b;
+			do {
+				b = source.get() & 0xff;
+				zigzag |= (long) (b & 0x7f) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+
+			previous += (zigzag >>> 1) ^ -(zigzag & 1);
+			target[offset + i] = previous;
+		}
+	}
+
+	/**
+	 * @param bits raw long bits of the doubles
+	 * @return position after the encoded values
+	 */
+	public static int encodeDoubles(final long[] bits, final int length, final byte[] target, int position) {
+		long previousBits = 0;
+
+		for (int i = 0; i < length; i++) {
+			final long xor = bits[i] ^ previousBits;
+			previousBits = bits[i];
+
+			final int leadingZeroBytes = Long.numberOfLeadingZeros(xor) / 8;
+			final int trailingZeroBytes = xor == 0 ? 0 : Long.numberOfTrailingZeros(xor) / 8;
+			target[position++] = (byte) ((leadingZeroBytes << 4) | trailingZeroBytes);
+
+			for (int j = 7 - leadingZeroBytes; j >= trailingZeroBytes; j--) {
+				target[position++] = (byte) (xor >>> (j * 8));
+			}
+		}
+
+		return position;
+	}
+
+	/**
+	 * @return position after the encoded values
+	 */
+	public static int encodeLongs(final long[] values, final int length, final byte[] target, int position) {
+		long previous = 0;
+
+		for (int i = 0; i < length; i++) {
+			final long delta = values[i] - previous;
+			previous = values[i];
+
+			long zigzag = (delta << 1) ^ (delta >> 63);
+			while ((zigzag & ~0x7fL) != 0) {
+				target[position++] = (byte) ((zigzag & 0x7f) | 0x80);
+				zigzag >>>= 7;
+			}
+			target[position++] = (byte) zigzag;
+		}
+
+		return position;
+	}
+
+	public static Header readHeader(final DataInput in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IOException("not a columnar file");
+		}
+
+		final int version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException("unsupported columnar file version " + version);
+		}
+
+		final Header header = new Header();
+		final int numberOfColumns = in.readShort();
+		header.columnNames = new String[numberOfColumns];
+		header.columnTypes = new ColumnType[numberOfColumns];
+
+		try {
+			for (int i = 0; i < numberOfColumns; i++) {
+				header.columnNames[i] = in.readUTF();
+				header.columnTypes[i] = ColumnType.valueOf(in.readUTF());
+			}
+		} catch (final IllegalArgumentException e) {
+			throw new IOException("columnar file references unknown column type", e);
+		}
+
+		return header;
+	}
+
+	public static void writeHeader(final DataOutput out, final String[] columnNames, final ColumnType[] columnTypes)
+			throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+
+		out.writeShort(columnNames.length);
+		for (int i = 0; i < columnNames.length; i++) {
+			out.writeUTF(columnNames[i]);
+			out.writeUTF(columnTypes[i].name());
+		}
+	}
+}
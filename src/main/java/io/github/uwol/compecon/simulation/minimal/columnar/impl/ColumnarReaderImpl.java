@@ -0,0 +1,199 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.columnar.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarFormat.ColumnType;
+
+/**
+ * Reads a columnar file into memory and decodes columns on demand. The footer
+ * index allows to decode only the blocks of a range of keys.
+ */
+public class ColumnarReaderImpl {
+
+	protected final long[] blockFirstKeys;
+
+	protected final long[] blockLastKeys;
+
+	protected final int[] blockNumbersOfRows;
+
+	protected final int[] blockOffsets;
+
+	protected final ByteBuffer buffer;
+
+	protected final ColumnarFormat.Header header;
+
+	protected final int numberOfRows;
+
+	public ColumnarReaderImpl(final String fileName) throws IOException {
+		final byte[] bytes = Files.readAllBytes(Paths.get(fileName));
+
+		header = ColumnarFormat.readHeader(new DataInputStream(new ByteArrayInputStream(bytes)));
+		buffer = ByteBuffer.wrap(bytes);
+
+		if (bytes.length < ColumnarFormat.TRAILER_LENGTH
+				|| buffer.getInt(bytes.length - 4) != ColumnarFormat.MAGIC) {
+			throw new IOException("truncated columnar file");
+		}
+
+		buffer.position((int) buffer.getLong(bytes.length - ColumnarFormat.TRAILER_LENGTH));
+
+		final int numberOfBlocks = buffer.getInt();
+		blockFirstKeys = new long[numberOfBlocks];
+		blockLastKeys = new long[numberOfBlocks];
+		blockNumbersOfRows = new int[numberOfBlocks];
+		blockOffsets = new int[numberOfBlocks];
+
+		int rows = 0;
+		for (int i = 0; i < numberOfBlocks; i++) {
+			blockOffsets[i] = (int) buffer.getLong();
+			blockNumbersOfRows[i] = buffer.getInt();
+			blockFirstKeys[i] = buffer.getLong();
+			blockLastKeys[i] = buffer.getLong();
+			rows += blockNumbersOfRows[i];
+		}
+		numberOfRows = rows;
+	}
+
+	/**
+	 * @return the first block, which contains keys greater than or equal to the
+	 *         given key, assuming ascending keys; the number of blocks, if there
+	 *         is no such block
+	 */
+	public int findBlock(final long key) {
+		int low = 0;
+		int high = blockLastKeys.length;
+
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (blockLastKeys[middle] < key) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+
+		return low;
+	}
+
+	public long getBlockFirstKey(final int block) {
+		return blockFirstKeys[block];
+	}
+
+	public long getBlockLastKey(final int block) {
+		return blockLastKeys[block];
+	}
+
+	public int getBlockNumberOfRows(final int block) {
+		return blockNumbersOfRows[block];
+	}
+
+	public int getColumnCount() {
+		return header.columnNames.length;
+	}
+
+	public String getColumnName(final int column) {
+		return header.columnNames[column];
+	}
+
+	public ColumnType getColumnType(final int column) {
+		return header.columnTypes[column];
+	}
+
+	public int getNumberOfBlocks() {
+		return blockOffsets.length;
+	}
+
+	public int getNumberOfRows() {
+		return numberOfRows;
+	}
+
+	protected int getNumberOfRows(final int fromBlock, final int toBlock) {
+		int rows = 0;
+		for (int block = fromBlock; block < toBlock; block++) {
+			rows += blockNumbersOfRows[block];
+		}
+		return rows;
+	}
+
+	/**
+	 * positions the buffer at the encoded values of the column in the block
+	 */
+	protected ByteBuffer positionAtColumn(final int block, final int column) {
+		final ByteBuffer blockBuffer = buffer.duplicate();
+		blockBuffer.position(blockOffsets[block] + 4);
+
+		for (int i = 0; i < column; i++) {
+			final int length = blockBuffer.getInt();
+			blockBuffer.position(blockBuffer.position() + length);
+		}
+
+		blockBuffer.getInt();
+		return blockBuffer;
+	}
+
+	public double[] readDoubleColumn(final int column) {
+		return readDoubleColumn(column, 0, blockOffsets.length);
+	}
+
+	/**
+	 * @param toBlock exclusive
+	 */
+	public double[] readDoubleColumn(final int column, final int fromBlock, final int toBlock) {
+		if (!ColumnType.DOUBLE.equals(header.columnTypes[column])) {
+			throw new IllegalArgumentException("column " + header.columnNames[column] + " is not of type double");
+		}
+
+		final double[] result = new double[getNumberOfRows(fromBlock, toBlock)];
+		int offset = 0;
+		for (int block = fromBlock; block < toBlock; block++) {
+			ColumnarFormat.decodeDoubles(positionAtColumn(block, column), blockNumbersOfRows[block], result, offset);
+			offset += blockNumbersOfRows[block];
+		}
+		return result;
+	}
+
+	public long[] readLongColumn(final int column) {
+		return readLongColumn(column, 0, blockOffsets.length);
+	}
+
+	/**
+	 * @param toBlock exclusive
+	 */
+	public long[] readLongColumn(final int column, final int fromBlock, final int toBlock) {
+		if (ColumnType.DOUBLE.equals(header.columnTypes[column])) {
+			throw new IllegalArgumentException("column " + header.columnNames[column] + " is of type double");
+		}
+
+		final long[] result = new long[getNumberOfRows(fromBlock, toBlock)];
+		int offset = 0;
+		for (int block = fromBlock; block < toBlock; block++) {
+			ColumnarFormat.decodeLongs(positionAtColumn(block, column), blockNumbersOfRows[block], result, offset);
+			offset += blockNumbersOfRows[block];
+		}
+		return result;
+	}
+}
@@ -0,0 +1,161 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.columnar.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarFormat.ColumnType;
+
+/**
+ * Buffers the values of a block of rows column-wise and encodes them, when the
+ * block is full. The first column is the key of the rows, e. g. the period.
+ */
+public class ColumnarWriterImpl {
+
+	public static final int DEFAULT_ROWS_PER_BLOCK = 64;
+
+	protected static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * offset, number of rows, first key and last key of the written blocks
+	 */
+	protected final List<long[]> blockIndex = new ArrayList<long[]>();
+
+	protected final ColumnType[] columnTypes;
+
+	protected final byte[] encodeBuffer;
+
+	protected final DataOutputStream out;
+
+	protected long position;
+
+	protected int rowsInBlock = 0;
+
+	protected final int rowsPerBlock;
+
+	// values of the current block per column; doubles as raw long bits
+	protected final long[][] values;
+
+	public ColumnarWriterImpl(final String fileName, final String[] columnNames, final ColumnType[] columnTypes)
+			throws IOException {
+		this(fileName, columnNames, columnTypes, DEFAULT_ROWS_PER_BLOCK);
+	}
+
+	public ColumnarWriterImpl(final String fileName, final String[] columnNames, final ColumnType[] columnTypes,
+			final int rowsPerBlock) throws IOException {
+		if (columnNames.length == 0 || columnNames.length != columnTypes.length) {
+			throw new IllegalArgumentException("column names and types do not match");
+		}
+
+		this.columnTypes = columnTypes;
+		this.rowsPerBlock = rowsPerBlock;
+
+		encodeBuffer = new byte[rowsPerBlock * ColumnarFormat.MAX_ENCODED_VALUE_LENGTH];
+		values = new long[columnTypes.length][rowsPerBlock];
+
+		out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName), BUFFER_SIZE));
+		ColumnarFormat.writeHeader(out, columnNames, columnTypes);
+		position = out.size();
+	}
+
+	/**
+	 * Writes the pending rows, the footer and closes the file.
+	 */
+	public void close() throws IOException {
+		try {
+			writeBlock();
+
+			final long footerPosition = position;
+			out.writeInt(blockIndex.size());
+			for (final long[] block : blockIndex) {
+				out.writeLong(block[0]);
+				out.writeInt((int) block[1]);
+				out.writeLong(block[2]);
+				out.writeLong(block[3]);
+			}
+
+			out.writeLong(footerPosition);
+			out.writeInt(ColumnarFormat.MAGIC);
+		} finally {
+			out.close();
+		}
+	}
+
+	public void endRow() throws IOException {
+		rowsInBlock++;
+
+		if (rowsInBlock == rowsPerBlock) {
+			writeBlock();
+		}
+	}
+
+	public void setDouble(final int column, final double value) {
+		assert (columnTypes[column] == ColumnType.DOUBLE);
+
+		values[column][rowsInBlock] = Double.doubleToRawLongBits(value);
+	}
+
+	public void setLong(final int column, final long value) {
+		assert (columnTypes[column] != ColumnType.DOUBLE);
+
+		values[column][rowsInBlock] = value;
+	}
+
+	protected void writeBlock() throws IOException {
+		if (rowsInBlock == 0) {
+			return;
+		}
+
+		blockIndex.add(new long[] { position, rowsInBlock, values[0][0], values[0][rowsInBlock - 1] });
+
+		out.writeInt(rowsInBlock);
+		position += 4;
+
+		for (int column = 0; column < columnTypes.length; column++) {
+			final int length;
+			if (ColumnType.DOUBLE.equals(columnTypes[column])) {
+				length = ColumnarFormat.encodeDoubles(values[column], rowsInBlock, encodeBuffer, 0);
+			} else {
+				length = ColumnarFormat.encodeLongs(values[column], rowsInBlock, encodeBuffer, 0);
+			}
+
+			out.writeInt(length);
+			out.write(encodeBuffer, 0, length);
+			position += 4 + length;
+		}
+
+		rowsInBlock = 0;
+	}
+
+	/**
+	 * writes a row of a file with a key column and a double column, e. g. a
+	 * period and the value of a metric
+	 */
+	public void writeRow(final long key, final double value) throws IOException {
+		setLong(0, key);
+		setDouble(1, value);
+		endRow();
+	}
+}
@@ -19,76 +19,90 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.simulation.minimal.csv.impl;
 
-import java.text.SimpleDateFormat;
-import java.util.Calendar;
-import java.util.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
 
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.timesystem.TimeSystem;
 
+/**
+ * Rows are keyed by the epoch day of the current date, which is formatted as
+ * period label by the writer thread.
+ */
 public abstract class CsvPeriodWriterImpl extends CsvWriterImpl {
 
-	public CsvPeriodWriterImpl(final String csvFileName) {
-		super(csvFileName);
-	}
+	public static final DateTimeFormatter DAY_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
-	private Date getCurrentDate() {
-		final Date date = ApplicationContext.getInstance().getTimeSystem().getCurrentDate();
-		return date;
-	}
+	protected static final DateTimeFormatter MONTH_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM");
 
-	private String getDateString() {
-		final Date currentDate = getCurrentDate();
+	protected static final DateTimeFormatter WEEK_FORMATTER = DateTimeFormatter.ofPattern("yyyy-ww");
 
-		final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
-		return dateFormat.format(currentDate);
-	}
+	private LocalDate currentDate;
 
-	@SuppressWarnings("unused")
-	private String getMonthString() {
-		final Date currentDate = getCurrentDate();
+	// yyyyMMdd of currentDate
+	private int currentDateKey = -1;
 
-		final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM");
-		return dateFormat.format(currentDate);
+	public CsvPeriodWriterImpl(final String csvFileName, final CsvRowQueueImpl rowQueue) {
+		super(csvFileName, rowQueue);
 	}
 
-	protected String getPeriodLabel() {
-		return getDateString();
+	@Override
+	protected String formatLabel(final long key) {
+		return formatPeriodLabel(LocalDate.ofEpochDay(key));
 	}
 
 	@SuppressWarnings("unused")
-	private String getWeekString() {
-		final Date currentDate = getCurrentDate();
+	private String formatMonthLabel(final LocalDate date) {
+		return MONTH_FORMATTER.format(date);
+	}
 
-		final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-ww");
-		return dateFormat.format(currentDate);
+	protected String formatPeriodLabel(final LocalDate date) {
+		return DAY_FORMATTER.format(date);
 	}
 
 	@SuppressWarnings("unused")
-	private boolean isEndOfMonth() {
-		final Date currentDate = ApplicationContext.getInstance().getTimeSystem().getCurrentDate();
+	private String formatWeekLabel(final LocalDate date) {
+		return WEEK_FORMATTER.format(date);
+	}
 
-		final Calendar calendar = Calendar.getInstance();
-		calendar.setTime(currentDate);
+	/**
+	 * @return the current date, which is only created anew when the day changes
+	 */
+	private LocalDate getCurrentDate() {
+		final TimeSystem timeSystem = ApplicationContext.getInstance().getTimeSystem();
+		final int year = timeSystem.getCurrentYear();
+		final int month = timeSystem.getCurrentMonthNumberInYear();
+		final int dayOfMonth = timeSystem.getCurrentDayNumberInMonth();
+		final int dateKey = year * 10000 + month * 100 + dayOfMonth;
+
+		if (dateKey != currentDateKey) {
+			currentDate = LocalDate.of(year, month, dayOfMonth);
+			currentDateKey = dateKey;
+		}
+
+		return currentDate;
+	}
 
-		final int maxDayInMonth = calendar.getActualMaximum(Calendar.DAY_OF_MONTH);
-		final int dayOfMonth = calendar.get(Calendar.DAY_OF_MONTH);
+	protected long getPeriodKey() {
+		return getCurrentDate().toEpochDay();
+	}
 
-		final boolean result = dayOfMonth == maxDayInMonth;
-		return result;
+	@SuppressWarnings("unused")
+	private boolean isEndOfMonth() {
+		final LocalDate date = getCurrentDate();
+		return date.getDayOfMonth() == date.lengthOfMonth();
 	}
 
 	private boolean isEndOfWeek() {
-		final Date currentDate = ApplicationContext.getInstance().getTimeSystem().getCurrentDate();
-
-		final Calendar calendar = Calendar.getInstance();
-		calendar.setTime(currentDate);
-
-		final int dayOfWeek = calendar.get(Calendar.DAY_OF_WEEK);
-		final boolean result = dayOfWeek == Calendar.SUNDAY;
-		return result;
+		return getCurrentDate().getDayOfWeek() == DayOfWeek.SUNDAY;
 	}
 
 	protected boolean isPeriodEnd() {
 		return isEndOfWeek();
 	}
+
+	protected void writePeriodRow(final double value) {
+		writeRow(getPeriodKey(), value);
+	}
 }
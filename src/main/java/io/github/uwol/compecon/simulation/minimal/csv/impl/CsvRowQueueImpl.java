@@ -0,0 +1,149 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.csv.impl;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded single-producer queue of primitive CSV rows, which a background
+ * thread encodes into the buffered writers of the CSV writers. The simulation
+ * thread is the only producer; if the queue is full, it waits for the writer
+ * thread (backpressure).
+ */
+public class CsvRowQueueImpl {
+
+	protected static final long PARK_NANOS = 100000;
+
+	protected final int capacity;
+
+	protected volatile boolean closed = false;
+
+	// next row to encode, only written by the writer thread
+	protected volatile long head = 0;
+
+	protected final long[] keys;
+
+	// next row to publish, only written by the producer
+	protected volatile long tail = 0;
+
+	protected final double[] values;
+
+	protected final CsvWriterImpl[] writers;
+
+	protected final Thread writerThread;
+
+	public CsvRowQueueImpl(final int capacity) {
+		this.capacity = capacity;
+
+		keys = new long[capacity];
+		values = new double[capacity];
+		writers = new CsvWriterImpl[capacity];
+
+		writerThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				encodeRows();
+			}
+		}, "csv-writer");
+		writerThread.setDaemon(true);
+		writerThread.start();
+	}
+
+	/**
+	 * Waits until all published rows have been encoded, and stops the writer
+	 * thread.
+	 */
+	public void close() {
+		closed = true;
+		LockSupport.unpark(writerThread);
+
+		try {
+			writerThread.join();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Waits until all rows published so far have been encoded, so that the
+	 * producer can flush the writers.
+	 */
+	public void drain() {
+		final long drainedTail = tail;
+
+		while (head < drainedTail) {
+			if (!writerThread.isAlive()) {
+				throw new IllegalStateException("csv writer thread terminated");
+			}
+
+			LockSupport.unpark(writerThread);
+			LockSupport.parkNanos(PARK_NANOS);
+		}
+	}
+
+	protected void encodeRows() {
+		long currentHead = head;
+
+		while (true) {
+			// read before tail, so that rows published before closing are encoded
+			final boolean closing = closed;
+			final long currentTail = tail;
+
+			if (currentHead == currentTail) {
+				if (closing) {
+					return;
+				}
+				LockSupport.parkNanos(PARK_NANOS);
+				continue;
+			}
+
+			while (currentHead < currentTail) {
+				final int slot = (int) (currentHead % capacity);
+				writers[slot].encodeRow(keys[slot], values[slot]);
+				writers[slot] = null;
+				currentHead++;
+				head = currentHead;
+			}
+		}
+	}
+
+	public void publish(final CsvWriterImpl writer, final long key, final double value) {
+		final long currentTail = tail;
+
+		// backpressure, if the writer thread is behind by the capacity
+		while (currentTail - head >= capacity) {
+			if (!writerThread.isAlive()) {
+				throw new IllegalStateException("csv writer thread terminated");
+			}
+
+			LockSupport.unpark(writerThread);
+			LockSupport.parkNanos(PARK_NANOS);
+		}
+
+		final int slot = (int) (currentTail % capacity);
+		writers[slot] = writer;
+		keys[slot] = key;
+		values[slot] = value;
+
+		// volatile write, which publishes the row to the writer thread
+		tail = currentTail + 1;
+		LockSupport.unpark(writerThread);
+	}
+}
@@ -19,40 +19,108 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.simulation.minimal.csv.impl;
 
+import java.io.BufferedWriter;
 import java.io.FileWriter;
 import java.io.IOException;
 
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarWriterImpl;
+
+/**
+ * Rows are published into a row queue, which encodes them on a background
+ * thread; without a row queue, rows are encoded on the calling thread. If a
+ * columnar writer is set, rows are written to it, too.
+ */
 public abstract class CsvWriterImpl {
 
+	protected static final int BUFFER_SIZE = 1 << 16;
+
+	protected ColumnarWriterImpl columnarWriter;
+
 	protected final String COMMA_DELIMITER = ";";
 
 	protected final String NEW_LINE_SEPARATOR = "\n";
 
-	protected FileWriter writer;
+	protected final CsvRowQueueImpl rowQueue;
+
+	protected BufferedWriter writer;
+
+	public CsvWriterImpl(final String csvFileName, final CsvRowQueueImpl rowQueue) {
+		this.rowQueue = rowQueue;
 
-	public CsvWriterImpl(final String csvFileName) {
 		try {
-			writer = new FileWriter(csvFileName);
+			writer = new BufferedWriter(new FileWriter(csvFileName), BUFFER_SIZE);
 		} catch (final IOException e) {
 			e.printStackTrace();
 		}
 	}
 
+	/**
+	 * Flushes all rows published so far and closes the file.
+	 */
 	public void close() {
+		if (rowQueue != null) {
+			rowQueue.drain();
+		}
+
 		try {
 			writer.flush();
 			writer.close();
+
+			if (columnarWriter != null) {
+				columnarWriter.close();
+			}
 		} catch (final IOException e) {
 			e.printStackTrace();
 		}
 	}
 
+	/**
+	 * encodes a row with the given label key and value; called by the writer
+	 * thread of the row queue
+	 */
+	protected void encodeRow(final long key, final double value) {
+		try {
+			writer.write(formatLabel(key));
+			writer.write(COMMA_DELIMITER);
+			writer.write(Double.toString(value));
+			writer.write(NEW_LINE_SEPARATOR);
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	protected abstract String formatLabel(final long key);
+
+	public void setColumnarWriter(final ColumnarWriterImpl columnarWriter) {
+		this.columnarWriter = columnarWriter;
+	}
+
+	/**
+	 * writes a line on the calling thread, e. g. a header before rows are
+	 * published
+	 */
 	protected void writeCsvLine(final String... values) {
 		try {
-			writer.append(String.join(COMMA_DELIMITER, values));
-			writer.append(NEW_LINE_SEPARATOR);
+			writer.write(String.join(COMMA_DELIMITER, values));
+			writer.write(NEW_LINE_SEPARATOR);
 		} catch (final IOException e) {
 			e.printStackTrace();
 		}
 	}
+
+	protected void writeRow(final long key, final double value) {
+		if (rowQueue != null) {
+			rowQueue.publish(this, key, value);
+		} else {
+			encodeRow(key, value);
+		}
+
+		if (columnarWriter != null) {
+			try {
+				columnarWriter.writeRow(key, value);
+			} catch (final IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
 }
@@ -19,20 +19,19 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.simulation.minimal.csv.impl;
 
-import org.jfree.data.general.SeriesChangeEvent;
-import org.jfree.data.general.SeriesChangeListener;
-
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataQuotientAccumulator;
 import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
 
-public class M1CsvWriterImpl extends CsvPeriodWriterImpl implements SeriesChangeListener {
+public class M1CsvWriterImpl extends CsvPeriodWriterImpl implements ModelListener {
 
 	protected final PeriodDataQuotientAccumulator accumulator = new PeriodDataQuotientAccumulator();
 
 	protected final PeriodDataAccumulatorTimeSeriesModel m1Model;
 
-	public M1CsvWriterImpl(final String csvFileName, final PeriodDataAccumulatorTimeSeriesModel m1Model) {
-		super(csvFileName);
+	public M1CsvWriterImpl(final String csvFileName, final CsvRowQueueImpl rowQueue,
+			final PeriodDataAccumulatorTimeSeriesModel m1Model) {
+		super(csvFileName, rowQueue);
 
 		this.m1Model = m1Model;
 
@@ -40,7 +39,7 @@ public class M1CsvWriterImpl extends CsvPeriodWriterImpl implements SeriesChange
 	}
 
 	@Override
-	public void seriesChanged(final SeriesChangeEvent event) {
+	public void notifyListener() {
 		if (m1Model != null) {
 			final double output = m1Model.getValue();
 
@@ -48,7 +47,7 @@ public class M1CsvWriterImpl extends CsvPeriodWriterImpl implements SeriesChange
 		}
 
 		if (isPeriodEnd()) {
-			writeCsvLine(getPeriodLabel(), Double.toString(accumulator.getAmount()));
+			writePeriodRow(accumulator.getAmount());
 			accumulator.reset();
 		}
 	}
@@ -19,21 +19,20 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.simulation.minimal.csv.impl;
 
-import org.jfree.data.general.SeriesChangeEvent;
-import org.jfree.data.general.SeriesChangeListener;
-
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.IndustryModel;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataQuotientAccumulator;
 
-public class OutputCsvWriterImpl extends CsvPeriodWriterImpl implements SeriesChangeListener {
+public class OutputCsvWriterImpl extends CsvPeriodWriterImpl implements ModelListener {
 
 	protected final PeriodDataQuotientAccumulator accumulator = new PeriodDataQuotientAccumulator();
 
 	protected final IndustryModel industryModel;
 
-	public OutputCsvWriterImpl(final String csvFileName, final IndustryModel industryModel, final GoodType goodType) {
-		super(csvFileName);
+	public OutputCsvWriterImpl(final String csvFileName, final CsvRowQueueImpl rowQueue,
+			final IndustryModel industryModel, final GoodType goodType) {
+		super(csvFileName, rowQueue);
 
 		this.industryModel = industryModel;
 
@@ -41,7 +40,7 @@ public class OutputCsvWriterImpl extends CsvPeriodWriterImpl implements SeriesCh
 	}
 
 	@Override
-	public void seriesChanged(final SeriesChangeEvent event) {
+	public void notifyListener() {
 		if (industryModel.outputModel != null) {
 			final double output = industryModel.outputModel.getValue();
 
@@ -49,7 +48,7 @@ public class OutputCsvWriterImpl extends CsvPeriodWriterImpl implements SeriesCh
 		}
 
 		if (isPeriodEnd()) {
-			writeCsvLine(getPeriodLabel(), Double.toString(accumulator.getAmount()));
+			writePeriodRow(accumulator.getAmount());
 			accumulator.reset();
 		}
 	}
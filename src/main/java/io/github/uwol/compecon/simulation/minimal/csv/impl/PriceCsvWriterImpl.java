@@ -33,8 +33,9 @@ public class PriceCsvWriterImpl extends CsvPeriodWriterImpl implements ModelList
 
 	protected final PricesModel pricesModel;
 
-	public PriceCsvWriterImpl(final String csvFileName, final PricesModel pricesModel, final GoodType goodType) {
-		super(csvFileName);
+	public PriceCsvWriterImpl(final String csvFileName, final CsvRowQueueImpl rowQueue, final PricesModel pricesModel,
+			final GoodType goodType) {
+		super(csvFileName, rowQueue);
 
 		this.goodType = goodType;
 		this.pricesModel = pricesModel;
@@ -56,7 +57,7 @@ public class PriceCsvWriterImpl extends CsvPeriodWriterImpl implements ModelList
 		}
 
 		if (isPeriodEnd()) {
-			writeCsvLine(getPeriodLabel(), Double.toString(accumulator.getAmount()));
+			writePeriodRow(accumulator.getAmount());
 			accumulator.reset();
 		}
 	}
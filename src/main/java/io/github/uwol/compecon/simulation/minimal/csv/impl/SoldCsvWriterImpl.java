@@ -19,22 +19,20 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.simulation.minimal.csv.impl;
 
-import org.jfree.data.general.SeriesChangeEvent;
-import org.jfree.data.general.SeriesChangeListener;
-
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.PricingBehaviourModel;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataQuotientAccumulator;
 
-public class SoldCsvWriterImpl extends CsvPeriodWriterImpl implements SeriesChangeListener {
+public class SoldCsvWriterImpl extends CsvPeriodWriterImpl implements ModelListener {
 
 	protected final PeriodDataQuotientAccumulator accumulator = new PeriodDataQuotientAccumulator();
 
 	protected final PricingBehaviourModel pricingBehaviourModel;
 
-	public SoldCsvWriterImpl(final String csvFileName, final PricingBehaviourModel pricingBehaviourModel,
-			final GoodType goodType) {
-		super(csvFileName);
+	public SoldCsvWriterImpl(final String csvFileName, final CsvRowQueueImpl rowQueue,
+			final PricingBehaviourModel pricingBehaviourModel, final GoodType goodType) {
+		super(csvFileName, rowQueue);
 
 		this.pricingBehaviourModel = pricingBehaviourModel;
 
@@ -42,7 +40,7 @@ public class SoldCsvWriterImpl extends CsvPeriodWriterImpl implements SeriesChan
 	}
 
 	@Override
-	public void seriesChanged(final SeriesChangeEvent event) {
+	public void notifyListener() {
 		if (pricingBehaviourModel.soldModel != null) {
 			final double output = pricingBehaviourModel.soldModel.getValue();
 
@@ -50,7 +48,7 @@ public class SoldCsvWriterImpl extends CsvPeriodWriterImpl implements SeriesChan
 		}
 
 		if (isPeriodEnd()) {
-			writeCsvLine(getPeriodLabel(), Double.toString(accumulator.getAmount()));
+			writePeriodRow(accumulator.getAmount());
 			accumulator.reset();
 		}
 	}
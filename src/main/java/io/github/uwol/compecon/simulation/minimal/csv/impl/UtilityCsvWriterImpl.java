@@ -19,20 +19,19 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.simulation.minimal.csv.impl;
 
-import org.jfree.data.general.SeriesChangeEvent;
-import org.jfree.data.general.SeriesChangeListener;
-
 import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.UtilityModel;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
 import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataQuotientAccumulator;
 
-public class UtilityCsvWriterImpl extends CsvPeriodWriterImpl implements SeriesChangeListener {
+public class UtilityCsvWriterImpl extends CsvPeriodWriterImpl implements ModelListener {
 
 	protected final PeriodDataQuotientAccumulator accumulator = new PeriodDataQuotientAccumulator();
 
 	protected final UtilityModel utilityModel;
 
-	public UtilityCsvWriterImpl(final String csvFileName, final UtilityModel utilityModel) {
-		super(csvFileName);
+	public UtilityCsvWriterImpl(final String csvFileName, final CsvRowQueueImpl rowQueue,
+			final UtilityModel utilityModel) {
+		super(csvFileName, rowQueue);
 
 		this.utilityModel = utilityModel;
 
@@ -40,7 +39,7 @@ public class UtilityCsvWriterImpl extends CsvPeriodWriterImpl implements SeriesC
 	}
 
 	@Override
-	public void seriesChanged(final SeriesChangeEvent event) {
+	public void notifyListener() {
 		if (utilityModel.utilityOutputModel != null) {
 			final double utility = utilityModel.utilityOutputModel.getValue();
 
@@ -48,7 +47,7 @@ public class UtilityCsvWriterImpl extends CsvPeriodWriterImpl implements SeriesC
 		}
 
 		if (isPeriodEnd()) {
-			writeCsvLine(getPeriodLabel(), Double.toString(accumulator.getAmount()));
+			writePeriodRow(accumulator.getAmount());
 			accumulator.reset();
 		}
 	}
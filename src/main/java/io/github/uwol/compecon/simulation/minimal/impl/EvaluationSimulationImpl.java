@@ -35,6 +35,10 @@ import io.github.uwol.compecon.engine.timesystem.impl.DayType;
 import io.github.uwol.compecon.engine.timesystem.impl.HourType;
 import io.github.uwol.compecon.engine.timesystem.impl.MonthType;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
+import io.github.uwol.compecon.engine.util.WriteBehindUtil;
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarFormat.ColumnType;
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarWriterImpl;
+import io.github.uwol.compecon.simulation.minimal.csv.impl.CsvRowQueueImpl;
 import io.github.uwol.compecon.simulation.minimal.csv.impl.M1CsvWriterImpl;
 import io.github.uwol.compecon.simulation.minimal.csv.impl.OutputCsvWriterImpl;
 import io.github.uwol.compecon.simulation.minimal.csv.impl.PriceCsvWriterImpl;
@@ -43,40 +47,58 @@ import io.github.uwol.compecon.simulation.minimal.csv.impl.UtilityCsvWriterImpl;
 
 public class EvaluationSimulationImpl {
 
+	protected static final int CSV_ROW_QUEUE_CAPACITY = 1024;
+
+	/**
+	 * creates a columnar file with the same rows as the CSV file of the given
+	 * base name
+	 */
+	protected static ColumnarWriterImpl createColumnarWriter(final String baseFileName, final String valueColumnName)
+			throws IOException {
+		return new ColumnarWriterImpl(baseFileName + ".col", new String[] { "period", valueColumnName },
+				new ColumnType[] { ColumnType.DATE, ColumnType.DOUBLE });
+	}
+
 	public static void main(final String[] args) throws IOException {
 		runSimulationIteration(1, 1);
 		runSimulationIteration(2, 1);
 	}
 
-	protected static M1CsvWriterImpl registerM1FileWriter(final int scenario, final int iteration) {
+	protected static M1CsvWriterImpl registerM1FileWriter(final int scenario, final int iteration,
+			final CsvRowQueueImpl rowQueue) throws IOException {
 		final PeriodDataAccumulatorTimeSeriesModel m1Model = ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(Currency.EURO).moneySupplyM1Model;
-		final String csvFileName = String.format("csv/%s_%s_m1.csv", scenario, iteration);
-		final M1CsvWriterImpl m1FileWriter = new M1CsvWriterImpl(csvFileName, m1Model);
+		final String baseFileName = String.format("csv/%s_%s_m1", scenario, iteration);
+		final M1CsvWriterImpl m1FileWriter = new M1CsvWriterImpl(baseFileName + ".csv", rowQueue, m1Model);
+		m1FileWriter.setColumnarWriter(createColumnarWriter(baseFileName, "M1"));
 
-		m1Model.getTimeSeries().addChangeListener(m1FileWriter);
+		m1Model.registerListener(m1FileWriter);
 
 		return m1FileWriter;
 	}
 
 	protected static OutputCsvWriterImpl registerOutputFileWriter(final int scenario, final int iteration,
-			final GoodType goodType) {
+			final CsvRowQueueImpl rowQueue, final GoodType goodType) throws IOException {
 		final IndustryModel industryModel = ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(Currency.EURO).industryModels.get(goodType);
-		final String csvFileName = String.format("csv/%s_%s_%s_output.csv", scenario, iteration, goodType);
-		final OutputCsvWriterImpl outputFileWriter = new OutputCsvWriterImpl(csvFileName, industryModel, goodType);
+		final String baseFileName = String.format("csv/%s_%s_%s_output", scenario, iteration, goodType);
+		final OutputCsvWriterImpl outputFileWriter = new OutputCsvWriterImpl(baseFileName + ".csv", rowQueue,
+				industryModel, goodType);
+		outputFileWriter.setColumnarWriter(createColumnarWriter(baseFileName, "output"));
 
-		industryModel.outputModel.getTimeSeries().addChangeListener(outputFileWriter);
+		industryModel.outputModel.registerListener(outputFileWriter);
 
 		return outputFileWriter;
 	}
 
 	protected static PriceCsvWriterImpl registerPriceFileWriter(final int scenario, final int iteration,
-			final GoodType goodType) {
+			final CsvRowQueueImpl rowQueue, final GoodType goodType) throws IOException {
 		final PricesModel pricesModel = ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(Currency.EURO).pricesModel;
-		final String csvFileName = String.format("csv/%s_%s_%s_prices.csv", scenario, iteration, goodType);
-		final PriceCsvWriterImpl priceFileWriter = new PriceCsvWriterImpl(csvFileName, pricesModel, goodType);
+		final String baseFileName = String.format("csv/%s_%s_%s_prices", scenario, iteration, goodType);
+		final PriceCsvWriterImpl priceFileWriter = new PriceCsvWriterImpl(baseFileName + ".csv", rowQueue,
+				pricesModel, goodType);
+		priceFileWriter.setColumnarWriter(createColumnarWriter(baseFileName, "price"));
 
 		pricesModel.registerListener(priceFileWriter);
 
@@ -84,24 +106,29 @@ public class EvaluationSimulationImpl {
 	}
 
 	protected static SoldCsvWriterImpl registerSoldFileWriter(final int scenario, final int iteration,
-			final GoodType goodType) {
+			final CsvRowQueueImpl rowQueue, final GoodType goodType) throws IOException {
 		final PricingBehaviourModel pricingBehaviourModel = ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(Currency.EURO).getPricingBehaviourModel(goodType);
-		final String csvFileName = String.format("csv/%s_%s_%s_sold.csv", scenario, iteration, goodType);
-		final SoldCsvWriterImpl soldFileWriter = new SoldCsvWriterImpl(csvFileName, pricingBehaviourModel, goodType);
+		final String baseFileName = String.format("csv/%s_%s_%s_sold", scenario, iteration, goodType);
+		final SoldCsvWriterImpl soldFileWriter = new SoldCsvWriterImpl(baseFileName + ".csv", rowQueue,
+				pricingBehaviourModel, goodType);
+		soldFileWriter.setColumnarWriter(createColumnarWriter(baseFileName, "sold"));
 
-		pricingBehaviourModel.soldModel.getTimeSeries().addChangeListener(soldFileWriter);
+		pricingBehaviourModel.soldModel.registerListener(soldFileWriter);
 
 		return soldFileWriter;
 	}
 
-	protected static UtilityCsvWriterImpl registerUtilityFileWriter(final int scenario, final int iteration) {
+	protected static UtilityCsvWriterImpl registerUtilityFileWriter(final int scenario, final int iteration,
+			final CsvRowQueueImpl rowQueue) throws IOException {
 		final UtilityModel utilityModel = ApplicationContext.getInstance().getModelRegistry()
 				.getNationalEconomyModel(Currency.EURO).householdsModel.utilityModel;
-		final String csvFileName = String.format("csv/%s_%s_utility.csv", scenario, iteration);
-		final UtilityCsvWriterImpl utilityFileWriter = new UtilityCsvWriterImpl(csvFileName, utilityModel);
+		final String baseFileName = String.format("csv/%s_%s_utility", scenario, iteration);
+		final UtilityCsvWriterImpl utilityFileWriter = new UtilityCsvWriterImpl(baseFileName + ".csv", rowQueue,
+				utilityModel);
+		utilityFileWriter.setColumnarWriter(createColumnarWriter(baseFileName, "utility"));
 
-		utilityModel.utilityOutputModel.getTimeSeries().addChangeListener(utilityFileWriter);
+		utilityModel.utilityOutputModel.registerListener(utilityFileWriter);
 
 		return utilityFileWriter;
 	}
@@ -117,28 +144,38 @@ public class EvaluationSimulationImpl {
 
 		if (HibernateUtil.isActive()) {
 			ApplicationContextFactory.configureHibernateApplicationContext(configurationPropertiesFilename);
+		} else if (WriteBehindUtil.isActive()) {
+			ApplicationContextFactory.configureWriteBehindApplicationContext(configurationPropertiesFilename);
 		} else {
 			ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
 		}
 
 		/*
-		 * register model listeners
+		 * register model listeners, which publish their rows to a shared row queue
 		 */
-		final PriceCsvWriterImpl coalPriceWriter = registerPriceFileWriter(scenario, iteration, GoodType.COAL);
-		final PriceCsvWriterImpl wheatPriceWriter = registerPriceFileWriter(scenario, iteration, GoodType.WHEAT);
-		final PriceCsvWriterImpl labourHourPriceWriter = registerPriceFileWriter(scenario, iteration,
+		final CsvRowQueueImpl rowQueue = new CsvRowQueueImpl(CSV_ROW_QUEUE_CAPACITY);
+
+		final PriceCsvWriterImpl coalPriceWriter = registerPriceFileWriter(scenario, iteration, rowQueue,
+				GoodType.COAL);
+		final PriceCsvWriterImpl wheatPriceWriter = registerPriceFileWriter(scenario, iteration, rowQueue,
+				GoodType.WHEAT);
+		final PriceCsvWriterImpl labourHourPriceWriter = registerPriceFileWriter(scenario, iteration, rowQueue,
 				GoodType.LABOURHOUR);
 
-		final OutputCsvWriterImpl coalOutputWriter = registerOutputFileWriter(scenario, iteration, GoodType.COAL);
-		final OutputCsvWriterImpl wheatOutputWriter = registerOutputFileWriter(scenario, iteration, GoodType.WHEAT);
+		final OutputCsvWriterImpl coalOutputWriter = registerOutputFileWriter(scenario, iteration, rowQueue,
+				GoodType.COAL);
+		final OutputCsvWriterImpl wheatOutputWriter = registerOutputFileWriter(scenario, iteration, rowQueue,
+				GoodType.WHEAT);
 
-		final SoldCsvWriterImpl coalSoldWriter = registerSoldFileWriter(scenario, iteration, GoodType.COAL);
-		final SoldCsvWriterImpl wheatSoldWriter = registerSoldFileWriter(scenario, iteration, GoodType.WHEAT);
-		final SoldCsvWriterImpl labourHourSoldWriter = registerSoldFileWriter(scenario, iteration, GoodType.LABOURHOUR);
+		final SoldCsvWriterImpl coalSoldWriter = registerSoldFileWriter(scenario, iteration, rowQueue, GoodType.COAL);
+		final SoldCsvWriterImpl wheatSoldWriter = registerSoldFileWriter(scenario, iteration, rowQueue,
+				GoodType.WHEAT);
+		final SoldCsvWriterImpl labourHourSoldWriter = registerSoldFileWriter(scenario, iteration, rowQueue,
+				GoodType.LABOURHOUR);
 
-		final UtilityCsvWriterImpl utilityWriter = registerUtilityFileWriter(scenario, iteration);
+		final UtilityCsvWriterImpl utilityWriter = registerUtilityFileWriter(scenario, iteration, rowQueue);
 
-		final M1CsvWriterImpl m1Writer = registerM1FileWriter(scenario, iteration);
+		final M1CsvWriterImpl m1Writer = registerM1FileWriter(scenario, iteration, rowQueue);
 
 		/*
 		 * register exogenous shock
@@ -172,6 +209,8 @@ public class EvaluationSimulationImpl {
 		m1Writer.close();
 		utilityWriter.close();
 
+		rowQueue.close();
+
 		/*
 		 * reset application context
 		 */
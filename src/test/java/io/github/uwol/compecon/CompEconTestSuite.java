@@ -23,6 +23,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
+import io.github.uwol.compecon.dashboard.DashboardTest;
 import io.github.uwol.compecon.economy.sectors.financial.CreditBankTest;
 import io.github.uwol.compecon.economy.sectors.household.HouseholdImplTest;
 import io.github.uwol.compecon.economy.sectors.industry.FactoryImplTest;
@@ -30,24 +31,41 @@ import io.github.uwol.compecon.engine.applicationcontext.InterdependenciesConfig
 import io.github.uwol.compecon.engine.applicationcontext.NoDependenciesConfigurationTest;
 import io.github.uwol.compecon.engine.applicationcontext.TestingConfigurationTest;
 import io.github.uwol.compecon.engine.dao.BankAccountDAOTest;
+import io.github.uwol.compecon.engine.dao.HibernateBulkLoaderTest;
 import io.github.uwol.compecon.engine.dao.HouseholdDAOTest;
 import io.github.uwol.compecon.engine.dao.PropertyDAOTest;
+import io.github.uwol.compecon.engine.dao.WriteBehindPersisterTest;
 import io.github.uwol.compecon.engine.service.AgentServiceTest;
 import io.github.uwol.compecon.engine.service.MarketServiceTest;
 import io.github.uwol.compecon.engine.service.PropertyServiceTest;
+import io.github.uwol.compecon.engine.snapshot.SnapshotExporterTest;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModelTest;
+import io.github.uwol.compecon.engine.statistics.BalanceSheetsModelTest;
+import io.github.uwol.compecon.engine.statistics.MarketDepthModelTest;
+import io.github.uwol.compecon.engine.statistics.PeriodDataAccumulatorTest;
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModelTest;
+import io.github.uwol.compecon.engine.statistics.PeriodDataTimeSeriesModelTest;
+import io.github.uwol.compecon.jmx.JMXRegistrationTest;
 import io.github.uwol.compecon.math.CESFunctionTest;
 import io.github.uwol.compecon.math.CobbDouglasFunctionTest;
+import io.github.uwol.compecon.math.ConvexFunctionTest;
 import io.github.uwol.compecon.math.intertemporal.ModiglianiIntertemporalConsumptionFunctionTest;
 import io.github.uwol.compecon.math.production.CobbDouglasProductionFunctionTest;
 import io.github.uwol.compecon.math.util.MathUtilTest;
 import io.github.uwol.compecon.math.utility.CobbDouglasUtilityFunctionTest;
+import io.github.uwol.compecon.simulation.minimal.columnar.ColumnarWriterTest;
+import io.github.uwol.compecon.simulation.minimal.csv.CsvWriterTest;
 
 @RunWith(Suite.class)
 @SuiteClasses({ MathUtilTest.class, InterdependenciesConfigurationTest.class, NoDependenciesConfigurationTest.class,
-		TestingConfigurationTest.class, BankAccountDAOTest.class, HouseholdDAOTest.class, PropertyDAOTest.class,
-		AgentServiceTest.class, MarketServiceTest.class, PropertyServiceTest.class, CreditBankTest.class,
-		HouseholdImplTest.class, FactoryImplTest.class, ModiglianiIntertemporalConsumptionFunctionTest.class,
-		CobbDouglasFunctionTest.class, CobbDouglasUtilityFunctionTest.class, CobbDouglasProductionFunctionTest.class,
-		CESFunctionTest.class })
+		TestingConfigurationTest.class, BankAccountDAOTest.class, HibernateBulkLoaderTest.class, HouseholdDAOTest.class,
+		PropertyDAOTest.class, WriteBehindPersisterTest.class, AgentServiceTest.class, MarketServiceTest.class,
+		PropertyServiceTest.class, SnapshotExporterTest.class, PeriodDataTimeSeriesModelTest.class,
+		PeriodDataDistributionModelTest.class, AgentDetailModelTest.class, BalanceSheetsModelTest.class,
+		PeriodDataAccumulatorTest.class, MarketDepthModelTest.class, CreditBankTest.class, HouseholdImplTest.class,
+		FactoryImplTest.class, ModiglianiIntertemporalConsumptionFunctionTest.class, CobbDouglasFunctionTest.class,
+		CobbDouglasUtilityFunctionTest.class, CobbDouglasProductionFunctionTest.class, CESFunctionTest.class,
+		ConvexFunctionTest.class, CsvWriterTest.class, ColumnarWriterTest.class, DashboardTest.class,
+		JMXRegistrationTest.class })
 public class CompEconTestSuite {
 }
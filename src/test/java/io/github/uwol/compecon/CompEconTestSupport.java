@@ -23,14 +23,22 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import io.github.uwol.compecon.economy.materia.GoodType;
 import io.github.uwol.compecon.economy.sectors.financial.Currency;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
 import io.github.uwol.compecon.engine.util.HibernateUtil;
+import io.github.uwol.compecon.engine.util.WriteBehindUtil;
 import io.github.uwol.compecon.math.impl.FunctionImpl;
 import io.github.uwol.compecon.math.price.PriceFunction;
 
@@ -40,6 +48,72 @@ public abstract class CompEconTestSupport {
 
 	protected final String testConfigurationPropertiesFilename = "testing.configuration.properties";
 
+	/**
+	 * evaluates the function concurrently from several threads on the same
+	 * instance and asserts, that each thread obtains the results of a sequential
+	 * evaluation
+	 */
+	protected void assertEvaluationIsThreadSafe(final FunctionImpl<GoodType> function) throws Exception {
+		final int numberOfBundles = 1000;
+		final int numberOfThreads = 4;
+		final int numberOfInputTypes = function.getInputTypeLayout().size();
+
+		final Random random = new Random(0);
+		final double[][] bundles = new double[numberOfBundles][numberOfInputTypes];
+		final double[] expectedOutputs = new double[numberOfBundles];
+		final double[][] expectedPartialDerivatives = new double[numberOfBundles][numberOfInputTypes];
+
+		for (int b = 0; b < numberOfBundles; b++) {
+			for (int i = 0; i < numberOfInputTypes; i++) {
+				bundles[b][i] = 0.1 + random.nextDouble() * 10.0;
+			}
+
+			expectedOutputs[b] = function.f(bundles[b]);
+			function.partialDerivatives(bundles[b], expectedPartialDerivatives[b]);
+		}
+
+		final ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+
+		try {
+			final List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+
+			for (int t = 0; t < numberOfThreads; t++) {
+				final int offset = t;
+
+				futures.add(executorService.submit(new Callable<Integer>() {
+					@Override
+					public Integer call() {
+						final double[] partialDerivatives = new double[numberOfInputTypes];
+						int numberOfMismatches = 0;
+
+						for (int k = 0; k < 20 * numberOfBundles; k++) {
+							final int b = (offset + k * (offset + 1)) % numberOfBundles;
+							function.partialDerivatives(bundles[b], partialDerivatives);
+
+							if (function.f(bundles[b]) != expectedOutputs[b]) {
+								numberOfMismatches++;
+							}
+
+							for (int i = 0; i < numberOfInputTypes; i++) {
+								if (partialDerivatives[i] != expectedPartialDerivatives[b][i]) {
+									numberOfMismatches++;
+								}
+							}
+						}
+
+						return numberOfMismatches;
+					}
+				}));
+			}
+
+			for (final Future<Integer> future : futures) {
+				assertEquals(0, future.get().intValue());
+			}
+		} finally {
+			executorService.shutdown();
+		}
+	}
+
 	protected void assertOutputIsOptimalUnderBudget(final FunctionImpl<GoodType> function,
 			final double budgetRestriction, final Map<GoodType, PriceFunction> priceFunctions,
 			final Map<GoodType, Double> referenceBundleOfInputs) {
@@ -106,6 +180,8 @@ public abstract class CompEconTestSupport {
 	protected void setUpApplicationContext(final String configurationPropertiesFilename) throws IOException {
 		if (HibernateUtil.isActive()) {
 			ApplicationContextFactory.configureHibernateApplicationContext(configurationPropertiesFilename);
+		} else if (WriteBehindUtil.isActive()) {
+			ApplicationContextFactory.configureWriteBehindApplicationContext(configurationPropertiesFilename);
 		} else {
 			ApplicationContextFactory.configureInMemoryApplicationContext(configurationPropertiesFilename);
 		}
@@ -0,0 +1,198 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.dashboard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.dashboard.panel.AgentsPanel;
+import io.github.uwol.compecon.dashboard.panel.BanksPanel;
+import io.github.uwol.compecon.dashboard.panel.ControlPanel;
+import io.github.uwol.compecon.dashboard.panel.HouseholdsPanel;
+import io.github.uwol.compecon.dashboard.panel.IndustriesPanel;
+import io.github.uwol.compecon.dashboard.panel.LogPanel;
+import io.github.uwol.compecon.dashboard.panel.MoneyPanel;
+import io.github.uwol.compecon.dashboard.panel.NationalAccountsPanel;
+import io.github.uwol.compecon.dashboard.panel.StatesPanel;
+import io.github.uwol.compecon.dashboard.panel.TradersPanel;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshot;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshot.NationalEconomySnapshot;
+import io.github.uwol.compecon.engine.statistics.ModelSnapshotModel;
+
+/**
+ * Runs the panels of the dashboard headless, as the frame cannot be created
+ * without a display.
+ */
+public class DashboardTest extends CompEconTestSupport {
+
+	protected final int NUMBER_OF_DAYS = 60;
+
+	protected void createPanels() throws InterruptedException, InvocationTargetException {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				new AgentsPanel();
+				new BanksPanel();
+				new ControlPanel();
+				new HouseholdsPanel();
+				new IndustriesPanel();
+				new LogPanel();
+				new MoneyPanel();
+				new NationalAccountsPanel();
+				new StatesPanel();
+				new TradersPanel();
+			}
+		});
+	}
+
+	protected boolean render(final ModelSnapshotModel modelSnapshotModel)
+			throws InterruptedException, InvocationTargetException {
+		final boolean[] rendered = new boolean[1];
+
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				rendered[0] = modelSnapshotModel.render();
+			}
+		});
+
+		return rendered[0];
+	}
+
+	protected void runDays(final int numberOfDays) {
+		for (int day = 0; day < numberOfDays; day++) {
+			for (int hour = 0; hour < 24; hour++) {
+				ApplicationContext.getInstance().getTimeSystem().nextHour();
+			}
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testCoalescing() throws InterruptedException, InvocationTargetException {
+		final ModelSnapshotModel modelSnapshotModel = ApplicationContext.getInstance().getModelRegistry()
+				.getModelSnapshotModel();
+		createPanels();
+
+		// nothing is published while detached
+		runDays(2);
+		assertNull(modelSnapshotModel.getPublishedSnapshot());
+		assertFalse(render(modelSnapshotModel));
+
+		modelSnapshotModel.attach();
+
+		// periods published between two frames are coalesced
+		runDays(3);
+		assertTrue(render(modelSnapshotModel));
+		assertEquals(3, modelSnapshotModel.getRenderedSnapshot().getVersion());
+		assertEquals(2, modelSnapshotModel.getNumberOfCoalescedSnapshots());
+		assertFalse(render(modelSnapshotModel));
+
+		runDays(1);
+		assertTrue(render(modelSnapshotModel));
+		assertEquals(4, modelSnapshotModel.getRenderedSnapshot().getVersion());
+		assertEquals(2, modelSnapshotModel.getNumberOfCoalescedSnapshots());
+		assertEquals(2, modelSnapshotModel.getNumberOfRenderedSnapshots());
+		assertNotNull(modelSnapshotModel.getRenderedDate());
+
+		for (final Currency currency : Currency.values()) {
+			final NationalEconomySnapshot nationalEconomySnapshot = modelSnapshotModel
+					.getRenderedNationalEconomySnapshot(currency);
+			assertNotNull(nationalEconomySnapshot.getNationalAccountsBalanceSheet());
+			assertNotNull(nationalEconomySnapshot.getBalanceSheet(Household.class));
+			assertNotNull(nationalEconomySnapshot.getIncomeSummaryStatisticalData());
+		}
+
+		// the snapshot is not modified by the following periods
+		final ModelSnapshot renderedSnapshot = modelSnapshotModel.getRenderedSnapshot();
+		final double householdsHardCash = renderedSnapshot.getNationalEconomySnapshot(Currency.EURO)
+				.getBalanceSheet(Household.class).hardCash;
+		runDays(1);
+		assertEquals(householdsHardCash, renderedSnapshot.getNationalEconomySnapshot(Currency.EURO)
+				.getBalanceSheet(Household.class).hardCash, 0.0);
+
+		modelSnapshotModel.detach();
+	}
+
+	/**
+	 * The throughput with the dashboard attached versus detached is measured by
+	 * DashboardBenchmark.
+	 */
+	@Test
+	public void testRenderingWhileSimulating() throws InterruptedException, InvocationTargetException {
+		final ModelSnapshotModel modelSnapshotModel = ApplicationContext.getInstance().getModelRegistry()
+				.getModelSnapshotModel();
+		createPanels();
+
+		// the renderer of the dashboard, which runs on the event dispatch thread
+		modelSnapshotModel.attach();
+		final Timer renderTimer = new Timer(1000 / Dashboard.MAX_FRAMES_PER_SECOND, new ActionListener() {
+			@Override
+			public void actionPerformed(final ActionEvent e) {
+				modelSnapshotModel.render();
+			}
+		});
+		renderTimer.setCoalesce(true);
+		renderTimer.start();
+
+		runDays(NUMBER_OF_DAYS);
+
+		renderTimer.stop();
+		modelSnapshotModel.detach();
+		render(modelSnapshotModel);
+
+		// each period has been published once, and is either rendered or coalesced
+		assertEquals(NUMBER_OF_DAYS, modelSnapshotModel.getPublishedSnapshot().getVersion());
+		assertSame(modelSnapshotModel.getPublishedSnapshot(), modelSnapshotModel.getRenderedSnapshot());
+		assertEquals(NUMBER_OF_DAYS, modelSnapshotModel.getNumberOfRenderedSnapshots()
+				+ modelSnapshotModel.getNumberOfCoalescedSnapshots());
+	}
+}
@@ -40,8 +40,8 @@ public class HouseholdImplTest extends CompEconTestSupport {
 	@Before
 	public void setup() throws IOException {
 		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		ApplicationContext.getInstance().getConfiguration().householdConfig.setRetirementSaving(false);
 		ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
-		ApplicationContext.getInstance().getConfiguration().householdConfig.retirementSaving = false;
 	}
 
 	@Override
@@ -40,7 +40,6 @@ public class FactoryImplTest extends CompEconTestSupport {
 	@Before
 	public void setup() throws IOException {
 		super.setUpApplicationContext(testConfigurationPropertiesFilename);
-		ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
 	}
 
 	@Override
@@ -51,6 +50,8 @@ public class FactoryImplTest extends CompEconTestSupport {
 
 	@Test
 	public void testProductionEvent() {
+		ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
+
 		final Currency currency = Currency.EURO;
 
 		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
@@ -96,7 +97,8 @@ public class FactoryImplTest extends CompEconTestSupport {
 	@Test
 	public void testProductionEventWithCapital() {
 		// deactivate capital depreciation
-		ApplicationContext.getInstance().getConfiguration().factoryConfig.capitalDepreciationRatioPerPeriod = 0.0;
+		ApplicationContext.getInstance().getConfiguration().factoryConfig.setCapitalDepreciationRatioPerPeriod(0.0);
+		ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
 
 		final Currency currency = Currency.EURO;
 
@@ -148,6 +150,8 @@ public class FactoryImplTest extends CompEconTestSupport {
 
 	@Test
 	public void testProductionEventWithInventory() {
+		ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
+
 		final Currency currency = Currency.EURO;
 
 		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
@@ -19,6 +19,9 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 
 package io.github.uwol.compecon.engine.applicationcontext;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
 import java.io.IOException;
 
 import org.junit.After;
@@ -45,4 +48,19 @@ public class TestingConfigurationTest extends CompEconTestSupport {
 	public void testDummy() {
 
 	}
+
+	@Test
+	public void testSettersRefreshConfigurationSnapshot() {
+		final Configuration configuration = ApplicationContext.getInstance().getConfiguration();
+
+		configuration.factoryConfig.setCapitalDepreciationRatioPerPeriod(0.0);
+		configuration.householdConfig.setRetirementSaving(false);
+		configuration.pricingBehaviourConfig.setDefaultPriceChangeIncrementExplicit(0.5);
+
+		final ConfigurationSnapshot configurationSnapshot = ApplicationContext.getInstance()
+				.getConfigurationSnapshot();
+		assertEquals(0.0, configurationSnapshot.factoryConfig.capitalDepreciationRatioPerPeriod, epsilon);
+		assertFalse(configurationSnapshot.householdConfig.retirementSaving);
+		assertEquals(0.5, configurationSnapshot.pricingBehaviourConfig.defaultPriceChangeIncrementExplicit, epsilon);
+	}
 }
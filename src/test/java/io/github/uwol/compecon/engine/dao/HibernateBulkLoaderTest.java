@@ -0,0 +1,141 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.Session;
+import org.hibernate.stat.Statistics;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.agent.Agent;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.dao.hibernate.impl.HibernateBulkLoader;
+import io.github.uwol.compecon.engine.util.HibernateUtil;
+
+/**
+ * Asserts the saving of the constructed entities, if run with -DdbActive=true.
+ * Otherwise, the bulk loader has to leave the in-memory DAOs untouched.
+ */
+public class HibernateBulkLoaderTest extends CompEconTestSupport {
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testCommitSavesEntitiesInOneFlush() {
+		final ApplicationContext applicationContext = ApplicationContext.getInstance();
+
+		final BankAccountDAO bankAccountDAO = applicationContext.getBankAccountDAO();
+		final CentralBankDAO centralBankDAO = applicationContext.getCentralBankDAO();
+		final CreditBankDAO creditBankDAO = applicationContext.getCreditBankDAO();
+		final FactoryDAO factoryDAO = applicationContext.getFactoryDAO();
+		final GoodTypeOwnershipDAO goodTypeOwnershipDAO = applicationContext.getGoodTypeOwnershipDAO();
+		final HouseholdDAO householdDAO = applicationContext.getHouseholdDAO();
+		final MarketOrderDAO marketOrderDAO = applicationContext.getMarketOrderDAO();
+		final PropertyDAO propertyDAO = applicationContext.getPropertyDAO();
+		final StateDAO stateDAO = applicationContext.getStateDAO();
+		final TraderDAO traderDAO = applicationContext.getTraderDAO();
+
+		final Statistics statistics = HibernateUtil.isActive() ? HibernateUtil.getSessionFactory().getStatistics()
+				: null;
+
+		if (HibernateUtil.isActive()) {
+			statistics.setStatisticsEnabled(true);
+			statistics.clear();
+		}
+
+		final HibernateBulkLoader hibernateBulkLoader = new HibernateBulkLoader();
+		hibernateBulkLoader.begin();
+
+		if (HibernateUtil.isActive()) {
+			assertNotSame(householdDAO, applicationContext.getHouseholdDAO());
+		}
+
+		super.setUpTestAgents();
+
+		final List<Agent> agents = new ArrayList<Agent>();
+		agents.addAll(applicationContext.getCentralBankDAO().findAll());
+		agents.addAll(applicationContext.getCreditBankDAO().findAll());
+		agents.addAll(applicationContext.getFactoryDAO().findAll());
+		agents.addAll(applicationContext.getHouseholdDAO().findAll());
+		agents.addAll(applicationContext.getTraderDAO().findAll());
+
+		final int numberOfEntities = agents.size() + applicationContext.getStateDAO().findAll().size()
+				+ applicationContext.getBankAccountDAO().findAll().size()
+				+ applicationContext.getPropertyDAO().findAll().size()
+				+ applicationContext.getGoodTypeOwnershipDAO().findAll().size()
+				+ applicationContext.getMarketOrderDAO().findAll().size();
+
+		if (HibernateUtil.isActive()) {
+			// nothing is flushed during construction
+			assertEquals(0, statistics.getFlushCount());
+			assertEquals(0, statistics.getEntityInsertCount());
+		}
+
+		hibernateBulkLoader.commit();
+
+		assertSame(bankAccountDAO, applicationContext.getBankAccountDAO());
+		assertSame(centralBankDAO, applicationContext.getCentralBankDAO());
+		assertSame(creditBankDAO, applicationContext.getCreditBankDAO());
+		assertSame(factoryDAO, applicationContext.getFactoryDAO());
+		assertSame(goodTypeOwnershipDAO, applicationContext.getGoodTypeOwnershipDAO());
+		assertSame(householdDAO, applicationContext.getHouseholdDAO());
+		assertSame(marketOrderDAO, applicationContext.getMarketOrderDAO());
+		assertSame(propertyDAO, applicationContext.getPropertyDAO());
+		assertSame(stateDAO, applicationContext.getStateDAO());
+		assertSame(traderDAO, applicationContext.getTraderDAO());
+
+		if (HibernateUtil.isActive()) {
+			statistics.setStatisticsEnabled(false);
+
+			// all entities are inserted by the flush of the commit
+			assertEquals(numberOfEntities, statistics.getEntityInsertCount());
+			assertEquals(1, statistics.getFlushCount());
+
+			// the ids of the sequence number generator are replaced by generated ids
+			final Session session = HibernateUtil.getSession();
+
+			for (final Agent agent : agents) {
+				assertTrue(session.contains(agent));
+				assertEquals(session.getIdentifier(agent), agent.getId());
+				assertSame(agent, session.get(agent.getClass(), agent.getId()));
+			}
+		}
+	}
+}
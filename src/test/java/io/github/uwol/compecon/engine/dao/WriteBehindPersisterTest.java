@@ -0,0 +1,200 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.dao;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
+import io.github.uwol.compecon.economy.sectors.financial.CreditBank;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContextFactory;
+import io.github.uwol.compecon.engine.dao.writebehind.WriteBehindPersister;
+import io.github.uwol.compecon.engine.util.WriteBehindUtil;
+
+public class WriteBehindPersisterTest extends CompEconTestSupport {
+
+	protected Connection connection;
+
+	protected int count(final String sql) throws SQLException {
+		final ResultSet resultSet = connection.createStatement().executeQuery(sql);
+		resultSet.next();
+		return resultSet.getInt(1);
+	}
+
+	@Before
+	public void setup() throws IOException, SQLException {
+		ApplicationContextFactory.configureWriteBehindApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+
+		connection = DriverManager.getConnection(WriteBehindUtil.getUrl(), WriteBehindUtil.getUsername(),
+				WriteBehindUtil.getPassword());
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+
+		try {
+			connection.close();
+		} catch (final SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+	@Test
+	public void testFailedWriteFailsFlush() throws SQLException {
+		final Currency currency = Currency.EURO;
+		final WriteBehindPersister writeBehindPersister = ApplicationContext.getInstance().getWriteBehindPersister();
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+
+		writeBehindPersister.nextDay();
+		writeBehindPersister.flush();
+
+		connection.createStatement().execute("DROP TABLE BankAccount");
+		household1_EUR.getBankAccountTransactionsDelegate().getBankAccount().deposit(100.0);
+
+		writeBehindPersister.nextDay();
+
+		try {
+			writeBehindPersister.flush();
+			fail("flush has to fail, if writing a day failed");
+		} catch (final IllegalStateException e) {
+			assertTrue(e.getCause() instanceof SQLException);
+		}
+
+		try {
+			writeBehindPersister.close();
+			fail("close has to fail, if writing a day failed");
+		} catch (final IllegalStateException e) {
+			assertTrue(e.getCause() instanceof SQLException);
+		}
+
+		// closed already
+		ApplicationContext.getInstance().setWriteBehindPersister(null);
+	}
+
+	@Test
+	public void testNextDayWritesChangesOfInMemoryDAOs() throws SQLException {
+		final Currency currency = Currency.EURO;
+		final WriteBehindPersister writeBehindPersister = ApplicationContext.getInstance().getWriteBehindPersister();
+
+		final CreditBank creditBank1_EUR = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency)
+				.get(0);
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+
+		// initial state
+		writeBehindPersister.nextDay();
+		writeBehindPersister.flush();
+
+		final int numberOfBankAccounts = ApplicationContext.getInstance().getBankAccountDAO().findAll().size();
+		assertEquals(numberOfBankAccounts, count("SELECT COUNT(*) FROM BankAccount"));
+		assertEquals(ApplicationContext.getInstance().getHouseholdDAO().findAll().size(),
+				count("SELECT COUNT(*) FROM Agent WHERE DTYPE = 'HouseholdImpl'"));
+		assertEquals(1, writeBehindPersister.getNumberOfDaysWritten());
+
+		// insert
+		final BankAccount bankAccount = creditBank1_EUR.openBankAccount(household1_EUR, currency, false,
+				"test bank account", TermType.SHORT_TERM, MoneyType.DEPOSITS);
+
+		// changes are not written before the end of the day
+		assertEquals(numberOfBankAccounts, count("SELECT COUNT(*) FROM BankAccount"));
+
+		writeBehindPersister.nextDay();
+		writeBehindPersister.flush();
+
+		assertEquals(numberOfBankAccounts + 1, count("SELECT COUNT(*) FROM BankAccount"));
+		assertEquals(1, count("SELECT COUNT(*) FROM BankAccount WHERE id = " + bankAccount.getId() + " AND agent_id = "
+				+ household1_EUR.getId() + " AND managingBank_id = " + creditBank1_EUR.getId()));
+
+		// update
+		final long numberOfRowsWritten = writeBehindPersister.getNumberOfRowsWritten();
+		bankAccount.deposit(100.0);
+
+		writeBehindPersister.nextDay();
+		writeBehindPersister.flush();
+
+		assertEquals(numberOfRowsWritten + 1, writeBehindPersister.getNumberOfRowsWritten());
+		assertEquals(1, count("SELECT COUNT(*) FROM BankAccount WHERE id = " + bankAccount.getId()
+				+ " AND balance = 100.0"));
+
+		// delete
+		ApplicationContext.getInstance().getBankAccountFactory().deleteBankAccount(bankAccount);
+
+		writeBehindPersister.nextDay();
+		writeBehindPersister.flush();
+
+		assertEquals(numberOfBankAccounts, count("SELECT COUNT(*) FROM BankAccount"));
+		assertEquals(4, writeBehindPersister.getNumberOfDaysWritten());
+	}
+
+	@Test
+	public void testNextDayWritesOnlyDirtyEntities() throws SQLException {
+		final Currency currency = Currency.EURO;
+		final WriteBehindPersister writeBehindPersister = ApplicationContext.getInstance().getWriteBehindPersister();
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+
+		// initial state
+		writeBehindPersister.nextDay();
+		writeBehindPersister.flush();
+
+		// unchanged day
+		final long numberOfRowsWritten = writeBehindPersister.getNumberOfRowsWritten();
+
+		writeBehindPersister.nextDay();
+		writeBehindPersister.flush();
+
+		assertEquals(numberOfRowsWritten, writeBehindPersister.getNumberOfRowsWritten());
+
+		// update in place
+		ApplicationContext.getInstance().getPropertyService().incrementGoodTypeAmount(household1_EUR, GoodType.WHEAT,
+				5.0);
+
+		writeBehindPersister.nextDay();
+		writeBehindPersister.flush();
+
+		assertEquals(numberOfRowsWritten + 1, writeBehindPersister.getNumberOfRowsWritten());
+		assertEquals(1, count("SELECT COUNT(*) FROM GoodTypeOwnership WHERE propertyOwner_id = "
+				+ household1_EUR.getId() + " AND WHEAT = 5.0"));
+	}
+}
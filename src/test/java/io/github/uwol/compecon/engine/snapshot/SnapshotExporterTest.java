@@ -0,0 +1,189 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.snapshot;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount.MoneyType;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount.TermType;
+import io.github.uwol.compecon.economy.sectors.financial.CreditBank;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotDTO;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotDTO.BalanceSheetColumn;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotExporterImpl;
+import io.github.uwol.compecon.engine.snapshot.impl.SnapshotReaderImpl;
+
+public class SnapshotExporterTest extends CompEconTestSupport {
+
+	protected File directory;
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+
+		directory = Files.createTempDirectory("compecon-snapshots").toFile();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+
+		for (final File file : directory.listFiles()) {
+			file.delete();
+		}
+		directory.delete();
+	}
+
+	@Test
+	public void testWriteAndReadIncompressibleSnapshot() throws IOException {
+		final int numberOfBankAccounts = 500000;
+		final Random random = new Random(42);
+
+		final int[] bankAccountIds = new int[numberOfBankAccounts];
+		final int[] bankAccountOwnerIds = new int[numberOfBankAccounts];
+		final Currency[] bankAccountCurrencies = new Currency[numberOfBankAccounts];
+		final double[] bankAccountBalances = new double[numberOfBankAccounts];
+
+		for (int i = 0; i < numberOfBankAccounts; i++) {
+			bankAccountIds[i] = random.nextInt();
+			bankAccountOwnerIds[i] = random.nextInt();
+			bankAccountCurrencies[i] = Currency.values()[random.nextInt(Currency.values().length)];
+			bankAccountBalances[i] = random.nextDouble();
+		}
+
+		// random bank accounts hardly compress, so that the block exceeds any buffer sizing
+		final SnapshotExporter snapshotExporter = new SnapshotExporterImpl(directory) {
+			@Override
+			protected SnapshotDTO createSnapshot(final Date date) {
+				final SnapshotDTO snapshot = super.createSnapshot(date);
+				snapshot.bankAccountIds = bankAccountIds;
+				snapshot.bankAccountOwnerIds = bankAccountOwnerIds;
+				snapshot.bankAccountCurrencies = bankAccountCurrencies;
+				snapshot.bankAccountBalances = bankAccountBalances;
+				return snapshot;
+			}
+		};
+
+		snapshotExporter.notifyTimeSystem_nextDay(new GregorianCalendar(2001, 0, 1).getTime());
+		snapshotExporter.notifyTimeSystem_nextDay(new GregorianCalendar(2001, 0, 2).getTime());
+		snapshotExporter.close();
+
+		final SnapshotReader snapshotReader = new SnapshotReaderImpl(SnapshotExporterImpl.getFile(directory, 2001));
+
+		for (int day = 0; day < 2; day++) {
+			final SnapshotDTO snapshot = snapshotReader.read();
+			assertArrayEquals(bankAccountIds, snapshot.bankAccountIds);
+			assertArrayEquals(bankAccountOwnerIds, snapshot.bankAccountOwnerIds);
+			assertArrayEquals(bankAccountCurrencies, snapshot.bankAccountCurrencies);
+			assertArrayEquals(bankAccountBalances, snapshot.bankAccountBalances, 0.0);
+		}
+
+		assertNull(snapshotReader.read());
+		snapshotReader.close();
+	}
+
+	@Test
+	public void testWriteAndReadSnapshots() throws IOException {
+		final Currency currency = Currency.EURO;
+		final CreditBank creditBank1_EUR = ApplicationContext.getInstance().getAgentService().findCreditBanks(currency)
+				.get(0);
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+
+		final SnapshotExporter snapshotExporter = new SnapshotExporterImpl(directory);
+
+		final BalanceSheetDTO balanceSheet = new BalanceSheetDTO(currency);
+		balanceSheet.hardCash = 10.0;
+		balanceSheet.loansGiroShortTerm = 5.0;
+		snapshotExporter.agent_onPublishBalanceSheet(household1_EUR, balanceSheet);
+
+		final BankAccount bankAccount = creditBank1_EUR.openBankAccount(household1_EUR, currency, false,
+				"test bank account", TermType.SHORT_TERM, MoneyType.DEPOSITS);
+		bankAccount.deposit(100.0);
+
+		snapshotExporter.notifyTimeSystem_nextDay(new GregorianCalendar(2001, 11, 31).getTime());
+		snapshotExporter.notifyTimeSystem_nextDay(new GregorianCalendar(2002, 0, 1).getTime());
+		snapshotExporter.close();
+
+		assertEquals(2, snapshotExporter.getNumberOfDaysWritten());
+		assertTrue(SnapshotExporterImpl.getFile(directory, 2001).exists());
+		assertTrue(SnapshotExporterImpl.getFile(directory, 2002).exists());
+
+		// first day
+		final SnapshotReader snapshotReader = new SnapshotReaderImpl(SnapshotExporterImpl.getFile(directory, 2001));
+		final SnapshotDTO snapshot = snapshotReader.read();
+		assertNull(snapshotReader.read());
+		snapshotReader.close();
+
+		assertEquals(new GregorianCalendar(2001, 11, 31).getTime(), snapshot.date);
+
+		assertEquals(1, snapshot.balanceSheetAgentIds.length);
+		assertEquals(household1_EUR.getId(), snapshot.balanceSheetAgentIds[0]);
+		assertEquals(household1_EUR.getClass().getSimpleName(), snapshot.balanceSheetAgentTypes[0]);
+		assertEquals(currency, snapshot.balanceSheetCurrencies[0]);
+		assertEquals(10.0, snapshot.balanceSheetColumns.get(BalanceSheetColumn.HARD_CASH)[0], epsilon);
+		assertEquals(5.0, snapshot.balanceSheetColumns.get(BalanceSheetColumn.LOANS_GIRO_SHORT_TERM)[0], epsilon);
+
+		assertEquals(ApplicationContext.getInstance().getBankAccountDAO().findAll().size(),
+				snapshot.bankAccountIds.length);
+		for (int i = 0; i < snapshot.bankAccountIds.length; i++) {
+			if (snapshot.bankAccountIds[i] == bankAccount.getId()) {
+				assertEquals(household1_EUR.getId(), snapshot.bankAccountOwnerIds[i]);
+				assertEquals(100.0, snapshot.bankAccountBalances[i], epsilon);
+			}
+		}
+
+		assertEquals(Currency.values().length * GoodType.values().length, snapshot.prices.length);
+		for (int i = 0; i < snapshot.prices.length; i++) {
+			assertEquals(ApplicationContext.getInstance().getMarketService().getMarginalMarketPrice(
+					snapshot.priceCurrencies[i], snapshot.priceGoodTypes[i]), snapshot.prices[i], epsilon);
+		}
+
+		// second day, without any balance sheets published
+		final SnapshotReader snapshotReader2 = new SnapshotReaderImpl(SnapshotExporterImpl.getFile(directory, 2002));
+		final SnapshotDTO snapshot2 = snapshotReader2.read();
+		snapshotReader2.close();
+
+		assertEquals(0, snapshot2.balanceSheetAgentIds.length);
+		assertEquals(snapshot.bankAccountIds.length, snapshot2.bankAccountIds.length);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.BankAccount;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.AgentDetailModel.AgentLog;
+
+public class AgentDetailModelTest extends CompEconTestSupport {
+
+	protected AgentLog findLog(final AgentDetailModel agentDetailModel, final BankAccount bankAccount) {
+		for (final AgentLog agentLog : agentDetailModel.getLogsOfCurrentAgent()) {
+			if (agentLog.getLogTitle().startsWith(bankAccount.getName() + " [" + bankAccount.getId() + ",")) {
+				return agentLog;
+			}
+		}
+		return null;
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testAgentLog() {
+		final AgentDetailModel agentDetailModel = ApplicationContext.getInstance().getModelRegistry()
+				.getAgentDetailModel();
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService()
+				.findHouseholds(Currency.EURO).get(0);
+		final Household household2_EUR = ApplicationContext.getInstance().getAgentService()
+				.findHouseholds(Currency.EURO).get(1);
+
+		agentDetailModel.setCurrentAgent(agentDetailModel.getAgents().indexOf(household1_EUR));
+
+		for (int i = 0; i < 250; i++) {
+			ApplicationContext.getInstance().getLog().log(household1_EUR, "message %s", i);
+			ApplicationContext.getInstance().getLog().log(household2_EUR, "message of other agent %s", i);
+		}
+
+		// the ring keeps the latest rows of the selected agent
+		final AgentLog agentLog = agentDetailModel.getCurrentLog();
+		assertEquals(200, agentLog.getNumberOfRows());
+		assertTrue(agentLog.getRow(0).endsWith("     message 50"));
+		assertTrue(agentLog.getRow(199).endsWith("     message 249"));
+		assertNull(agentLog.getRow(200));
+	}
+
+	@Test
+	public void testBankAccountLog() {
+		final AgentDetailModel agentDetailModel = ApplicationContext.getInstance().getModelRegistry()
+				.getAgentDetailModel();
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService()
+				.findHouseholds(Currency.EURO).get(0);
+		final Household household2_EUR = ApplicationContext.getInstance().getAgentService()
+				.findHouseholds(Currency.EURO).get(1);
+		final BankAccount bankAccount1 = household1_EUR.getBankAccountTransactionsDelegate().getBankAccount();
+		final BankAccount bankAccount2 = household2_EUR.getBankAccountTransactionsDelegate().getBankAccount();
+
+		agentDetailModel.setCurrentAgent(agentDetailModel.getAgents().indexOf(household1_EUR));
+
+		bankAccount2.getManagingBank().transferMoney(bankAccount2, bankAccount1, 10.0, "gift");
+
+		final AgentLog bankAccountLog = findLog(agentDetailModel, bankAccount1);
+		assertEquals(1, bankAccountLog.getNumberOfRows());
+		assertTrue(bankAccountLog.getRow(0).endsWith(" <--- " + Currency.formatMoneySum(10.0) + " "
+				+ Currency.EURO.getIso4217Code() + " --- " + bankAccount2 + ": gift"));
+	}
+}
@@ -0,0 +1,221 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.bookkeeping.impl.BalanceSheetDTO;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.economy.sectors.industry.Factory;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+
+public class BalanceSheetsModelTest extends CompEconTestSupport {
+
+	/**
+	 * full recomputation of the aggregate, as it was done before the running sums
+	 */
+	protected static BalanceSheetDTO aggregate(final Currency currency, final Iterable<BalanceSheetDTO> balanceSheets) {
+		final BalanceSheetDTO aggregate = new BalanceSheetDTO(currency);
+
+		for (final BalanceSheetDTO balanceSheet : balanceSheets) {
+			if (balanceSheet == null) {
+				continue;
+			}
+
+			aggregate.hardCash += balanceSheet.hardCash;
+			aggregate.cashGiroShortTerm += balanceSheet.cashGiroShortTerm;
+			aggregate.cashGiroLongTerm += balanceSheet.cashGiroLongTerm;
+			aggregate.cashCentralBankShortTerm += balanceSheet.cashCentralBankShortTerm;
+			aggregate.cashCentralBankLongTerm += balanceSheet.cashCentralBankLongTerm;
+			aggregate.cashForeignCurrency += balanceSheet.cashForeignCurrency;
+			aggregate.bonds += balanceSheet.bonds;
+			aggregate.bankLoans += balanceSheet.bankLoans;
+			aggregate.inventoryValue += balanceSheet.inventoryValue;
+
+			for (final Entry<GoodType, Double> entry : balanceSheet.inventoryQuantitative.entrySet()) {
+				final Double amount = aggregate.inventoryQuantitative.get(entry.getKey());
+				aggregate.inventoryQuantitative.put(entry.getKey(),
+						(amount == null ? 0.0 : amount) + entry.getValue());
+			}
+
+			aggregate.loansGiroShortTerm += balanceSheet.loansGiroShortTerm;
+			aggregate.loansGiroLongTerm += balanceSheet.loansGiroLongTerm;
+			aggregate.loansCentralBankShortTerm += balanceSheet.loansCentralBankShortTerm;
+			aggregate.loansCentralBankLongTerm += balanceSheet.loansCentralBankLongTerm;
+			aggregate.financialLiabilities += balanceSheet.financialLiabilities;
+			aggregate.bankBorrowings += balanceSheet.bankBorrowings;
+			aggregate.issuedCapital.addAll(balanceSheet.issuedCapital);
+		}
+
+		return aggregate;
+	}
+
+	protected static void assertBalanceSheetEquals(final BalanceSheetDTO expected, final BalanceSheetDTO actual) {
+		assertValueEquals(expected.hardCash, actual.hardCash);
+		assertValueEquals(expected.cashGiroShortTerm, actual.cashGiroShortTerm);
+		assertValueEquals(expected.cashGiroLongTerm, actual.cashGiroLongTerm);
+		assertValueEquals(expected.cashCentralBankShortTerm, actual.cashCentralBankShortTerm);
+		assertValueEquals(expected.cashCentralBankLongTerm, actual.cashCentralBankLongTerm);
+		assertValueEquals(expected.cashForeignCurrency, actual.cashForeignCurrency);
+		assertValueEquals(expected.bonds, actual.bonds);
+		assertValueEquals(expected.bankLoans, actual.bankLoans);
+		assertValueEquals(expected.inventoryValue, actual.inventoryValue);
+		assertEquals(expected.inventoryQuantitative.keySet(), actual.inventoryQuantitative.keySet());
+
+		for (final Entry<GoodType, Double> entry : expected.inventoryQuantitative.entrySet()) {
+			assertValueEquals(entry.getValue(), actual.inventoryQuantitative.get(entry.getKey()));
+		}
+
+		assertValueEquals(expected.loansGiroShortTerm, actual.loansGiroShortTerm);
+		assertValueEquals(expected.loansGiroLongTerm, actual.loansGiroLongTerm);
+		assertValueEquals(expected.loansCentralBankShortTerm, actual.loansCentralBankShortTerm);
+		assertValueEquals(expected.loansCentralBankLongTerm, actual.loansCentralBankLongTerm);
+		assertValueEquals(expected.financialLiabilities, actual.financialLiabilities);
+		assertValueEquals(expected.bankBorrowings, actual.bankBorrowings);
+		assertEquals(expected.issuedCapital, actual.issuedCapital);
+	}
+
+	/**
+	 * running sums differ from the recomputation by rounding errors, which are
+	 * relative to the magnitude of the values
+	 */
+	protected static void assertValueEquals(final double expected, final double actual) {
+		assertEquals(expected, actual, Math.max(1E-9, Math.abs(expected) * 1E-9));
+	}
+
+	protected void assertRecomputationEquals(final BalanceSheetsModel balanceSheetsModel) {
+		final Currency currency = balanceSheetsModel.referenceCurrency;
+		final List<BalanceSheetDTO> factoryBalanceSheets = new ArrayList<BalanceSheetDTO>();
+
+		for (final GoodType goodType : GoodType.values()) {
+			final Map<Factory, BalanceSheetDTO> factoryBalanceSheetsOfGoodType = balanceSheetsModel.factoryBalanceSheets
+					.get(goodType);
+			assertBalanceSheetEquals(aggregate(currency, factoryBalanceSheetsOfGoodType.values()),
+					balanceSheetsModel.getFactoryNationalAccountsBalanceSheet(goodType));
+			factoryBalanceSheets.addAll(factoryBalanceSheetsOfGoodType.values());
+		}
+
+		final List<BalanceSheetDTO> balanceSheets = new ArrayList<BalanceSheetDTO>();
+		balanceSheets.addAll(balanceSheetsModel.householdBalanceSheets.values());
+		balanceSheets.addAll(factoryBalanceSheets);
+		balanceSheets.addAll(balanceSheetsModel.traderBalanceSheets.values());
+		balanceSheets.addAll(balanceSheetsModel.creditBankBalanceSheets.values());
+		balanceSheets.add(balanceSheetsModel.centralBankBalanceSheet);
+		balanceSheets.add(balanceSheetsModel.stateBalanceSheet);
+
+		assertBalanceSheetEquals(aggregate(currency, balanceSheetsModel.householdBalanceSheets.values()),
+				balanceSheetsModel.getHouseholdNationalAccountsBalanceSheet());
+		assertBalanceSheetEquals(aggregate(currency, factoryBalanceSheets),
+				balanceSheetsModel.getFactoryNationalAccountsBalanceSheet());
+		assertBalanceSheetEquals(aggregate(currency, balanceSheetsModel.traderBalanceSheets.values()),
+				balanceSheetsModel.getTraderNationalAccountsBalanceSheet());
+		assertBalanceSheetEquals(aggregate(currency, balanceSheetsModel.creditBankBalanceSheets.values()),
+				balanceSheetsModel.getCreditBankNationalAccountsBalanceSheet());
+		assertBalanceSheetEquals(aggregate(currency, balanceSheets),
+				balanceSheetsModel.getNationalAccountsBalanceSheet());
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testIncrementalAggregatesEqualRecomputation() {
+		final int[] numberOfChecks = new int[1];
+
+		for (final Currency currency : Currency.values()) {
+			final BalanceSheetsModel balanceSheetsModel = ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).balanceSheetsModel;
+
+			// listeners are notified at the end of the period, before the reset
+			balanceSheetsModel.registerListener(new ModelListener() {
+				@Override
+				public void notifyListener() {
+					assertRecomputationEquals(balanceSheetsModel);
+					numberOfChecks[0]++;
+				}
+			});
+		}
+
+		for (int day = 0; day < 10; day++) {
+			for (int hour = 0; hour < 24; hour++) {
+				ApplicationContext.getInstance().getTimeSystem().nextHour();
+			}
+		}
+
+		assertEquals(10 * Currency.values().length, numberOfChecks[0]);
+	}
+
+	@Test
+	public void testRepublishedBalanceSheetReplacesPrevious() {
+		final BalanceSheetsModel balanceSheetsModel = new BalanceSheetsModel(Currency.EURO);
+		final List<Household> households = ApplicationContext.getInstance().getAgentService()
+				.findHouseholds(Currency.EURO);
+		assertTrue(households.size() > 1);
+
+		for (int i = 0; i < households.size(); i++) {
+			final BalanceSheetDTO balanceSheet = new BalanceSheetDTO(Currency.EURO);
+			balanceSheet.hardCash = 10.0 * i;
+			balanceSheet.cashGiroShortTerm = 0.1 * i;
+			balanceSheet.inventoryQuantitative.put(GoodType.LABOURHOUR, 1.0 * i);
+			balanceSheetsModel.agent_onPublishBalanceSheet(households.get(i), balanceSheet);
+		}
+
+		// the first household publishes again, without inventory
+		final BalanceSheetDTO republishedBalanceSheet = new BalanceSheetDTO(Currency.EURO);
+		republishedBalanceSheet.hardCash = 1000.0;
+		balanceSheetsModel.agent_onPublishBalanceSheet(households.get(0), republishedBalanceSheet);
+
+		assertRecomputationEquals(balanceSheetsModel);
+
+		// republishing the remaining households without inventory removes the good
+		// type from the aggregated inventory
+		for (int i = 1; i < households.size(); i++) {
+			balanceSheetsModel.agent_onPublishBalanceSheet(households.get(i), new BalanceSheetDTO(Currency.EURO));
+		}
+
+		assertRecomputationEquals(balanceSheetsModel);
+		assertTrue(balanceSheetsModel.getNationalAccountsBalanceSheet().inventoryQuantitative.isEmpty());
+		assertEquals(1000.0, balanceSheetsModel.getNationalAccountsBalanceSheet().hardCash, epsilon);
+	}
+}
@@ -0,0 +1,182 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.statistics.accumulator.MarketDepthAccumulator;
+
+public class MarketDepthModelTest extends CompEconTestSupport {
+
+	/**
+	 * aggregates the curve of the full iteration, which has one point per market
+	 * order, to one point per price level
+	 */
+	protected static double[][] aggregatePriceLevels(final double[][] curve) {
+		final double[] prices = new double[curve[0].length];
+		final double[] volumes = new double[curve[0].length];
+		int numberOfPriceLevels = 0;
+
+		for (int i = 0; i < curve[0].length; i++) {
+			if (numberOfPriceLevels == 0 || prices[numberOfPriceLevels - 1] != curve[0][i]) {
+				numberOfPriceLevels++;
+			}
+
+			prices[numberOfPriceLevels - 1] = curve[0][i];
+			volumes[numberOfPriceLevels - 1] = curve[1][i];
+		}
+
+		return new double[][] { Arrays.copyOf(prices, numberOfPriceLevels),
+				Arrays.copyOf(volumes, numberOfPriceLevels) };
+	}
+
+	/**
+	 * @return number of price levels of the market
+	 */
+	protected static int assertCurveEqualsFullIteration(final double[][] fullIterationCurve,
+			final MarketDepthAccumulator marketDepthAccumulator) {
+		final double[][] expected = aggregatePriceLevels(fullIterationCurve);
+		final double[][] actual = marketDepthAccumulator.getCurve();
+		final int numberOfPriceLevels = expected[0].length;
+
+		// incremental updates differ from the iteration by rounding errors
+		final double delta = numberOfPriceLevels == 0 ? 0.0
+				: Math.max(1E-6, expected[1][numberOfPriceLevels - 1] * 1E-9);
+
+		assertArrayEquals(expected[0], actual[0], 0.0);
+		assertArrayEquals(expected[1], actual[1], delta);
+
+		// each point of the downsampled curve is a point of the full curve
+		final double[][] downsampled = marketDepthAccumulator
+				.getCurve(MarketDepthModel.DOWNSAMPLED_NUMBER_OF_POINTS);
+		assertEquals(Math.min(numberOfPriceLevels, MarketDepthModel.DOWNSAMPLED_NUMBER_OF_POINTS),
+				downsampled[0].length);
+
+		for (int i = 0; i < downsampled[0].length; i++) {
+			final int priceLevelIndex = Arrays.binarySearch(expected[0], downsampled[0][i]);
+			assertTrue(priceLevelIndex >= 0);
+			assertEquals(expected[1][priceLevelIndex], downsampled[1][i], delta);
+		}
+
+		if (numberOfPriceLevels > 0) {
+			assertEquals(expected[0][numberOfPriceLevels - 1], downsampled[0][downsampled[0].length - 1], 0.0);
+		}
+
+		return numberOfPriceLevels;
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testDownsampledCurve() {
+		final MarketDepthAccumulator marketDepthAccumulator = new MarketDepthAccumulator();
+
+		for (int i = 1000; i > 0; i--) {
+			marketDepthAccumulator.add(i, 1.0);
+			marketDepthAccumulator.add(i, 2.0);
+		}
+
+		marketDepthAccumulator.decrement(1.0, 0.5);
+		marketDepthAccumulator.remove(1000.0, 1.0);
+		assertEquals(1000, marketDepthAccumulator.getNumberOfPriceLevels());
+
+		final double[][] curve = marketDepthAccumulator.getCurve(256);
+		assertEquals(256, curve[0].length);
+		assertEquals(3.0, curve[0][0], 0.0);
+		assertEquals(8.5, curve[1][0], 0.0);
+		assertEquals(1000.0, curve[0][255], 0.0);
+		assertEquals(2998.5, curve[1][255], 0.0);
+
+		for (int i = 0; i < curve[0].length; i++) {
+			// price level p has cumulated volume 3 * p - 0.5
+			assertEquals(3.0 * curve[0][i] - 0.5 - (curve[0][i] == 1000.0 ? 1.0 : 0.0), curve[1][i], 0.0);
+		}
+
+		marketDepthAccumulator.remove(1000.0, 2.0);
+		assertEquals(999, marketDepthAccumulator.getNumberOfPriceLevels());
+		assertEquals(999.0, marketDepthAccumulator.getCurve(256)[0][255], 0.0);
+		assertEquals(1, marketDepthAccumulator.getCurve(1)[0].length);
+	}
+
+	@Test
+	public void testIncrementalCurveEqualsFullIteration() {
+		final int[] numberOfChecks = new int[1];
+		final int[] numberOfPriceLevels = new int[1];
+
+		for (final Currency currency : Currency.values()) {
+			final MarketDepthModel marketDepthModel = ApplicationContext.getInstance().getModelRegistry()
+					.getNationalEconomyModel(currency).marketDepthModel;
+
+			marketDepthModel.registerListener(new ModelListener() {
+				@Override
+				public void notifyListener() {
+					for (final GoodType goodType : GoodType.values()) {
+						numberOfPriceLevels[0] += assertCurveEqualsFullIteration(
+								marketDepthModel.getMarketDepthCurve(currency, goodType),
+								marketDepthModel.goodTypeMarketDepthAccumulators.get(goodType));
+					}
+
+					for (final Currency commodityCurrency : Currency.values()) {
+						if (!commodityCurrency.equals(currency)) {
+							numberOfPriceLevels[0] += assertCurveEqualsFullIteration(
+									marketDepthModel.getMarketDepthCurve(currency, commodityCurrency),
+									marketDepthModel.currencyMarketDepthAccumulators.get(commodityCurrency));
+						}
+					}
+
+					numberOfChecks[0]++;
+				}
+			});
+		}
+
+		for (int day = 0; day < 10; day++) {
+			for (int hour = 0; hour < 24; hour++) {
+				ApplicationContext.getInstance().getTimeSystem().nextHour();
+			}
+		}
+
+		assertEquals(10 * Currency.values().length, numberOfChecks[0]);
+		assertTrue(numberOfPriceLevels[0] > 0);
+	}
+}
@@ -0,0 +1,239 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.HouseholdsModel;
+import io.github.uwol.compecon.engine.statistics.ModelRegistry.NationalEconomyModel.IndustryModel;
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel.SummaryStatisticalData;
+import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataAccumulator;
+import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataQuotientAccumulator;
+
+/**
+ * Adds the same amounts on several threads and on a single thread. The amounts
+ * are multiples of 1/8, so that their sums are exact in any order of summation,
+ * and any lost update changes the sum.
+ */
+public class PeriodDataAccumulatorTest extends CompEconTestSupport {
+
+	protected final int NUMBER_OF_AMOUNTS_PER_THREAD = 200000;
+
+	protected final int NUMBER_OF_THREADS = 8;
+
+	protected static double amount(final int thread, final int i) {
+		return ((thread * 31 + i) % 1024) / 8.0;
+	}
+
+	/**
+	 * runs the adder on the threads, which start simultaneously to maximize
+	 * contention
+	 */
+	protected void runConcurrently(final AmountAdder amountAdder) throws InterruptedException {
+		final CountDownLatch startSignal = new CountDownLatch(1);
+		final Thread[] threads = new Thread[NUMBER_OF_THREADS];
+
+		for (int t = 0; t < NUMBER_OF_THREADS; t++) {
+			final int thread = t;
+			threads[t] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						startSignal.await();
+					} catch (final InterruptedException e) {
+						return;
+					}
+
+					for (int i = 0; i < NUMBER_OF_AMOUNTS_PER_THREAD; i++) {
+						amountAdder.add(amount(thread, i));
+					}
+				}
+			});
+			threads[t].start();
+		}
+
+		startSignal.countDown();
+
+		for (final Thread thread : threads) {
+			thread.join();
+		}
+	}
+
+	protected void runSequentially(final AmountAdder amountAdder) {
+		for (int thread = 0; thread < NUMBER_OF_THREADS; thread++) {
+			for (int i = 0; i < NUMBER_OF_AMOUNTS_PER_THREAD; i++) {
+				amountAdder.add(amount(thread, i));
+			}
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testConcurrentAccumulator() throws InterruptedException {
+		final PeriodDataAccumulator singleThreadedAccumulator = new PeriodDataAccumulator();
+		final PeriodDataAccumulator accumulator = new PeriodDataAccumulator();
+
+		// several periods, as the accumulator is reset at the end of each period
+		for (int period = 0; period < 3; period++) {
+			runSequentially(new AmountAdder() {
+				@Override
+				public void add(final double amount) {
+					singleThreadedAccumulator.add(amount);
+				}
+			});
+			runConcurrently(new AmountAdder() {
+				@Override
+				public void add(final double amount) {
+					accumulator.add(amount);
+				}
+			});
+
+			assertEquals(singleThreadedAccumulator.getAmount(), accumulator.getAmount(), 0.0);
+
+			singleThreadedAccumulator.reset();
+			accumulator.reset();
+			assertEquals(0.0, accumulator.getAmount(), 0.0);
+		}
+	}
+
+	@Test
+	public void testConcurrentHouseholdLog() throws InterruptedException {
+		final HouseholdsModel householdsModel = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO).householdsModel;
+		final PeriodDataAccumulator expectedIncome = new PeriodDataAccumulator();
+		final PeriodDataDistributionModel expectedIncomeDistributionModel = new PeriodDataDistributionModel(
+				Currency.EURO);
+
+		// several periods, as the buffers of the threads are merged at the end of
+		// each period
+		for (int period = 0; period < 3; period++) {
+			runSequentially(new AmountAdder() {
+				@Override
+				public void add(final double amount) {
+					expectedIncome.add(amount);
+					expectedIncomeDistributionModel.add(amount);
+				}
+			});
+			runConcurrently(new AmountAdder() {
+				@Override
+				public void add(final double amount) {
+					ApplicationContext.getInstance().getLog().household_onIncomeWageDividendTransfersConsumptionSaving(
+							Currency.EURO, amount, 0.0, amount, amount, 0.0, 0.0);
+				}
+			});
+
+			assertEquals(expectedIncome.getAmount(), householdsModel.incomeModel.getValue(), 0.0);
+
+			expectedIncomeDistributionModel.nextPeriod();
+			householdsModel.incomeDistributionModel.nextPeriod();
+
+			final SummaryStatisticalData expected = expectedIncomeDistributionModel.getSummaryStatisticalData();
+			final SummaryStatisticalData actual = householdsModel.incomeDistributionModel
+					.getSummaryStatisticalData();
+
+			assertEquals(NUMBER_OF_THREADS * NUMBER_OF_AMOUNTS_PER_THREAD, actual.numberOfValues);
+			assertEquals(expected.yTotalSum, actual.yTotalSum, 0.0);
+			assertEquals(expected.quantil5Percent, actual.quantil5Percent, 0.0);
+			assertEquals(expected.quantil50Percent, actual.quantil50Percent, 0.0);
+			assertEquals(expected.quantil95Percent, actual.quantil95Percent, 0.0);
+			assertArrayEquals(expected.ySumAtPercentOfX, actual.ySumAtPercentOfX, 0.0);
+
+			expectedIncome.reset();
+			householdsModel.incomeModel.nextPeriod();
+		}
+	}
+
+	@Test
+	public void testConcurrentLog() throws InterruptedException {
+		final Map<GoodType, Double> inputs = new HashMap<GoodType, Double>();
+		inputs.put(GoodType.LABOURHOUR, 0.5);
+
+		final IndustryModel industryModel = ApplicationContext.getInstance().getModelRegistry()
+				.getNationalEconomyModel(Currency.EURO).getIndustryModel(GoodType.WHEAT);
+		final PeriodDataAccumulator expectedOutput = new PeriodDataAccumulator();
+
+		runSequentially(new AmountAdder() {
+			@Override
+			public void add(final double amount) {
+				expectedOutput.add(amount);
+			}
+		});
+		runConcurrently(new AmountAdder() {
+			@Override
+			public void add(final double amount) {
+				ApplicationContext.getInstance().getLog().factory_onProduction(null, Currency.EURO, GoodType.WHEAT,
+						amount, inputs);
+			}
+		});
+
+		assertEquals(expectedOutput.getAmount(), industryModel.outputModel.getValue(), 0.0);
+		assertEquals(NUMBER_OF_THREADS * NUMBER_OF_AMOUNTS_PER_THREAD * 0.5,
+				industryModel.inputModels.get(GoodType.LABOURHOUR).getValue(), 0.0);
+	}
+
+	@Test
+	public void testConcurrentQuotientAccumulator() throws InterruptedException {
+		final PeriodDataQuotientAccumulator singleThreadedAccumulator = new PeriodDataQuotientAccumulator();
+		final PeriodDataQuotientAccumulator accumulator = new PeriodDataQuotientAccumulator();
+
+		runSequentially(new AmountAdder() {
+			@Override
+			public void add(final double amount) {
+				singleThreadedAccumulator.add(amount, 1.0);
+			}
+		});
+		runConcurrently(new AmountAdder() {
+			@Override
+			public void add(final double amount) {
+				accumulator.add(amount, 1.0);
+			}
+		});
+
+		assertEquals(singleThreadedAccumulator.getAmount(), accumulator.getAmount(), 0.0);
+	}
+
+	protected interface AmountAdder {
+		public void add(double amount);
+	}
+}
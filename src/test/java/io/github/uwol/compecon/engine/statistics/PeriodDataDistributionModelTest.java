@@ -0,0 +1,157 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.jfree.data.xy.IntervalXYDataset;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.statistics.PeriodDataDistributionModel.SummaryStatisticalData;
+import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataDistributionSketch;
+
+public class PeriodDataDistributionModelTest extends CompEconTestSupport {
+
+	protected void assertEqualsRelative(final double expected, final double actual, final double relativeError) {
+		assertEquals(expected, actual, Math.abs(expected) * relativeError + 1e-9);
+	}
+
+	protected void assertSketchMatchesExactMode(final int numberOfValues) {
+		final double[] values = createValues(numberOfValues, 42);
+
+		final PeriodDataDistributionModel exactModel = new PeriodDataDistributionModel(Currency.EURO, true);
+		final PeriodDataDistributionModel sketchModel = new PeriodDataDistributionModel(Currency.EURO);
+
+		// two periods, so that the reset of the sketch is covered
+		for (int period = 0; period < 2; period++) {
+			for (final double value : values) {
+				exactModel.add(value * (period + 1));
+				sketchModel.add(value * (period + 1));
+			}
+
+			exactModel.nextPeriod();
+			sketchModel.nextPeriod();
+
+			final SummaryStatisticalData exact = exactModel.getSummaryStatisticalData();
+			final SummaryStatisticalData sketch = sketchModel.getSummaryStatisticalData();
+			final double relativeAccuracy = PeriodDataDistributionModel.RELATIVE_ACCURACY;
+
+			assertEquals(numberOfValues, sketch.numberOfValues);
+			assertEqualsRelative(exact.yTotalSum, sketch.yTotalSum, 1e-9);
+
+			assertEqualsRelative(exact.quantil5Percent, sketch.quantil5Percent, relativeAccuracy);
+			assertEqualsRelative(exact.quantil50Percent, sketch.quantil50Percent, relativeAccuracy);
+			assertEqualsRelative(exact.quantil95Percent, sketch.quantil95Percent, relativeAccuracy);
+			assertEqualsRelative(exact.quantil99Percent, sketch.quantil99Percent, relativeAccuracy);
+
+			for (int i = 0; i < exact.ySumAtPercentOfX.length; i++) {
+				assertEquals(exact.ySumAtPercentOfX[i] / exact.yTotalSum,
+						sketch.ySumAtPercentOfX[i] / sketch.yTotalSum, relativeAccuracy / 10.0);
+			}
+
+			final int maxRankError = (int) (numberOfValues * relativeAccuracy / 10.0);
+			assertEquals(exact.xWith10PercentY, sketch.xWith10PercentY, maxRankError);
+			assertEquals(exact.xWith50PercentY, sketch.xWith50PercentY, maxRankError);
+			assertEquals(exact.xWith90PercentY, sketch.xWith90PercentY, maxRankError);
+
+			assertEqualsRelative(exact.valueAtXWith10PercentY, sketch.valueAtXWith10PercentY, relativeAccuracy);
+			assertEqualsRelative(exact.valueAtXWith50PercentY, sketch.valueAtXWith50PercentY, relativeAccuracy);
+			assertEqualsRelative(exact.valueAtXWith90PercentY, sketch.valueAtXWith90PercentY, relativeAccuracy);
+
+			assertEquals(sumOfItemCounts(exactModel.getHistogramDataset()),
+					sumOfItemCounts(sketchModel.getHistogramDataset()));
+		}
+	}
+
+	/**
+	 * log-normally distributed incomes with some households without income
+	 */
+	protected double[] createValues(final int numberOfValues, final long seed) {
+		final Random random = new Random(seed);
+		final double[] values = new double[numberOfValues];
+
+		for (int i = 0; i < numberOfValues; i++) {
+			values[i] = random.nextInt(20) == 0 ? 0.0 : Math.exp(4.0 + random.nextGaussian());
+		}
+
+		return values;
+	}
+
+	protected int sumOfItemCounts(final IntervalXYDataset dataset) {
+		int sum = 0;
+		for (int i = 0; i < dataset.getItemCount(0); i++) {
+			sum += dataset.getY(0, i).intValue();
+		}
+		return sum;
+	}
+
+	@Test
+	public void testSketchMatchesExactMode() {
+		assertSketchMatchesExactMode(50000);
+	}
+
+	/**
+	 * number of households of PeriodDataDistributionModelBenchmark
+	 */
+	@Test
+	public void testSketchMatchesExactModeForOneMillionValues() {
+		assertSketchMatchesExactMode(1000000);
+	}
+
+	@Test
+	public void testSketchMerge() {
+		final double[] values = createValues(10000, 7);
+
+		final PeriodDataDistributionSketch sketch = new PeriodDataDistributionSketch(0.01);
+		final PeriodDataDistributionSketch lowerHalf = new PeriodDataDistributionSketch(0.01);
+		final PeriodDataDistributionSketch upperHalf = new PeriodDataDistributionSketch(0.01);
+
+		for (int i = 0; i < values.length; i++) {
+			sketch.add(values[i]);
+			if (i < values.length / 2) {
+				lowerHalf.add(values[i]);
+			} else {
+				upperHalf.add(values[i]);
+			}
+		}
+
+		lowerHalf.merge(upperHalf);
+
+		assertEquals(sketch.getCount(), lowerHalf.getCount());
+		assertEquals(sketch.getMin(), lowerHalf.getMin(), 0.0);
+		assertEquals(sketch.getMax(), lowerHalf.getMax(), 0.0);
+		assertEqualsRelative(sketch.getSum(), lowerHalf.getSum(), 1e-9);
+
+		for (int rank = 0; rank < values.length; rank += 100) {
+			assertEquals(sketch.getValueAtRank(rank), lowerHalf.getValueAtRank(rank), 0.0);
+			assertEqualsRelative(sketch.getSumOfLowestValues(rank), lowerHalf.getSumOfLowestValues(rank), 1e-9);
+		}
+
+		lowerHalf.reset();
+		assertTrue(lowerHalf.isEmpty());
+		assertEquals(0.0, lowerHalf.getSum(), 0.0);
+		assertEquals(0, lowerHalf.getRankWithSumExceeding(0.0));
+	}
+}
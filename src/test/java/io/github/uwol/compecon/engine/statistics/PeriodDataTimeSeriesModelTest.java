@@ -0,0 +1,138 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.engine.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jfree.data.time.Day;
+import org.jfree.data.time.TimeSeries;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataRingBuffer;
+import io.github.uwol.compecon.engine.statistics.timeseries.TimeSeriesSnapshot;
+
+public class PeriodDataTimeSeriesModelTest extends CompEconTestSupport {
+
+	protected void applyTimeSeriesSnapshots(final PeriodDataAccumulatorTimeSeriesModel model) {
+		final List<TimeSeriesSnapshot> timeSeriesSnapshots = new ArrayList<TimeSeriesSnapshot>();
+		model.snapshotTimeSeries(timeSeriesSnapshots);
+		assertEquals(1, timeSeriesSnapshots.size());
+
+		for (final TimeSeriesSnapshot timeSeriesSnapshot : timeSeriesSnapshots) {
+			timeSeriesSnapshot.apply();
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testRingBuffer() {
+		final PeriodDataRingBuffer ringBuffer = new PeriodDataRingBuffer(3);
+		assertTrue(ringBuffer.isEmpty());
+		assertTrue(Double.isNaN(ringBuffer.getLastValue()));
+
+		ringBuffer.addOrUpdate(0, 1.0);
+		ringBuffer.addOrUpdate(1, 2.0);
+		ringBuffer.addOrUpdate(1, 3.0);
+		assertEquals(2, ringBuffer.size());
+		assertEquals(1.0, ringBuffer.getValue(0), epsilon);
+		assertEquals(3.0, ringBuffer.getValue(1), epsilon);
+
+		// day 2 is skipped, day 0 is dropped
+		ringBuffer.addOrUpdate(3, 4.0);
+		assertEquals(3, ringBuffer.size());
+		assertEquals(1, ringBuffer.getFirstDayIndex());
+		assertEquals(3, ringBuffer.getLastDayIndex());
+		assertTrue(Double.isNaN(ringBuffer.getValue(0)));
+		assertTrue(Double.isNaN(ringBuffer.getValue(2)));
+		assertEquals(4.0, ringBuffer.getLastValue(), epsilon);
+
+		// skipped days do not show values dropped from their slots
+		ringBuffer.addOrUpdate(8, 5.0);
+		assertEquals(6, ringBuffer.getFirstDayIndex());
+		assertTrue(Double.isNaN(ringBuffer.getValue(6)));
+		assertTrue(Double.isNaN(ringBuffer.getValue(7)));
+		assertEquals(5.0, ringBuffer.getValue(8), epsilon);
+	}
+
+	@Test
+	public void testTimeSeriesAdapter() {
+		final PeriodDataAccumulatorTimeSeriesModel model = new PeriodDataAccumulatorTimeSeriesModel("test");
+		final PeriodDataAccumulatorTimeSeriesModel chartedModel = new PeriodDataAccumulatorTimeSeriesModel("test");
+		final TimeSeries chartedTimeSeries = chartedModel.getTimeSeries();
+
+		// time series as filled before the introduction of ring buffers
+		final TimeSeries expectedTimeSeries = new TimeSeries("test");
+		expectedTimeSeries.setMaximumItemAge(180);
+		expectedTimeSeries.add(new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()), 0);
+
+		for (int day = 0; day < 250; day++) {
+			for (int hour = 0; hour < 24; hour++) {
+				ApplicationContext.getInstance().getTimeSystem().nextHour();
+			}
+
+			model.add(day);
+			chartedModel.add(day);
+			model.nextPeriod();
+			chartedModel.nextPeriod();
+			expectedTimeSeries.addOrUpdate(new Day(ApplicationContext.getInstance().getTimeSystem().getCurrentDate()),
+					day);
+
+			// the renderer skips periods, which are caught up with the next snapshot
+			if (day % 7 == 0) {
+				applyTimeSeriesSnapshots(chartedModel);
+			}
+		}
+
+		applyTimeSeriesSnapshots(chartedModel);
+
+		// adapter created after the simulation equals the one updated from snapshots
+		final TimeSeries timeSeries = model.getTimeSeries();
+		assertEquals(expectedTimeSeries.getItemCount(), timeSeries.getItemCount());
+		assertEquals(expectedTimeSeries.getItemCount(), chartedTimeSeries.getItemCount());
+
+		for (int i = 0; i < expectedTimeSeries.getItemCount(); i++) {
+			assertEquals(expectedTimeSeries.getTimePeriod(i), timeSeries.getTimePeriod(i));
+			assertEquals(expectedTimeSeries.getTimePeriod(i), chartedTimeSeries.getTimePeriod(i));
+			assertEquals(expectedTimeSeries.getValue(i).doubleValue(), timeSeries.getValue(i).doubleValue(), epsilon);
+			assertEquals(expectedTimeSeries.getValue(i).doubleValue(), chartedTimeSeries.getValue(i).doubleValue(),
+					epsilon);
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.jmx;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.Notification;
+import javax.management.NotificationListener;
+import javax.management.ObjectName;
+import javax.management.openmbean.TabularData;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+
+public class JMXRegistrationTest extends CompEconTestSupport {
+
+	protected final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+	protected void runDays(final int numberOfDays) {
+		for (int day = 0; day < numberOfDays; day++) {
+			for (int hour = 0; hour < 24; hour++) {
+				ApplicationContext.getInstance().getTimeSystem().nextHour();
+			}
+		}
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+		JMXRegistration.init();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		JMXRegistration.close();
+		super.tearDown();
+	}
+
+	@Test
+	public void testAgentConstructionMBean() throws JMException {
+		final ObjectName agentConstructionModel = new ObjectName("compecon.jmx:type=AgentConstructionModel");
+		assertTrue(Double.isNaN((Double) mBeanServer.getAttribute(agentConstructionModel,
+				"ConstructionDurationInMillis")));
+
+		ApplicationContext.getInstance().getAgentFactory().constructAgentsFromConfiguration();
+
+		assertTrue((Double) mBeanServer.getAttribute(agentConstructionModel, "ConstructionDurationInMillis") > 0.0);
+	}
+
+	@Test
+	public void testPerformanceMBeans() throws JMException {
+		runDays(5);
+
+		final ObjectName throughputModel = new ObjectName("compecon.jmx:type=ThroughputModel");
+		assertEquals(5L, mBeanServer.getAttribute(throughputModel, "SimulatedDays"));
+		assertEquals(5L * 24L, mBeanServer.getAttribute(throughputModel, "SimulatedHours"));
+		assertTrue((Double) mBeanServer.getAttribute(throughputModel, "SimulatedDaysPerSecond") > 0.0);
+
+		final ObjectName timeSystemEventsModel = new ObjectName("compecon.jmx:type=TimeSystemEventsModel");
+		assertFalse(((TabularData) mBeanServer.getAttribute(timeSystemEventsModel, "EventCounts")).isEmpty());
+		assertTrue((Long) mBeanServer.getAttribute(timeSystemEventsModel, "EventsPerPeriod") > 0L);
+
+		// the test agents offer labour hours
+		final ObjectName labourHourMarketModel = new ObjectName("compecon.jmx:type=MarketModel,currency="
+				+ Currency.EURO.getIso4217Code() + ",market=" + GoodType.LABOURHOUR);
+		assertTrue((Integer) mBeanServer.getAttribute(labourHourMarketModel, "OrderBookSize") >= 0);
+
+		final ObjectName memoryModel = new ObjectName("compecon.jmx:type=MemoryModel");
+		assertTrue((Long) mBeanServer.getAttribute(memoryModel, "GcTimeInMillisPerPeriod") >= 0L);
+	}
+
+	@Test
+	public void testThroughputFloorNotifications() throws JMException {
+		final ObjectName throughputModel = new ObjectName("compecon.jmx:type=ThroughputModel");
+		final List<Notification> notifications = new ArrayList<Notification>();
+
+		mBeanServer.addNotificationListener(throughputModel, new NotificationListener() {
+			@Override
+			public void handleNotification(final Notification notification, final Object handback) {
+				notifications.add(notification);
+			}
+		}, null, null);
+
+		mBeanServer.setAttribute(throughputModel,
+				new Attribute("ThroughputFloorInDaysPerSecond", Double.MAX_VALUE));
+		runDays(3);
+
+		// notified once on breaching the floor, not in each period
+		assertEquals(1, notifications.size());
+		assertEquals(JmxThroughputModel.THROUGHPUT_FLOOR_BREACHED, notifications.get(0).getType());
+		assertTrue((Boolean) mBeanServer.getAttribute(throughputModel, "ThroughputFloorBreached"));
+
+		mBeanServer.setAttribute(throughputModel, new Attribute("ThroughputFloorInDaysPerSecond", 0.0));
+		runDays(1);
+
+		assertEquals(2, notifications.size());
+		assertEquals(JmxThroughputModel.THROUGHPUT_FLOOR_RECOVERED, notifications.get(1).getType());
+		assertFalse((Boolean) mBeanServer.getAttribute(throughputModel, "ThroughputFloorBreached"));
+	}
+}
@@ -20,6 +20,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.math;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -36,6 +37,9 @@ import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
 import io.github.uwol.compecon.math.impl.CESFunctionImpl;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl.ExpansionPathConstraint;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl.ExpansionPathSearchResult;
 import io.github.uwol.compecon.math.price.PriceFunction;
 
 public class CESFunctionTest extends CompEconTestSupport {
@@ -125,6 +129,66 @@ public class CESFunctionTest extends CompEconTestSupport {
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputs, priceFunctions);
 	}
 
+	@Test
+	public void testCalculateForThreeGoodsWithMarketPrices() {
+
+		/*
+		 * prepare market
+		 */
+
+		final Currency currency = Currency.EURO;
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+
+		final GoodType[] goodTypes = new GoodType[] { GoodType.KILOWATT, GoodType.WHEAT, GoodType.COTTON };
+
+		for (int i = 0; i < goodTypes.length; i++) {
+			for (int j = 1; j <= 10; j++) {
+				ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodTypes[i], household1_EUR,
+						household1_EUR.getBankAccountTransactionsDelegate(), 0.5 + i, j * (1.0 + i * 0.3));
+			}
+		}
+
+		/*
+		 * prepare function
+		 */
+		final Map<GoodType, Double> coefficients = new HashMap<GoodType, Double>();
+		coefficients.put(GoodType.KILOWATT, 0.1);
+		coefficients.put(GoodType.WHEAT, 0.6);
+		coefficients.put(GoodType.COTTON, 0.3);
+		final CESFunctionImpl<GoodType> cesFunction = new CESFunctionImpl<GoodType>(1.0, coefficients, -0.5, 0.4);
+
+		/*
+		 * maximize output under budget restriction
+		 */
+		final Map<GoodType, PriceFunction> priceFunctions = ApplicationContext.getInstance().getMarketService()
+				.getMarketPriceFunctions(currency, goodTypes);
+
+		for (final double budget : new double[] { 1.0, 10.0, 25.0, 60.0 }) {
+			final Map<GoodType, Double> optimalInputsAnalytical = cesFunction
+					.calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(priceFunctions, budget);
+			final Map<GoodType, Double> optimalInputsKKT = cesFunction
+					.calculateOutputMaximizingInputsKKT(priceFunctions, budget);
+
+			/*
+			 * assert inputs
+			 */
+			double budgetSpent = 0.0;
+
+			for (final GoodType goodType : goodTypes) {
+				assertEquals(optimalInputsKKT.get(goodType), optimalInputsAnalytical.get(goodType), epsilon);
+				budgetSpent += priceFunctions.get(goodType).getPrice(optimalInputsAnalytical.get(goodType))
+						* optimalInputsAnalytical.get(goodType);
+			}
+
+			/*
+			 * assert budget
+			 */
+			assertEquals(budget, budgetSpent, epsilon);
+		}
+	}
+
 	@Test
 	public void testCalculateForThreeGoodsWithNaNFixedPrices() {
 		/*
@@ -309,6 +373,8 @@ public class CESFunctionTest extends CompEconTestSupport {
 				.calculateOutputMaximizingInputsIterative(priceFunctions, budget, numberOfIterations);
 		final Map<GoodType, Double> optimalInputsBruteForce = cesFunction
 				.calculateOutputMaximizingInputsByRangeScan(priceFunctions, budget);
+		final Map<GoodType, Double> optimalInputsKKT = cesFunction.calculateOutputMaximizingInputsKKT(priceFunctions,
+				budget);
 
 		/*
 		 * assert inputs
@@ -316,7 +382,24 @@ public class CESFunctionTest extends CompEconTestSupport {
 		for (final GoodType goodType : optimalInputsAnalytical.keySet()) {
 			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsIterative.get(goodType), epsilon);
 			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsBruteForce.get(goodType), epsilon);
+			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsKKT.get(goodType), epsilon);
+		}
+
+		final double[] inputsOnExpansionPath = new double[2];
+		final ExpansionPathSearchResult result = cesFunction.searchExpansionPath(
+				cesFunction.toPriceSteps(priceFunctions, budget), new double[2], new ExpansionPathConstraint() {
+					@Override
+					public double getViolation(final double[] inputs, final double cost) {
+						return (cost - budget) / budget;
+					}
+				}, inputsOnExpansionPath);
+
+		assertEquals(budget, result.cost, epsilon);
+		for (int i = 0; i < inputsOnExpansionPath.length; i++) {
+			assertEquals(optimalInputsKKT.get(cesFunction.getInputTypeLayout().get(i)), inputsOnExpansionPath[i],
+					epsilon);
 		}
+		assertTrue(result.numberOfEvaluations < ConvexFunctionImpl.KKT_MAX_EVALUATIONS);
 
 		/*
 		 * assert output
@@ -329,4 +412,52 @@ public class CESFunctionTest extends CompEconTestSupport {
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsIterative, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cesFunction, optimalInputsBruteForce, priceFunctions);
 	}
+
+	@Test
+	public void testEvaluationIsThreadSafe() throws Exception {
+		final Map<GoodType, Double> coefficients = new HashMap<GoodType, Double>();
+		coefficients.put(GoodType.KILOWATT, 0.1);
+		coefficients.put(GoodType.WHEAT, 0.6);
+		coefficients.put(GoodType.COTTON, 0.3);
+		final CESFunctionImpl<GoodType> cesFunction = new CESFunctionImpl<GoodType>(1.0, coefficients, -0.5, 0.4);
+
+		assertEvaluationIsThreadSafe(cesFunction);
+	}
+
+	@Test
+	public void testPartialDerivatives() {
+		final Map<GoodType, Double> coefficients = new HashMap<GoodType, Double>();
+		coefficients.put(GoodType.KILOWATT, 0.1);
+		coefficients.put(GoodType.COTTON, 0.2);
+		coefficients.put(GoodType.WHEAT, 0.7);
+		final CESFunctionImpl<GoodType> cesFunction = new CESFunctionImpl<GoodType>(1.0, coefficients, -0.5, 0.4);
+
+		final Map<GoodType, Double> bundleOfInputs = new HashMap<GoodType, Double>();
+		bundleOfInputs.put(GoodType.KILOWATT, 1.5);
+		bundleOfInputs.put(GoodType.COTTON, 4.0);
+		bundleOfInputs.put(GoodType.WHEAT, 0.7);
+
+		for (int i = 0; i < 2; i++) {
+			// central difference quotients
+			final Map<GoodType, Double> partialDerivatives = cesFunction.partialDerivatives(bundleOfInputs);
+
+			for (final GoodType goodType : coefficients.keySet()) {
+				final double input = bundleOfInputs.get(goodType);
+				final double h = 0.000001;
+				bundleOfInputs.put(goodType, input + h);
+				final double upperOutput = cesFunction.f(bundleOfInputs);
+				bundleOfInputs.put(goodType, input - h);
+				final double lowerOutput = cesFunction.f(bundleOfInputs);
+				bundleOfInputs.put(goodType, input);
+
+				final double expected = (upperOutput - lowerOutput) / (2.0 * h);
+				assertEquals(expected, partialDerivatives.get(goodType), 0.00001);
+				assertEquals(partialDerivatives.get(goodType), cesFunction.partialDerivative(bundleOfInputs, goodType),
+						0.0);
+			}
+
+			// cached powers of unchanged inputs are reused
+			bundleOfInputs.put(GoodType.COTTON, 2.5);
+		}
+	}
 }
@@ -20,10 +20,16 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.math;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.junit.After;
 import org.junit.Before;
@@ -36,10 +42,28 @@ import io.github.uwol.compecon.economy.sectors.household.Household;
 import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
 import io.github.uwol.compecon.math.impl.CobbDouglasFunctionImpl;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl.ExpansionPathConstraint;
+import io.github.uwol.compecon.math.impl.ConvexFunctionImpl.ExpansionPathSearchResult;
+import io.github.uwol.compecon.math.impl.PowerCache;
 import io.github.uwol.compecon.math.price.PriceFunction;
 
 public class CobbDouglasFunctionTest extends CompEconTestSupport {
 
+	/**
+	 * exposes the power cache of the calling thread
+	 */
+	protected static class PowerCacheExposingCobbDouglasFunction extends CobbDouglasFunctionImpl<GoodType> {
+
+		public PowerCacheExposingCobbDouglasFunction(final double coefficient, final Map<GoodType, Double> exponents) {
+			super(coefficient, exponents);
+		}
+
+		public PowerCache getPowerCacheOfCurrentThread() {
+			return getPowerCache();
+		}
+	}
+
 	final int numberOfIterations = 500;
 
 	@Before
@@ -138,6 +162,72 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsIterative, priceFunctions);
 	}
 
+	@Test
+	public void testCalculateForThreeGoodsWithMarketPrices() {
+
+		/*
+		 * prepare market
+		 */
+
+		final Currency currency = Currency.EURO;
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+
+		final GoodType[] goodTypes = new GoodType[] { GoodType.KILOWATT, GoodType.WHEAT, GoodType.COTTON };
+
+		for (int i = 0; i < goodTypes.length; i++) {
+			for (int j = 1; j <= 10; j++) {
+				ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodTypes[i], household1_EUR,
+						household1_EUR.getBankAccountTransactionsDelegate(), 0.5 + i, j * (1.0 + i * 0.3));
+			}
+		}
+
+		/*
+		 * prepare function
+		 */
+		final Map<GoodType, Double> exponents = new HashMap<GoodType, Double>();
+		exponents.put(GoodType.KILOWATT, 0.1);
+		exponents.put(GoodType.WHEAT, 0.6);
+		exponents.put(GoodType.COTTON, 0.3);
+		final CobbDouglasFunctionImpl<GoodType> cobbDouglasFunction = new CobbDouglasFunctionImpl<GoodType>(1.0,
+				exponents);
+
+		/*
+		 * maximize output under budget restriction
+		 */
+		final Map<GoodType, PriceFunction> priceFunctions = ApplicationContext.getInstance().getMarketService()
+				.getMarketPriceFunctions(currency, goodTypes);
+
+		for (final double budget : new double[] { 1.0, 10.0, 25.0, 60.0 }) {
+			final Map<GoodType, Double> optimalInputsAnalytical = cobbDouglasFunction
+					.calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(priceFunctions, budget);
+			final Map<GoodType, Double> optimalInputsKKT = cobbDouglasFunction
+					.calculateOutputMaximizingInputsKKT(priceFunctions, budget);
+
+			/*
+			 * assert inputs
+			 */
+			double budgetSpent = 0.0;
+
+			for (final GoodType goodType : goodTypes) {
+				assertEquals(optimalInputsKKT.get(goodType), optimalInputsAnalytical.get(goodType), epsilon);
+				budgetSpent += priceFunctions.get(goodType).getPrice(optimalInputsAnalytical.get(goodType))
+						* optimalInputsAnalytical.get(goodType);
+			}
+
+			/*
+			 * assert budget
+			 */
+			assertEquals(budget, budgetSpent, epsilon);
+
+			/*
+			 * assert marginal outputs
+			 */
+			assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsAnalytical, priceFunctions);
+		}
+	}
+
 	@Test
 	public void testCalculateForThreeGoodsWithNaNFixedPrices() {
 		/*
@@ -252,6 +342,8 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 				.calculateOutputMaximizingInputsIterative(priceFunctions, budget, numberOfIterations);
 		final Map<GoodType, Double> optimalInputsBruteForce = cobbDouglasFunction
 				.calculateOutputMaximizingInputsByRangeScan(priceFunctions, budget);
+		final Map<GoodType, Double> optimalInputsBruteForceFine = cobbDouglasFunction
+				.calculateOutputMaximizingInputsByRangeScan(priceFunctions, budget, 0.001);
 		final Map<GoodType, Double> optimalInputs = cobbDouglasFunction.calculateOutputMaximizingInputs(priceFunctions,
 				budget);
 
@@ -268,6 +360,8 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 					epsilon);
 			assertEquals(optimalInputsAnalyticalFixedPrices.get(goodType), optimalInputsBruteForce.get(goodType),
 					epsilon);
+			assertEquals(optimalInputsAnalyticalFixedPrices.get(goodType), optimalInputsBruteForceFine.get(goodType),
+					0.001);
 			assertEquals(optimalInputsAnalyticalFixedPrices.get(goodType), optimalInputs.get(goodType), epsilon);
 		}
 
@@ -350,6 +444,8 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 				.calculateOutputMaximizingInputsIterative(priceFunctions, budget, numberOfIterations);
 		final Map<GoodType, Double> optimalInputsBruteForce = cobbDouglasFunction
 				.calculateOutputMaximizingInputsByRangeScan(priceFunctions, budget);
+		final Map<GoodType, Double> optimalInputsKKT = cobbDouglasFunction
+				.calculateOutputMaximizingInputsKKT(priceFunctions, budget);
 
 		/*
 		 * assert inputs
@@ -357,7 +453,24 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 		for (final GoodType goodType : optimalInputsAnalytical.keySet()) {
 			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsIterative.get(goodType), epsilon);
 			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsBruteForce.get(goodType), epsilon);
+			assertEquals(optimalInputsAnalytical.get(goodType), optimalInputsKKT.get(goodType), epsilon);
+		}
+
+		final double[] inputsOnExpansionPath = new double[2];
+		final ExpansionPathSearchResult result = cobbDouglasFunction.searchExpansionPath(
+				cobbDouglasFunction.toPriceSteps(priceFunctions, budget), new double[2], new ExpansionPathConstraint() {
+					@Override
+					public double getViolation(final double[] inputs, final double cost) {
+						return (cost - budget) / budget;
+					}
+				}, inputsOnExpansionPath);
+
+		assertEquals(budget, result.cost, epsilon);
+		for (int i = 0; i < inputsOnExpansionPath.length; i++) {
+			assertEquals(optimalInputsKKT.get(cobbDouglasFunction.getInputTypeLayout().get(i)),
+					inputsOnExpansionPath[i], epsilon);
 		}
+		assertTrue(result.numberOfEvaluations < ConvexFunctionImpl.KKT_MAX_EVALUATIONS);
 
 		/*
 		 * assert output
@@ -448,4 +561,68 @@ public class CobbDouglasFunctionTest extends CompEconTestSupport {
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsIterative, priceFunctions);
 		assertPartialDerivativesPerPriceAreEqual(cobbDouglasFunction, optimalInputsBruteForce, priceFunctions);
 	}
+
+	@Test
+	public void testEvaluationIsThreadSafe() throws Exception {
+		final Map<GoodType, Double> exponents = new HashMap<GoodType, Double>();
+		exponents.put(GoodType.KILOWATT, 0.1);
+		exponents.put(GoodType.WHEAT, 0.6);
+		exponents.put(GoodType.COTTON, 0.3);
+		final PowerCacheExposingCobbDouglasFunction cobbDouglasFunction = new PowerCacheExposingCobbDouglasFunction(
+				1.0, exponents);
+
+		/*
+		 * assert that the power cache is confined to the calling thread
+		 */
+		final PowerCache powerCacheOfMainThread = cobbDouglasFunction.getPowerCacheOfCurrentThread();
+		assertSame(powerCacheOfMainThread, cobbDouglasFunction.getPowerCacheOfCurrentThread());
+
+		final ExecutorService executorService = Executors.newSingleThreadExecutor();
+
+		try {
+			assertNotSame(powerCacheOfMainThread, executorService.submit(new Callable<PowerCache>() {
+				@Override
+				public PowerCache call() {
+					return cobbDouglasFunction.getPowerCacheOfCurrentThread();
+				}
+			}).get());
+		} finally {
+			executorService.shutdown();
+		}
+
+		/*
+		 * assert concurrent evaluation
+		 */
+		assertEvaluationIsThreadSafe(cobbDouglasFunction);
+	}
+
+	@Test
+	public void testPartialDerivatives() {
+		final Map<GoodType, Double> exponents = new HashMap<GoodType, Double>();
+		exponents.put(GoodType.KILOWATT, 0.2);
+		exponents.put(GoodType.COTTON, 0.3);
+		exponents.put(GoodType.WHEAT, 0.5);
+		final CobbDouglasFunctionImpl<GoodType> cobbDouglasFunction = new CobbDouglasFunctionImpl<GoodType>(2.0,
+				exponents);
+
+		final Map<GoodType, Double> bundleOfInputs = new HashMap<GoodType, Double>();
+		bundleOfInputs.put(GoodType.KILOWATT, 1.5);
+		bundleOfInputs.put(GoodType.COTTON, 4.0);
+		bundleOfInputs.put(GoodType.WHEAT, 0.7);
+
+		for (int i = 0; i < 2; i++) {
+			// dy/d(x_i) = e_i * y / x_i
+			final double output = cobbDouglasFunction.f(bundleOfInputs);
+			final Map<GoodType, Double> partialDerivatives = cobbDouglasFunction.partialDerivatives(bundleOfInputs);
+
+			for (final GoodType goodType : exponents.keySet()) {
+				final double expected = exponents.get(goodType) * output / bundleOfInputs.get(goodType);
+				assertEquals(expected, partialDerivatives.get(goodType), 0.0000001);
+				assertEquals(expected, cobbDouglasFunction.partialDerivative(bundleOfInputs, goodType), 0.0000001);
+			}
+
+			// cached powers of unchanged inputs are reused
+			bundleOfInputs.put(GoodType.COTTON, 2.5);
+		}
+	}
 }
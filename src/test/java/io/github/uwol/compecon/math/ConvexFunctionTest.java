@@ -0,0 +1,194 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.math;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.economy.materia.GoodType;
+import io.github.uwol.compecon.economy.sectors.financial.Currency;
+import io.github.uwol.compecon.economy.sectors.household.Household;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
+import io.github.uwol.compecon.math.impl.CESFunctionImpl;
+import io.github.uwol.compecon.math.impl.CobbDouglasFunctionImpl;
+import io.github.uwol.compecon.math.impl.RootFunctionImpl;
+import io.github.uwol.compecon.math.price.PriceFunction;
+
+/**
+ * Pins the dispatch of calculateOutputMaximizingInputs: the CES and
+ * Cobb-Douglas functions are solved analytically for fixed prices as well as
+ * for market prices, the root function as the only separable function without
+ * an analytical solution by the KKT solution, and functions, which are not
+ * separable, by the iterative solution.
+ */
+public class ConvexFunctionTest extends CompEconTestSupport {
+
+	protected static void assertInputsAreIdentical(final Map<GoodType, Double> expected,
+			final Map<GoodType, Double> actual) {
+		assertEquals(expected.keySet(), actual.keySet());
+
+		for (final GoodType goodType : expected.keySet()) {
+			assertEquals(expected.get(goodType), actual.get(goodType), 0.0);
+		}
+	}
+
+	protected static Map<GoodType, Double> createCoefficients() {
+		final Map<GoodType, Double> coefficients = new HashMap<GoodType, Double>();
+		coefficients.put(GoodType.KILOWATT, 0.4);
+		coefficients.put(GoodType.WHEAT, 0.6);
+		return coefficients;
+	}
+
+	protected static Map<GoodType, PriceFunction> createFixedPriceFunctions() {
+		final Map<GoodType, PriceFunction> priceFunctions = new HashMap<GoodType, PriceFunction>();
+		priceFunctions.put(GoodType.KILOWATT, new FixedPriceFunctionImpl(1.0));
+		priceFunctions.put(GoodType.WHEAT, new FixedPriceFunctionImpl(2.0));
+		return priceFunctions;
+	}
+
+	protected static Map<GoodType, PriceFunction> createMarketPriceFunctions() {
+		final Currency currency = Currency.EURO;
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+		final Household household2_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(1);
+
+		for (final GoodType goodType : new GoodType[] { GoodType.KILOWATT, GoodType.WHEAT }) {
+			ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household1_EUR,
+					household1_EUR.getBankAccountTransactionsDelegate(), 2.0, 1.0);
+			ApplicationContext.getInstance().getMarketService().placeSellingOffer(goodType, household2_EUR,
+					household2_EUR.getBankAccountTransactionsDelegate(), 5.0, 2.0);
+		}
+
+		return ApplicationContext.getInstance().getMarketService().getMarketPriceFunctions(currency,
+				new GoodType[] { GoodType.KILOWATT, GoodType.WHEAT });
+	}
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		super.setUpTestAgents();
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testCESFunctionDispatchesToAnalyticalSolution() {
+		final CESFunctionImpl<GoodType> cesFunction = new CESFunctionImpl<GoodType>(1.0, createCoefficients(), -0.5,
+				0.4);
+		final double budget = 10.0;
+
+		assertTrue(cesFunction.isSeparable());
+
+		final Map<GoodType, Double> fixedPrices = new HashMap<GoodType, Double>();
+		fixedPrices.put(GoodType.KILOWATT, 1.0);
+		fixedPrices.put(GoodType.WHEAT, 2.0);
+		assertInputsAreIdentical(
+				cesFunction.calculateOutputMaximizingInputsAnalyticalWithFixedPrices(fixedPrices, budget),
+				cesFunction.calculateOutputMaximizingInputs(createFixedPriceFunctions(), budget));
+
+		final Map<GoodType, PriceFunction> marketPriceFunctions = createMarketPriceFunctions();
+		assertInputsAreIdentical(
+				cesFunction.calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(marketPriceFunctions, budget),
+				cesFunction.calculateOutputMaximizingInputs(marketPriceFunctions, budget));
+	}
+
+	@Test
+	public void testCobbDouglasFunctionDispatchesToAnalyticalSolution() {
+		final CobbDouglasFunctionImpl<GoodType> cobbDouglasFunction = new CobbDouglasFunctionImpl<GoodType>(1.0,
+				createCoefficients());
+		final double budget = 10.0;
+
+		assertTrue(cobbDouglasFunction.isSeparable());
+
+		final Map<GoodType, Double> fixedPrices = new HashMap<GoodType, Double>();
+		fixedPrices.put(GoodType.KILOWATT, 1.0);
+		fixedPrices.put(GoodType.WHEAT, 2.0);
+		assertInputsAreIdentical(
+				cobbDouglasFunction.calculateOutputMaximizingInputsAnalyticalWithFixedPrices(fixedPrices, budget),
+				cobbDouglasFunction.calculateOutputMaximizingInputs(createFixedPriceFunctions(), budget));
+
+		final Map<GoodType, PriceFunction> marketPriceFunctions = createMarketPriceFunctions();
+		assertInputsAreIdentical(
+				cobbDouglasFunction.calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(marketPriceFunctions,
+						budget),
+				cobbDouglasFunction.calculateOutputMaximizingInputs(marketPriceFunctions, budget));
+	}
+
+	@Test
+	public void testNonSeparableFunctionDispatchesToIterativeSolution() {
+		final CESFunctionImpl<GoodType> nonSeparableFunction = new CESFunctionImpl<GoodType>(1.0,
+				createCoefficients(), -0.5, 0.4) {
+			@Override
+			public double calculateInverseSeparableFactor(final int input, final double value) {
+				return Double.NaN;
+			}
+		};
+		final Map<GoodType, PriceFunction> marketPriceFunctions = createMarketPriceFunctions();
+		final double budget = 10.0;
+		final int numberOfIterations = ApplicationContext.getInstance()
+				.getConfigurationSnapshot().mathConfig.numberOfIterations;
+
+		assertFalse(nonSeparableFunction.isSeparable());
+		assertNull(nonSeparableFunction.calculateOutputMaximizingInputsAnalyticalWithPriceFunctions(
+				marketPriceFunctions, budget));
+		assertInputsAreIdentical(
+				nonSeparableFunction.calculateOutputMaximizingInputsIterative(marketPriceFunctions, budget,
+						numberOfIterations),
+				nonSeparableFunction.calculateOutputMaximizingInputs(marketPriceFunctions, budget));
+	}
+
+	@Test
+	public void testRootFunctionDispatchesToKKTSolution() {
+		final RootFunctionImpl<GoodType> rootFunction = new RootFunctionImpl<GoodType>(GoodType.KILOWATT, 2.0);
+		final double budget = 10.0;
+
+		assertTrue(rootFunction.isSeparable());
+
+		final Map<GoodType, PriceFunction> fixedPriceFunctions = new HashMap<GoodType, PriceFunction>();
+		fixedPriceFunctions.put(GoodType.KILOWATT, new FixedPriceFunctionImpl(2.0));
+		assertInputsAreIdentical(rootFunction.calculateOutputMaximizingInputsKKT(fixedPriceFunctions, budget),
+				rootFunction.calculateOutputMaximizingInputs(fixedPriceFunctions, budget));
+		assertEquals(5.0,
+				rootFunction.calculateOutputMaximizingInputs(fixedPriceFunctions, budget).get(GoodType.KILOWATT),
+				epsilon);
+
+		final Map<GoodType, PriceFunction> marketPriceFunctions = createMarketPriceFunctions();
+		assertInputsAreIdentical(rootFunction.calculateOutputMaximizingInputsKKT(marketPriceFunctions, budget),
+				rootFunction.calculateOutputMaximizingInputs(marketPriceFunctions, budget));
+	}
+}
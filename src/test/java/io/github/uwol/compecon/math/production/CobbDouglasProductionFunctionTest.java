@@ -20,6 +20,7 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.math.production;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -37,6 +38,7 @@ import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
 import io.github.uwol.compecon.engine.service.impl.FixedPriceFunctionImpl;
 import io.github.uwol.compecon.math.price.PriceFunction;
 import io.github.uwol.compecon.math.production.impl.CobbDouglasProductionFunctionImpl;
+import io.github.uwol.compecon.math.production.impl.ProfitMaximizationCache;
 
 public class CobbDouglasProductionFunctionTest extends CompEconTestSupport {
 
@@ -77,6 +79,8 @@ public class CobbDouglasProductionFunctionTest extends CompEconTestSupport {
 		final Map<GoodType, Double> optimalInputsIterative = cobbDouglasProductionFunction
 				.calculateProfitMaximizingProductionFactorsIterative(10.0, priceFunctions, null, budget, Double.NaN,
 						0.0, numberOfIterations);
+		final Map<GoodType, Double> optimalInputsKKT = cobbDouglasProductionFunction
+				.calculateProfitMaximizingProductionFactorsKKT(10.0, priceFunctions, null, budget, Double.NaN, 0.0);
 
 		/*
 		 * assert inputs
@@ -84,6 +88,10 @@ public class CobbDouglasProductionFunctionTest extends CompEconTestSupport {
 		assertEquals(4.0, optimalInputsIterative.get(GoodType.KILOWATT), epsilon);
 		assertEquals(3.0, optimalInputsIterative.get(GoodType.WHEAT), epsilon);
 
+		for (final GoodType goodType : optimalInputsIterative.keySet()) {
+			assertEquals(optimalInputsIterative.get(goodType), optimalInputsKKT.get(goodType), epsilon * 2.0);
+		}
+
 		/*
 		 * assert output
 		 */
@@ -138,6 +146,8 @@ public class CobbDouglasProductionFunctionTest extends CompEconTestSupport {
 		final Map<GoodType, Double> optimalInputsIterative = cobbDouglasProductionFunction
 				.calculateProfitMaximizingProductionFactorsIterative(10.0, priceFunctions, null, budget, Double.NaN,
 						0.0, numberOfIterations);
+		final Map<GoodType, Double> optimalInputsKKT = cobbDouglasProductionFunction
+				.calculateProfitMaximizingProductionFactorsKKT(10.0, priceFunctions, null, budget, Double.NaN, 0.0);
 
 		/*
 		 * assert inputs
@@ -145,6 +155,10 @@ public class CobbDouglasProductionFunctionTest extends CompEconTestSupport {
 		assertEquals(20.0, optimalInputsIterative.get(GoodType.KILOWATT), epsilon * 2.0);
 		assertEquals(10.0, optimalInputsIterative.get(GoodType.WHEAT), epsilon * 2.0);
 
+		for (final GoodType goodType : optimalInputsIterative.keySet()) {
+			assertEquals(optimalInputsIterative.get(goodType), optimalInputsKKT.get(goodType), epsilon * 2.0);
+		}
+
 		/*
 		 * assert output
 		 */
@@ -208,6 +222,8 @@ public class CobbDouglasProductionFunctionTest extends CompEconTestSupport {
 		final Map<GoodType, Double> optimalInputsIterative = cobbDouglasProductionFunction
 				.calculateProfitMaximizingProductionFactorsIterative(10.0, priceFunctions, capital, budget, Double.NaN,
 						0.0, numberOfIterations);
+		final Map<GoodType, Double> optimalInputsKKT = cobbDouglasProductionFunction
+				.calculateProfitMaximizingProductionFactorsKKT(10.0, priceFunctions, capital, budget, Double.NaN, 0.0);
 
 		/*
 		 * assert inputs
@@ -216,6 +232,10 @@ public class CobbDouglasProductionFunctionTest extends CompEconTestSupport {
 		assertEquals(10.0, optimalInputsIterative.get(GoodType.WHEAT), epsilon * 2.0);
 		assertEquals(5.0, optimalInputsIterative.get(GoodType.MACHINE), epsilon * 2.0);
 
+		for (final GoodType goodType : optimalInputsIterative.keySet()) {
+			assertEquals(optimalInputsIterative.get(goodType), optimalInputsKKT.get(goodType), epsilon * 2.0);
+		}
+
 		/*
 		 * assert output
 		 */
@@ -233,4 +253,88 @@ public class CobbDouglasProductionFunctionTest extends CompEconTestSupport {
 				cobbDouglasProductionFunction.calculateMarginalOutput(optimalInputsIterative, GoodType.MACHINE),
 				epsilon);
 	}
+
+	@Test
+	public void testCalculateProductionOutputWithProfitMaximizationCache() {
+		final Currency currency = Currency.EURO;
+
+		final Household household1_EUR = ApplicationContext.getInstance().getAgentService().findHouseholds(currency)
+				.get(0);
+
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(GoodType.KILOWATT, household1_EUR,
+				household1_EUR.getBankAccountTransactionsDelegate(), 100, 1);
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(GoodType.WHEAT, household1_EUR,
+				household1_EUR.getBankAccountTransactionsDelegate(), 100, 2);
+
+		/*
+		 * prepare function
+		 */
+		final Map<GoodType, Double> exponents = new HashMap<GoodType, Double>();
+		exponents.put(GoodType.KILOWATT, 0.4);
+		exponents.put(GoodType.WHEAT, 0.6);
+		final CobbDouglasProductionFunctionImpl cobbDouglasProductionFunction = new CobbDouglasProductionFunctionImpl(
+				1.0, exponents);
+
+		final Map<GoodType, PriceFunction> priceFunctions = new HashMap<GoodType, PriceFunction>();
+		priceFunctions.put(GoodType.KILOWATT, ApplicationContext.getInstance().getMarketService()
+				.getMarketPriceFunction(currency, GoodType.KILOWATT));
+		priceFunctions.put(GoodType.WHEAT,
+				ApplicationContext.getInstance().getMarketService().getMarketPriceFunction(currency, GoodType.WHEAT));
+
+		final Map<GoodType, Double> optimalInputsUncached = cobbDouglasProductionFunction
+				.calculateProfitMaximizingProductionFactors(10.0, priceFunctions, null, 10.0, Double.NaN, 0.0);
+
+		/*
+		 * maximize output with memoization for budgets in the same bucket
+		 */
+		final ProfitMaximizationCache profitMaximizationCache = new ProfitMaximizationCache(16, 0.01);
+		ApplicationContext.getInstance().setProfitMaximizationCache(profitMaximizationCache);
+
+		final Map<GoodType, Double> optimalInputsMiss = cobbDouglasProductionFunction
+				.calculateProfitMaximizingProductionFactors(10.0, priceFunctions, null, 10.0, Double.NaN, 0.0);
+		final Map<GoodType, Double> optimalInputsHit = cobbDouglasProductionFunction
+				.calculateProfitMaximizingProductionFactors(10.0, priceFunctions, null, 10.01, Double.NaN, 0.0);
+
+		assertEquals(1, profitMaximizationCache.getNumberOfHits());
+		assertEquals(1, profitMaximizationCache.getNumberOfMisses());
+		assertTrue(profitMaximizationCache.getMaxRelativeError() < 0.01);
+
+		for (final GoodType goodType : optimalInputsUncached.keySet()) {
+			assertEquals(optimalInputsMiss.get(goodType), optimalInputsHit.get(goodType), 0.0);
+			assertEquals(optimalInputsUncached.get(goodType), optimalInputsHit.get(goodType),
+					optimalInputsUncached.get(goodType) * 0.01);
+		}
+
+		/*
+		 * a change of the market invalidates the memoized result
+		 */
+		ApplicationContext.getInstance().getMarketService().placeSellingOffer(GoodType.WHEAT, household1_EUR,
+				household1_EUR.getBankAccountTransactionsDelegate(), 100, 1.5);
+
+		cobbDouglasProductionFunction.calculateProfitMaximizingProductionFactors(10.0, priceFunctions, null, 10.0,
+				Double.NaN, 0.0);
+
+		assertEquals(1, profitMaximizationCache.getNumberOfHits());
+		assertEquals(2, profitMaximizationCache.getNumberOfMisses());
+
+		/*
+		 * production functions with equal parameters share the memoized result
+		 */
+		final CobbDouglasProductionFunctionImpl equalCobbDouglasProductionFunction = new CobbDouglasProductionFunctionImpl(
+				1.0, new HashMap<GoodType, Double>(exponents));
+		equalCobbDouglasProductionFunction.calculateProfitMaximizingProductionFactors(10.0, priceFunctions, null, 10.0,
+				Double.NaN, 0.0);
+
+		assertEquals(2, profitMaximizationCache.getNumberOfHits());
+		assertEquals(2, profitMaximizationCache.getNumberOfMisses());
+
+		final Map<GoodType, Double> otherExponents = new HashMap<GoodType, Double>();
+		otherExponents.put(GoodType.KILOWATT, 0.5);
+		otherExponents.put(GoodType.WHEAT, 0.5);
+		new CobbDouglasProductionFunctionImpl(1.0, otherExponents).calculateProfitMaximizingProductionFactors(10.0,
+				priceFunctions, null, 10.0, Double.NaN, 0.0);
+
+		assertEquals(2, profitMaximizationCache.getNumberOfHits());
+		assertEquals(3, profitMaximizationCache.getNumberOfMisses());
+	}
 }
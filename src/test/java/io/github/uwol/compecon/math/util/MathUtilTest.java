@@ -61,4 +61,65 @@ public class MathUtilTest extends CompEconTestSupport {
 
 		Assert.assertEquals(effectiveInterestRate, effectiveInterestRateCheck, epsilon);
 	}
+
+	@Test
+	public void testCompareFiniteValues() {
+		Assert.assertTrue(MathUtil.equal(1.0, 1.000001));
+		Assert.assertFalse(MathUtil.greater(1.000001, 1.0));
+		Assert.assertTrue(MathUtil.greater(1.0001, 1.0));
+		Assert.assertTrue(MathUtil.greaterEqual(1.0, 1.000001));
+		Assert.assertFalse(MathUtil.greaterEqual(1.0, 1.0001));
+		Assert.assertFalse(MathUtil.lesser(1.0, 1.000001));
+		Assert.assertTrue(MathUtil.lesser(1.0, 1.0001));
+		Assert.assertTrue(MathUtil.lesserEqual(1.000001, 1.0));
+		Assert.assertFalse(MathUtil.lesserEqual(1.0001, 1.0));
+	}
+
+	@Test
+	public void testCompareSpecialValues() {
+		final double nan = Double.NaN;
+		final double inf = Double.POSITIVE_INFINITY;
+		final double negInf = Double.NEGATIVE_INFINITY;
+
+		// NaN only equals NaN
+		Assert.assertTrue(MathUtil.equal(nan, nan));
+		Assert.assertFalse(MathUtil.equal(nan, 0.0));
+		Assert.assertFalse(MathUtil.equal(nan, inf));
+		Assert.assertFalse(MathUtil.greater(nan, 0.0));
+		Assert.assertFalse(MathUtil.greater(0.0, nan));
+		Assert.assertFalse(MathUtil.greater(inf, nan));
+		Assert.assertFalse(MathUtil.lesser(nan, 0.0));
+		Assert.assertFalse(MathUtil.lesser(0.0, nan));
+		Assert.assertFalse(MathUtil.lesser(nan, inf));
+		Assert.assertTrue(MathUtil.greaterEqual(nan, nan));
+		Assert.assertFalse(MathUtil.greaterEqual(nan, 0.0));
+		Assert.assertTrue(MathUtil.lesserEqual(nan, nan));
+		Assert.assertFalse(MathUtil.lesserEqual(0.0, nan));
+
+		// infinity equals infinity regardless of the sign
+		Assert.assertTrue(MathUtil.equal(inf, inf));
+		Assert.assertTrue(MathUtil.equal(inf, negInf));
+		Assert.assertFalse(MathUtil.equal(inf, Double.MAX_VALUE));
+		Assert.assertFalse(MathUtil.greater(inf, negInf));
+		Assert.assertFalse(MathUtil.lesser(negInf, inf));
+		Assert.assertTrue(MathUtil.greaterEqual(negInf, inf));
+		Assert.assertTrue(MathUtil.lesserEqual(inf, negInf));
+
+		// infinity regardless of the sign is greater than finite values
+		Assert.assertTrue(MathUtil.greater(inf, 0.0));
+		Assert.assertTrue(MathUtil.greater(negInf, 0.0));
+		Assert.assertFalse(MathUtil.greater(0.0, negInf));
+		Assert.assertTrue(MathUtil.lesser(0.0, inf));
+		Assert.assertTrue(MathUtil.lesser(0.0, negInf));
+		Assert.assertFalse(MathUtil.lesser(negInf, 0.0));
+		Assert.assertTrue(MathUtil.greaterEqual(negInf, 0.0));
+		Assert.assertFalse(MathUtil.greaterEqual(0.0, negInf));
+		Assert.assertTrue(MathUtil.lesserEqual(0.0, negInf));
+		Assert.assertFalse(MathUtil.lesserEqual(negInf, 0.0));
+
+		// special values are not rounded
+		Assert.assertTrue(Double.isNaN(MathUtil.round(nan)));
+		Assert.assertEquals(negInf, MathUtil.round(negInf), 0.0);
+		Assert.assertEquals(1.23457, MathUtil.round(1.234567), 0.0);
+	}
 }
@@ -20,10 +20,14 @@ along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
 package io.github.uwol.compecon.math.utility;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.junit.After;
+import org.junit.Before;
 import org.junit.Test;
 
 import io.github.uwol.compecon.CompEconTestSupport;
@@ -34,6 +38,61 @@ import io.github.uwol.compecon.math.utility.impl.CobbDouglasUtilityFunctionImpl;
 
 public class CobbDouglasUtilityFunctionTest extends CompEconTestSupport {
 
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+	}
+
+	@Test
+	public void testCalculateUtilityMaximizingInputsForBudgets() {
+		/*
+		 * prepare function
+		 */
+		final Map<GoodType, Double> preferences = new HashMap<GoodType, Double>();
+		preferences.put(GoodType.KILOWATT, 0.4);
+		preferences.put(GoodType.WHEAT, 0.6);
+		final CobbDouglasUtilityFunctionImpl cobbDouglasUtilityFunction = new CobbDouglasUtilityFunctionImpl(1.0,
+				preferences);
+
+		/*
+		 * maximize output under budget restrictions
+		 */
+		final Map<GoodType, PriceFunction> prices = new HashMap<GoodType, PriceFunction>();
+		prices.put(GoodType.KILOWATT, new FixedPriceFunctionImpl(1.0));
+		prices.put(GoodType.WHEAT, new FixedPriceFunctionImpl(2.0));
+		final double[] budgets = new double[] { 1.0, 10.0, 25.5, 100.0 };
+
+		for (final double budget : budgets) {
+			final Map<GoodType, Double> optimalInputs = cobbDouglasUtilityFunction
+					.calculateUtilityMaximizingInputs(prices, budget);
+			assertEquals(0.4 * budget, optimalInputs.get(GoodType.KILOWATT), epsilon);
+			assertEquals(0.3 * budget, optimalInputs.get(GoodType.WHEAT), epsilon);
+		}
+
+		/*
+		 * assert that inputs per budget are retained for unchanged prices
+		 */
+		final Map<GoodType, Double> optimalInputsPerBudget = cobbDouglasUtilityFunction
+				.calculateUtilityMaximizingInputsPerBudget(prices);
+		final Map<GoodType, PriceFunction> equalPrices = new HashMap<GoodType, PriceFunction>();
+		equalPrices.put(GoodType.KILOWATT, new FixedPriceFunctionImpl(1.0));
+		equalPrices.put(GoodType.WHEAT, new FixedPriceFunctionImpl(2.0));
+		assertSame(optimalInputsPerBudget,
+				cobbDouglasUtilityFunction.calculateUtilityMaximizingInputsPerBudget(equalPrices));
+
+		final Map<GoodType, PriceFunction> changedPrices = new HashMap<GoodType, PriceFunction>();
+		changedPrices.put(GoodType.KILOWATT, new FixedPriceFunctionImpl(2.0));
+		changedPrices.put(GoodType.WHEAT, new FixedPriceFunctionImpl(2.0));
+		assertEquals(0.2, cobbDouglasUtilityFunction.calculateUtilityMaximizingInputsPerBudget(changedPrices)
+				.get(GoodType.KILOWATT), epsilon);
+	}
+
 	@Test
 	public void testCalculateUtilityWithFixedPrices() {
 		/*
@@ -0,0 +1,189 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.columnar;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarCsvConverterImpl;
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarFormat.ColumnType;
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarReaderImpl;
+import io.github.uwol.compecon.simulation.minimal.columnar.impl.ColumnarWriterImpl;
+import io.github.uwol.compecon.simulation.minimal.csv.impl.M1CsvWriterImpl;
+
+public class ColumnarWriterTest extends CompEconTestSupport {
+
+	protected static final String[] FILE_NAMES = { "values.col", "m1.csv", "m1.col", "m1_converted.csv" };
+
+	protected Path tempDirectory;
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		tempDirectory = Files.createTempDirectory("compecon-columnar");
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+
+		try {
+			for (final String fileName : FILE_NAMES) {
+				Files.deleteIfExists(tempDirectory.resolve(fileName));
+			}
+			Files.deleteIfExists(tempDirectory);
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	@Test
+	public void testColumnarFileIsSmallerThanCsv() throws IOException {
+		// daily periods of a price, which follows a random walk
+		final double[] values = new double[2000];
+		final Random random = new Random(42);
+		double price = 10.0;
+		for (int i = 0; i < values.length; i++) {
+			price *= 1.0 + (random.nextDouble() - 0.5) * 0.01;
+			values[i] = price;
+		}
+
+		writeM1(values);
+
+		// the deltas of the dates and the XOR of the prices encode to few bytes
+		assertTrue(Files.size(tempDirectory.resolve("m1.col")) < Files.size(tempDirectory.resolve("m1.csv")) / 2);
+	}
+
+	@Test
+	public void testConvertedCsvIsIdenticalToCsvWriter() throws IOException {
+		final double[] values = new double[400];
+		for (int day = 0; day < values.length; day++) {
+			values[day] = day * 1.7 + 1.0 / 3.0;
+		}
+
+		writeM1(values);
+
+		ColumnarCsvConverterImpl.convert(tempDirectory.resolve("m1.col").toString(),
+				tempDirectory.resolve("m1_converted.csv").toString());
+
+		assertArrayEquals(Files.readAllBytes(tempDirectory.resolve("m1.csv")),
+				Files.readAllBytes(tempDirectory.resolve("m1_converted.csv")));
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		final double[] specialValues = { 0.0, -0.0, Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+				Double.MIN_VALUE, Double.MAX_VALUE, -1.0, 1e-300 };
+		final int numberOfRows = 1000;
+
+		final long[] periods = new long[numberOfRows];
+		final long[] counts = new long[numberOfRows];
+		final double[] prices = new double[numberOfRows];
+		final double[] specials = new double[numberOfRows];
+
+		final Random random = new Random(42);
+		double price = 10.0;
+		for (int i = 0; i < numberOfRows; i++) {
+			periods[i] = 10957 + 7 * i;
+			counts[i] = random.nextInt(2000) - 1000 + (i % 3 == 0 ? Long.MIN_VALUE : Long.MAX_VALUE);
+			price *= 1.0 + (random.nextDouble() - 0.5) * 0.01;
+			prices[i] = price;
+			specials[i] = specialValues[i % specialValues.length];
+		}
+
+		final String fileName = tempDirectory.resolve("values.col").toString();
+		final ColumnarWriterImpl writer = new ColumnarWriterImpl(fileName,
+				new String[] { "period", "count", "price", "special" },
+				new ColumnType[] { ColumnType.DATE, ColumnType.LONG, ColumnType.DOUBLE, ColumnType.DOUBLE });
+		for (int i = 0; i < numberOfRows; i++) {
+			writer.setLong(0, periods[i]);
+			writer.setLong(1, counts[i]);
+			writer.setDouble(2, prices[i]);
+			writer.setDouble(3, specials[i]);
+			writer.endRow();
+		}
+		writer.close();
+
+		final ColumnarReaderImpl reader = new ColumnarReaderImpl(fileName);
+		assertEquals(4, reader.getColumnCount());
+		assertEquals("special", reader.getColumnName(3));
+		assertEquals(ColumnType.LONG, reader.getColumnType(1));
+		assertEquals(numberOfRows, reader.getNumberOfRows());
+		assertEquals(16, reader.getNumberOfBlocks());
+
+		assertArrayEquals(periods, reader.readLongColumn(0));
+		assertArrayEquals(counts, reader.readLongColumn(1));
+
+		final double[] readPrices = reader.readDoubleColumn(2);
+		final double[] readSpecials = reader.readDoubleColumn(3);
+		for (int i = 0; i < numberOfRows; i++) {
+			assertEquals(Double.doubleToRawLongBits(prices[i]), Double.doubleToRawLongBits(readPrices[i]));
+			assertEquals(Double.doubleToRawLongBits(specials[i]), Double.doubleToRawLongBits(readSpecials[i]));
+		}
+
+		// the footer index locates the block of a period
+		final int block = reader.findBlock(periods[500]);
+		assertEquals(500 / ColumnarWriterImpl.DEFAULT_ROWS_PER_BLOCK, block);
+		assertTrue(reader.getBlockFirstKey(block) <= periods[500]);
+		assertTrue(periods[500] <= reader.getBlockLastKey(block));
+
+		final long[] periodsOfBlock = reader.readLongColumn(0, block, block + 1);
+		assertEquals(reader.getBlockNumberOfRows(block), periodsOfBlock.length);
+		assertEquals(reader.getBlockFirstKey(block), periodsOfBlock[0]);
+	}
+
+	/**
+	 * writes the values as daily periods of M1 to m1.csv and m1.col
+	 */
+	protected void writeM1(final double[] values) throws IOException {
+		final PeriodDataAccumulatorTimeSeriesModel m1Model = new PeriodDataAccumulatorTimeSeriesModel("M1");
+
+		final M1CsvWriterImpl m1Writer = new M1CsvWriterImpl(tempDirectory.resolve("m1.csv").toString(), null,
+				m1Model);
+		m1Writer.setColumnarWriter(new ColumnarWriterImpl(tempDirectory.resolve("m1.col").toString(),
+				new String[] { "period", "M1" }, new ColumnType[] { ColumnType.DATE, ColumnType.DOUBLE }, 8));
+		m1Model.registerListener(m1Writer);
+
+		for (final double value : values) {
+			m1Model.add(value);
+			m1Model.nextPeriod();
+
+			for (int hour = 0; hour < 24; hour++) {
+				ApplicationContext.getInstance().getTimeSystem().nextHour();
+			}
+		}
+
+		m1Writer.close();
+	}
+}
@@ -0,0 +1,148 @@
+/*
+Copyright (C) 2013 u.wol@wwu.de
+
+This file is part of ComputationalEconomy.
+
+ComputationalEconomy is free software: you can redistribute it and/or modify
+it under the terms of the GNU General Public License as published by
+the Free Software Foundation, either version 3 of the License, or
+(at your option) any later version.
+
+ComputationalEconomy is distributed in the hope that it will be useful,
+but WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+GNU General Public License for more details.
+
+You should have received a copy of the GNU General Public License
+along with ComputationalEconomy. If not, see <http://www.gnu.org/licenses/>.
+ */
+
+package io.github.uwol.compecon.simulation.minimal.csv;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.github.uwol.compecon.CompEconTestSupport;
+import io.github.uwol.compecon.engine.applicationcontext.ApplicationContext;
+import io.github.uwol.compecon.engine.statistics.NotificationListenerModel.ModelListener;
+import io.github.uwol.compecon.engine.statistics.accumulator.PeriodDataQuotientAccumulator;
+import io.github.uwol.compecon.engine.statistics.timeseries.PeriodDataAccumulatorTimeSeriesModel;
+import io.github.uwol.compecon.simulation.minimal.csv.impl.CsvRowQueueImpl;
+import io.github.uwol.compecon.simulation.minimal.csv.impl.M1CsvWriterImpl;
+
+public class CsvWriterTest extends CompEconTestSupport {
+
+	/**
+	 * writes rows as the CSV writers did before rows were published to a row
+	 * queue
+	 */
+	protected static class ReferenceM1CsvWriter implements ModelListener {
+
+		protected final PeriodDataQuotientAccumulator accumulator = new PeriodDataQuotientAccumulator();
+
+		protected final PeriodDataAccumulatorTimeSeriesModel m1Model;
+
+		protected FileWriter writer;
+
+		public ReferenceM1CsvWriter(final String csvFileName, final PeriodDataAccumulatorTimeSeriesModel m1Model)
+				throws IOException {
+			this.m1Model = m1Model;
+
+			writer = new FileWriter(csvFileName);
+			writeCsvLine("period", "M1");
+		}
+
+		public void close() throws IOException {
+			writer.flush();
+			writer.close();
+		}
+
+		@Override
+		public void notifyListener() {
+			accumulator.add(m1Model.getValue(), 1);
+
+			final Calendar calendar = Calendar.getInstance();
+			calendar.setTime(ApplicationContext.getInstance().getTimeSystem().getCurrentDate());
+
+			if (calendar.get(Calendar.DAY_OF_WEEK) == Calendar.SUNDAY) {
+				final String periodLabel = new SimpleDateFormat("yyyy-MM-dd")
+						.format(ApplicationContext.getInstance().getTimeSystem().getCurrentDate());
+				writeCsvLine(periodLabel, Double.toString(accumulator.getAmount()));
+				accumulator.reset();
+			}
+		}
+
+		protected void writeCsvLine(final String... values) {
+			try {
+				writer.write(String.join(";", values));
+				writer.write("\n");
+			} catch (final IOException e) {
+				e.printStackTrace();
+			}
+		}
+	}
+
+	protected Path tempDirectory;
+
+	@Before
+	public void setup() throws IOException {
+		super.setUpApplicationContext(testConfigurationPropertiesFilename);
+		tempDirectory = Files.createTempDirectory("compecon-csv");
+	}
+
+	@Override
+	@After
+	public void tearDown() {
+		super.tearDown();
+
+		try {
+			Files.deleteIfExists(tempDirectory.resolve("m1.csv"));
+			Files.deleteIfExists(tempDirectory.resolve("m1_reference.csv"));
+			Files.deleteIfExists(tempDirectory);
+		} catch (final IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	@Test
+	public void testRowsAreIdenticalToSynchronousOutput() throws IOException {
+		final PeriodDataAccumulatorTimeSeriesModel m1Model = new PeriodDataAccumulatorTimeSeriesModel("M1");
+
+		final String csvFileName = tempDirectory.resolve("m1.csv").toString();
+		final String referenceCsvFileName = tempDirectory.resolve("m1_reference.csv").toString();
+
+		// tiny capacity, so that the producer runs into backpressure
+		final CsvRowQueueImpl rowQueue = new CsvRowQueueImpl(2);
+		final M1CsvWriterImpl m1Writer = new M1CsvWriterImpl(csvFileName, rowQueue, m1Model);
+		final ReferenceM1CsvWriter referenceWriter = new ReferenceM1CsvWriter(referenceCsvFileName, m1Model);
+
+		m1Model.registerListener(m1Writer);
+		m1Model.registerListener(referenceWriter);
+
+		for (int day = 0; day < 400; day++) {
+			m1Model.add(day * 1.7 + 1.0 / 3.0);
+			m1Model.nextPeriod();
+
+			for (int hour = 0; hour < 24; hour++) {
+				ApplicationContext.getInstance().getTimeSystem().nextHour();
+			}
+		}
+
+		m1Writer.close();
+		rowQueue.close();
+		referenceWriter.close();
+
+		assertArrayEquals(Files.readAllBytes(tempDirectory.resolve("m1_reference.csv")),
+				Files.readAllBytes(tempDirectory.resolve("m1.csv")));
+	}
+}